@@ -17,6 +17,7 @@
 package gaffer.accumulostore;
 
 import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.utils.SharedBatchWriter;
 import gaffer.store.StoreProperties;
 
 import java.nio.file.Path;
@@ -38,17 +39,38 @@ public class AccumuloProperties extends StoreProperties {
     public final static String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public final static String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
     public final static String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
+    public final static String MAX_ENTRIES_FOR_CLIENT_SIDE_EXACT_SET = "accumulo.maxEntriesForClientSideExactSet";
+    public final static String MAX_ENTRIES_FOR_SERVER_SIDE_EXACT_SET = "accumulo.maxEntriesForServerSideExactSet";
     public final static String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public final static String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
     public final static String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public final static String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public final static String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
     public final static String SPLITS_FILE_PATH = "accumulo.splits.file.path";
+    public final static String PIPELINE_BATCH_SCANNERS = "accumulo.pipelineBatchScanners";
+    public final static String MAX_IN_FLIGHT_BATCH_SCANNERS = "accumulo.maxInFlightBatchScanners";
+    public final static String PIPELINE_RESULT_QUEUE_SIZE = "accumulo.pipelineResultQueueSize";
+    public final static String ADAPTIVE_ENTRIES_FOR_BATCH_SCANNER = "accumulo.adaptiveEntriesForBatchScanner";
+    public final static String MIN_ENTRIES_FOR_BATCH_SCANNER = "accumulo.minEntriesForBatchScanner";
+    public final static String TARGET_RESULTS_PER_BATCH_SCANNER = "accumulo.targetResultsPerBatchScanner";
+    public final static String TARGET_LATENCY_PER_BATCH_SCANNER = "accumulo.targetLatencyPerBatchScannerInMilliseconds";
+    public final static String THREADS_FOR_N_HOP_NEIGHBOURS = "accumulo.nHopNeighboursThreads";
+    public final static String INGEST_CONVERSION_THREADS = "accumulo.ingestConversionThreads";
+    public final static String INGEST_CONVERSION_BATCH_SIZE = "accumulo.ingestConversionBatchSize";
+    public final static String INGEST_ORDERED = "accumulo.ingestOrdered";
+    public final static String PRE_AGGREGATE_ON_INGEST = "accumulo.preAggregateOnIngest";
+    public final static String PRE_AGGREGATION_MAX_ENTRIES = "accumulo.preAggregationMaxEntries";
+    public final static String PRE_AGGREGATION_MAX_AGE = "accumulo.preAggregationMaxAgeInMilliseconds";
+    public final static String SHARED_BATCH_WRITER = "accumulo.sharedBatchWriter";
+    public final static String SHARED_BATCH_WRITER_DURABILITY = "accumulo.sharedBatchWriterDurability";
+    public final static String SHARED_BATCH_WRITER_FLUSH_INTERVAL = "accumulo.sharedBatchWriterFlushIntervalInMilliseconds";
 
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
+    private static final String MAX_ENTRIES_FOR_CLIENT_SIDE_EXACT_SET_DEFAULT = "1000000";
+    private static final String MAX_ENTRIES_FOR_SERVER_SIDE_EXACT_SET_DEFAULT = "10000";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
     private static final String AGE_OFF_TIME_IN_DAYS_DEFAULT = "365";
@@ -56,6 +78,23 @@ public class AccumuloProperties extends StoreProperties {
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
     private static final String SPLITS_FILE_PATH_DEFAULT = "/data/splits.txt";
+    private static final String PIPELINE_BATCH_SCANNERS_DEFAULT = "false";
+    private static final String MAX_IN_FLIGHT_BATCH_SCANNERS_DEFAULT = "2";
+    private static final String PIPELINE_RESULT_QUEUE_SIZE_DEFAULT = "10000";
+    private static final String ADAPTIVE_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "false";
+    private static final String MIN_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "1000";
+    private static final String TARGET_RESULTS_PER_BATCH_SCANNER_DEFAULT = "500000";
+    private static final String TARGET_LATENCY_PER_BATCH_SCANNER_DEFAULT = "5000";
+    private static final String THREADS_FOR_N_HOP_NEIGHBOURS_DEFAULT = "4";
+    private static final String INGEST_CONVERSION_THREADS_DEFAULT = "1";
+    private static final String INGEST_CONVERSION_BATCH_SIZE_DEFAULT = "1000";
+    private static final String INGEST_ORDERED_DEFAULT = "true";
+    private static final String PRE_AGGREGATE_ON_INGEST_DEFAULT = "false";
+    private static final String PRE_AGGREGATION_MAX_ENTRIES_DEFAULT = "100000";
+    private static final String PRE_AGGREGATION_MAX_AGE_DEFAULT = "10000";
+    private static final String SHARED_BATCH_WRITER_DEFAULT = "false";
+    private static final String SHARED_BATCH_WRITER_DURABILITY_DEFAULT = SharedBatchWriter.Durability.WAIT_FOR_FLUSH.name();
+    private static final String SHARED_BATCH_WRITER_FLUSH_INTERVAL_DEFAULT = "1000";
 
     public AccumuloProperties() {
         super();
@@ -266,6 +305,239 @@ public class AccumuloProperties extends StoreProperties {
         set(CLIENT_SIDE_BLOOM_FILTER_SIZE, clientSideBloomFilterSize);
     }
 
+    /**
+     * Get the maximum number of seeds that are held in an exact set on the client side, rather than in a bloom filter,
+     * to check the results of set queries
+     *
+     * @return An integer representing the maximum number of seeds held in an exact set on the client side
+     */
+    public int getMaxEntriesForClientSideExactSet() {
+        return Integer.parseInt(get(MAX_ENTRIES_FOR_CLIENT_SIDE_EXACT_SET, MAX_ENTRIES_FOR_CLIENT_SIDE_EXACT_SET_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of seeds that are held in an exact set on the client side, rather than in a bloom filter,
+     * to check the results of set queries
+     *
+     * @param maxEntriesForClientSideExactSet
+     */
+    public void setMaxEntriesForClientSideExactSet(final String maxEntriesForClientSideExactSet) {
+        set(MAX_ENTRIES_FOR_CLIENT_SIDE_EXACT_SET, maxEntriesForClientSideExactSet);
+    }
+
+    /**
+     * Get the maximum number of seeds that are passed to the iterators in an exact set, rather than in a bloom filter,
+     * to filter the results of set queries on the tablet servers
+     *
+     * @return An integer representing the maximum number of seeds passed to the iterators in an exact set
+     */
+    public int getMaxEntriesForServerSideExactSet() {
+        return Integer.parseInt(get(MAX_ENTRIES_FOR_SERVER_SIDE_EXACT_SET, MAX_ENTRIES_FOR_SERVER_SIDE_EXACT_SET_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of seeds that are passed to the iterators in an exact set, rather than in a bloom filter,
+     * to filter the results of set queries on the tablet servers
+     *
+     * @param maxEntriesForServerSideExactSet
+     */
+    public void setMaxEntriesForServerSideExactSet(final String maxEntriesForServerSideExactSet) {
+        set(MAX_ENTRIES_FOR_SERVER_SIDE_EXACT_SET, maxEntriesForServerSideExactSet);
+    }
+
+    /**
+     * Get the maximum number of batches of vertices that are looked up concurrently when getting the n hop
+     * neighbours of a set of seeds. Each batch uses its own batch scanner.
+     *
+     * @return An integer representing the number of batches looked up concurrently
+     */
+    public int getThreadsForNHopNeighbours() {
+        return Integer.parseInt(get(THREADS_FOR_N_HOP_NEIGHBOURS, THREADS_FOR_N_HOP_NEIGHBOURS_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of batches of vertices that are looked up concurrently when getting the n hop
+     * neighbours of a set of seeds. Each batch uses its own batch scanner.
+     *
+     * @param threadsForNHopNeighbours
+     */
+    public void setThreadsForNHopNeighbours(final String threadsForNHopNeighbours) {
+        set(THREADS_FOR_N_HOP_NEIGHBOURS, threadsForNHopNeighbours);
+    }
+
+    /**
+     * Get the number of threads used to convert elements to mutations when adding elements to the store.
+     * If this is 1 the elements are converted on the thread adding them.
+     *
+     * @return An integer representing the number of threads used to convert elements
+     */
+    public int getIngestConversionThreads() {
+        return Integer.parseInt(get(INGEST_CONVERSION_THREADS, INGEST_CONVERSION_THREADS_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads used to convert elements to mutations when adding elements to the store.
+     * If this is 1 the elements are converted on the thread adding them.
+     *
+     * @param ingestConversionThreads
+     */
+    public void setIngestConversionThreads(final String ingestConversionThreads) {
+        set(INGEST_CONVERSION_THREADS, ingestConversionThreads);
+    }
+
+    /**
+     * Get the number of elements a conversion thread converts to mutations at a time.
+     *
+     * @return An integer representing the number of elements converted at a time
+     */
+    public int getIngestConversionBatchSize() {
+        return Integer.parseInt(get(INGEST_CONVERSION_BATCH_SIZE, INGEST_CONVERSION_BATCH_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the number of elements a conversion thread converts to mutations at a time.
+     *
+     * @param ingestConversionBatchSize
+     */
+    public void setIngestConversionBatchSize(final String ingestConversionBatchSize) {
+        set(INGEST_CONVERSION_BATCH_SIZE, ingestConversionBatchSize);
+    }
+
+    /**
+     * Get whether mutations are added to the batch writer in the order of the elements when they are converted by
+     * several threads. If not, each thread adds its mutations as soon as they have been converted.
+     *
+     * @return true if the mutations are added in the order of the elements
+     */
+    public boolean isIngestOrdered() {
+        return Boolean.parseBoolean(get(INGEST_ORDERED, INGEST_ORDERED_DEFAULT));
+    }
+
+    /**
+     * Set whether mutations are added to the batch writer in the order of the elements when they are converted by
+     * several threads.
+     *
+     * @param ingestOrdered
+     */
+    public void setIngestOrdered(final String ingestOrdered) {
+        set(INGEST_ORDERED, ingestOrdered);
+    }
+
+    /**
+     * Get whether elements with the same key are merged using the aggregators in the data schema before they are
+     * written to Accumulo.
+     *
+     * @return true if elements are pre-aggregated when they are added
+     */
+    public boolean isPreAggregateOnIngest() {
+        return Boolean.parseBoolean(get(PRE_AGGREGATE_ON_INGEST, PRE_AGGREGATE_ON_INGEST_DEFAULT));
+    }
+
+    /**
+     * Set whether elements with the same key are merged using the aggregators in the data schema before they are
+     * written to Accumulo.
+     *
+     * @param preAggregateOnIngest
+     */
+    public void setPreAggregateOnIngest(final String preAggregateOnIngest) {
+        set(PRE_AGGREGATE_ON_INGEST, preAggregateOnIngest);
+    }
+
+    /**
+     * Get the maximum number of distinct elements held in memory for pre-aggregation before they are written.
+     *
+     * @return An integer representing the maximum number of elements held for pre-aggregation
+     */
+    public int getPreAggregationMaxEntries() {
+        return Integer.parseInt(get(PRE_AGGREGATION_MAX_ENTRIES, PRE_AGGREGATION_MAX_ENTRIES_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of distinct elements held in memory for pre-aggregation before they are written.
+     *
+     * @param preAggregationMaxEntries
+     */
+    public void setPreAggregationMaxEntries(final String preAggregationMaxEntries) {
+        set(PRE_AGGREGATION_MAX_ENTRIES, preAggregationMaxEntries);
+    }
+
+    /**
+     * Get the maximum time in milliseconds an element is held in memory for pre-aggregation before it is written.
+     *
+     * @return A long representing the maximum time an element is held for pre-aggregation
+     */
+    public long getPreAggregationMaxAgeInMillis() {
+        return Long.parseLong(get(PRE_AGGREGATION_MAX_AGE, PRE_AGGREGATION_MAX_AGE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum time in milliseconds an element is held in memory for pre-aggregation before it is written.
+     *
+     * @param preAggregationMaxAgeInMillis
+     */
+    public void setPreAggregationMaxAgeInMillis(final String preAggregationMaxAgeInMillis) {
+        set(PRE_AGGREGATION_MAX_AGE, preAggregationMaxAgeInMillis);
+    }
+
+    /**
+     * Get whether all the operations that add elements share a single long lived batch writer, rather than each
+     * creating and closing its own.
+     *
+     * @return true if a shared batch writer is used
+     */
+    public boolean isSharedBatchWriter() {
+        return Boolean.parseBoolean(get(SHARED_BATCH_WRITER, SHARED_BATCH_WRITER_DEFAULT));
+    }
+
+    /**
+     * Set whether all the operations that add elements share a single long lived batch writer, rather than each
+     * creating and closing its own.
+     *
+     * @param sharedBatchWriter
+     */
+    public void setSharedBatchWriter(final String sharedBatchWriter) {
+        set(SHARED_BATCH_WRITER, sharedBatchWriter);
+    }
+
+    /**
+     * Get how long an operation that adds elements waits for its mutations to be written when the shared batch
+     * writer is used.
+     *
+     * @return The {@link SharedBatchWriter.Durability} of the shared batch writer
+     */
+    public SharedBatchWriter.Durability getSharedBatchWriterDurability() {
+        return SharedBatchWriter.Durability.valueOf(get(SHARED_BATCH_WRITER_DURABILITY, SHARED_BATCH_WRITER_DURABILITY_DEFAULT));
+    }
+
+    /**
+     * Set how long an operation that adds elements waits for its mutations to be written when the shared batch
+     * writer is used. One of FIRE_AND_FORGET, FLUSH_ON_RETURN or WAIT_FOR_FLUSH.
+     *
+     * @param sharedBatchWriterDurability
+     */
+    public void setSharedBatchWriterDurability(final String sharedBatchWriterDurability) {
+        set(SHARED_BATCH_WRITER_DURABILITY, sharedBatchWriterDurability);
+    }
+
+    /**
+     * Get the interval in milliseconds between background flushes of the shared batch writer.
+     *
+     * @return A long representing the interval between background flushes
+     */
+    public long getSharedBatchWriterFlushIntervalInMillis() {
+        return Long.parseLong(get(SHARED_BATCH_WRITER_FLUSH_INTERVAL, SHARED_BATCH_WRITER_FLUSH_INTERVAL_DEFAULT));
+    }
+
+    /**
+     * Set the interval in milliseconds between background flushes of the shared batch writer. If this is 0 the
+     * shared batch writer is not flushed in the background.
+     *
+     * @param sharedBatchWriterFlushIntervalInMillis
+     */
+    public void setSharedBatchWriterFlushIntervalInMillis(final String sharedBatchWriterFlushIntervalInMillis) {
+        set(SHARED_BATCH_WRITER_FLUSH_INTERVAL, sharedBatchWriterFlushIntervalInMillis);
+    }
+
     /**
      * Get the allowable rate of false positives for bloom filters (Generally the higher the value the faster the filter)
      *
@@ -302,6 +574,135 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR, maxBloomFilterToPassToAnIterator);
     }
 
+    /**
+     * Get whether seed batches should be pipelined, so that ranges for the next batch of seeds are built and
+     * scanned whilst the results of the current batch are being consumed.
+     *
+     * @return true if seed batches should be pipelined
+     */
+    public boolean isPipelineBatchScanners() {
+        return Boolean.parseBoolean(get(PIPELINE_BATCH_SCANNERS, PIPELINE_BATCH_SCANNERS_DEFAULT));
+    }
+
+    /**
+     * Set whether seed batches should be pipelined
+     *
+     * @param pipelineBatchScanners
+     */
+    public void setPipelineBatchScanners(final String pipelineBatchScanners) {
+        set(PIPELINE_BATCH_SCANNERS, pipelineBatchScanners);
+    }
+
+    /**
+     * Get the max number of batch scanners a pipelined query may have open at any one time
+     *
+     * @return An integer representing the max number of batch scanners that may be open at any one time
+     */
+    public int getMaxInFlightBatchScanners() {
+        return Integer.parseInt(get(MAX_IN_FLIGHT_BATCH_SCANNERS, MAX_IN_FLIGHT_BATCH_SCANNERS_DEFAULT));
+    }
+
+    /**
+     * Set the max number of batch scanners a pipelined query may have open at any one time
+     *
+     * @param maxInFlightBatchScanners
+     */
+    public void setMaxInFlightBatchScanners(final String maxInFlightBatchScanners) {
+        set(MAX_IN_FLIGHT_BATCH_SCANNERS, maxInFlightBatchScanners);
+    }
+
+    /**
+     * Get the max number of scanned entries a pipelined query will buffer before the scanners are blocked
+     *
+     * @return An integer representing the size of the result queue used by pipelined queries
+     */
+    public int getPipelineResultQueueSize() {
+        return Integer.parseInt(get(PIPELINE_RESULT_QUEUE_SIZE, PIPELINE_RESULT_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the max number of scanned entries a pipelined query will buffer before the scanners are blocked
+     *
+     * @param pipelineResultQueueSize
+     */
+    public void setPipelineResultQueueSize(final String pipelineResultQueueSize) {
+        set(PIPELINE_RESULT_QUEUE_SIZE, pipelineResultQueueSize);
+    }
+
+    /**
+     * Get whether the number of seeds in each batch of a set query should be adapted to the observed number of
+     * results per seed and scanner latency, between the min and max entries for the batch scanner
+     *
+     * @return true if the batch sizes should be adapted
+     */
+    public boolean isAdaptiveEntriesForBatchScanner() {
+        return Boolean.parseBoolean(get(ADAPTIVE_ENTRIES_FOR_BATCH_SCANNER, ADAPTIVE_ENTRIES_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set whether the number of seeds in each batch of a set query should be adapted
+     *
+     * @param adaptiveEntriesForBatchScanner
+     */
+    public void setAdaptiveEntriesForBatchScanner(final String adaptiveEntriesForBatchScanner) {
+        set(ADAPTIVE_ENTRIES_FOR_BATCH_SCANNER, adaptiveEntriesForBatchScanner);
+    }
+
+    /**
+     * Get the min number of seeds in an adaptive batch, this is also the size of the first batch
+     *
+     * @return An integer representing the min number of seeds in an adaptive batch
+     */
+    public int getMinEntriesForBatchScanner() {
+        return Integer.parseInt(get(MIN_ENTRIES_FOR_BATCH_SCANNER, MIN_ENTRIES_FOR_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set the min number of seeds in an adaptive batch
+     *
+     * @param minEntriesForBatchScanner
+     */
+    public void setMinEntriesForBatchScanner(final String minEntriesForBatchScanner) {
+        set(MIN_ENTRIES_FOR_BATCH_SCANNER, minEntriesForBatchScanner);
+    }
+
+    /**
+     * Get the number of results that adaptive batches aim to return from each batch scanner, this bounds the
+     * memory used by the client for each batch
+     *
+     * @return A long representing the target number of results per batch scanner
+     */
+    public long getTargetResultsPerBatchScanner() {
+        return Long.parseLong(get(TARGET_RESULTS_PER_BATCH_SCANNER, TARGET_RESULTS_PER_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set the number of results that adaptive batches aim to return from each batch scanner
+     *
+     * @param targetResultsPerBatchScanner
+     */
+    public void setTargetResultsPerBatchScanner(final String targetResultsPerBatchScanner) {
+        set(TARGET_RESULTS_PER_BATCH_SCANNER, targetResultsPerBatchScanner);
+    }
+
+    /**
+     * Get the time in milliseconds that adaptive batches aim to spend waiting on each batch scanner
+     *
+     * @return A long representing the target latency per batch scanner in milliseconds
+     */
+    public long getTargetLatencyPerBatchScannerInMilliseconds() {
+        return Long.parseLong(get(TARGET_LATENCY_PER_BATCH_SCANNER, TARGET_LATENCY_PER_BATCH_SCANNER_DEFAULT));
+    }
+
+    /**
+     * Set the time in milliseconds that adaptive batches aim to spend waiting on each batch scanner
+     *
+     * @param targetLatencyPerBatchScannerInMilliseconds
+     */
+    public void setTargetLatencyPerBatchScannerInMilliseconds(final String targetLatencyPerBatchScannerInMilliseconds) {
+        set(TARGET_LATENCY_PER_BATCH_SCANNER, targetLatencyPerBatchScannerInMilliseconds);
+    }
+
     public String getKeyPackageClass() {
         return get(KEY_PACKAGE_CLASS, ByteEntityKeyPackage.class.getName());
     }
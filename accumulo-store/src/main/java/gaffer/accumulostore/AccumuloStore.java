@@ -17,13 +17,21 @@
 package gaffer.accumulostore;
 
 import gaffer.accumulostore.key.AccumuloKeyPackage;
-import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.operation.handler.AddElementsHandler;
 import gaffer.accumulostore.operation.handler.GetAdjacentEntitySeedsHandler;
 import gaffer.accumulostore.operation.handler.GetElementsHandler;
+import gaffer.accumulostore.operation.handler.GetElementsBetweenSetsHandler;
+import gaffer.accumulostore.operation.handler.GetElementsInRangesHandler;
+import gaffer.accumulostore.operation.handler.GetElementsWithinSetHandler;
+import gaffer.accumulostore.operation.handler.GetNHopNeighboursHandler;
 import gaffer.accumulostore.operation.hdfs.handler.AddElementsFromHdfsHandler;
+import gaffer.accumulostore.operation.impl.GetElementsInRanges;
+import gaffer.accumulostore.utils.AccumuloConnectionManager;
 import gaffer.accumulostore.utils.Constants;
-import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.ElementIngestPipeline;
+import gaffer.accumulostore.utils.IngestStatistics;
+import gaffer.accumulostore.utils.PreAggregatingElementIterable;
+import gaffer.accumulostore.utils.SharedBatchWriter;
 import gaffer.accumulostore.utils.TableUtilException;
 import gaffer.accumulostore.utils.TableUtils;
 import gaffer.data.element.Element;
@@ -35,6 +43,9 @@ import gaffer.operation.data.EntitySeed;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetElements;
+import gaffer.operation.impl.get.GetElementsBetweenSets;
+import gaffer.operation.impl.get.GetElementsWithinSet;
+import gaffer.operation.impl.get.GetNHopNeighbours;
 import gaffer.operation.simple.hdfs.AddElementsFromHdfs;
 import gaffer.store.Store;
 import gaffer.store.StoreException;
@@ -46,10 +57,6 @@ import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.BatchWriter;
 import org.apache.accumulo.core.client.Connector;
 import org.apache.accumulo.core.client.MutationsRejectedException;
-import org.apache.accumulo.core.data.Key;
-import org.apache.accumulo.core.data.Mutation;
-import org.apache.accumulo.core.data.Value;
-import org.apache.accumulo.core.security.ColumnVisibility;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +67,7 @@ import java.util.Map;
 
 import static gaffer.store.StoreTrait.AGGREGATION;
 import static gaffer.store.StoreTrait.FILTERING;
+import static gaffer.store.StoreTrait.RANGE_QUERIES;
 import static gaffer.store.StoreTrait.TRANSFORMATION;
 import static gaffer.store.StoreTrait.VALIDATION;
 
@@ -73,8 +81,11 @@ import static gaffer.store.StoreTrait.VALIDATION;
  */
 public class AccumuloStore extends Store {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloStore.class);
-    private static final List<StoreTrait> TRAITS = Arrays.asList(AGGREGATION, FILTERING, TRANSFORMATION, VALIDATION);
+    private static final List<StoreTrait> TRAITS = Arrays.asList(AGGREGATION, FILTERING, RANGE_QUERIES, TRANSFORMATION, VALIDATION);
     private AccumuloKeyPackage keyPackage;
+    private AccumuloConnectionManager connectionManager;
+    private ElementIngestPipeline ingestPipeline;
+    private SharedBatchWriter sharedBatchWriter;
 
     @Override
     public void initialise(final DataSchema dataSchema, final StoreSchema storeSchema, final StoreProperties properties)
@@ -87,7 +98,10 @@ public class AccumuloStore extends Store {
             throw new StoreException("Unable to construct an instance of key package: " + keyPackageClass);
         }
         this.keyPackage.setStoreSchema(storeSchema);
+        this.connectionManager = createConnectionManager();
+        this.ingestPipeline = createIngestPipeline();
         validateSchemasAgainstKeyDesign();
+        TableUtils.ensureAggregatorIteratorMatchesKeyPackage(this);
     }
 
     /**
@@ -108,25 +122,65 @@ public class AccumuloStore extends Store {
     }
 
     /**
-     * Creates an Accumulo {@link org.apache.accumulo.core.client.Connector} using the properties found in properties
-     * file associated with the AccumuloStore
+     * Gets an Accumulo {@link org.apache.accumulo.core.client.Connector} using the properties found in properties
+     * file associated with the AccumuloStore. The connector is created on first use and then shared by all
+     * retrievers and writers via the store's {@link AccumuloConnectionManager}.
      *
-     * @return A new {@link Connector}
+     * @return A shared {@link Connector}
      * @throws gaffer.store.StoreException
      */
     public Connector getConnection() throws StoreException {
+        if (null == connectionManager) {
+            throw new StoreException("The store has not been initialised");
+        }
         try {
-            return TableUtils.getConnector(
-                    getProperties().getInstanceName(),
-                    getProperties().getZookeepers(),
-                    getProperties().getUserName(),
-                    getProperties().getPassword()
-            );
+            return connectionManager.getConnector(getProperties());
         } catch (TableUtilException e) {
             throw new StoreException("Failed to create accumulo connection", e);
         }
     }
 
+    /**
+     * Returns the {@link AccumuloConnectionManager} used to cache connections to Accumulo.
+     *
+     * @return the {@link AccumuloConnectionManager}
+     */
+    public AccumuloConnectionManager getConnectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Closes the store, flushing and closing the shared batch writer, stopping the ingest threads, releasing any
+     * cached connections to Accumulo and shutting down the operation handlers' thread pools.
+     */
+    @Override
+    public void close() {
+        if (null != sharedBatchWriter) {
+            try {
+                sharedBatchWriter.close();
+            } catch (MutationsRejectedException e) {
+                LOGGER.warn("Accumulo shared batch writer failed to close", e);
+            }
+        }
+        if (null != connectionManager) {
+            connectionManager.close();
+        }
+        if (null != ingestPipeline) {
+            ingestPipeline.close();
+        }
+        super.close();
+    }
+
+    /**
+     * Creates the {@link AccumuloConnectionManager} used by this store. Override this to change how
+     * {@link Connector}s are created.
+     *
+     * @return A new {@link AccumuloConnectionManager}
+     */
+    protected AccumuloConnectionManager createConnectionManager() {
+        return new AccumuloConnectionManager();
+    }
+
     @Override
     public <OUTPUT> OUTPUT doUnhandledOperation(final Operation<?, OUTPUT> operation) {
         throw new UnsupportedOperationException("Operation: " + operation.getClass() + " is not supported");
@@ -140,6 +194,9 @@ public class AccumuloStore extends Store {
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(AddElementsFromHdfs.class, new AddElementsFromHdfsHandler());
+        addOperationHandler(GetElementsInRanges.class, new GetElementsInRangesHandler());
+        addOperationHandler(GetElementsWithinSet.class, new GetElementsWithinSetHandler());
+        addOperationHandler(GetElementsBetweenSets.class, new GetElementsBetweenSetsHandler());
     }
 
     @Override
@@ -152,6 +209,11 @@ public class AccumuloStore extends Store {
         return new GetAdjacentEntitySeedsHandler();
     }
 
+    @Override
+    protected OperationHandler<? extends GetNHopNeighbours, Iterable<EntitySeed>> getNHopNeighboursHandler() {
+        return new GetNHopNeighboursHandler(getProperties().getMaxEntriesForBatchScanner(), getProperties().getThreadsForNHopNeighbours());
+    }
+
     @Override
     protected OperationHandler<? extends AddElements, Void> getAddElementsHandler() {
         return new AddElementsHandler();
@@ -177,6 +239,21 @@ public class AccumuloStore extends Store {
     }
 
     protected void insertGraphElements(final Iterable<Element> elements) throws StoreException {
+        // Optionally merge elements with the same key before they are written.
+        final Iterable<Element> elementsToWrite;
+        if (getProperties().isPreAggregateOnIngest()) {
+            elementsToWrite = new PreAggregatingElementIterable(elements, getDataSchema(), getStoreSchema(),
+                    getProperties().getPreAggregationMaxEntries(), getProperties().getPreAggregationMaxAgeInMillis(),
+                    ingestPipeline.getStatistics());
+        } else {
+            elementsToWrite = elements;
+        }
+
+        if (getProperties().isSharedBatchWriter()) {
+            insertGraphElements(elementsToWrite, getSharedBatchWriter());
+            return;
+        }
+
         // Create BatchWriter
         final BatchWriter writer;
         try {
@@ -184,54 +261,91 @@ public class AccumuloStore extends Store {
         } catch (TableUtilException e) {
             throw new StoreException(e);
         }
-        // Loop through elements, convert to mutations, and add to BatchWriter.as
+        // Convert the elements to mutations and add them to the BatchWriter.
         // The BatchWriter takes care of batching them up, sending them without too high a latency, etc.
-        for (Element element : elements) {
-            final Pair<Key> keys;
-            try {
-                keys = keyPackage.getKeyConverter().getKeysFromElement(element);
-            } catch (AccumuloElementConversionException e) {
-                LOGGER.error("Failed to create an accumulo gaffer.accumulostore.key from element of type " + element.getGroup() + " when trying to insert elements");
-                continue;
-            }
-            final Value value;
-            try {
-                value = keyPackage.getKeyConverter().getValueFromElement(element);
-            } catch (AccumuloElementConversionException e) {
-                LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup() + " when trying to insert elements");
-                continue;
-            }
-            final Mutation m = new Mutation(keys.getFirst().getRow());
-            m.put(keys.getFirst().getColumnFamily(), keys.getFirst().getColumnQualifier(),
-                    new ColumnVisibility(keys.getFirst().getColumnVisibility()), keys.getFirst().getTimestamp(), value);
+        try {
+            ingestPipeline.write(elementsToWrite, writer);
+        } finally {
             try {
-                writer.addMutation(m);
+                writer.close();
             } catch (MutationsRejectedException e) {
-                LOGGER.error("Failed to create an accumulo gaffer.accumulostore.key mutation");
-                continue;
+                LOGGER.warn("Accumulo batch writer failed to close", e);
             }
-            // If the GraphElement is a Vertex then there will only be 1 key, and the second will be null.
-            // If the GraphElement is an Edge then there will be 2 keys.
-            if (keys.getSecond() != null) {
-                final Mutation m2 = new Mutation(keys.getSecond().getRow());
-                m2.put(keys.getSecond().getColumnFamily(),
-                        keys.getSecond().getColumnQualifier(),
-                        new ColumnVisibility(keys.getSecond().getColumnVisibility()),
-                        keys.getSecond().getTimestamp(),
-                        value
-                );
+        }
+    }
+
+    private void insertGraphElements(final Iterable<Element> elements, final SharedBatchWriter writer) throws StoreException {
+        // A writer that fails discards all its unwritten mutations, including any of these elements, so a failure
+        // anywhere in the shared writer while these elements are being added means some of them may not be written.
+        final long failedWriterCount = writer.getFailedWriterCount();
+        try {
+            ingestPipeline.write(elements, writer);
+        } catch (IllegalStateException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
+
+        switch (getProperties().getSharedBatchWriterDurability()) {
+            case FIRE_AND_FORGET:
+                break;
+            case FLUSH_ON_RETURN:
+                writer.flushAsync();
+                break;
+            case WAIT_FOR_FLUSH:
+            default:
                 try {
-                    writer.addMutation(m2);
+                    writer.flush();
                 } catch (MutationsRejectedException e) {
-                    LOGGER.error("Failed to create an accumulo gaffer.accumulostore.key mutation");
+                    throw new StoreException("Accumulo rejected mutations when the shared batch writer was flushed", e);
                 }
-            }
+                break;
         }
-        try {
-            writer.close();
-        } catch (MutationsRejectedException e) {
-            LOGGER.warn("Accumulo batch writer failed to close", e);
+
+        if (writer.getFailedWriterCount() != failedWriterCount) {
+            throw new StoreException("The shared batch writer failed whilst the elements were being added, so some of them may not have been written");
+        }
+    }
+
+    /**
+     * Gets the {@link SharedBatchWriter} used to add elements when the shared batch writer is enabled, creating it on
+     * first use. It is closed when the store is closed.
+     *
+     * @return the {@link SharedBatchWriter} for this store
+     */
+    public synchronized SharedBatchWriter getSharedBatchWriter() {
+        if (null == sharedBatchWriter) {
+            sharedBatchWriter = createSharedBatchWriter();
         }
+
+        return sharedBatchWriter;
+    }
+
+    /**
+     * Creates the {@link SharedBatchWriter} used by this store. Override this to change how the writer is created.
+     *
+     * @return A new {@link SharedBatchWriter}
+     */
+    protected SharedBatchWriter createSharedBatchWriter() {
+        return new SharedBatchWriter(this, getProperties().getSharedBatchWriterFlushIntervalInMillis());
+    }
+
+    /**
+     * Returns the counters for the elements inserted into this store by
+     * {@link #insertGraphElements(Iterable)}.
+     *
+     * @return the {@link IngestStatistics} for this store
+     */
+    public IngestStatistics getIngestStatistics() {
+        return ingestPipeline.getStatistics();
+    }
+
+    /**
+     * Creates the {@link ElementIngestPipeline} used to convert elements to mutations when inserting them.
+     *
+     * @return A new {@link ElementIngestPipeline}
+     */
+    protected ElementIngestPipeline createIngestPipeline() {
+        return new ElementIngestPipeline(keyPackage.getKeyConverter(), getProperties().getIngestConversionThreads(),
+                getProperties().getIngestConversionBatchSize(), getProperties().isIngestOrdered());
     }
 
     /**
@@ -16,6 +16,8 @@
 
 package gaffer.accumulostore;
 
+import gaffer.accumulostore.utils.AccumuloConnectionManager;
+import gaffer.accumulostore.utils.TableUtilException;
 import gaffer.store.StoreException;
 import org.apache.accumulo.core.client.AccumuloException;
 import org.apache.accumulo.core.client.AccumuloSecurityException;
@@ -32,15 +34,24 @@ public class MockAccumuloStore extends AccumuloStore {
 
     @Override
     public Connector getConnection() throws StoreException {
-        try {
-            mockConnector = mockAccumulo.getConnector("user", new PasswordToken("password"));
-        } catch (AccumuloException | AccumuloSecurityException e) {
-            throw new StoreException(e.getMessage(), e);
-        }
-
+        mockConnector = super.getConnection();
         return mockConnector;
     }
 
+    @Override
+    protected AccumuloConnectionManager createConnectionManager() {
+        return new AccumuloConnectionManager() {
+            @Override
+            protected Connector createConnector(final String instanceName, final String zookeepers, final String userName, final String password) throws TableUtilException {
+                try {
+                    return mockAccumulo.getConnector("user", new PasswordToken("password"));
+                } catch (AccumuloException | AccumuloSecurityException e) {
+                    throw new TableUtilException(e.getMessage(), e);
+                }
+            }
+        };
+    }
+
     public MockInstance getMockAccumulo() {
         return mockAccumulo;
     }
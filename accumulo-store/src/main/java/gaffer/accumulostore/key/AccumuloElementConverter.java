@@ -135,6 +135,31 @@ public interface AccumuloElementConverter {
     Element getFullElement(final Key key, final Value value, final Map<String, String> options)
             throws AccumuloElementConversionException;
 
+    /**
+     * Returns a lazy {@link Element} that decodes its identifiers and properties from the {@link Key} and {@link Value}
+     * only when they are requested. This allows an element to be filtered without deserialising the parts of it
+     * that the filter does not read.
+     * @param key
+     * @param value
+     * @return Returns a {@link gaffer.data.element.LazyEntity} or {@link gaffer.data.element.LazyEdge} backed by the
+     * provided {@link Key} and {@link Value}
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Element getLazyElement(final Key key, final Value value) throws AccumuloElementConversionException;
+
+    /**
+     * Returns a lazy {@link Element} that decodes its identifiers and properties from the {@link Key} and {@link Value}
+     * only when they are requested.
+     * @param key
+     * @param value
+     * @param options
+     * @return Returns a {@link gaffer.data.element.LazyEntity} or {@link gaffer.data.element.LazyEdge} backed by the
+     * provided {@link Key} and {@link Value}
+     * @throws AccumuloElementConversionException If conversion fails
+     */
+    Element getLazyElement(final Key key, final Value value, final Map<String, String> options)
+            throws AccumuloElementConversionException;
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object (from an {@link gaffer.operation.data.EntitySeed} ) with
      * the Identifier Serialiser defined in the Store Schema.
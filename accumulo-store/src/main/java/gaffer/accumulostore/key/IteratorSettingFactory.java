@@ -18,6 +18,8 @@ package gaffer.accumulostore.key;
 
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
+import gaffer.accumulostore.utils.SortedByteArraySet;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.operation.GetOperation;
 import org.apache.accumulo.core.client.IteratorSetting;
@@ -39,6 +41,39 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that can be used to apply
+     * an iterator that will filter elements based on their vertices membership in a given {@link BlockedBloomFilter}
+     * to a {@link org.apache.accumulo.core.client.Scanner}.
+     *
+     * @param filter
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering elements based on checking its serialised form for membership in a {@link BlockedBloomFilter}
+     * @throws gaffer.accumulostore.key.exception.IteratorSettingException
+     */
+    IteratorSetting getBloomFilterIteratorSetting(final BlockedBloomFilter filter) throws IteratorSettingException;
+
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that can be used to apply
+     * an iterator that will filter out edges whose destination vertex is not in the given exact set of serialised seeds,
+     * so that only edges with both ends in the set are returned from the ranges of the seeds.
+     *
+     * @param seeds
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering edges based on checking their serialised destination for membership in a {@link SortedByteArraySet}
+     * @throws gaffer.accumulostore.key.exception.IteratorSettingException
+     */
+    IteratorSetting getBothEndsInSetIteratorSetting(final SortedByteArraySet seeds) throws IteratorSettingException;
+
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that can be used to apply
+     * an iterator that will filter out edges whose destination vertex is not a member of the given {@link BlockedBloomFilter},
+     * so that only edges with both ends in the set (and false positives) are returned from the ranges of the seeds.
+     *
+     * @param filter
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering edges based on checking their serialised destination for membership in a {@link BlockedBloomFilter}
+     * @throws gaffer.accumulostore.key.exception.IteratorSettingException
+     */
+    IteratorSetting getBothEndsInSetIteratorSetting(final BlockedBloomFilter filter) throws IteratorSettingException;
+
     /**
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that can be used to apply
      * an iterator that will filter elements based on predicates to a {@link org.apache.accumulo.core.client.Scanner}.
@@ -74,4 +109,12 @@ public interface IteratorSettingFactory {
      * @return A new {@link IteratorSetting} for an Iterator that will aggregate elements at query time on the {@link gaffer.data.elementdefinition.schema.DataSchema}
      */
     IteratorSetting getQueryTimeAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException;
-}
\ No newline at end of file
+
+    /**
+     * Returns an Iterator that will replace every value with an empty value, this is to be used when a query does not need
+     * the properties stored in the value so that the value bytes are not sent back to the client.
+     * It must be applied after any iterators that need to read the value.
+     * @return A new {@link IteratorSetting} for an Iterator that will remove the values from the results of a scan
+     */
+    IteratorSetting getValueStripperIteratorSetting();
+}
@@ -24,12 +24,15 @@ import gaffer.accumulostore.utils.StorePositions;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
+import gaffer.data.element.LazyEdge;
+import gaffer.data.element.LazyEntity;
 import gaffer.data.element.Properties;
 import gaffer.exception.SerialisationException;
 import gaffer.serialisation.Serialisation;
 import gaffer.store.schema.StoreElementDefinition;
 import gaffer.store.schema.StorePropertyDefinition;
 import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.hadoop.io.BytesWritable;
@@ -43,18 +46,18 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
     protected static final byte[] DELIMITER_ARRAY = new byte[]{0};
     protected final StoreSchema storeSchema;
+    private final CoreKeyNames keyNames;
 
     public AbstractCoreKeyAccumuloElementConverter(final StoreSchema storeSchema) {
         this.storeSchema = storeSchema;
+        this.keyNames = new CoreKeyNames(storeSchema);
     }
 
     @Override
@@ -131,12 +134,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         if (value == null || value.getSize() == 0) {
             return properties;
         }
-        MapWritable map = new MapWritable();
-        try {
-            map.readFields(new DataInputStream(new ByteArrayInputStream(value.get())));
-        } catch (IOException e) {
-            throw new AccumuloElementConversionException("Failed to read map writable from value", e);
-        }
+        MapWritable map = readValueMap(value);
         StoreElementDefinition elementDefinition = storeSchema.getElement(group);
         for (Writable writeableKey : map.keySet()) {
             String propertyName = writeableKey.toString();
@@ -150,6 +148,27 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return properties;
     }
 
+    /**
+     * Gets a single property from the value.
+     *
+     * @param group        The {@link Element} type to be queried
+     * @param value        the value to read from
+     * @param propertyName the name of the property to get
+     * @return The deserialised property or null if it is not in the value
+     * @throws AccumuloElementConversionException If the property could not be deserialised
+     */
+    public Object getPropertyFromValue(final String group, final Value value, final String propertyName) throws AccumuloElementConversionException {
+        final BytesWritable propertyValueBytes = (BytesWritable) readValueMap(value).get(new Text(propertyName));
+        if (null == propertyValueBytes) {
+            return null;
+        }
+        try {
+            return storeSchema.getElement(group).getProperty(propertyName).getSerialiser().deserialise(propertyValueBytes.getBytes());
+        } catch (SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+        }
+    }
+
     @Override
     public Element getElementFromKey(final Key key) throws AccumuloElementConversionException {
         return getElementFromKey(key, null);
@@ -157,7 +176,8 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public Element getElementFromKey(final Key key, final Map<String, String> options) throws AccumuloElementConversionException {
-        boolean keyRepresentsEntity = doesKeyRepresentEntity(key.getRowData().getBackingArray());
+        final ByteSequence row = key.getRowData();
+        boolean keyRepresentsEntity = doesKeyRepresentEntity(row.getBackingArray(), row.offset(), row.length());
         if (keyRepresentsEntity) {
             return getEntityFromKey(key);
         }
@@ -176,6 +196,29 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return element;
     }
 
+    @Override
+    public Element getLazyElement(final Key key, final Value value) throws AccumuloElementConversionException {
+        return getLazyElement(key, value, null);
+    }
+
+    @Override
+    public Element getLazyElement(final Key key, final Value value, final Map<String, String> options) throws AccumuloElementConversionException {
+        final String group = getGroupFromKey(key);
+        final ByteSequence row = key.getRowData();
+        if (doesKeyRepresentEntity(row.getBackingArray(), row.offset(), row.length())) {
+            return new LazyEntity(new Entity(group), new CoreKeyElementValueLoader(this, group, key, value,
+                    getSerialisedVertexFromEntityRowKey(row.getBackingArray(), row.offset(), row.length()), null, false));
+        }
+
+        // The directed flag is set eagerly as it is decoded along with the serialised vertices.
+        final byte[][] sourceDestination = new byte[2][];
+        final boolean directed = getSourceAndDestinationFromRowKey(row.getBackingArray(), row.offset(), row.length(), sourceDestination, options);
+        final Edge edge = new Edge(group);
+        edge.setDirected(directed);
+        return new LazyEdge(edge, new CoreKeyElementValueLoader(this, group, key, value,
+                sourceDestination[0], sourceDestination[1], directed));
+    }
+
     @Override
     public byte[] buildColumnFamily(final String group) throws AccumuloElementConversionException {
         try {
@@ -218,8 +261,26 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     @Override
     public Properties getPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility) throws AccumuloElementConversionException {
+        if (columnVisibility == null) {
+            return new Properties();
+        }
+        return getPropertiesFromColumnVisibility(group, columnVisibility, 0, columnVisibility.length);
+    }
+
+    /**
+     * Gets the properties from a region of an array containing the column visibility, without copying the region.
+     *
+     * @param group            The {@link Element} type to be queried
+     * @param columnVisibility the array containing the column visibility
+     * @param offset           the offset of the column visibility in the array
+     * @param length           the length of the column visibility
+     * @return The Properties stored within the column visibility
+     * @throws AccumuloElementConversionException If the supplied group has not been defined or the property could
+     *                                            not be deserialised
+     */
+    public Properties getPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility, final int offset, final int length) throws AccumuloElementConversionException {
         Properties properties = new Properties();
-        if (columnVisibility == null || columnVisibility.length == 0) {
+        if (length == 0) {
             return properties;
         }
         StoreElementDefinition elDef = storeSchema.getElement(group);
@@ -231,7 +292,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
             if (StorePositions.VISIBILITY.isEqual(property.getPosition())) {
                 Serialisation serialiser = property.getSerialiser();
                 try {
-                    properties.put(propertyName, serialiser.deserialise(ByteArrayEscapeUtils.unEscape(columnVisibility)));
+                    properties.put(propertyName, serialiser.deserialise(ByteArrayEscapeUtils.unEscape(columnVisibility, offset, length)));
                 } catch (SerialisationException e) {
                     throw new AccumuloElementConversionException(e.getMessage(), e);
                 }
@@ -247,99 +308,159 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         if (elDef == null) {
             throw new AccumuloElementConversionException("No element definition found for element class: " + group);
         }
-        Boolean first = true;
-        List<byte[]> bytes = new ArrayList<>();
+        // Serialise the properties first so the column qualifier can be escaped straight into an array of the
+        // correct size.
+        final List<byte[]> bytes = new ArrayList<>();
         int totalLength = 0;
-        byte[] byteHolder;
         for (String propertyName : elDef.getProperties()) {
             StorePropertyDefinition property = elDef.getProperty(propertyName);
             if (StorePositions.COLUMN_QUALIFIER.isEqual(property.getPosition())) {
                 final Object value = properties.get(propertyName);
                 if (value != null) {
-                    if (!first) {
-                        totalLength += 1;
-                        bytes.add(DELIMITER_ARRAY);
-                    }
-                    byteHolder = ByteArrayEscapeUtils.escape(propertyName.getBytes());
-                    bytes.add(byteHolder);
-                    totalLength += byteHolder.length + 1;
-                    bytes.add(DELIMITER_ARRAY);
+                    final byte[] nameBytes = propertyName.getBytes();
+                    final byte[] valueBytes;
                     final Serialisation serialiser = property.getSerialiser();
                     if (serialiser == null) {
-                        bytes.add(value.toString().getBytes());
+                        valueBytes = value.toString().getBytes();
                     } else {
                         try {
-                            byteHolder = ByteArrayEscapeUtils.escape(property.getSerialiser().serialise(value));
-                            bytes.add(byteHolder);
-                            totalLength += byteHolder.length;
+                            valueBytes = serialiser.serialise(value);
                         } catch (SerialisationException e) {
                             throw new AccumuloElementConversionException("Failed to serialise Value for property " + propertyName, e);
                         }
                     }
-                    first = false;
+                    if (!bytes.isEmpty()) {
+                        totalLength += 1;
+                    }
+                    totalLength += ByteArrayEscapeUtils.getEscapedLength(nameBytes, 0, nameBytes.length) + 1
+                            + ByteArrayEscapeUtils.getEscapedLength(valueBytes, 0, valueBytes.length);
+                    bytes.add(nameBytes);
+                    bytes.add(valueBytes);
                 }
             }
         }
-        byte[] returnArr = new byte[totalLength];
+        final byte[] returnArr = new byte[totalLength];
         int currentLength = 0;
-        for (byte[] byteArr : bytes) {
-            System.arraycopy(byteArr, 0, returnArr, currentLength, byteArr.length);
-            currentLength += byteArr.length;
+        for (int i = 0; i < bytes.size(); i++) {
+            if (i > 0) {
+                returnArr[currentLength++] = ByteArrayEscapeUtils.DELIMITER;
+            }
+            final byte[] byteArr = bytes.get(i);
+            currentLength += ByteArrayEscapeUtils.escape(byteArr, 0, byteArr.length, returnArr, currentLength);
         }
         return returnArr;
     }
 
     @Override
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] keyPortion) throws AccumuloElementConversionException {
-        Properties result = new Properties();
-        if (keyPortion == null || keyPortion.length == 0) {
-            return result;
+        if (keyPortion == null) {
+            return new Properties();
         }
-        StoreElementDefinition elDef = storeSchema.getElement(group);
-        List<Integer> positionsOfDelimiters = new ArrayList<>();
-        for (int i = 0; i < keyPortion.length; i++) {
-            if (keyPortion[i] == ByteArrayEscapeUtils.DELIMITER) {
-                positionsOfDelimiters.add(i);
-            }
+        return getPropertiesFromColumnQualifier(group, keyPortion, 0, keyPortion.length);
+    }
+
+    /**
+     * Gets the properties from a region of an array containing the column qualifier. The column qualifier is walked
+     * in place, so the property names and values are not copied out of the array before they are decoded, and the
+     * property names are matched against the names in the {@link StoreSchema}.
+     *
+     * @param group           The {@link Element} type to be queried
+     * @param columnQualifier the array containing the column qualifier
+     * @param offset          the offset of the column qualifier in the array
+     * @param length          the length of the column qualifier
+     * @return The Properties stored within the column qualifier
+     * @throws AccumuloElementConversionException If a property could not be deserialised
+     */
+    public Properties getPropertiesFromColumnQualifier(final String group, final byte[] columnQualifier, final int offset, final int length) throws AccumuloElementConversionException {
+        final Properties result = new Properties();
+        if (length == 0) {
+            return result;
         }
-        Iterator<Integer> delimiters = positionsOfDelimiters.iterator();
-        String propertyName;
-        Object propertyValue;
-        if (delimiters.hasNext()) {
-            Integer last = delimiters.next();
-            propertyName = new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(keyPortion, 0, last)));
-            int nextPos;
-            if (delimiters.hasNext()) {
-                nextPos = delimiters.next();
-            } else {
-                nextPos = keyPortion.length;
-            }
-            try {
-                propertyValue = elDef.getProperty(propertyName).getSerialiser().deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(keyPortion, last + 1, nextPos)));
-            } catch (SerialisationException e) {
-                throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
-            }
-            last = nextPos;
-            result.put(propertyName, propertyValue);
-            while (delimiters.hasNext()) {
-                propertyName = new String(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(keyPortion, last + 1, last = delimiters.next())));
-                if (delimiters.hasNext()) {
-                    nextPos = delimiters.next();
+        final StoreElementDefinition elDef = storeSchema.getElement(group);
+        final int end = offset + length;
+        String propertyName = null;
+        int start = offset;
+        for (int i = offset; i <= end; i++) {
+            if (i == end || columnQualifier[i] == ByteArrayEscapeUtils.DELIMITER) {
+                if (null == propertyName) {
+                    // A trailing property name without a value is ignored.
+                    if (i == end) {
+                        break;
+                    }
+                    propertyName = keyNames.getColumnQualifierPropertyName(group, columnQualifier, start, i - start);
                 } else {
-                    nextPos = keyPortion.length;
-                }
-                try {
-                    propertyValue = elDef.getProperty(propertyName).getSerialiser().deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(keyPortion, last + 1, nextPos)));
-                } catch (SerialisationException e) {
-                    throw new AccumuloElementConversionException("Failed to serialise property " + propertyName, e);
+                    try {
+                        result.put(propertyName, elDef.getProperty(propertyName).getSerialiser().deserialise(ByteArrayEscapeUtils.unEscape(columnQualifier, start, i - start)));
+                    } catch (SerialisationException e) {
+                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                    }
+                    propertyName = null;
                 }
-                result.put(propertyName, propertyValue);
-                last = nextPos;
+                start = i + 1;
             }
         }
         return result;
     }
 
+    /**
+     * Gets a single property from the column qualifier. Only the requested property is deserialised, the other
+     * properties in the column qualifier are skipped over.
+     *
+     * @param group           The {@link Element} type to be queried
+     * @param columnQualifier the column qualifier bytes
+     * @param propertyName    the name of the property to get
+     * @return The deserialised property or null if it is not in the column qualifier
+     * @throws AccumuloElementConversionException If the property could not be deserialised
+     */
+    public Object getPropertyFromColumnQualifier(final String group, final byte[] columnQualifier, final String propertyName) throws AccumuloElementConversionException {
+        if (columnQualifier == null) {
+            return null;
+        }
+        return getPropertyFromColumnQualifier(group, columnQualifier, 0, columnQualifier.length, propertyName);
+    }
+
+    /**
+     * Gets a single property from a region of an array containing the column qualifier, without copying the region.
+     *
+     * @param group           The {@link Element} type to be queried
+     * @param columnQualifier the array containing the column qualifier
+     * @param offset          the offset of the column qualifier in the array
+     * @param length          the length of the column qualifier
+     * @param propertyName    the name of the property to get
+     * @return The deserialised property or null if it is not in the column qualifier
+     * @throws AccumuloElementConversionException If the property could not be deserialised
+     */
+    public Object getPropertyFromColumnQualifier(final String group, final byte[] columnQualifier, final int offset, final int length, final String propertyName) throws AccumuloElementConversionException {
+        if (length == 0) {
+            return null;
+        }
+        final StoreElementDefinition elDef = storeSchema.getElement(group);
+        if (elDef == null) {
+            throw new AccumuloElementConversionException("No element definition found for element class: " + group);
+        }
+        final byte[] escapedName = keyNames.getEscapedColumnQualifierPropertyName(group, propertyName);
+        final int end = offset + length;
+        boolean isName = true;
+        boolean nameMatches = false;
+        int start = offset;
+        for (int i = offset; i <= end; i++) {
+            if (i == end || columnQualifier[i] == ByteArrayEscapeUtils.DELIMITER) {
+                if (isName) {
+                    nameMatches = rangeEquals(columnQualifier, start, i, escapedName);
+                } else if (nameMatches) {
+                    try {
+                        return elDef.getProperty(propertyName).getSerialiser().deserialise(ByteArrayEscapeUtils.unEscape(columnQualifier, start, i - start));
+                    } catch (SerialisationException e) {
+                        throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
+                    }
+                }
+                isName = !isName;
+                start = i + 1;
+            }
+        }
+        return null;
+    }
+
     /**
      * Get the properties for a given group defined in the StoreSchema as being stored in the
      * Accumulo timestamp column.
@@ -378,36 +499,75 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
 
     protected abstract Pair<byte[]> getRowKeysFromEdge(final Edge edge) throws AccumuloElementConversionException;
 
-    protected abstract boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException;
+    protected abstract boolean doesKeyRepresentEntity(final byte[] row, final int offset, final int length) throws AccumuloElementConversionException;
 
     protected abstract Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException;
 
-    protected abstract boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final byte[][] sourceValueDestinationValue,
+    protected abstract byte[] getSerialisedVertexFromEntityRowKey(final byte[] row, final int offset, final int length) throws AccumuloElementConversionException;
+
+    /**
+     * Decodes the serialised source and destination from a region of an array containing an edge row key, without
+     * copying the region.
+     *
+     * @param rowKey                      the array containing the row key
+     * @param offset                      the offset of the row key in the array
+     * @param length                      the length of the row key
+     * @param sourceValueDestinationValue an array to populate with the serialised source and destination
+     * @param options                     the operation options
+     * @return true if the edge is directed
+     * @throws AccumuloElementConversionException if the row key is not a valid edge row key
+     */
+    protected abstract boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final int offset, final int length,
+                                                                 final byte[][] sourceValueDestinationValue,
                                                                  final Map<String, String> options) throws AccumuloElementConversionException;
 
+    protected boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException {
+        return doesKeyRepresentEntity(row, 0, row.length);
+    }
+
+    protected byte[] getSerialisedVertexFromEntityRowKey(final byte[] row) throws AccumuloElementConversionException {
+        return getSerialisedVertexFromEntityRowKey(row, 0, row.length);
+    }
+
+    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final byte[][] sourceValueDestinationValue,
+                                                        final Map<String, String> options) throws AccumuloElementConversionException {
+        return getSourceAndDestinationFromRowKey(rowKey, 0, rowKey.length, sourceValueDestinationValue, options);
+    }
+
     protected boolean selfEdge(final Edge edge) {
         return edge.getSource().equals(edge.getDestination());
     }
 
     protected void addPropertiesToElement(final Element element, final Key key) throws AccumuloElementConversionException {
-        element.copyProperties(getPropertiesFromColumnQualifier(element.getGroup(), key.getColumnQualifierData().getBackingArray()));
-        element.copyProperties(getPropertiesFromColumnVisibility(element.getGroup(), key.getColumnVisibilityData().getBackingArray()));
+        final ByteSequence columnQualifier = key.getColumnQualifierData();
+        element.copyProperties(getPropertiesFromColumnQualifier(element.getGroup(), columnQualifier.getBackingArray(), columnQualifier.offset(), columnQualifier.length()));
+        final ByteSequence columnVisibility = key.getColumnVisibilityData();
+        element.copyProperties(getPropertiesFromColumnVisibility(element.getGroup(), columnVisibility.getBackingArray(), columnVisibility.offset(), columnVisibility.length()));
         element.copyProperties(getPropertiesFromTimestamp(element.getGroup(), key.getTimestamp()));
     }
 
+    protected MapWritable readValueMap(final Value value) throws AccumuloElementConversionException {
+        MapWritable map = new MapWritable();
+        if (value == null || value.getSize() == 0) {
+            return map;
+        }
+        try {
+            map.readFields(new DataInputStream(new ByteArrayInputStream(value.get())));
+        } catch (IOException e) {
+            throw new AccumuloElementConversionException("Failed to read map writable from value", e);
+        }
+        return map;
+    }
+
     protected Serialisation getVertexSerialiser() {
         return storeSchema.getVertexSerialiser();
     }
 
     protected Edge getEdgeFromKey(final Key key, final Map<String, String> options) throws AccumuloElementConversionException {
-        byte[][] result = new byte[3][];
-        boolean directed = getSourceAndDestinationFromRowKey(key.getRowData().getBackingArray(), result, options);
-        String group;
-        try {
-            group = new String(key.getColumnFamilyData().getBackingArray(), Constants.UTF_8_CHARSET);
-        } catch (UnsupportedEncodingException e) {
-            throw new AccumuloElementConversionException(e.getMessage(), e);
-        }
+        final byte[][] result = new byte[2][];
+        final ByteSequence row = key.getRowData();
+        final boolean directed = getSourceAndDestinationFromRowKey(row.getBackingArray(), row.offset(), row.length(), result, options);
+        final String group = getGroupFromKey(key);
         try {
             Edge edge = new Edge(group, getVertexSerialiser().deserialise(result[0]), getVertexSerialiser().deserialise(result[1]), directed);
             addPropertiesToElement(edge, key);
@@ -433,8 +593,25 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         }
     }
 
-    protected String getGroupFromKey(final Key key) {
-        return new String(key.getColumnFamilyData().getBackingArray());
+    protected String getGroupFromKey(final Key key) throws AccumuloElementConversionException {
+        final ByteSequence columnFamily = key.getColumnFamilyData();
+        try {
+            return keyNames.getGroup(columnFamily.getBackingArray(), columnFamily.offset(), columnFamily.length());
+        } catch (UnsupportedEncodingException e) {
+            throw new AccumuloElementConversionException(e.getMessage(), e);
+        }
+    }
+
+    private static boolean rangeEquals(final byte[] bytes, final int start, final int end, final byte[] other) {
+        if (end - start != other.length) {
+            return false;
+        }
+        for (int i = 0; i < other.length; i++) {
+            if (bytes[start + i] != other[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private long buildTimestamp(final Element element) throws AccumuloElementConversionException {
@@ -17,12 +17,16 @@
 package gaffer.accumulostore.key.core;
 
 import gaffer.accumulostore.key.IteratorSettingFactory;
+import gaffer.accumulostore.key.core.impl.CoreKeyBlockedBloomFilterIterator;
 import gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import gaffer.accumulostore.key.core.impl.CoreKeyColumnQualifierVisibilityValueAggregatorIterator;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.impl.ElementFilter;
+import gaffer.accumulostore.key.impl.ValueStripperIterator;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.accumulostore.utils.Constants;
 import gaffer.accumulostore.utils.IteratorSettingBuilder;
+import gaffer.accumulostore.utils.SortedByteArraySet;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.impl.AggregatorIterator;
 import gaffer.data.elementdefinition.view.View;
@@ -40,6 +44,33 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 .build();
     }
 
+    @Override
+    public IteratorSetting getBloomFilterIteratorSetting(final BlockedBloomFilter filter) throws IteratorSettingException {
+        return new IteratorSettingBuilder(Constants.BLOOM_FILTER_ITERATOR_PRIORITY, Constants.BLOOM_FILTER_ITERATOR_NAME, CoreKeyBlockedBloomFilterIterator.class)
+                .bloomFilter(filter)
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getBothEndsInSetIteratorSetting(final SortedByteArraySet seeds) throws IteratorSettingException {
+        return new IteratorSettingBuilder(Constants.BLOOM_FILTER_ITERATOR_PRIORITY, Constants.BOTH_ENDS_IN_SET_ITERATOR_NAME, getBothEndsInSetIteratorClassName())
+                .seedSet(seeds)
+                .build();
+    }
+
+    @Override
+    public IteratorSetting getBothEndsInSetIteratorSetting(final BlockedBloomFilter filter) throws IteratorSettingException {
+        return new IteratorSettingBuilder(Constants.BLOOM_FILTER_ITERATOR_PRIORITY, Constants.BOTH_ENDS_IN_SET_ITERATOR_NAME, getBothEndsInSetIteratorClassName())
+                .bloomFilter(filter)
+                .build();
+    }
+
+    /**
+     * @return the class name of the {@link gaffer.accumulostore.key.core.impl.AbstractCoreKeyBothEndsInSetIterator}
+     * for the row keys of the key package
+     */
+    protected abstract String getBothEndsInSetIteratorClassName();
+
     @Override
     public IteratorSetting getElementFilterIteratorSetting(final View view, final AccumuloStore store) throws IteratorSettingException {
         return new IteratorSettingBuilder(Constants.ELEMENT_FILTER_ITERATOR_PRIORITY,
@@ -78,4 +109,10 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
                 .build();
     }
 
-}
\ No newline at end of file
+    @Override
+    public IteratorSetting getValueStripperIteratorSetting() {
+        return new IteratorSettingBuilder(Constants.VALUE_STRIPPER_ITERATOR_PRIORITY,
+                Constants.VALUE_STRIPPER_ITERATOR_NAME, ValueStripperIterator.class)
+                .build();
+    }
+}
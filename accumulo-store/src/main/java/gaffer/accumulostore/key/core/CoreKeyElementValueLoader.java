@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.exception.ElementLoaderException;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.data.element.ElementValueLoader;
+import gaffer.data.element.IdentifierType;
+import gaffer.exception.SerialisationException;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+
+/**
+ * The CoreKeyElementValueLoader decodes a single identifier or property of an element directly from the
+ * serialised Accumulo {@link Key} and {@link Value} when it is requested by a
+ * {@link gaffer.data.element.LazyEdge} or {@link gaffer.data.element.LazyEntity}.
+ * Vertices are kept in their serialised form until they are requested, column qualifier properties are
+ * located within the column qualifier without deserialising their neighbours and the {@link Value} is only
+ * read if a property stored in it is requested.
+ */
+public class CoreKeyElementValueLoader implements ElementValueLoader {
+    private final AbstractCoreKeyAccumuloElementConverter elementConverter;
+    private final String group;
+    private final Key key;
+    private final Value value;
+    private final byte[] sourceOrVertex;
+    private final byte[] destination;
+    private final boolean directed;
+
+    CoreKeyElementValueLoader(final AbstractCoreKeyAccumuloElementConverter elementConverter, final String group,
+                              final Key key, final Value value, final byte[] sourceOrVertex,
+                              final byte[] destination, final boolean directed) {
+        this.elementConverter = elementConverter;
+        this.group = group;
+        this.key = key;
+        this.value = value;
+        this.sourceOrVertex = sourceOrVertex;
+        this.destination = destination;
+        this.directed = directed;
+    }
+
+    @Override
+    public Object getIdentifier(final IdentifierType idType) {
+        switch (idType) {
+            case VERTEX:
+            case SOURCE:
+                return deserialiseVertex(sourceOrVertex);
+            case DESTINATION:
+                return deserialiseVertex(destination);
+            case DIRECTED:
+                return directed;
+            default:
+                return null;
+        }
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        final StoreElementDefinition elementDef = elementConverter.storeSchema.getElement(group);
+        if (null == elementDef) {
+            throw new ElementLoaderException("No element definition found for element class: " + group);
+        }
+
+        final StorePropertyDefinition propertyDef = elementDef.getProperty(name);
+        if (null == propertyDef) {
+            return null;
+        }
+
+        final String position = propertyDef.getPosition();
+        try {
+            if (StorePositions.COLUMN_QUALIFIER.isEqual(position)) {
+                final ByteSequence columnQualifier = key.getColumnQualifierData();
+                return elementConverter.getPropertyFromColumnQualifier(group, columnQualifier.getBackingArray(), columnQualifier.offset(), columnQualifier.length(), name);
+            }
+            if (StorePositions.VISIBILITY.isEqual(position)) {
+                final ByteSequence columnVisibility = key.getColumnVisibilityData();
+                return elementConverter.getPropertiesFromColumnVisibility(group, columnVisibility.getBackingArray(), columnVisibility.offset(), columnVisibility.length()).get(name);
+            }
+            if (StorePositions.TIMESTAMP.isEqual(position)) {
+                return key.getTimestamp();
+            }
+            if (StorePositions.VALUE.isEqual(position)) {
+                return elementConverter.getPropertyFromValue(group, value, name);
+            }
+        } catch (AccumuloElementConversionException e) {
+            throw new ElementLoaderException("Failed to load property " + name, e);
+        }
+
+        return null;
+    }
+
+    private Object deserialiseVertex(final byte[] vertex) {
+        if (null == vertex) {
+            return null;
+        }
+
+        try {
+            return elementConverter.getVertexSerialiser().deserialise(vertex);
+        } catch (SerialisationException e) {
+            throw new ElementLoaderException("Failed to deserialise vertex", e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core;
+
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StoreSchema;
+
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds the group names and column qualifier property names from the {@link StoreSchema} alongside their serialised
+ * forms, so that when a key is decoded the names can be matched against the key bytes in place and the schema's
+ * existing {@link String} instances reused rather than a new {@link String} being created for every key.
+ * <p>
+ * Names that are not in the schema are decoded from the key bytes as before.
+ */
+final class CoreKeyNames {
+    private final StoreSchema storeSchema;
+    private final ConcurrentMap<String, Names> columnQualifierPropertyNames = new ConcurrentHashMap<>();
+    private volatile Names groups;
+
+    CoreKeyNames(final StoreSchema storeSchema) {
+        this.storeSchema = storeSchema;
+    }
+
+    /**
+     * @param columnFamily the array containing the column family
+     * @param offset       the offset of the column family in the array
+     * @param length       the length of the column family
+     * @return the group from the schema with the same UTF-8 bytes as the column family, or a new {@link String}
+     * decoded from the column family if there isn't one
+     * @throws UnsupportedEncodingException if UTF-8 is not supported
+     */
+    String getGroup(final byte[] columnFamily, final int offset, final int length) throws UnsupportedEncodingException {
+        Names names = groups;
+        if (null == names) {
+            names = createGroupNames();
+            groups = names;
+        }
+
+        final String group = names.find(columnFamily, offset, length);
+        if (null != group) {
+            return group;
+        }
+        return new String(columnFamily, offset, length, Constants.UTF_8_CHARSET);
+    }
+
+    /**
+     * @param group           the group of the element
+     * @param columnQualifier the array containing the escaped property name
+     * @param offset          the offset of the escaped property name in the array
+     * @param length          the length of the escaped property name
+     * @return the property name from the schema that matches the escaped property name, or a new {@link String}
+     * decoded from the column qualifier if there isn't one
+     */
+    String getColumnQualifierPropertyName(final String group, final byte[] columnQualifier, final int offset, final int length) {
+        final String propertyName = getColumnQualifierPropertyNames(group).find(columnQualifier, offset, length);
+        if (null != propertyName) {
+            return propertyName;
+        }
+        return new String(ByteArrayEscapeUtils.unEscape(columnQualifier, offset, length));
+    }
+
+    /**
+     * @param group        the group of the element
+     * @param propertyName the name of a property stored in the column qualifier
+     * @return the escaped bytes of the property name, as it appears in the column qualifier
+     */
+    byte[] getEscapedColumnQualifierPropertyName(final String group, final String propertyName) {
+        final byte[] escapedName = getColumnQualifierPropertyNames(group).getBytes(propertyName);
+        if (null != escapedName) {
+            return escapedName;
+        }
+        return ByteArrayEscapeUtils.escape(propertyName.getBytes());
+    }
+
+    private Names getColumnQualifierPropertyNames(final String group) {
+        Names names = columnQualifierPropertyNames.get(group);
+        if (null == names) {
+            final List<String> propertyNames = new ArrayList<>();
+            final StoreElementDefinition elDef = storeSchema.getElement(group);
+            if (null != elDef) {
+                for (String propertyName : elDef.getProperties()) {
+                    if (StorePositions.COLUMN_QUALIFIER.isEqual(elDef.getProperty(propertyName).getPosition())) {
+                        propertyNames.add(propertyName);
+                    }
+                }
+            }
+
+            final String[] namesArray = propertyNames.toArray(new String[propertyNames.size()]);
+            final byte[][] escapedNames = new byte[namesArray.length][];
+            for (int i = 0; i < namesArray.length; i++) {
+                escapedNames[i] = ByteArrayEscapeUtils.escape(namesArray[i].getBytes());
+            }
+            names = new Names(namesArray, escapedNames);
+            columnQualifierPropertyNames.putIfAbsent(group, names);
+        }
+        return names;
+    }
+
+    private Names createGroupNames() throws UnsupportedEncodingException {
+        final List<String> groupNames = new ArrayList<>();
+        addGroups(storeSchema.getEntities(), groupNames);
+        addGroups(storeSchema.getEdges(), groupNames);
+
+        final String[] namesArray = groupNames.toArray(new String[groupNames.size()]);
+        final byte[][] groupBytes = new byte[namesArray.length][];
+        for (int i = 0; i < namesArray.length; i++) {
+            groupBytes[i] = namesArray[i].getBytes(Constants.UTF_8_CHARSET);
+        }
+        return new Names(namesArray, groupBytes);
+    }
+
+    private static void addGroups(final Map<String, StoreElementDefinition> elementDefinitions, final List<String> groupNames) {
+        if (null != elementDefinitions) {
+            groupNames.addAll(elementDefinitions.keySet());
+        }
+    }
+
+    private static final class Names {
+        private final String[] names;
+        private final byte[][] bytes;
+
+        Names(final String[] names, final byte[][] bytes) {
+            this.names = names;
+            this.bytes = bytes;
+        }
+
+        String find(final byte[] array, final int offset, final int length) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (regionEquals(bytes[i], array, offset, length)) {
+                    return names[i];
+                }
+            }
+            return null;
+        }
+
+        byte[] getBytes(final String name) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return bytes[i];
+                }
+            }
+            return null;
+        }
+
+        private static boolean regionEquals(final byte[] name, final byte[] array, final int offset, final int length) {
+            if (name.length != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (name[i] != array[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
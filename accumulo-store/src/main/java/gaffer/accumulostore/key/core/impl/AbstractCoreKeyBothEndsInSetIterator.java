@@ -0,0 +1,136 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import gaffer.accumulostore.key.exception.BloomFilterIteratorException;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.accumulostore.utils.SortedByteArraySet;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.Filter;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Filters out edges whose destination vertex, i.e. the second vertex in the row key, is not in the set of seeds, so
+ * that when the ranges for a set query are scanned only edges with both ends in the set leave the tablet server.
+ * Entities are always accepted. The seeds are either an exact {@link SortedByteArraySet}, for small sets, or a
+ * {@link BlockedBloomFilter}, and the destination is tested in place in the row.
+ * <p/>
+ * Implementations locate the destination vertex within the row key of their key package. Deserialised seed sets are
+ * cached on the tablet server against a SHA-256 digest of the serialised set, which is computed on the tablet server
+ * so a client cannot cause another scan's seed set to be used.
+ */
+public abstract class AbstractCoreKeyBothEndsInSetIterator extends Filter {
+    private static final int MAX_CACHED_SEED_SETS = 32;
+    private static final Cache<HashCode, SortedByteArraySet> SEED_SET_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_SEED_SETS)
+            .softValues()
+            .build();
+
+    private SortedByteArraySet seeds;
+    private BlockedBloomFilter filter;
+
+    @Override
+    public boolean accept(final Key key, final Value value) {
+        final ByteSequence row = key.getRowData();
+        final byte[] bytes = row.getBackingArray();
+        final int destinationOffset = getDestinationOffset(bytes, row.offset(), row.length());
+        if (-1 == destinationOffset) {
+            return true;
+        }
+
+        // For both key packages the destination is followed by a delimiter and a direction flag.
+        final int destinationLength = row.offset() + row.length() - 2 - destinationOffset;
+        if (null != seeds) {
+            return seeds.contains(bytes, destinationOffset, destinationLength);
+        }
+        return filter.membershipTest(bytes, destinationOffset, destinationLength);
+    }
+
+    /**
+     * @param row    the backing array of the row
+     * @param offset the offset of the row in the array
+     * @param length the length of the row
+     * @return the index in the array of the start of the destination vertex, or -1 if the row is for an entity
+     */
+    protected abstract int getDestinationOffset(final byte[] row, final int offset, final int length);
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options, final IteratorEnvironment env) throws IOException {
+        validateOptions(options);
+        super.init(source, options, env);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final AbstractCoreKeyBothEndsInSetIterator copy = (AbstractCoreKeyBothEndsInSetIterator) super.deepCopy(env);
+        copy.seeds = seeds;
+        copy.filter = filter;
+        return copy;
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (options.containsKey(Constants.SEED_SET)) {
+            seeds = getSeeds(options);
+        } else if (options.containsKey(Constants.BLOOM_FILTER)) {
+            filter = CoreKeyBlockedBloomFilterIterator.getFilter(options);
+        } else {
+            throw new BloomFilterIteratorException("Must set either the " + Constants.SEED_SET + " or the "
+                    + Constants.BLOOM_FILTER + " option");
+        }
+        return true;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        final Map<String, String> namedOptions = new HashMap<>();
+        namedOptions.put(Constants.SEED_SET, "The serialised form of the sorted set of seeds that destinations will be tested against");
+        namedOptions.put(Constants.BLOOM_FILTER, "The serialised form of the blocked bloom filter that destinations will be tested against, if there is no seed set");
+        return new IteratorOptions(Constants.BOTH_ENDS_IN_SET_ITERATOR_NAME,
+                "Only returns edges whose destination is in the set of seeds", namedOptions, null);
+    }
+
+    private static SortedByteArraySet getSeeds(final Map<String, String> options) {
+        final String serialisedSeeds = options.get(Constants.SEED_SET);
+        final HashCode digest = CoreKeyBlockedBloomFilterIterator.digest(serialisedSeeds);
+        SortedByteArraySet seeds = SEED_SET_CACHE.getIfPresent(digest);
+        if (null == seeds) {
+            seeds = new SortedByteArraySet();
+            try {
+                seeds.readFields(new DataInputStream(new ByteArrayInputStream(
+                        serialisedSeeds.getBytes(Constants.BLOOM_FILTER_CHARSET))));
+            } catch (IOException e) {
+                throw new BloomFilterIteratorException("Failed to re-create serialised seed set", e);
+            }
+            SEED_SET_CACHE.put(digest, seeds);
+        }
+        return seeds;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import gaffer.accumulostore.key.exception.BloomFilterIteratorException;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
+import gaffer.accumulostore.utils.Constants;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.Filter;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Filters out elements whose row key vertex is not a member of the provided {@link BlockedBloomFilter}.
+ * The vertex is hashed in place in the row, so no arrays are created per key.
+ * <p/>
+ * Deserialised filters are cached on the tablet server against a SHA-256 digest of the serialised filter, so when
+ * the iterator stack is re-created to continue a scan, or the iterator is deep copied, the filter is not decoded again.
+ * The digest is computed on the tablet server, so a client cannot cause another scan's filter to be used.
+ */
+public class CoreKeyBlockedBloomFilterIterator extends Filter {
+    private static final int MAX_CACHED_FILTERS = 32;
+    private static final Cache<HashCode, BlockedBloomFilter> FILTER_CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CACHED_FILTERS)
+            .softValues()
+            .build();
+
+    private BlockedBloomFilter filter;
+
+    @Override
+    public boolean accept(final Key key, final Value value) {
+        final ByteSequence row = key.getRowData();
+        final byte[] bytes = row.getBackingArray();
+        final int offset = row.offset();
+        final int pos = ByteArrayEscapeUtils.indexOfDelimiter(bytes, offset, row.length());
+        return filter.membershipTest(bytes, offset, -1 == pos ? row.length() : pos - offset);
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options, final IteratorEnvironment env) throws IOException {
+        validateOptions(options);
+        super.init(source, options, env);
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final CoreKeyBlockedBloomFilterIterator copy = (CoreKeyBlockedBloomFilterIterator) super.deepCopy(env);
+        copy.filter = filter;
+        return copy;
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!options.containsKey(Constants.BLOOM_FILTER)) {
+            throw new BloomFilterIteratorException("Must set the " + Constants.BLOOM_FILTER + " option");
+        }
+
+        filter = getFilter(options);
+        return true;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        final Map<String, String> namedOptions = new HashMap<>();
+        return new IteratorOptions(Constants.BLOOM_FILTER,
+                "Required The serialised form of the blocked bloom filter that keys will be tested against ",
+                namedOptions, null);
+    }
+
+    /**
+     * @param options the iterator options containing the {@link Constants#BLOOM_FILTER}
+     * @return the cached filter with the same serialised form, or the deserialised filter if it is not cached
+     */
+    static BlockedBloomFilter getFilter(final Map<String, String> options) {
+        final String serialisedFilter = options.get(Constants.BLOOM_FILTER);
+        final HashCode digest = digest(serialisedFilter);
+        BlockedBloomFilter filter = FILTER_CACHE.getIfPresent(digest);
+        if (null == filter) {
+            filter = readFilter(serialisedFilter);
+            FILTER_CACHE.put(digest, filter);
+        }
+        return filter;
+    }
+
+    /**
+     * @param serialised a serialised option value
+     * @return a SHA-256 digest of the option value, to use as a cache key
+     */
+    static HashCode digest(final String serialised) {
+        return Hashing.sha256().hashString(serialised, Charset.forName(Constants.BLOOM_FILTER_CHARSET));
+    }
+
+    private static BlockedBloomFilter readFilter(final String serialisedFilter) {
+        final BlockedBloomFilter filter = new BlockedBloomFilter();
+        try {
+            filter.readFields(new DataInputStream(new ByteArrayInputStream(
+                    serialisedFilter.getBytes(Constants.BLOOM_FILTER_CHARSET))));
+        } catch (IOException e) {
+            throw new BloomFilterIteratorException("Failed to re-create serialised bloom filter", e);
+        }
+        return filter;
+    }
+}
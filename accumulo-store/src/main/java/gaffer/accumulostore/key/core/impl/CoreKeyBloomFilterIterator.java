@@ -19,6 +19,7 @@ package gaffer.accumulostore.key.core.impl;
 import gaffer.accumulostore.key.exception.BloomFilterIteratorException;
 import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
 import gaffer.accumulostore.utils.Constants;
+import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.iterators.Filter;
@@ -43,7 +44,8 @@ public class CoreKeyBloomFilterIterator extends Filter {
 
     @Override
     public boolean accept(final Key key, final Value value) {
-        return filter.membershipTest(new org.apache.hadoop.util.bloom.Key(getVertexFromKey(key.getRowData().getBackingArray())));
+        final ByteSequence row = key.getRowData();
+        return filter.membershipTest(new org.apache.hadoop.util.bloom.Key(getVertexFromKey(row.getBackingArray(), row.offset(), row.length())));
     }
 
     @Override
@@ -76,17 +78,17 @@ public class CoreKeyBloomFilterIterator extends Filter {
     }
 
     public byte[] getVertexFromKey(final byte[] key) {
-        int pos = -1;
-        for (int i = 0; i < key.length; ++i) {
-            if (key[i] == ByteArrayEscapeUtils.DELIMITER) {
-                pos = i;
-                break;
-            }
-        }
+        return getVertexFromKey(key, 0, key.length);
+    }
+
+    public byte[] getVertexFromKey(final byte[] key, final int offset, final int length) {
+        final int pos = ByteArrayEscapeUtils.indexOfDelimiter(key, offset, length);
         if (pos != -1) {
-            return Arrays.copyOf(key, pos);
-        } else {
+            return Arrays.copyOfRange(key, offset, pos);
+        } else if (offset == 0 && length == key.length) {
             return key;
+        } else {
+            return Arrays.copyOfRange(key, offset, offset + length);
         }
     }
 }
\ No newline at end of file
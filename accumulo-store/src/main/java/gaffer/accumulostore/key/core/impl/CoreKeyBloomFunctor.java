@@ -56,13 +56,7 @@ public class CoreKeyBloomFunctor implements KeyFunctor {
     }
 
     public byte[] getVertexFromRangeKey(final byte[] key) {
-        int pos = -1;
-        for (int j = 0; j < key.length; ++j) {
-            if (key[j] == ByteArrayEscapeUtils.DELIMITER) {
-                pos = j;
-                break;
-            }
-        }
+        final int pos = ByteArrayEscapeUtils.indexOfDelimiter(key, 0, key.length);
         if (pos != -1) {
             return Arrays.copyOf(key, pos);
         } else {
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core.impl;
+
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.StorePositions;
+import gaffer.data.element.Properties;
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The CoreKeyCompactValueFormat serialises the properties stored in an Accumulo {@link Value} without repeating
+ * the property names. The value starts with a version byte followed by each of the group's <code>VALUE</code>
+ * properties, in the order they are defined in the {@link StoreSchema}. Each property is written as a variable
+ * length int length prefix followed by the serialised property. An absent property has a length of -1 and any
+ * absent properties at the end of the value are not written at all.
+ * <p>
+ * As each property is length prefixed, a single property can be read by skipping over the properties before it
+ * without deserialising them.
+ * <p>
+ * Values written with a MapWritable always start with a zero byte, so {@link #isCompactValue(Value)} can be used to
+ * tell the two formats apart. New properties must only be added to the end of a group's properties, otherwise
+ * values that have already been written will be read incorrectly.
+ */
+public class CoreKeyCompactValueFormat {
+    public static final byte COMPACT_VALUE_VERSION = 1;
+    private static final int ABSENT_PROPERTY_LENGTH = -1;
+
+    private final Map<String, GroupLayout> layouts = new HashMap<>();
+
+    public CoreKeyCompactValueFormat(final StoreSchema storeSchema) {
+        addLayouts(storeSchema.getEntities());
+        addLayouts(storeSchema.getEdges());
+    }
+
+    /**
+     * @param value the value to check
+     * @return true if the value was written using the compact format, false if it is empty or was written using a
+     * MapWritable.
+     */
+    public static boolean isCompactValue(final Value value) {
+        return null != value && value.getSize() > 0 && COMPACT_VALUE_VERSION == value.get()[0];
+    }
+
+    public Value getValueFromProperties(final String group, final Properties properties) throws AccumuloElementConversionException {
+        final GroupLayout layout = getLayout(group);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        int absentProperties = 0;
+        boolean hasProperties = false;
+        try {
+            out.writeByte(COMPACT_VALUE_VERSION);
+            for (int i = 0; i < layout.propertyNames.length; i++) {
+                final Object property = properties.get(layout.propertyNames[i]);
+                if (null == property) {
+                    absentProperties++;
+                    continue;
+                }
+                for (; absentProperties > 0; absentProperties--) {
+                    WritableUtils.writeVInt(out, ABSENT_PROPERTY_LENGTH);
+                }
+                final byte[] propertyBytes = layout.serialisers[i].serialise(property);
+                WritableUtils.writeVInt(out, propertyBytes.length);
+                out.write(propertyBytes);
+                hasProperties = true;
+            }
+        } catch (IOException e) {
+            throw new AccumuloElementConversionException("Failed to serialise properties for group " + group, e);
+        }
+
+        if (!hasProperties) {
+            return new Value();
+        }
+        return new Value(bytes.toByteArray());
+    }
+
+    public Properties getPropertiesFromValue(final String group, final Value value) throws AccumuloElementConversionException {
+        final Properties properties = new Properties();
+        if (!isCompactValue(value)) {
+            return properties;
+        }
+
+        final GroupLayout layout = getLayout(group);
+        final byte[] bytes = value.get();
+        int pos = 1;
+        for (int i = 0; i < layout.propertyNames.length && pos < bytes.length; i++) {
+            final int length = readLength(bytes, pos);
+            pos += WritableUtils.decodeVIntSize(bytes[pos]);
+            if (ABSENT_PROPERTY_LENGTH != length) {
+                properties.put(layout.propertyNames[i], deserialise(layout, i, bytes, pos, length));
+                pos += length;
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Reads a single property from the value, skipping over the properties stored before it.
+     *
+     * @param group        the group of the element the value belongs to
+     * @param value        the value to read from
+     * @param propertyName the name of the property to read
+     * @return the deserialised property or null if it is not in the value
+     * @throws AccumuloElementConversionException if the property could not be deserialised
+     */
+    public Object getPropertyFromValue(final String group, final Value value, final String propertyName) throws AccumuloElementConversionException {
+        if (!isCompactValue(value)) {
+            return null;
+        }
+
+        final GroupLayout layout = getLayout(group);
+        final Integer index = layout.indices.get(propertyName);
+        if (null == index) {
+            return null;
+        }
+
+        final byte[] bytes = value.get();
+        int pos = 1;
+        for (int i = 0; pos < bytes.length; i++) {
+            final int length = readLength(bytes, pos);
+            pos += WritableUtils.decodeVIntSize(bytes[pos]);
+            if (i == index) {
+                return ABSENT_PROPERTY_LENGTH == length ? null : deserialise(layout, i, bytes, pos, length);
+            }
+            if (ABSENT_PROPERTY_LENGTH != length) {
+                pos += length;
+            }
+        }
+        return null;
+    }
+
+    private GroupLayout getLayout(final String group) throws AccumuloElementConversionException {
+        final GroupLayout layout = layouts.get(group);
+        if (null == layout) {
+            throw new AccumuloElementConversionException("No element definition found for element class: " + group);
+        }
+        return layout;
+    }
+
+    private void addLayouts(final Map<String, StoreElementDefinition> elementDefs) {
+        if (null == elementDefs) {
+            return;
+        }
+        for (final Map.Entry<String, StoreElementDefinition> entry : elementDefs.entrySet()) {
+            layouts.put(entry.getKey(), new GroupLayout(entry.getValue()));
+        }
+    }
+
+    private static int readLength(final byte[] bytes, final int pos) throws AccumuloElementConversionException {
+        try {
+            return WritableComparator.readVInt(bytes, pos);
+        } catch (IOException e) {
+            throw new AccumuloElementConversionException("Failed to read property length from value", e);
+        }
+    }
+
+    private static Object deserialise(final GroupLayout layout, final int index, final byte[] bytes, final int pos, final int length) throws AccumuloElementConversionException {
+        try {
+            return layout.serialisers[index].deserialise(Arrays.copyOfRange(bytes, pos, pos + length));
+        } catch (SerialisationException e) {
+            throw new AccumuloElementConversionException("Failed to deserialise property " + layout.propertyNames[index], e);
+        }
+    }
+
+    private static final class GroupLayout {
+        private final String[] propertyNames;
+        private final Serialisation[] serialisers;
+        private final Map<String, Integer> indices = new HashMap<>();
+
+        private GroupLayout(final StoreElementDefinition elementDef) {
+            final List<String> names = new ArrayList<>();
+            final List<Serialisation> valueSerialisers = new ArrayList<>();
+            for (final String propertyName : elementDef.getProperties()) {
+                final StorePropertyDefinition propertyDef = elementDef.getProperty(propertyName);
+                if (StorePositions.VALUE.isEqual(propertyDef.getPosition())) {
+                    indices.put(propertyName, names.size());
+                    names.add(propertyName);
+                    valueSerialisers.add(propertyDef.getSerialiser());
+                }
+            }
+            propertyNames = names.toArray(new String[names.size()]);
+            serialisers = valueSerialisers.toArray(new Serialisation[valueSerialisers.size()]);
+        }
+    }
+}
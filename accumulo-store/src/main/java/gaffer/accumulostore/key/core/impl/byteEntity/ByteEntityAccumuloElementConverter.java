@@ -26,9 +26,9 @@ import gaffer.data.element.Entity;
 import gaffer.exception.SerialisationException;
 import gaffer.store.schema.StoreSchema;
 
+import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 
-import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -63,10 +63,11 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
 
     @Override
     protected byte[] getRowKeyFromEntity(final Entity entity) throws AccumuloElementConversionException {
-        byte[] value;
         try {
-            value = ByteArrayEscapeUtils.escape(getVertexSerialiser().serialise(entity.getVertex()));
-            byte[] returnVal = Arrays.copyOf(value, value.length + 2);
+            final byte[] vertex = getVertexSerialiser().serialise(entity.getVertex());
+            final int escapedLength = ByteArrayEscapeUtils.getEscapedLength(vertex, 0, vertex.length);
+            final byte[] returnVal = new byte[escapedLength + 2];
+            ByteArrayEscapeUtils.escape(vertex, 0, vertex.length, returnVal, 0);
             returnVal[returnVal.length - 2] = ByteArrayEscapeUtils.DELIMITER;
             returnVal[returnVal.length - 1] = ByteEntityPositions.ENTITY;
             return returnVal;
@@ -113,14 +114,15 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
     }
 
     @Override
-    protected boolean doesKeyRepresentEntity(final byte[] row) {
-        return row[row.length - 1] == ByteEntityPositions.ENTITY;
+    protected boolean doesKeyRepresentEntity(final byte[] row, final int offset, final int length) {
+        return row[offset + length - 1] == ByteEntityPositions.ENTITY;
     }
 
     @Override
     protected Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            Entity entity = new Entity(getGroupFromKey(key), getVertexSerialiser().deserialise(ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(key.getRowData().getBackingArray(), 0, (key.getRowData().getBackingArray().length) - 2))));
+            final ByteSequence row = key.getRowData();
+            Entity entity = new Entity(getGroupFromKey(key), getVertexSerialiser().deserialise(getSerialisedVertexFromEntityRowKey(row.getBackingArray(), row.offset(), row.length())));
             addPropertiesToElement(entity, key);
             return entity;
         } catch (SerialisationException e) {
@@ -129,13 +131,20 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
     }
 
     @Override
-    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final byte[][] sourceValueDestinationValue,
+    protected byte[] getSerialisedVertexFromEntityRowKey(final byte[] row, final int offset, final int length) {
+        return ByteArrayEscapeUtils.unEscape(row, offset, length - 2);
+    }
+
+    @Override
+    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final int offset, final int length,
+                                                        final byte[][] sourceValueDestinationValue,
                                                         final Map<String, String> options) throws AccumuloElementConversionException {
         // Get element class, sourceValue, destinationValue and directed flag from row key
         int[] positionsOfDelimiters = new int[3]; // Expect to find 3 delimiters (4 fields)
         short numDelims = 0;
         //Last byte will be directional flag so don't count it
-        for (int i = 0; i < rowKey.length - 1; ++i) {
+        final int end = offset + length;
+        for (int i = offset; i < end - 1; ++i) {
             if (rowKey[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (numDelims >= 3) {
                     throw new AccumuloElementConversionException("Too many delimiters found in row key - found more than the expected 3.");
@@ -151,19 +160,19 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
         // If the edge is directed then need to decide which way round the vertices should go.
         byte directionFlag;
         try {
-            directionFlag = rowKey[rowKey.length - 1];
+            directionFlag = rowKey[end - 1];
         } catch (NumberFormatException e) {
             throw new AccumuloElementConversionException("Error parsing direction flag from row key - " + e);
         }
         if (directionFlag == ByteEntityPositions.UNDIRECTED_EDGE) {
             // Edge is undirected
-            sourceValueDestinationValue[0] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[1] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]));
+            sourceValueDestinationValue[0] = ByteArrayEscapeUtils.unEscape(rowKey, offset, positionsOfDelimiters[0] - offset);
+            sourceValueDestinationValue[1] = ByteArrayEscapeUtils.unEscape(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2] - positionsOfDelimiters[1] - 1);
             return false;
         } else if (directionFlag == ByteEntityPositions.CORRECT_WAY_DIRECTED_EDGE) {
             // Edge is directed and the first identifier is the source of the edge
-            sourceValueDestinationValue[0] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[1] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]));
+            sourceValueDestinationValue[0] = ByteArrayEscapeUtils.unEscape(rowKey, offset, positionsOfDelimiters[0] - offset);
+            sourceValueDestinationValue[1] = ByteArrayEscapeUtils.unEscape(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2] - positionsOfDelimiters[1] - 1);
             return true;
         } else if (directionFlag == ByteEntityPositions.INCORRECT_WAY_DIRECTED_EDGE) {
             // Edge is directed and the second identifier is the source of the edge
@@ -174,8 +183,8 @@ public class ByteEntityAccumuloElementConverter extends AbstractCoreKeyAccumuloE
                 src = 0;
                 dst = 1;
             }
-            sourceValueDestinationValue[src] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[dst] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2]));
+            sourceValueDestinationValue[src] = ByteArrayEscapeUtils.unEscape(rowKey, offset, positionsOfDelimiters[0] - offset);
+            sourceValueDestinationValue[dst] = ByteArrayEscapeUtils.unEscape(rowKey, positionsOfDelimiters[1] + 1, positionsOfDelimiters[2] - positionsOfDelimiters[1] - 1);
             return true;
         } else {
             throw new AccumuloElementConversionException("Invalid direction flag in row key - flag was " + directionFlag);
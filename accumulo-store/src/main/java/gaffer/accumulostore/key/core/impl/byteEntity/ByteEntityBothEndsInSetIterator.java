@@ -0,0 +1,35 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core.impl.byteEntity;
+
+import gaffer.accumulostore.key.core.impl.AbstractCoreKeyBothEndsInSetIterator;
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
+
+/**
+ * A {@link AbstractCoreKeyBothEndsInSetIterator} for the byte entity row keys. An edge row is
+ * source DELIMITER flag DELIMITER destination DELIMITER flag, and an entity row is vertex DELIMITER flag.
+ */
+public class ByteEntityBothEndsInSetIterator extends AbstractCoreKeyBothEndsInSetIterator {
+    @Override
+    protected int getDestinationOffset(final byte[] row, final int offset, final int length) {
+        final int pos = ByteArrayEscapeUtils.indexOfDelimiter(row, offset, length);
+        if (-1 == pos || pos + 2 >= offset + length) {
+            return -1;
+        }
+        return pos + 3;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core.impl.byteEntity;
+
+import gaffer.accumulostore.key.core.impl.CoreKeyCompactValueFormat;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Properties;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.data.Value;
+
+/**
+ * The ByteEntityCompactValueAccumuloElementConverter uses the same keys as the {@link ByteEntityAccumuloElementConverter}
+ * but writes values using the {@link CoreKeyCompactValueFormat}. Values previously written using a MapWritable
+ * can still be read, so this converter can be used with existing tables.
+ */
+public class ByteEntityCompactValueAccumuloElementConverter extends ByteEntityAccumuloElementConverter {
+    private final CoreKeyCompactValueFormat valueFormat;
+
+    public ByteEntityCompactValueAccumuloElementConverter(final StoreSchema storeSchema) {
+        super(storeSchema);
+        valueFormat = new CoreKeyCompactValueFormat(storeSchema);
+    }
+
+    @Override
+    public Value getValueFromProperties(final Properties properties, final String group) throws AccumuloElementConversionException {
+        return valueFormat.getValueFromProperties(group, properties);
+    }
+
+    @Override
+    public Properties getPropertiesFromValue(final String group, final Value value) throws AccumuloElementConversionException {
+        if (CoreKeyCompactValueFormat.isCompactValue(value)) {
+            return valueFormat.getPropertiesFromValue(group, value);
+        }
+        return super.getPropertiesFromValue(group, value);
+    }
+
+    @Override
+    public Object getPropertyFromValue(final String group, final Value value, final String propertyName) throws AccumuloElementConversionException {
+        if (CoreKeyCompactValueFormat.isCompactValue(value)) {
+            return valueFormat.getPropertyFromValue(group, value, propertyName);
+        }
+        return super.getPropertyFromValue(group, value, propertyName);
+    }
+}
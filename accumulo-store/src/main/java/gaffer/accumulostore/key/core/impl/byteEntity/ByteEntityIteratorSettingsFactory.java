@@ -22,8 +22,15 @@ import gaffer.operation.GetOperation;
 import org.apache.accumulo.core.client.IteratorSetting;
 
 public class ByteEntityIteratorSettingsFactory extends AbstractCoreKeyIteratorSettingsFactory {
+    private static final String BOTH_ENDS_IN_SET = ByteEntityBothEndsInSetIterator.class.getName();
+
     @Override
     public IteratorSetting getEdgeEntityDirectionFilterIteratorSetting(final GetOperation<?, ?> operation) {
         return null;
     }
+
+    @Override
+    protected String getBothEndsInSetIteratorClassName() {
+        return BOTH_ENDS_IN_SET;
+    }
 }
\ No newline at end of file
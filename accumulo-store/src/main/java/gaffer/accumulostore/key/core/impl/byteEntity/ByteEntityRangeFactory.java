@@ -48,37 +48,39 @@ public class ByteEntityRangeFactory extends AbstractCoreKeyRangeFactory {
     protected <T extends GetOperation<?, ?>> Key getKeyFromEdgeSeed(final EdgeSeed seed, T operation, final boolean endKey) throws RangeFactoryException {
         Serialisation vertexSerialiser = storeSchema.getVertexSerialiser();
         byte directionFlag1 = seed.isDirected() ? ByteEntityPositions.CORRECT_WAY_DIRECTED_EDGE : ByteEntityPositions.UNDIRECTED_EDGE;
-        byte[] sourceValue;
+        final byte[] sourceValue;
         try {
-            sourceValue = ByteArrayEscapeUtils.escape((vertexSerialiser.serialise(seed.getSource())));
+            sourceValue = vertexSerialiser.serialise(seed.getSource());
         } catch (SerialisationException e) {
             throw new RangeFactoryException("Failed to serialise Edge Source", e);
         }
-        byte[] destinationValue;
+        final byte[] destinationValue;
         try {
-            destinationValue = ByteArrayEscapeUtils.escape(vertexSerialiser.serialise(seed.getDestination()));
+            destinationValue = vertexSerialiser.serialise(seed.getDestination());
         } catch (SerialisationException e) {
             throw new RangeFactoryException("Failed to serialise Edge Destination", e);
         }
+        final int sourceLength = ByteArrayEscapeUtils.getEscapedLength(sourceValue, 0, sourceValue.length);
+        final int destinationLength = ByteArrayEscapeUtils.getEscapedLength(destinationValue, 0, destinationValue.length);
         int length;
         byte[] key;
         if (endKey) {
-            length = sourceValue.length + destinationValue.length + 6;
+            length = sourceLength + destinationLength + 6;
             key = new byte[length];
             key[key.length - 3] = ByteArrayEscapeUtils.DELIMITER;
             key[key.length - 2] = directionFlag1;
             key[key.length - 1] = ByteArrayEscapeUtils.DELIMITER_PLUS_ONE;
         } else {
-            length = sourceValue.length + destinationValue.length + 5;
+            length = sourceLength + destinationLength + 5;
             key = new byte[length];
             key[key.length - 2] = ByteArrayEscapeUtils.DELIMITER;
             key[key.length - 1] = directionFlag1;
         }
-        System.arraycopy(sourceValue, 0, key, 0, sourceValue.length);
-        key[sourceValue.length] = ByteArrayEscapeUtils.DELIMITER;
-        key[sourceValue.length + 1] = directionFlag1;
-        key[sourceValue.length + 2] = ByteArrayEscapeUtils.DELIMITER;
-        System.arraycopy(destinationValue, 0, key, sourceValue.length + 3, destinationValue.length);
+        ByteArrayEscapeUtils.escape(sourceValue, 0, sourceValue.length, key, 0);
+        key[sourceLength] = ByteArrayEscapeUtils.DELIMITER;
+        key[sourceLength + 1] = directionFlag1;
+        key[sourceLength + 2] = ByteArrayEscapeUtils.DELIMITER;
+        ByteArrayEscapeUtils.escape(destinationValue, 0, destinationValue.length, key, sourceLength + 3);
         return new Key(key, Constants.EMPTY_BYTES, Constants.EMPTY_BYTES, Constants.EMPTY_BYTES, Long.MAX_VALUE);
     }
 
@@ -26,9 +26,9 @@ import gaffer.data.element.Entity;
 import gaffer.exception.SerialisationException;
 import gaffer.store.schema.StoreSchema;
 
+import org.apache.accumulo.core.data.ByteSequence;
 import org.apache.accumulo.core.data.Key;
 
-import java.util.Arrays;
 import java.util.Map;
 
 public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElementConverter {
@@ -100,10 +100,11 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
     }
 
     @Override
-    protected boolean doesKeyRepresentEntity(final byte[] row) throws AccumuloElementConversionException {
+    protected boolean doesKeyRepresentEntity(final byte[] row, final int offset, final int length) throws AccumuloElementConversionException {
         short numDelims = 0;
-        for (final byte rowPart : row) {
-            if (rowPart == ByteArrayEscapeUtils.DELIMITER) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (row[i] == ByteArrayEscapeUtils.DELIMITER) {
                 numDelims++;
             }
         }
@@ -118,7 +119,8 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
     @Override
     protected Entity getEntityFromKey(final Key key) throws AccumuloElementConversionException {
         try {
-            Entity entity = new Entity(getGroupFromKey((key)), getVertexSerialiser().deserialise(ByteArrayEscapeUtils.unEscape(key.getRowData().getBackingArray())));
+            final ByteSequence row = key.getRowData();
+            Entity entity = new Entity(getGroupFromKey(key), getVertexSerialiser().deserialise(getSerialisedVertexFromEntityRowKey(row.getBackingArray(), row.offset(), row.length())));
             addPropertiesToElement(entity, key);
             return entity;
         } catch (SerialisationException e) {
@@ -127,11 +129,18 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
     }
 
     @Override
-    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final byte[][] sourceValueDestinationValue, Map<String, String> options) throws AccumuloElementConversionException {
+    protected byte[] getSerialisedVertexFromEntityRowKey(final byte[] row, final int offset, final int length) {
+        return ByteArrayEscapeUtils.unEscape(row, offset, length);
+    }
+
+    @Override
+    protected boolean getSourceAndDestinationFromRowKey(final byte[] rowKey, final int offset, final int length,
+                                                        final byte[][] sourceValueDestinationValue, final Map<String, String> options) throws AccumuloElementConversionException {
         // Get sourceValue, destinationValue and directed flag from row key
         int[] positionsOfDelimiters = new int[2]; // Expect to find 2 delimiters (3 fields)
         short numDelims = 0;
-        for (int i = 0; i < rowKey.length; i++) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
             if (rowKey[i] == ByteArrayEscapeUtils.DELIMITER) {
                 if (numDelims >= 2) {
                     throw new AccumuloElementConversionException("Too many delimiters found in row key - found more than the expected 2.");
@@ -145,16 +154,16 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
         // If edge is undirected then create edge (no need to worry about which direction the vertices
         // should go in).
         // If the edge is directed then need to decide which way round the vertices should go.
-        int directionFlag = rowKey[rowKey.length - 1];
+        int directionFlag = rowKey[end - 1];
         if (directionFlag == ClassicBytePositions.UNDIRECTED_EDGE) {
             // Edge is undirected
-            sourceValueDestinationValue[0] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[1] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]));
+            sourceValueDestinationValue[0] = ByteArrayEscapeUtils.unEscape(rowKey, offset, positionsOfDelimiters[0] - offset);
+            sourceValueDestinationValue[1] = ByteArrayEscapeUtils.unEscape(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1] - positionsOfDelimiters[0] - 1);
             return false;
         } else if (directionFlag == ClassicBytePositions.CORRECT_WAY_DIRECTED_EDGE) {
             // Edge is directed and the first identifier is the source of the edge
-            sourceValueDestinationValue[0] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[1] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]));
+            sourceValueDestinationValue[0] = ByteArrayEscapeUtils.unEscape(rowKey, offset, positionsOfDelimiters[0] - offset);
+            sourceValueDestinationValue[1] = ByteArrayEscapeUtils.unEscape(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1] - positionsOfDelimiters[0] - 1);
             return true;
         } else if (directionFlag == ClassicBytePositions.INCORRECT_WAY_DIRECTED_EDGE) {
             // Edge is directed and the second identifier is the source of the edge
@@ -165,8 +174,8 @@ public class ClassicAccumuloElementConverter extends AbstractCoreKeyAccumuloElem
                 src = 0;
                 dst = 1;
             }
-            sourceValueDestinationValue[src] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, 0, positionsOfDelimiters[0]));
-            sourceValueDestinationValue[dst] = ByteArrayEscapeUtils.unEscape(Arrays.copyOfRange(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1]));
+            sourceValueDestinationValue[src] = ByteArrayEscapeUtils.unEscape(rowKey, offset, positionsOfDelimiters[0] - offset);
+            sourceValueDestinationValue[dst] = ByteArrayEscapeUtils.unEscape(rowKey, positionsOfDelimiters[0] + 1, positionsOfDelimiters[1] - positionsOfDelimiters[0] - 1);
             return true;
         } else {
             throw new AccumuloElementConversionException("Invalid direction flag in row key - flag was " + directionFlag);
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.core.impl.classic;
+
+import gaffer.store.schema.StoreSchema;
+
+/**
+ * The ClassicCompactValueKeyPackage is the {@link ClassicKeyPackage} with values written in the
+ * {@link gaffer.accumulostore.key.core.impl.CoreKeyCompactValueFormat}.
+ */
+public class ClassicCompactValueKeyPackage extends ClassicKeyPackage {
+    public ClassicCompactValueKeyPackage() {
+        super();
+    }
+
+    public ClassicCompactValueKeyPackage(final StoreSchema schema) {
+        super(schema);
+    }
+
+    @Override
+    public void setStoreSchema(final StoreSchema schema) {
+        super.setStoreSchema(schema);
+        setKeyConverter(new ClassicCompactValueAccumuloElementConverter(schema));
+    }
+}
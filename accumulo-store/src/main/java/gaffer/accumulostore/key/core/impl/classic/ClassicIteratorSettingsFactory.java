@@ -26,6 +26,7 @@ import org.apache.accumulo.core.client.IteratorSetting;
 
 public class ClassicIteratorSettingsFactory extends AbstractCoreKeyIteratorSettingsFactory {
     private static final String EDGE_DIRECTED_UNDIRECTED_FILTER = ClassicEdgeDirectedUndirectedFilterIterator.class.getName();
+    private static final String BOTH_ENDS_IN_SET = ClassicBothEndsInSetIterator.class.getName();
 
     @Override
     public IteratorSetting getEdgeEntityDirectionFilterIteratorSetting(final GetOperation<?, ?> operation) {
@@ -41,4 +42,8 @@ public class ClassicIteratorSettingsFactory extends AbstractCoreKeyIteratorSetti
                 .build();
     }
 
+    @Override
+    protected String getBothEndsInSetIteratorClassName() {
+        return BOTH_ENDS_IN_SET;
+    }
 }
\ No newline at end of file
@@ -33,20 +33,34 @@ import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
- * The ElementFilter will filter out {@link Element}s based on the filtering instructions given in the {@link View} that is passed to this iterator
+ * The ElementFilter will filter out {@link Element}s based on the filtering instructions given in the {@link View} that is passed to this iterator.
+ * Elements are not fully deserialised, instead a lazy element is created so that only the identifiers and properties
+ * selected by the group's filter functions are decoded from the key and value. Groups without any filter functions
+ * are accepted without decoding anything.
  */
 public class ElementFilter extends Filter {
     private ElementValidator validator;
     private AccumuloElementConverter elementConverter;
+    private Set<String> viewGroups;
+    private Set<String> unfilteredGroups;
 
     @Override
     public boolean accept(final Key key, final Value value) {
         final Element element;
         try {
-            element = elementConverter.getFullElement(key, value);
+            final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+            if (!viewGroups.contains(group)) {
+                return false;
+            }
+            if (unfilteredGroups.contains(group)) {
+                return true;
+            }
+            element = elementConverter.getLazyElement(key, value);
         } catch (AccumuloElementConversionException e) {
             throw new ElementFilterException("Element filter iterator failed to crete an element from an accumulo gaffer.accumulostore.key value pair", e);
         }
@@ -67,7 +81,17 @@ public class ElementFilter extends Filter {
         if (!options.containsKey(Constants.VIEW)) {
             throw new IllegalArgumentException("Must specify the " + Constants.VIEW);
         }
-        validator = new ElementValidator(View.fromJson(options.get(Constants.VIEW).getBytes()));
+        final View view = View.fromJson(options.get(Constants.VIEW).getBytes());
+        validator = new ElementValidator(view);
+        viewGroups = new HashSet<>(view.getEntityGroups());
+        viewGroups.addAll(view.getEdgeGroups());
+        unfilteredGroups = new HashSet<>();
+        for (final String group : viewGroups) {
+            final gaffer.data.element.function.ElementFilter filter = view.getElement(group).getFilter();
+            if (null == filter || null == filter.getFunctions() || filter.getFunctions().isEmpty()) {
+                unfilteredGroups.add(group);
+            }
+        }
 
         final StoreSchema storeSchema = StoreSchema.fromJson(options.get(Constants.STORE_SCHEMA).getBytes());
         try {
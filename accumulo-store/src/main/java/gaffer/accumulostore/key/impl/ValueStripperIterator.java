@@ -0,0 +1,44 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.WrappingIterator;
+
+/**
+ * The ValueStripperIterator replaces the value of every key with an empty {@link Value}. It is used when the
+ * properties stored in the value are not required by the client, so that the value bytes are not sent
+ * back from the tablet servers. It should be applied after any iterators that need to read the value,
+ * e.g. the {@link ElementFilter}.
+ */
+public class ValueStripperIterator extends WrappingIterator {
+    private final Value emptyValue = new Value(new byte[0]);
+
+    @Override
+    public Value getTopValue() {
+        return emptyValue;
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final ValueStripperIterator copy = new ValueStripperIterator();
+        copy.setSource(getSource().deepCopy(env));
+        return copy;
+    }
+}
@@ -20,6 +20,7 @@ import gaffer.data.element.Element;
 import gaffer.operation.data.ElementSeed;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.operation.AbstractGetOperation;
+import gaffer.operation.GetOperation;
 
 public class AccumuloTwoSetSeededOperation<SEED_TYPE extends ElementSeed, ELEMENT_TYPE extends Element>
         extends AbstractGetOperation<SEED_TYPE, ELEMENT_TYPE> {
@@ -36,6 +37,19 @@ public class AccumuloTwoSetSeededOperation<SEED_TYPE extends ElementSeed, ELEMEN
         this.setSeedsB(seedsB);
     }
 
+    /**
+     * Copies the seeds, view, flags and options of the given operation, which become set A, and adds set B.
+     *
+     * @param operation the operation providing set A
+     * @param seedsB    the second set of seeds
+     */
+    public AccumuloTwoSetSeededOperation(final GetOperation<SEED_TYPE, ?> operation, final Iterable<SEED_TYPE> seedsB) {
+        super(operation);
+        setSummarise(operation.isSummarise());
+        setOptions(operation.getOptions());
+        this.setSeedsB(seedsB);
+    }
+
     public Iterable<SEED_TYPE> getSeedsB() {
         return seedsB;
     }
@@ -16,6 +16,8 @@
 
 package gaffer.accumulostore.operation;
 
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
 import gaffer.accumulostore.utils.Pair;
 import gaffer.data.element.Element;
 import gaffer.operation.data.ElementSeed;
@@ -23,6 +25,8 @@ import gaffer.data.elementdefinition.view.View;
 import gaffer.operation.AbstractGetOperation;
 import gaffer.operation.GetOperation;
 
+import java.util.Arrays;
+
 public class GetOperationWithPair<SEED_TYPE extends ElementSeed, ELEMENT_TYPE extends Element>
         extends AbstractGetOperation<Pair<SEED_TYPE>, ELEMENT_TYPE> {
 
@@ -44,4 +48,10 @@ public class GetOperationWithPair<SEED_TYPE extends ElementSeed, ELEMENT_TYPE ex
     public GetOperationWithPair(final GetOperation<Pair<SEED_TYPE>, ?> operation) {
         super(operation);
     }
-}
\ No newline at end of file
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
+    @JsonSetter(value = "seeds")
+    void setSeedPairArray(final Pair<SEED_TYPE>[] seeds) {
+        setSeeds(Arrays.asList(seeds));
+    }
+}
@@ -20,6 +20,7 @@ import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.utils.Constants;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.accumulostore.retriever.DeduplicatingEntitySeedIterable;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import gaffer.data.IsEdgeValidator;
 import gaffer.data.TransformIterable;
@@ -46,6 +47,8 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
         final AccumuloRetriever<?> edgeRetriever;
         try {
             operation.setIncludeEntities(false);
+            // Only the adjacent vertices are returned so the properties do not need to be read.
+            operation.setPopulateProperties(false);
             if (IncludeEdgeType.NONE == operation.getIncludeEdges()) {
                 operation.setIncludeEdges(IncludeEdgeType.ALL);
             }
@@ -54,11 +57,17 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
             throw new OperationException(e.getMessage(), e);
         }
 
-        return new TransformIterable<Element, EntitySeed>(edgeRetriever, new IsEdgeValidator()) {
+        final Iterable<EntitySeed> adjacentSeeds = new TransformIterable<Element, EntitySeed>(edgeRetriever, new IsEdgeValidator()) {
             @Override
             protected EntitySeed transform(final Element element) {
                 return new EntitySeed(((Edge) element).getDestination());
             }
         };
+
+        if (operation.isDeduplicate()) {
+            return new DeduplicatingEntitySeedIterable(adjacentSeeds, store.getKeyPackage().getKeyConverter(), store.getProperties());
+        }
+
+        return adjacentSeeds;
     }
 }
\ No newline at end of file
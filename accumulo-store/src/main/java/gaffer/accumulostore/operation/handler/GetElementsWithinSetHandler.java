@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.retriever.AccumuloRetriever;
+import gaffer.accumulostore.retriever.impl.AccumuloIDWithinSetRetriever;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetElementsWithinSet;
+import gaffer.store.Store;
+import gaffer.store.StoreException;
+import gaffer.store.operation.handler.OperationHandler;
+
+import java.util.Collection;
+
+public class GetElementsWithinSetHandler implements OperationHandler<GetElementsWithinSet<Element>, Iterable<Element>> {
+    @Override
+    public Iterable<Element> doOperation(final GetElementsWithinSet<Element> operation, final Store store) throws OperationException {
+        return doOperation(operation, (AccumuloStore) store);
+    }
+
+    public Iterable<Element> doOperation(final GetElementsWithinSet<Element> operation, final AccumuloStore store) throws OperationException {
+        final int numSeeds = getNumSeedsIfKnown(operation.getSeeds());
+        final boolean readEntriesIntoMemory = numSeeds >= 0 && numSeeds <= store.getProperties().getMaxEntriesForBatchScanner();
+        final AccumuloRetriever<?> ret;
+        try {
+            if (operation.isSummarise()) {
+                ret = new AccumuloIDWithinSetRetriever(store, operation, readEntriesIntoMemory,
+                        store.getKeyPackage().getIteratorFactory().getQueryTimeAggregatorIteratorSetting(store));
+            } else {
+                ret = new AccumuloIDWithinSetRetriever(store, operation, readEntriesIntoMemory);
+            }
+        } catch (IteratorSettingException | StoreException e) {
+            throw new OperationException("Failed to get elements within a set", e);
+        }
+        return ret;
+    }
+
+    private int getNumSeedsIfKnown(final Iterable<EntitySeed> seeds) {
+        return seeds instanceof Collection ? ((Collection<EntitySeed>) seeds).size() : -1;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.store.Store;
+
+/**
+ * Gets the n hop neighbours of a set of seeds by looking up each batch of the frontier directly with the
+ * {@link GetAdjacentEntitySeedsHandler}, rather than executing an operation chain for each batch. The batches of all
+ * the hops are looked up concurrently on a thread pool shared by all the operations on the store, and use the
+ * store's cached connection to Accumulo.
+ */
+public class GetNHopNeighboursHandler extends gaffer.store.operation.handler.GetNHopNeighboursHandler {
+    private final GetAdjacentEntitySeedsHandler adjacentEntitySeedsHandler = new GetAdjacentEntitySeedsHandler();
+
+    /**
+     * @param batchSize  the maximum number of vertices to look up with a single batch scanner.
+     * @param maxThreads the maximum number of batches to look up concurrently.
+     */
+    public GetNHopNeighboursHandler(final int batchSize, final int maxThreads) {
+        super(batchSize, maxThreads);
+    }
+
+    @Override
+    protected Iterable<EntitySeed> getAdjacentEntitySeeds(final GetAdjacentEntitySeeds operation, final Store store) throws OperationException {
+        return adjacentEntitySeedsHandler.doOperation(operation, (AccumuloStore) store);
+    }
+}
@@ -32,13 +32,34 @@ import org.apache.hadoop.mapreduce.Job;
 
 import java.io.IOException;
 
+/**
+ * Creates the MapReduce job that converts elements in HDFS into Accumulo files for bulk import.
+ * <p/>
+ * Two operation options control how duplicated elements are merged before the shuffle:
+ * <ul>
+ * <li>{@link #USE_COMBINER} - if "true", the default, the {@link AddElementsFromHdfsCombiner} is used.</li>
+ * <li>{@link #IN_MAPPER_COMBINING_MAX_ENTRIES} - if more than 0 the mapper merges the values of repeated keys in a
+ * buffer of up to this many keys. The default is 0, which disables in-mapper combining.</li>
+ * </ul>
+ */
 public class AccumuloAddElementsFromHdfsJobFactory extends AbstractAddElementsFromHdfsJobFactory {
     public static final String ELEMENT_CONVERTER = "elementConverter";
+    public static final String USE_COMBINER = "useCombiner";
+    public static final String IN_MAPPER_COMBINING_MAX_ENTRIES = "inMapperCombiningMaxEntries";
 
     @Override
     protected void setupJobConf(final JobConf jobConf, final AddElementsFromHdfs operation, final Store store) throws IOException {
         super.setupJobConf(jobConf, operation, store);
         jobConf.set(ELEMENT_CONVERTER, ((AccumuloStore) store).getKeyPackage().getKeyConverter().getClass().getName());
+        final String inMapperCombiningMaxEntries = operation.getOptions().get(IN_MAPPER_COMBINING_MAX_ENTRIES);
+        if (null != inMapperCombiningMaxEntries) {
+            try {
+                jobConf.setInt(IN_MAPPER_COMBINING_MAX_ENTRIES, Integer.parseInt(inMapperCombiningMaxEntries.trim()));
+            } catch (final NumberFormatException e) {
+                throw new IllegalArgumentException("The " + IN_MAPPER_COMBINING_MAX_ENTRIES
+                        + " option must be a whole number of entries but was: " + inMapperCombiningMaxEntries, e);
+            }
+        }
     }
 
     @Override
@@ -46,6 +67,7 @@ public class AccumuloAddElementsFromHdfsJobFactory extends AbstractAddElementsFr
         super.setupJob(job, operation, store);
 
         setupMapper(job, operation, store);
+        setupCombiner(job, operation, store);
         setupReducer(job, operation, store);
         setupOutput(job, operation, store);
         setupSplits(job, operation, (AccumuloStore) store);
@@ -57,6 +79,12 @@ public class AccumuloAddElementsFromHdfsJobFactory extends AbstractAddElementsFr
         job.setMapOutputValueClass(Value.class);
     }
 
+    private void setupCombiner(final Job job, final AddElementsFromHdfs operation, final Store store) throws IOException {
+        if (!"false".equalsIgnoreCase(operation.getOptions().get(USE_COMBINER))) {
+            job.setCombinerClass(AddElementsFromHdfsCombiner.class);
+        }
+    }
+
     private void setupReducer(final Job job, final AddElementsFromHdfs operation, final Store store) throws IOException {
         job.setReducerClass(AddElementsFromHdfsReducer.class);
         job.setOutputKeyClass(Key.class);
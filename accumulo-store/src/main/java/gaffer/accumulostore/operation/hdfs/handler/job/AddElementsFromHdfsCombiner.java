@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Combiner for use in bulk import of data into Accumulo. It merges the values for each key output by a mapper in the
+ * same way as the {@link AddElementsFromHdfsReducer}, so that duplicated elements are not all sent through the
+ * shuffle. Hadoop may run it any number of times, including not at all, so the reducer still merges the values.
+ * <p/>
+ * The number of values merged into another value is recorded in the "Values combined by combiner" counter.
+ */
+public class AddElementsFromHdfsCombiner extends AddElementsFromHdfsReducer {
+    public static final String VALUES_COMBINED_COUNTER = "Values combined by combiner";
+
+    @Override
+    protected void reduce(final Key key, final Iterable<Value> values, final Context context)
+            throws IOException, InterruptedException {
+        final Iterator<Value> iter = values.iterator();
+        final Value firstValue = iter.next();
+        if (!iter.hasNext()) {
+            context.write(key, firstValue);
+            return;
+        }
+
+        final CountingIterator countingIter = new CountingIterator(iter);
+        context.write(key, getValueAggregator().aggregate(key, firstValue, countingIter));
+        context.getCounter(BULK_IMPORT_COUNTER_GROUP, VALUES_COMBINED_COUNTER).increment(countingIter.count);
+    }
+
+    private static final class CountingIterator implements Iterator<Value> {
+        private final Iterator<Value> iter;
+        private long count;
+
+        private CountingIterator(final Iterator<Value> iter) {
+            this.iter = iter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return iter.hasNext();
+        }
+
+        @Override
+        public Value next() {
+            count++;
+            return iter.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Values cannot be removed");
+        }
+    }
+}
@@ -19,6 +19,7 @@ import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.Pair;
 import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.schema.DataSchema;
 import gaffer.operation.simple.hdfs.handler.mapper.AbstractAddElementsFromHdfsMapper;
 import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
@@ -26,9 +27,26 @@ import org.apache.accumulo.core.data.Value;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Mapper for use in bulk import of data into Accumulo. It converts each element into one or two Accumulo keys and a
+ * value.
+ * <p/>
+ * If in-mapper combining is enabled, by setting {@link AccumuloAddElementsFromHdfsJobFactory#IN_MAPPER_COMBINING_MAX_ENTRIES}
+ * to more than 0, the mapper holds up to that many distinct keys in memory and merges the values of repeated keys
+ * with the {@link ElementValueAggregator} before writing them. The buffer is written when it is full and when the
+ * mapper finishes. The number of values merged into another value is recorded in the "Values combined in mapper"
+ * counter.
+ */
 public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN> extends AbstractAddElementsFromHdfsMapper<KEY_IN, VALUE_IN, Key, Value> {
+    public static final String VALUES_COMBINED_COUNTER = "Values combined in mapper";
+
     private AccumuloElementConverter elementConverter;
+    private ElementValueAggregator valueAggregator;
+    private int maxBufferedEntries;
+    private final Map<Key, Value> buffer = new LinkedHashMap<>();
 
     @Override
     protected void setup(final Context context) {
@@ -45,6 +63,13 @@ public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN> extends AbstractAddElem
                 | NoSuchMethodException | SecurityException e) {
             throw new IllegalArgumentException("Element converter could not be created: " + converterClass, e);
         }
+
+        maxBufferedEntries = context.getConfiguration().getInt(AccumuloAddElementsFromHdfsJobFactory.IN_MAPPER_COMBINING_MAX_ENTRIES, 0);
+        if (maxBufferedEntries > 0) {
+            final DataSchema dataSchema = DataSchema.fromJson(context.getConfiguration().get(
+                    AccumuloAddElementsFromHdfsJobFactory.DATA_SCHEMA).getBytes());
+            valueAggregator = new ElementValueAggregator(dataSchema, elementConverter);
+        }
     }
 
     @Override
@@ -63,10 +88,41 @@ public class AddElementsFromHdfsMapper<KEY_IN, VALUE_IN> extends AbstractAddElem
             throw new IllegalArgumentException(e.getMessage(), e);
         }
 
-        context.write(keyPair.getFirst(), value);
+        write(keyPair.getFirst(), value, context);
         if (keyPair.getSecond() != null) {
-            context.write(keyPair.getSecond(), value);
+            write(keyPair.getSecond(), value, context);
+        }
+        context.getCounter(AddElementsFromHdfsReducer.BULK_IMPORT_COUNTER_GROUP, element.getClass().getSimpleName() + " count").increment(1L);
+    }
+
+    @Override
+    protected void cleanup(final Context context) throws IOException, InterruptedException {
+        flush(context);
+        super.cleanup(context);
+    }
+
+    private void write(final Key key, final Value value, final Context context) throws IOException, InterruptedException {
+        if (maxBufferedEntries < 1) {
+            context.write(key, value);
+            return;
+        }
+
+        final Value existing = buffer.get(key);
+        if (null == existing) {
+            buffer.put(key, value);
+            if (buffer.size() >= maxBufferedEntries) {
+                flush(context);
+            }
+        } else {
+            buffer.put(key, valueAggregator.aggregate(key, existing, value));
+            context.getCounter(AddElementsFromHdfsReducer.BULK_IMPORT_COUNTER_GROUP, VALUES_COMBINED_COUNTER).increment(1L);
+        }
+    }
+
+    private void flush(final Context context) throws IOException, InterruptedException {
+        for (final Map.Entry<Key, Value> entry : buffer.entrySet()) {
+            context.write(entry.getKey(), entry.getValue());
         }
-        context.getCounter("Bulk import", element.getClass().getSimpleName() + " count").increment(1L);
+        buffer.clear();
     }
-}
\ No newline at end of file
+}
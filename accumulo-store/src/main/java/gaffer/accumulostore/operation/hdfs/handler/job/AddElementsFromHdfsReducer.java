@@ -16,9 +16,6 @@
 package gaffer.accumulostore.operation.hdfs.handler.job;
 
 import gaffer.accumulostore.key.AccumuloElementConverter;
-import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
-import gaffer.data.element.Properties;
-import gaffer.data.element.function.ElementAggregator;
 import gaffer.data.elementdefinition.schema.DataSchema;
 import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
@@ -39,14 +36,16 @@ import java.util.Iterator;
  * reserialising them.
  */
 public class AddElementsFromHdfsReducer extends Reducer<Key, Value, Key, Value> {
-    private AccumuloElementConverter elementConverter;
-    private DataSchema dataSchema;
+    public static final String BULK_IMPORT_COUNTER_GROUP = "Bulk import";
+
+    private ElementValueAggregator valueAggregator;
 
     @Override
     protected void setup(final Context context) {
-        dataSchema = DataSchema.fromJson(context.getConfiguration().get(AccumuloAddElementsFromHdfsJobFactory.DATA_SCHEMA).getBytes());
+        final DataSchema dataSchema = DataSchema.fromJson(context.getConfiguration().get(AccumuloAddElementsFromHdfsJobFactory.DATA_SCHEMA).getBytes());
 
         StoreSchema storeSchema = StoreSchema.fromJson(context.getConfiguration().get(AccumuloAddElementsFromHdfsJobFactory.STORE_SCHEMA).getBytes());
+        final AccumuloElementConverter elementConverter;
         try {
             Class<?> elementConverterClass = Class.forName(context.getConfiguration().get(AccumuloAddElementsFromHdfsJobFactory.ELEMENT_CONVERTER));
             elementConverter = (AccumuloElementConverter) elementConverterClass.getConstructor(StoreSchema.class).newInstance(storeSchema);
@@ -55,44 +54,26 @@ public class AddElementsFromHdfsReducer extends Reducer<Key, Value, Key, Value>
                 | NoSuchMethodException | SecurityException e) {
             throw new IllegalArgumentException("Failed to create accumulo element converter from class", e);
         }
+        valueAggregator = new ElementValueAggregator(dataSchema, elementConverter);
     }
 
     @Override
-    protected void reduce(final Key key, Iterable<Value> values, final Context context)
+    protected void reduce(final Key key, final Iterable<Value> values, final Context context)
             throws IOException, InterruptedException {
         final Iterator<Value> iter = values.iterator();
         final Value firstValue = iter.next();
         final boolean isMulti = iter.hasNext();
 
         context.write(key, reduceValue(key, isMulti, iter, firstValue));
-        context.getCounter("Bulk import", getCounterId(isMulti)).increment(1L);
+        context.getCounter(BULK_IMPORT_COUNTER_GROUP, getCounterId(isMulti)).increment(1L);
     }
 
-    private Value reduceValue(final Key key, final boolean isMulti, final Iterator<Value> iter, final Value firstValue) {
-        return isMulti ? reduceMultiValue(key, iter, firstValue) : firstValue;
+    protected ElementValueAggregator getValueAggregator() {
+        return valueAggregator;
     }
 
-    private Value reduceMultiValue(final Key key, final Iterator<Value> iter, final Value firstValue) {
-        String group = new String(key.getColumnFamilyData().getBackingArray());
-        ElementAggregator aggregator;
-        Properties firstPropertySet;
-        try {
-            firstPropertySet = elementConverter.getPropertiesFromValue(group, firstValue);
-            aggregator = dataSchema.getElement(group).getAggregator();
-            aggregator.aggregate(firstPropertySet);
-            while (iter.hasNext()) {
-                aggregator.aggregate(elementConverter.getPropertiesFromValue(group, iter.next()));
-            }
-        } catch (AccumuloElementConversionException e) {
-            throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
-        }
-        Properties properties = new Properties();
-        aggregator.state(properties);
-        try {
-            return elementConverter.getValueFromProperties(properties, group);
-        } catch (AccumuloElementConversionException e) {
-            throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
-        }
+    private Value reduceValue(final Key key, final boolean isMulti, final Iterator<Value> iter, final Value firstValue) {
+        return isMulti ? valueAggregator.aggregate(key, firstValue, iter) : firstValue;
     }
 
     private String getCounterId(final boolean isMulti) {
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+
+import java.util.Iterator;
+
+/**
+ * Merges the Accumulo {@link Value}s for a {@link Key} by converting them into {@link Properties}, aggregating
+ * them with the group's {@link ElementAggregator} from the {@link DataSchema} and converting the result back into a
+ * {@link Value}. It is used by the reducer and the combiner of the bulk import job, and by the mapper when
+ * in-mapper combining is enabled. As the aggregation is associative the values can be merged in any number of
+ * stages.
+ */
+public class ElementValueAggregator {
+    private final DataSchema dataSchema;
+    private final AccumuloElementConverter elementConverter;
+
+    public ElementValueAggregator(final DataSchema dataSchema, final AccumuloElementConverter elementConverter) {
+        this.dataSchema = dataSchema;
+        this.elementConverter = elementConverter;
+    }
+
+    /**
+     * Aggregates two values for the same key.
+     *
+     * @param key         the key the values belong to
+     * @param firstValue  the first value
+     * @param secondValue the second value
+     * @return the aggregated value
+     */
+    public Value aggregate(final Key key, final Value firstValue, final Value secondValue) {
+        final String group = getGroup(key);
+        final ElementAggregator aggregator = getAggregator(group);
+        aggregate(aggregator, group, firstValue);
+        aggregate(aggregator, group, secondValue);
+        return getValue(aggregator, group);
+    }
+
+    /**
+     * Aggregates the first value and all the remaining values for the same key.
+     *
+     * @param key        the key the values belong to
+     * @param firstValue the first value
+     * @param iter       the remaining values
+     * @return the aggregated value
+     */
+    public Value aggregate(final Key key, final Value firstValue, final Iterator<Value> iter) {
+        final String group = getGroup(key);
+        final ElementAggregator aggregator = getAggregator(group);
+        aggregate(aggregator, group, firstValue);
+        while (iter.hasNext()) {
+            aggregate(aggregator, group, iter.next());
+        }
+        return getValue(aggregator, group);
+    }
+
+    private String getGroup(final Key key) {
+        return new String(key.getColumnFamilyData().getBackingArray());
+    }
+
+    private ElementAggregator getAggregator(final String group) {
+        return dataSchema.getElement(group).getAggregator();
+    }
+
+    private void aggregate(final ElementAggregator aggregator, final String group, final Value value) {
+        try {
+            aggregator.aggregate(elementConverter.getPropertiesFromValue(group, value));
+        } catch (AccumuloElementConversionException e) {
+            throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
+        }
+    }
+
+    private Value getValue(final ElementAggregator aggregator, final String group) {
+        final Properties properties = new Properties();
+        aggregator.state(properties);
+        try {
+            return elementConverter.getValueFromProperties(properties, group);
+        } catch (AccumuloElementConversionException e) {
+            throw new IllegalArgumentException("Failed to get Properties from an accumulo value", e);
+        }
+    }
+}
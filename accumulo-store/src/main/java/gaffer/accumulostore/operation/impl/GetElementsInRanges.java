@@ -0,0 +1,109 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.impl;
+
+import gaffer.accumulostore.operation.GetOperationWithPair;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.AbstractGetOperation;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.ElementSeed;
+
+/**
+ * Returns all {@link gaffer.data.element.Element}s whose vertex, source or destination lies within one of the
+ * provided ranges. Each seed is a {@link Pair} of {@link ElementSeed}s giving the inclusive start and end of a range.
+ * <p/>
+ * All the ranges are read by batch scanners on the Accumulo store, so a range covering many vertices is a single
+ * contiguous scan rather than a lookup per vertex. The ranges are over the serialised vertices, so the vertex
+ * serialiser should be order preserving, e.g. <code>gaffer.serialisation.simple.ordered.OrderedLongSerialiser</code>, if
+ * numerical ranges are required.
+ *
+ * @param <SEED_TYPE>    the seed type of the pairs
+ * @param <ELEMENT_TYPE> the element return type
+ */
+public class GetElementsInRanges<SEED_TYPE extends ElementSeed, ELEMENT_TYPE extends Element>
+        extends GetOperationWithPair<SEED_TYPE, ELEMENT_TYPE> {
+
+    public GetElementsInRanges() {
+    }
+
+    public GetElementsInRanges(final Iterable<Pair<SEED_TYPE>> seeds) {
+        super(seeds);
+    }
+
+    public GetElementsInRanges(final View view) {
+        super(view);
+    }
+
+    public GetElementsInRanges(final View view, final Iterable<Pair<SEED_TYPE>> seeds) {
+        super(view, seeds);
+    }
+
+    public GetElementsInRanges(final GetOperation<Pair<SEED_TYPE>, ?> operation) {
+        super(operation);
+    }
+
+    public static class Builder<SEED_TYPE extends ElementSeed, ELEMENT_TYPE extends Element>
+            extends AbstractGetOperation.Builder<GetElementsInRanges<SEED_TYPE, ELEMENT_TYPE>, Pair<SEED_TYPE>, ELEMENT_TYPE> {
+        public Builder() {
+            super(new GetElementsInRanges<SEED_TYPE, ELEMENT_TYPE>());
+        }
+
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> addSeed(final Pair<SEED_TYPE> seed) {
+            super.addSeed(seed);
+            return this;
+        }
+
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> includeEntities(final boolean includeEntities) {
+            super.includeEntities(includeEntities);
+            return this;
+        }
+
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> includeEdges(final IncludeEdgeType includeEdgeType) {
+            super.includeEdges(includeEdgeType);
+            return this;
+        }
+
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> summarise(final boolean summarise) {
+            super.summarise(summarise);
+            return this;
+        }
+
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> populateProperties(final boolean populateProperties) {
+            super.populateProperties(populateProperties);
+            return this;
+        }
+
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> view(final View view) {
+            super.view(view);
+            return this;
+        }
+
+        @Override
+        public Builder<SEED_TYPE, ELEMENT_TYPE> option(final String name, final String value) {
+            super.option(name, value);
+            return this;
+        }
+    }
+}
@@ -16,9 +16,10 @@
 
 package gaffer.accumulostore.retriever;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
-import gaffer.accumulostore.utils.CloseableIterator;
+import gaffer.data.CloseableIterator;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.data.element.Element;
 import gaffer.operation.GetOperation;
@@ -32,11 +33,20 @@ import org.apache.accumulo.core.data.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.AbstractMap;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? extends SEED_TYPE, ?>, SEED_TYPE> extends AccumuloRetriever<OP_TYPE> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloItemRetriever.class);
@@ -55,7 +65,11 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
         }
 
         try {
-            iterator = new ElementIterator();
+            if (store.getProperties().isPipelineBatchScanners()) {
+                iterator = new PipelinedElementIterator();
+            } else {
+                iterator = new ElementIterator();
+            }
         } catch (RetrieverException e) {
             LOGGER.error(e.getMessage() + " returning empty iterator", e);
             return Collections.emptyIterator();
@@ -66,24 +80,47 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
     protected abstract void addToRanges(final SEED_TYPE seed, final Set<Range> ranges) throws RangeFactoryException;
 
+    /**
+     * Reads the next batch of seeds (up to maxEntriesForBatchScanner) from the provided iterator and
+     * converts them into ranges.
+     *
+     * @param idsIterator the seeds iterator
+     * @return the ranges for the next batch of seeds
+     */
+    protected Set<Range> getNextRanges(final Iterator<? extends SEED_TYPE> idsIterator) {
+        final int maxEntries = store.getProperties().getMaxEntriesForBatchScanner();
+        final Set<Range> ranges = new HashSet<>();
+        int count = 0;
+        while (idsIterator.hasNext() && count < maxEntries) {
+            count++;
+            try {
+                addToRanges(idsIterator.next(), ranges);
+            } catch (RangeFactoryException e) {
+                LOGGER.error("Failed to create a range from given seed", e);
+            }
+        }
+        return ranges;
+    }
+
+    protected Element convertEntry(final Map.Entry<Key, Value> entry) {
+        try {
+            Element elm = getElement(entry);
+            doTransformation(elm);
+            return elm;
+        } catch (AccumuloElementConversionException e) {
+            LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null", e);
+            return null;
+        }
+    }
+
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends SEED_TYPE> idsIterator;
-        private int count;
         private BatchScanner scanner;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
 
         protected ElementIterator() throws RetrieverException {
             idsIterator = ids.iterator();
-            count = 0;
-            Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            final Set<Range> ranges = getNextRanges(idsIterator);
 
             // Create BatchScanner, appropriately configured (i.e. ranges, iterators, etc).
             try {
@@ -105,16 +142,7 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             // If so create the next scanner, if there are no more entities
             // then return false.
             while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
-                }
+                final Set<Range> ranges = getNextRanges(idsIterator);
                 scanner.close();
                 try {
                     scanner = getScanner(ranges);
@@ -132,15 +160,7 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
 
         @Override
         public Element next() {
-            Map.Entry<Key, Value> entry = scannerIterator.next();
-            try {
-                Element elm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), operation.getOptions());
-                doTransformation(elm);
-                return elm;
-            } catch (AccumuloElementConversionException e) {
-                LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null", e);
-                return null;
-            }
+            return convertEntry(scannerIterator.next());
         }
 
         @Override
@@ -154,4 +174,163 @@ public abstract class AccumuloItemRetriever<OP_TYPE extends GetOperation<? exten
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * An iterator that pipelines the batches of seeds. Whilst the results of one batch are being consumed the
+     * ranges for the following batches are built and their {@link BatchScanner}s are started on background threads.
+     * The number of scanners open at any one time is limited by maxInFlightBatchScanners and the scanned entries
+     * are handed over in a bounded queue, so the scanners block if the results are not consumed.
+     */
+    protected class PipelinedElementIterator implements CloseableIterator<Element> {
+        private final Map.Entry<Key, Value> endOfResults = new AbstractMap.SimpleImmutableEntry<>(null, null);
+        private final Iterator<? extends SEED_TYPE> idsIterator;
+        private final BlockingQueue<Map.Entry<Key, Value>> results;
+        private final ExecutorService executor;
+        private final Semaphore inFlightScanners;
+        private final int maxInFlightScanners;
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private volatile boolean closed;
+        private Map.Entry<Key, Value> nextEntry;
+        private boolean finished;
+
+        protected PipelinedElementIterator() throws RetrieverException {
+            idsIterator = ids.iterator();
+            maxInFlightScanners = Math.max(1, store.getProperties().getMaxInFlightBatchScanners());
+            inFlightScanners = new Semaphore(maxInFlightScanners);
+            results = new ArrayBlockingQueue<>(Math.max(1, store.getProperties().getPipelineResultQueueSize()));
+            executor = Executors.newFixedThreadPool(maxInFlightScanners + 1,
+                    new ThreadFactoryBuilder().setDaemon(true).setNameFormat("gaffer-batch-scanner-pipeline-%d").build());
+            try {
+                executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        submitBatches();
+                    }
+                });
+            } catch (RuntimeException e) {
+                executor.shutdownNow();
+                throw new RetrieverException("Failed to start pipelined batch scanners", e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (null != nextEntry) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+
+            final Map.Entry<Key, Value> entry;
+            try {
+                entry = results.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                LOGGER.error("Interrupted whilst waiting for results returning iterator doesn't have any more elements", e);
+                close();
+                return false;
+            }
+
+            if (endOfResults == entry) {
+                if (null != failure.get()) {
+                    LOGGER.error(failure.get().getMessage() + " returning iterator doesn't have any more elements", failure.get());
+                }
+                close();
+                return false;
+            }
+
+            nextEntry = entry;
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Map.Entry<Key, Value> entry = nextEntry;
+            nextEntry = null;
+            return convertEntry(entry);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Unable to remove elements from this iterator");
+        }
+
+        @Override
+        public void close() {
+            finished = true;
+            if (!closed) {
+                closed = true;
+                executor.shutdownNow();
+                results.clear();
+            }
+        }
+
+        /**
+         * Runs on the coordinating thread - builds the ranges for each batch of seeds and hands them to a
+         * scanning thread once a scanner slot becomes free.
+         */
+        private void submitBatches() {
+            try {
+                while (!closed && idsIterator.hasNext()) {
+                    final Set<Range> ranges = getNextRanges(idsIterator);
+                    inFlightScanners.acquire();
+                    if (closed) {
+                        inFlightScanners.release();
+                        break;
+                    }
+                    executor.submit(new Runnable() {
+                        @Override
+                        public void run() {
+                            scanBatch(ranges);
+                        }
+                    });
+                }
+
+                // Wait for all scanners to complete
+                inFlightScanners.acquire(maxInFlightScanners);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                publish(endOfResults);
+            }
+        }
+
+        private void scanBatch(final Set<Range> ranges) {
+            BatchScanner scanner = null;
+            try {
+                scanner = getScanner(ranges);
+                for (final Map.Entry<Key, Value> entry : scanner) {
+                    if (!publish(entry)) {
+                        break;
+                    }
+                }
+            } catch (TableNotFoundException | StoreException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            } finally {
+                if (null != scanner) {
+                    scanner.close();
+                }
+                inFlightScanners.release();
+            }
+        }
+
+        private boolean publish(final Map.Entry<Key, Value> entry) {
+            try {
+                while (!closed) {
+                    if (results.offer(entry, 100, TimeUnit.MILLISECONDS)) {
+                        return true;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+    }
+}
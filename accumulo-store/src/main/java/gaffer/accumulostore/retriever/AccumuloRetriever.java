@@ -17,12 +17,13 @@
 package gaffer.accumulostore.retriever;
 
 import gaffer.accumulostore.key.IteratorSettingFactory;
-import gaffer.accumulostore.utils.CloseableIterable;
+import gaffer.data.CloseableIterable;
 import gaffer.accumulostore.utils.Constants;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.key.AccumuloElementConverter;
 import gaffer.accumulostore.key.RangeFactory;
-import gaffer.accumulostore.utils.CloseableIterator;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.CloseableIterator;
 import gaffer.data.element.Element;
 import gaffer.data.element.function.ElementTransformer;
 import gaffer.data.elementdefinition.view.ViewElementDefinition;
@@ -31,10 +32,13 @@ import gaffer.store.StoreException;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
+import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
 import org.apache.accumulo.core.security.Authorizations;
 import org.apache.hadoop.io.Text;
 
+import java.util.Map;
 import java.util.Set;
 
 public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> implements CloseableIterable<Element> {
@@ -93,6 +97,9 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
                 }
             }
         }
+        if (!operation.isPopulateProperties()) {
+            scanner.addScanIterator(iteratorSettingFactory.getValueStripperIteratorSetting());
+        }
         scanner.setRanges(Range.mergeOverlapping(ranges));
         //Currently hard links element class to column family position.
         for (final String col : operation.getView().getEdgeGroups()) {
@@ -104,6 +111,22 @@ public abstract class AccumuloRetriever<OP_TYPE extends GetOperation<?, ?>> impl
         return scanner;
     }
 
+    /**
+     * Converts a key value entry into an {@link Element}. If the operation does not require properties to be
+     * populated then the value is not deserialised and only the properties stored in the key are populated.
+     *
+     * @param entry the key value entry to convert
+     * @return the converted {@link Element}
+     * @throws AccumuloElementConversionException if the entry could not be converted
+     */
+    protected Element getElement(final Map.Entry<Key, Value> entry) throws AccumuloElementConversionException {
+        if (operation.isPopulateProperties()) {
+            return elementConverter.getFullElement(entry.getKey(), entry.getValue(), operation.getOptions());
+        }
+
+        return elementConverter.getElementFromKey(entry.getKey(), operation.getOptions());
+    }
+
     protected void transform(final Element element, final ElementTransformer transformer) {
         if (transformer != null) {
             transformer.transform(element);
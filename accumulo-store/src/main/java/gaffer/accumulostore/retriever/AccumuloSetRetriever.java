@@ -21,8 +21,11 @@ import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
 import gaffer.accumulostore.key.exception.RangeFactoryException;
 import gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.accumulostore.utils.BloomFilterUtils;
-import gaffer.accumulostore.utils.CloseableIterator;
+import gaffer.accumulostore.utils.ByteArrayHashSet;
+import gaffer.accumulostore.utils.SortedByteArraySet;
+import gaffer.data.CloseableIterator;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
@@ -35,19 +38,22 @@ import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
-import org.apache.hadoop.util.bloom.BloomFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperation<EntitySeed, ?>> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AccumuloSetRetriever.class);
     private boolean readEntriesIntoMemory;
+    private final AdaptiveBatchSizer batchSizer;
 
     public AccumuloSetRetriever(final AccumuloStore store, final GetOperation<EntitySeed, ?> operation)
             throws StoreException {
@@ -58,6 +64,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             throws StoreException {
         super(store, operation);
         this.readEntriesIntoMemory = readEntriesIntoMemory;
+        this.batchSizer = new AdaptiveBatchSizer(store.getProperties());
     }
 
     public AccumuloSetRetriever(final AccumuloStore store, final GetOperation<EntitySeed, ?> operation, final IteratorSetting... iteratorSettings) throws StoreException {
@@ -67,12 +74,23 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
     public AccumuloSetRetriever(final AccumuloStore store, final GetOperation<EntitySeed, ?> operation, final boolean readEntriesIntoMemory, final IteratorSetting... iteratorSettings) throws StoreException {
         super(store, operation, iteratorSettings);
         this.readEntriesIntoMemory = readEntriesIntoMemory;
+        this.batchSizer = new AdaptiveBatchSizer(store.getProperties());
     }
 
     public void setReadEntriesIntoMemory(final boolean readEntriesIntoMemory) {
         this.readEntriesIntoMemory = readEntriesIntoMemory;
     }
 
+    /**
+     * Returns the {@link AdaptiveBatchSizer} that chooses the number of seeds in each batch when the entries are not
+     * read into memory. It also records the sizes of the batches this retriever has used.
+     *
+     * @return the {@link AdaptiveBatchSizer}
+     */
+    public AdaptiveBatchSizer getBatchSizer() {
+        return batchSizer;
+    }
+
     @Override
     public Iterator<Element> iterator() {
         if (!hasSeeds()) {
@@ -112,26 +130,67 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         return vertices;
     }
 
-    protected void addToBloomFilter(final Iterable<Object> vertices, final BloomFilter filter) throws RetrieverException {
+    /**
+     * @param seeds the seeds
+     * @return the number of seeds if they are a {@link Collection}, otherwise -1 as counting them would require an
+     * extra pass through the seeds
+     */
+    protected int getNumSeedsIfKnown(final Iterable<EntitySeed> seeds) {
+        return seeds instanceof Collection ? ((Collection<?>) seeds).size() : -1;
+    }
+
+    /**
+     * Adds the vertices to the Bloom filter, and to the set of serialised vertices until it has more than the maximum
+     * entries for the server side exact set, at which point it is too large to pass to the iterators.
+     *
+     * @param vertices           the vertices to add
+     * @param filter             the Bloom filter to add the vertices to
+     * @param serialisedVertices the set to add the serialised vertices to
+     * @throws RetrieverException if a vertex cannot be serialised
+     */
+    protected void addToBloomFilter(final Iterable<Object> vertices, final BlockedBloomFilter filter, final ByteArrayHashSet serialisedVertices) throws RetrieverException {
+        final int maxExactSetSize = store.getProperties().getMaxEntriesForServerSideExactSet();
         for (Object vertex : vertices) {
-            addToBloomFilter(vertex, filter);
+            final byte[] serialisedVertex = serialiseVertexForBloomKey(vertex);
+            filter.add(serialisedVertex);
+            if (serialisedVertices.size() <= maxExactSetSize) {
+                serialisedVertices.add(serialisedVertex);
+            }
         }
     }
 
-    protected void addToBloomFilter(final Iterable<EntitySeed> seeds, final BloomFilter filter1, final BloomFilter filter2) throws RetrieverException {
+    protected void addToBloomFilter(final Iterable<EntitySeed> seeds, final BlockedBloomFilter filter, final ClientSideSeedFilter clientSideFilter) throws RetrieverException {
         for (EntitySeed seed : seeds) {
-            addToBloomFilter(seed, filter1, filter2);
+            addToBloomFilter(seed, filter, clientSideFilter);
         }
     }
 
-    protected void addToBloomFilter(final EntitySeed seed, final BloomFilter filter1, final BloomFilter filter2) throws RetrieverException {
-        addToBloomFilter(seed.getVertex(), filter1);
-        addToBloomFilter(seed.getVertex(), filter2);
+    protected void addToBloomFilter(final EntitySeed seed, final BlockedBloomFilter filter, final ClientSideSeedFilter clientSideFilter) throws RetrieverException {
+        final byte[] serialisedVertex = serialiseVertexForBloomKey(seed.getVertex());
+        filter.add(serialisedVertex);
+        clientSideFilter.add(serialisedVertex);
+    }
+
+    /**
+     * Returns the setting for the iterator that only returns edges with both ends in the set of seeds. The seeds are
+     * passed to the iterator in an exact set if there are no more than the maximum entries for the server side exact
+     * set, otherwise the Bloom filter is passed.
+     *
+     * @param serialisedSeeds the serialised seeds, or null if they are not known
+     * @param filter          the Bloom filter containing the seeds
+     * @return the iterator setting
+     * @throws IteratorSettingException if the iterator setting cannot be created
+     */
+    protected IteratorSetting getBothEndsInSetIteratorSetting(final ByteArrayHashSet serialisedSeeds, final BlockedBloomFilter filter) throws IteratorSettingException {
+        if (null != serialisedSeeds && serialisedSeeds.size() <= store.getProperties().getMaxEntriesForServerSideExactSet()) {
+            return iteratorSettingFactory.getBothEndsInSetIteratorSetting(new SortedByteArraySet(serialisedSeeds));
+        }
+        return iteratorSettingFactory.getBothEndsInSetIteratorSetting(filter);
     }
 
-    private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
+    private byte[] serialiseVertexForBloomKey(final Object vertex) throws RetrieverException {
         try {
-            filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertexForBloomKey(vertex)));
+            return elementConverter.serialiseVertexForBloomKey(vertex);
         } catch (AccumuloElementConversionException e) {
             throw new RetrieverException("Failed to add identifier to the bloom key", e);
         }
@@ -142,7 +201,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         private Iterator<Element> iterator;
         private Element nextElm;
 
-        protected void initialise(final BloomFilter filter) throws RetrieverException {
+        protected void initialise(final BlockedBloomFilter filter, final ByteArrayHashSet serialisedVertices) throws RetrieverException {
             IteratorSetting elementFilter = null;
             IteratorSetting bloomFilter = null;
             try {
@@ -152,15 +211,20 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             }
 
             try {
-                bloomFilter = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
+                bloomFilter = getBothEndsInSetIteratorSetting(serialisedVertices, filter);
             } catch (IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter to the retriever, creating the gaffer.accumulostore.retriever without bloom filter", e);
             }
             try {
+                final List<IteratorSetting> settings = new ArrayList<>();
+                settings.add(iteratorSettingFactory.getEdgeEntityDirectionFilterIteratorSetting(operation));
+                settings.add(elementFilter);
+                settings.add(bloomFilter);
+                if (null != iteratorSettings) {
+                    Collections.addAll(settings, iteratorSettings);
+                }
                 parentRetriever = new AccumuloSingleIDRetriever(store, operation,
-                        iteratorSettingFactory.getEdgeEntityDirectionFilterIteratorSetting(operation),
-                        elementFilter,
-                        bloomFilter);
+                        settings.toArray(new IteratorSetting[settings.size()]));
             } catch (StoreException e) {
                 throw new RetrieverException(e.getMessage(), e);
             }
@@ -218,20 +282,31 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
     protected abstract class AbstractElementIteratorFromBatches implements CloseableIterator<Element> {
         protected Iterator<EntitySeed> idsAIterator;
-        protected BloomFilter clientSideFilter; // The Bloom filter that is maintained client-side as a secondary defeat
-        // of false positives.
+        protected ClientSideSeedFilter clientSideFilter; // The set of seeds that is maintained client-side as a secondary
+        // defeat of false positives.
         protected Set<Object> currentSeeds; // Store the set of seeds that are currently being queried for to enable
         protected BatchScanner scanner;
-        protected BloomFilter filter;
+        protected BlockedBloomFilter filter;
         private Iterator<Map.Entry<Key, Value>> scannerIterator;
         private Element nextElm;
         private int count;
+        private long batchResults;
+        private long batchLatencyNanos;
+        private boolean batchCompleted;
 
         public AbstractElementIteratorFromBatches() {
+            this(-1);
+        }
+
+        /**
+         * @param expectedNumSeeds the number of seeds that will be added to the client side filter, or a negative
+         *                         number if it is not known
+         */
+        public AbstractElementIteratorFromBatches(final int expectedNumSeeds) {
             // Set up client side filter
-            clientSideFilter = BloomFilterUtils.getBloomFilter(store.getProperties().getClientSideBloomFilterSize());
+            clientSideFilter = new ClientSideSeedFilter(store.getProperties(), expectedNumSeeds);
             // Create Bloom filter to be passed to iterators.
-            filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(), store.getProperties().getMaxEntriesForBatchScanner(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+            filter = BloomFilterUtils.getBlockedBloomFilter(store.getProperties().getFalsePositiveRate(), store.getProperties().getMaxEntriesForBatchScanner(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
             currentSeeds = new HashSet<>();
         }
 
@@ -240,8 +315,9 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             try {
                 while (_hasNext()) {
                     Map.Entry<Key, Value> entry = scannerIterator.next();
+                    batchResults++;
                     try {
-                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), operation.getOptions());
+                        nextElm = getElement(entry);
                     } catch (AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from gaffer.accumulostore.key and value entry set", e);
                         continue;
@@ -278,11 +354,15 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
         protected abstract void updateBloomFilterIfRequired(final EntitySeed seed) throws RetrieverException;
 
         protected void updateScanner() throws RetrieverException {
-            // Read through the first N entities (where N = maxEntriesForBatchScanner), create the associated ranges
+            // Read through the next N entities (where N is chosen by the batch sizer), create the associated ranges
             // and add them to a set.
             count = 0;
+            batchResults = 0;
+            batchLatencyNanos = 0;
+            batchCompleted = false;
+            final int batchSize = batchSizer.getBatchSize();
             Set<Range> ranges = new HashSet<>();
-            while (idsAIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
+            while (idsAIterator.hasNext() && count < batchSize) {
                 EntitySeed seed = idsAIterator.next();
                 currentSeeds.add(seed.getVertex());
                 count++;
@@ -300,7 +380,7 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
                 throw new RetrieverException(e);
             }
             try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                scanner.addScanIterator(getBothEndsInSetIteratorSetting(clientSideFilter.getExactSet(), filter));
             } catch (IteratorSettingException e) {
                 LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
             }
@@ -322,8 +402,8 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
 
         /**
          * Check whether this is valid, i.e. one end is in the current set of seeds that are being queried for and the
-         * other matches the Bloom filter (i.e. the client side Bloom filter that is being used as a secondary defeat
-         * of false positives).
+         * other matches the client side filter (i.e. the client side set of seeds that is being used as a secondary
+         * defeat of false positives). The other end is only serialised if the client side filter needs to be checked.
          */
         protected boolean secondaryCheck(final Element elm) {
             if (Entity.class.isInstance(elm)) {
@@ -334,39 +414,57 @@ public abstract class AccumuloSetRetriever extends AccumuloRetriever<GetOperatio
             Object destination = edge.getDestination();
             boolean sourceIsInCurrent = currentSeeds.contains(source);
             boolean destIsInCurrent = currentSeeds.contains(destination);
-            boolean sourceMatchesClientFilter;
-            try {
-                sourceMatchesClientFilter = clientSideFilter.membershipTest(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertexForBloomKey(source)));
-            } catch (AccumuloElementConversionException e) {
-                return false;
+            if (sourceIsInCurrent && destIsInCurrent) {
+                return true;
             }
-            boolean destMatchesClientFilter;
             try {
-                destMatchesClientFilter = clientSideFilter.membershipTest(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertexForBloomKey(destination)));
+                if (sourceIsInCurrent) {
+                    return clientSideFilter.membershipTest(elementConverter.serialiseVertexForBloomKey(destination));
+                }
+                if (destIsInCurrent) {
+                    return clientSideFilter.membershipTest(elementConverter.serialiseVertexForBloomKey(source));
+                }
             } catch (AccumuloElementConversionException e) {
                 return false;
             }
-            return (sourceIsInCurrent && destMatchesClientFilter)
-                    || (destIsInCurrent && sourceMatchesClientFilter)
-                    || (sourceIsInCurrent && destIsInCurrent);
+            return false;
         }
 
         private boolean _hasNext() throws RetrieverException {
             // If current scanner has next then return true.
-            if (scannerIterator.hasNext()) {
+            if (scannerHasNext()) {
                 return true;
             }
             // If current scanner is spent then go back to the iterator
             // through the provided entities, and see if there are more.
             // If so create the next scanner, if there are no more entities
             // then return false.
-            while (idsAIterator.hasNext() && !scannerIterator.hasNext()) {
+            completeBatch();
+            while (idsAIterator.hasNext()) {
                 updateScanner();
+                if (scannerHasNext()) {
+                    return true;
+                }
+                completeBatch();
             }
-            if (!scannerIterator.hasNext()) {
+            return false;
+        }
+
+        private boolean scannerHasNext() {
+            final long startTime = System.nanoTime();
+            final boolean hasNext = scannerIterator.hasNext();
+            batchLatencyNanos += System.nanoTime() - startTime;
+            return hasNext;
+        }
+
+        private void completeBatch() {
+            if (!batchCompleted) {
+                batchCompleted = true;
                 scanner.close();
+                batchSizer.batchCompleted(count, batchResults, batchLatencyNanos);
+                LOGGER.debug("Completed a batch of {} seeds with {} results, next batch size is {}",
+                        count, batchResults, batchSizer.getBatchSize());
             }
-            return scannerIterator.hasNext();
         }
     }
 }
\ No newline at end of file
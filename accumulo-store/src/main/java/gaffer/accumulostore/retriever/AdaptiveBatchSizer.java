@@ -0,0 +1,169 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever;
+
+import gaffer.accumulostore.AccumuloProperties;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the number of seeds to put in each batch scanner of a set query and records the sizes of the batches that
+ * were used.
+ * <p/>
+ * When adaptive batching is disabled every batch has maxEntriesForBatchScanner seeds. When it is enabled the first
+ * batch has minEntriesForBatchScanner seeds, and after each batch the size is recalculated from smoothed averages of
+ * the results per seed and the scanner latency per seed, so that a batch is expected to return about
+ * targetResultsPerBatchScanner results in about targetLatencyPerBatchScannerInMilliseconds. The size at most doubles
+ * between batches, is halved when the client is low on memory, and always stays between the min and max entries for
+ * the batch scanner.
+ */
+public class AdaptiveBatchSizer {
+    private static final double SMOOTHING_FACTOR = 0.5;
+    private static final int MAX_GROWTH_FACTOR = 2;
+    private static final double LOW_MEMORY_FRACTION = 0.1;
+
+    private final boolean adaptive;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetResults;
+    private final long targetLatencyNanos;
+
+    private int batchSize;
+    private double resultsPerSeed = -1;
+    private double nanosPerSeed = -1;
+
+    private int numBatches;
+    private long totalSeeds;
+    private int lastBatchSize;
+    private int smallestBatchSize;
+    private int largestBatchSize;
+
+    public AdaptiveBatchSizer(final AccumuloProperties properties) {
+        this(properties.isAdaptiveEntriesForBatchScanner(), properties.getMinEntriesForBatchScanner(),
+                properties.getMaxEntriesForBatchScanner(), properties.getTargetResultsPerBatchScanner(),
+                properties.getTargetLatencyPerBatchScannerInMilliseconds());
+    }
+
+    public AdaptiveBatchSizer(final boolean adaptive, final int minBatchSize, final int maxBatchSize,
+                              final long targetResults, final long targetLatencyMillis) {
+        this.adaptive = adaptive;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.minBatchSize = Math.max(1, Math.min(minBatchSize, this.maxBatchSize));
+        this.targetResults = targetResults;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+        this.batchSize = adaptive ? this.minBatchSize : this.maxBatchSize;
+    }
+
+    /**
+     * @return the number of seeds to put in the next batch
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Records a completed batch and, if adaptive batching is enabled, updates the size of the next batch.
+     *
+     * @param numSeeds     the number of seeds in the batch
+     * @param numResults   the number of entries returned by the batch scanner
+     * @param latencyNanos the time spent waiting on the batch scanner
+     */
+    public void batchCompleted(final int numSeeds, final long numResults, final long latencyNanos) {
+        if (numSeeds < 1) {
+            return;
+        }
+
+        numBatches++;
+        totalSeeds += numSeeds;
+        lastBatchSize = numSeeds;
+        smallestBatchSize = 1 == numBatches ? numSeeds : Math.min(smallestBatchSize, numSeeds);
+        largestBatchSize = Math.max(largestBatchSize, numSeeds);
+
+        if (!adaptive) {
+            return;
+        }
+
+        resultsPerSeed = smooth(resultsPerSeed, (double) numResults / numSeeds);
+        nanosPerSeed = smooth(nanosPerSeed, (double) latencyNanos / numSeeds);
+
+        double idealBatchSize = (double) batchSize * MAX_GROWTH_FACTOR;
+        if (resultsPerSeed > 0) {
+            idealBatchSize = Math.min(idealBatchSize, targetResults / resultsPerSeed);
+        }
+        if (nanosPerSeed > 0) {
+            idealBatchSize = Math.min(idealBatchSize, targetLatencyNanos / nanosPerSeed);
+        }
+        if (isMemoryLow()) {
+            idealBatchSize = Math.min(idealBatchSize, batchSize / 2);
+        }
+        batchSize = (int) Math.max(minBatchSize, Math.min(maxBatchSize, idealBatchSize));
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    public int getNumBatches() {
+        return numBatches;
+    }
+
+    public long getTotalSeeds() {
+        return totalSeeds;
+    }
+
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    public int getSmallestBatchSize() {
+        return smallestBatchSize;
+    }
+
+    public int getLargestBatchSize() {
+        return largestBatchSize;
+    }
+
+    public double getMeanBatchSize() {
+        return 0 == numBatches ? 0 : (double) totalSeeds / numBatches;
+    }
+
+    /**
+     * @return true if less than 10% of the max heap is available to the client
+     */
+    protected boolean isMemoryLow() {
+        final Runtime runtime = Runtime.getRuntime();
+        final long available = runtime.maxMemory() - (runtime.totalMemory() - runtime.freeMemory());
+        return available < runtime.maxMemory() * LOW_MEMORY_FRACTION;
+    }
+
+    private static double smooth(final double average, final double value) {
+        return average < 0 ? value : SMOOTHING_FACTOR * value + (1 - SMOOTHING_FACTOR) * average;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveBatchSizer{"
+                + "adaptive=" + adaptive
+                + ", batchSize=" + batchSize
+                + ", numBatches=" + numBatches
+                + ", totalSeeds=" + totalSeeds
+                + ", lastBatchSize=" + lastBatchSize
+                + ", smallestBatchSize=" + smallestBatchSize
+                + ", largestBatchSize=" + largestBatchSize
+                + '}';
+    }
+}
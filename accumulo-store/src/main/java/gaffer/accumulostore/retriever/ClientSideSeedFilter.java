@@ -0,0 +1,101 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
+import gaffer.accumulostore.utils.BloomFilterUtils;
+import gaffer.accumulostore.utils.ByteArrayHashSet;
+
+/**
+ * The set of serialised seed vertices that is maintained client-side by an {@link AccumuloSetRetriever} as a secondary
+ * defeat of the false positives from the Bloom filter that is passed to the iterators.
+ * <p/>
+ * While the number of seeds is no more than the maximum entries for the client side exact set the seeds are held in a
+ * {@link ByteArrayHashSet}, so there are no false positives and the memory used is proportional to the number of
+ * seeds. If more seeds are added, they are all moved into a {@link BlockedBloomFilter}. That filter is sized for the
+ * expected number of seeds when it is known, and otherwise is the client side Bloom filter size.
+ */
+public class ClientSideSeedFilter {
+    private final int expectedNumSeeds;
+    private final int maxExactSetSize;
+    private final double falsePositiveRate;
+    private final int maxBloomFilterSize;
+    private ByteArrayHashSet exactSet;
+    private BlockedBloomFilter bloomFilter;
+
+    /**
+     * @param properties       the properties of the store being queried
+     * @param expectedNumSeeds the number of seeds that will be added, or a negative number if it is not known
+     */
+    public ClientSideSeedFilter(final AccumuloProperties properties, final int expectedNumSeeds) {
+        this(expectedNumSeeds, properties.getMaxEntriesForClientSideExactSet(), properties.getFalsePositiveRate(),
+                properties.getClientSideBloomFilterSize());
+    }
+
+    public ClientSideSeedFilter(final int expectedNumSeeds, final int maxExactSetSize, final double falsePositiveRate,
+                                final int maxBloomFilterSize) {
+        this.expectedNumSeeds = expectedNumSeeds;
+        this.maxExactSetSize = maxExactSetSize;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxBloomFilterSize = maxBloomFilterSize;
+        if (expectedNumSeeds > maxExactSetSize) {
+            bloomFilter = createBloomFilter();
+        } else {
+            exactSet = new ByteArrayHashSet(Math.max(0, expectedNumSeeds));
+        }
+    }
+
+    public void add(final byte[] serialisedVertex) {
+        if (null != bloomFilter) {
+            bloomFilter.add(serialisedVertex);
+        } else if (exactSet.add(serialisedVertex) && exactSet.size() > maxExactSetSize) {
+            bloomFilter = createBloomFilter();
+            exactSet.forEach(new ByteArrayHashSet.Visitor() {
+                @Override
+                public void visit(final byte[] bytes) {
+                    bloomFilter.add(bytes);
+                }
+            });
+            exactSet = null;
+        }
+    }
+
+    public boolean membershipTest(final byte[] serialisedVertex) {
+        return null != bloomFilter ? bloomFilter.membershipTest(serialisedVertex) : exactSet.contains(serialisedVertex);
+    }
+
+    /**
+     * @return true if the seeds are held in an exact set, so there are no false positives
+     */
+    public boolean isExact() {
+        return null == bloomFilter;
+    }
+
+    /**
+     * @return the exact set of serialised seeds, or null if the seeds are held in a Bloom filter
+     */
+    public ByteArrayHashSet getExactSet() {
+        return exactSet;
+    }
+
+    private BlockedBloomFilter createBloomFilter() {
+        final int numSeeds = expectedNumSeeds > maxExactSetSize ? expectedNumSeeds
+                : BloomFilterUtils.calculateBloomFilterCapacity(falsePositiveRate, maxBloomFilterSize);
+        return BloomFilterUtils.getBlockedBloomFilter(falsePositiveRate, numSeeds, maxBloomFilterSize);
+    }
+}
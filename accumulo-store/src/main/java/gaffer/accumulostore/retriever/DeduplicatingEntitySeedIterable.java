@@ -0,0 +1,161 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.CloseableIterable;
+import gaffer.operation.data.EntitySeed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A <code>DeduplicatingEntitySeedIterable</code> lazily removes repeated {@link EntitySeed}s from an iterable, so a
+ * vertex that is adjacent to a seed through several edges is only returned once.
+ * <p/>
+ * The serialised vertices that have been returned are held in a {@link ClientSideSeedFilter}, so the memory used is
+ * bounded. While there are no more distinct vertices than the maximum entries for the client side exact set, all
+ * duplicates are removed exactly. Beyond that the vertices are held in a Bloom filter of at most the client side
+ * Bloom filter size, and a false positive from the filter will cause a vertex that has not been returned to be
+ * skipped as a duplicate. {@link #isExact()} reports whether this could have happened.
+ * <p/>
+ * The counters describe the most recent iteration and are logged at debug once it completes.
+ */
+public class DeduplicatingEntitySeedIterable implements CloseableIterable<EntitySeed> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeduplicatingEntitySeedIterable.class);
+
+    private final Iterable<EntitySeed> seeds;
+    private final AccumuloElementConverter elementConverter;
+    private final AccumuloProperties properties;
+
+    private long numSeedsReturned;
+    private long numDuplicatesRemoved;
+    private boolean exact = true;
+
+    public DeduplicatingEntitySeedIterable(final Iterable<EntitySeed> seeds, final AccumuloElementConverter elementConverter,
+                                           final AccumuloProperties properties) {
+        this.seeds = seeds;
+        this.elementConverter = elementConverter;
+        this.properties = properties;
+    }
+
+    @Override
+    public Iterator<EntitySeed> iterator() {
+        numSeedsReturned = 0;
+        numDuplicatesRemoved = 0;
+        exact = true;
+        return new DeduplicatingIterator(seeds.iterator(), new ClientSideSeedFilter(properties, -1));
+    }
+
+    @Override
+    public void close() {
+        if (seeds instanceof Closeable) {
+            try {
+                ((Closeable) seeds).close();
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close input iterable", e);
+            }
+        }
+    }
+
+    /**
+     * @return the number of distinct seeds returned so far
+     */
+    public long getNumSeedsReturned() {
+        return numSeedsReturned;
+    }
+
+    /**
+     * @return the number of repeated seeds that have been removed so far
+     */
+    public long getNumDuplicatesRemoved() {
+        return numDuplicatesRemoved;
+    }
+
+    /**
+     * @return true if the returned vertices are still held in an exact set, so no distinct seeds have been removed
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    private final class DeduplicatingIterator implements Iterator<EntitySeed> {
+        private final Iterator<EntitySeed> input;
+        private final ClientSideSeedFilter returned;
+        private EntitySeed nextSeed;
+        private boolean finished;
+
+        private DeduplicatingIterator(final Iterator<EntitySeed> input, final ClientSideSeedFilter returned) {
+            this.input = input;
+            this.returned = returned;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextSeed && input.hasNext()) {
+                final EntitySeed seed = input.next();
+                final byte[] serialisedVertex = serialise(seed);
+                if (returned.membershipTest(serialisedVertex)) {
+                    numDuplicatesRemoved++;
+                } else {
+                    returned.add(serialisedVertex);
+                    exact = returned.isExact();
+                    nextSeed = seed;
+                }
+            }
+
+            if (null == nextSeed && !finished) {
+                finished = true;
+                LOGGER.debug("Returned {} distinct adjacent entity seeds and removed {} duplicates (exact: {})",
+                        numSeedsReturned, numDuplicatesRemoved, exact);
+            }
+
+            return null != nextSeed;
+        }
+
+        @Override
+        public EntitySeed next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+
+            final EntitySeed seed = nextSeed;
+            nextSeed = null;
+            numSeedsReturned++;
+            return seed;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cannot call remove on a " + DeduplicatingEntitySeedIterable.class.getSimpleName() + " iterator");
+        }
+
+        private byte[] serialise(final EntitySeed seed) {
+            try {
+                return elementConverter.serialiseVertexForBloomKey(seed.getVertex());
+            } catch (final AccumuloElementConversionException e) {
+                throw new IllegalArgumentException("Failed to serialise vertex " + seed.getVertex(), e);
+            }
+        }
+    }
+}
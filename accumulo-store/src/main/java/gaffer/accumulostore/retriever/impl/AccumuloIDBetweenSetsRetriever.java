@@ -17,14 +17,19 @@
 package gaffer.accumulostore.retriever.impl;
 
 import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.operation.AccumuloTwoSetSeededOperation;
 import gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import gaffer.accumulostore.retriever.RetrieverException;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.accumulostore.utils.BloomFilterUtils;
+import gaffer.accumulostore.utils.ByteArrayHashSet;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
 import gaffer.operation.data.EntitySeed;
 import gaffer.store.StoreException;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 
 import java.util.Set;
 
@@ -73,12 +78,13 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
             verticesB = extractVertices(seedSetB);
 
             // Create Bloom filter, read through set of entities B and add them to Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(), verticesB.size(),
+            final BlockedBloomFilter filter = BloomFilterUtils.getBlockedBloomFilter(store.getProperties().getFalsePositiveRate(), verticesB.size(),
                     store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(verticesB, filter);
-            addToBloomFilter(verticesA, filter);
+            final ByteArrayHashSet serialisedVertices = new ByteArrayHashSet();
+            addToBloomFilter(verticesB, filter, serialisedVertices);
+            addToBloomFilter(verticesA, filter, serialisedVertices);
 
-            initialise(filter);
+            initialise(filter, serialisedVertices);
         }
 
         /**
@@ -93,8 +99,9 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            super(getNumSeedsIfKnown(seedSetB));
+            // Only set B goes in the filters: the other end of an edge found from a seed in set A must be in set B.
             addToBloomFilter(seedSetB, filter, clientSideFilter);
-            addToBloomFilter(seedSetA, filter, clientSideFilter);
 
             idsAIterator = seedSetA.iterator();
             updateScanner();
@@ -103,5 +110,25 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever {
         protected void updateBloomFilterIfRequired(final EntitySeed seed) throws RetrieverException {
             // no action required.
         }
+
+        /**
+         * Unlike the within-set check, an edge with both ends in the current batch of set A is not enough: the other
+         * end must also be in set B, otherwise a Bloom filter false positive would let an A-A edge through.
+         */
+        @Override
+        protected boolean secondaryCheck(final Element elm) {
+            if (Entity.class.isInstance(elm)) {
+                return true;
+            }
+            final Edge edge = (Edge) elm;
+            final Object source = edge.getSource();
+            final Object destination = edge.getDestination();
+            try {
+                return currentSeeds.contains(source) && clientSideFilter.membershipTest(elementConverter.serialiseVertexForBloomKey(destination))
+                        || currentSeeds.contains(destination) && clientSideFilter.membershipTest(elementConverter.serialiseVertexForBloomKey(source));
+            } catch (AccumuloElementConversionException e) {
+                return false;
+            }
+        }
     }
 }
\ No newline at end of file
@@ -18,13 +18,14 @@ package gaffer.accumulostore.retriever.impl;
 
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.retriever.RetrieverException;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
 import gaffer.accumulostore.utils.BloomFilterUtils;
+import gaffer.accumulostore.utils.ByteArrayHashSet;
 import gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import gaffer.operation.data.EntitySeed;
 import gaffer.operation.GetOperation;
 import gaffer.store.StoreException;
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 
 import java.util.Set;
 
@@ -68,11 +69,12 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
             vertices = extractVertices(seeds);
 
             // Create Bloom filter, read through set of entities and add them to Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(), vertices.size(),
+            final BlockedBloomFilter filter = BloomFilterUtils.getBlockedBloomFilter(store.getProperties().getFalsePositiveRate(), vertices.size(),
                     store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(vertices, filter);
+            final ByteArrayHashSet serialisedVertices = new ByteArrayHashSet();
+            addToBloomFilter(vertices, filter, serialisedVertices);
 
-            initialise(filter);
+            initialise(filter, serialisedVertices);
         }
 
         /**
@@ -87,6 +89,7 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever {
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
+            super(getNumSeedsIfKnown(seeds));
             idsAIterator = seeds.iterator();
             updateScanner();
         }
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.AccumuloProperties;
+import org.apache.accumulo.core.client.Connector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The AccumuloConnectionManager caches Accumulo {@link Connector}s so that a new
+ * {@link org.apache.accumulo.core.client.ZooKeeperInstance} is not created and authenticated against on every call.
+ * Connectors are created lazily, the first time they are requested for a given instance, set of zookeepers and user,
+ * and are then shared between all threads. A {@link Connector} is thread safe so can be handed out to concurrent
+ * scanners and writers.
+ */
+public class AccumuloConnectionManager {
+    private final Map<ConnectionKey, Connector> connectors = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Gets a {@link Connector} using the connection details in the provided properties.
+     *
+     * @param properties the properties containing the connection details
+     * @return A cached or newly created {@link Connector}
+     * @throws TableUtilException if the connection could not be created
+     */
+    public Connector getConnector(final AccumuloProperties properties) throws TableUtilException {
+        return getConnector(properties.getInstanceName(), properties.getZookeepers(), properties.getUserName(), properties.getPassword());
+    }
+
+    /**
+     * Gets a {@link Connector} for the given instance and user, creating it if one has not been created yet.
+     *
+     * @param instanceName
+     * @param zookeepers
+     * @param userName
+     * @param password
+     * @return A cached or newly created {@link Connector}
+     * @throws TableUtilException if the connection could not be created or the manager has been closed
+     */
+    public Connector getConnector(final String instanceName, final String zookeepers, final String userName, final String password) throws TableUtilException {
+        if (closed) {
+            throw new TableUtilException("Connection manager has been closed", null);
+        }
+
+        final ConnectionKey key = new ConnectionKey(instanceName, zookeepers, userName, password);
+        Connector connector = connectors.get(key);
+        if (null != connector) {
+            hits.incrementAndGet();
+            return connector;
+        }
+
+        synchronized (connectors) {
+            connector = connectors.get(key);
+            if (null != connector) {
+                hits.incrementAndGet();
+                return connector;
+            }
+
+            misses.incrementAndGet();
+            connector = createConnector(instanceName, zookeepers, userName, password);
+            connectors.put(key, connector);
+        }
+
+        return connector;
+    }
+
+    /**
+     * Closes the connection manager, removing all cached {@link Connector}s. Any subsequent requests for a
+     * connection will fail.
+     */
+    public void close() {
+        closed = true;
+        connectors.clear();
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return the number of requests that were served by a cached {@link Connector}
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of requests that required a new {@link Connector} to be created
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of {@link Connector}s currently cached
+     */
+    public int getConnectorCount() {
+        return connectors.size();
+    }
+
+    /**
+     * Creates a new {@link Connector}. Override this method to provide connections to other types of
+     * {@link org.apache.accumulo.core.client.Instance}, for example a mock instance.
+     *
+     * @param instanceName
+     * @param zookeepers
+     * @param userName
+     * @param password
+     * @return A new {@link Connector}
+     * @throws TableUtilException if the connection could not be created
+     */
+    protected Connector createConnector(final String instanceName, final String zookeepers, final String userName, final String password) throws TableUtilException {
+        return TableUtils.getConnector(instanceName, zookeepers, userName, password);
+    }
+
+    private static final class ConnectionKey {
+        private final String instanceName;
+        private final String zookeepers;
+        private final String userName;
+        private final String password;
+
+        ConnectionKey(final String instanceName, final String zookeepers, final String userName, final String password) {
+            this.instanceName = instanceName;
+            this.zookeepers = zookeepers;
+            this.userName = userName;
+            this.password = password;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ConnectionKey)) {
+                return false;
+            }
+            final ConnectionKey other = (ConnectionKey) obj;
+            return equals(instanceName, other.instanceName)
+                    && equals(zookeepers, other.zookeepers)
+                    && equals(userName, other.userName)
+                    && equals(password, other.password);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = hashCode(instanceName);
+            result = 31 * result + hashCode(zookeepers);
+            result = 31 * result + hashCode(userName);
+            result = 31 * result + hashCode(password);
+            return result;
+        }
+
+        private static boolean equals(final String a, final String b) {
+            return null == a ? null == b : a.equals(b);
+        }
+
+        private static int hashCode(final String str) {
+            return null == str ? 0 : str.hashCode();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.apache.hadoop.io.Writable;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * A blocked Bloom filter. Each item is hashed once to choose a 512 bit block, which is the size of a typical cache
+ * line, and all of the item's bits are set within that block. Testing membership therefore touches a single block
+ * and, unlike {@link org.apache.hadoop.util.bloom.BloomFilter}, items can be added and tested in place from a region
+ * of a byte array without copying it into a new {@link org.apache.hadoop.util.bloom.Key}.
+ * <p/>
+ * The serialised form is the number of hashes, the number of blocks and then the bits of each block, so it is no larger
+ * than the bits themselves.
+ */
+public class BlockedBloomFilter implements Writable {
+    public static final int BLOCK_SIZE = 512;
+    private static final int LONGS_PER_BLOCK = BLOCK_SIZE / Long.SIZE;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final long MURMUR_MULTIPLIER = 0xc6a4a7935bd1e995L;
+    private static final int MURMUR_SHIFT = 47;
+    private static final long MURMUR_SEED = 0x9747b28cL;
+
+    private int numHashes;
+    private int numBlocks;
+    private long[] bits;
+
+    /**
+     * Constructs an empty filter, to be populated by {@link #readFields(DataInput)}.
+     */
+    public BlockedBloomFilter() {
+    }
+
+    /**
+     * @param size      the minimum number of bits in the filter, rounded up to a whole number of blocks
+     * @param numHashes the number of bits set for each item
+     */
+    public BlockedBloomFilter(final int size, final int numHashes) {
+        this.numBlocks = Math.max(1, (int) (((long) size + BLOCK_SIZE - 1) / BLOCK_SIZE));
+        this.numHashes = Math.max(1, numHashes);
+        this.bits = new long[numBlocks * LONGS_PER_BLOCK];
+    }
+
+    public void add(final byte[] bytes) {
+        add(bytes, 0, bytes.length);
+    }
+
+    public void add(final byte[] bytes, final int offset, final int length) {
+        final long hash = hash(bytes, offset, length);
+        final int blockStart = getBlockStart(hash);
+        final long mixed = mix(hash);
+        final int hash1 = (int) mixed;
+        final int hash2 = (int) (mixed >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            final int bit = (hash1 + i * hash2) & BLOCK_MASK;
+            bits[blockStart + (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean membershipTest(final byte[] bytes) {
+        return membershipTest(bytes, 0, bytes.length);
+    }
+
+    public boolean membershipTest(final byte[] bytes, final int offset, final int length) {
+        final long hash = hash(bytes, offset, length);
+        final int blockStart = getBlockStart(hash);
+        final long mixed = mix(hash);
+        final int hash1 = (int) mixed;
+        final int hash2 = (int) (mixed >>> 32);
+        for (int i = 0; i < numHashes; i++) {
+            final int bit = (hash1 + i * hash2) & BLOCK_MASK;
+            if (0 == (bits[blockStart + (bit >>> 6)] & (1L << bit))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the number of bits in the filter
+     */
+    public int getVectorSize() {
+        return numBlocks * BLOCK_SIZE;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    @Override
+    public void write(final DataOutput out) throws IOException {
+        out.writeInt(numHashes);
+        out.writeInt(numBlocks);
+        for (final long word : bits) {
+            out.writeLong(word);
+        }
+    }
+
+    @Override
+    public void readFields(final DataInput in) throws IOException {
+        numHashes = in.readInt();
+        numBlocks = in.readInt();
+        if (numHashes < 1 || numBlocks < 1) {
+            throw new IOException("Invalid blocked bloom filter with " + numHashes + " hashes and " + numBlocks + " blocks");
+        }
+        bits = new long[numBlocks * LONGS_PER_BLOCK];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = in.readLong();
+        }
+    }
+
+    /**
+     * Hashes a region of a byte array with the 64 bit MurmurHash2 (MurmurHash64A) function.
+     *
+     * @param bytes  the bytes to hash
+     * @param offset the offset of the region to hash
+     * @param length the length of the region to hash
+     * @return the hash
+     */
+    public static long hash(final byte[] bytes, final int offset, final int length) {
+        long h = MURMUR_SEED ^ (length * MURMUR_MULTIPLIER);
+        final int end = offset + (length & ~7);
+        int i = offset;
+        for (; i < end; i += 8) {
+            long k = (bytes[i] & 0xFFL)
+                    | (bytes[i + 1] & 0xFFL) << 8
+                    | (bytes[i + 2] & 0xFFL) << 16
+                    | (bytes[i + 3] & 0xFFL) << 24
+                    | (bytes[i + 4] & 0xFFL) << 32
+                    | (bytes[i + 5] & 0xFFL) << 40
+                    | (bytes[i + 6] & 0xFFL) << 48
+                    | (bytes[i + 7] & 0xFFL) << 56;
+            k *= MURMUR_MULTIPLIER;
+            k ^= k >>> MURMUR_SHIFT;
+            k *= MURMUR_MULTIPLIER;
+            h ^= k;
+            h *= MURMUR_MULTIPLIER;
+        }
+
+        final int remaining = length & 7;
+        if (remaining > 0) {
+            long k = 0;
+            for (int j = 0; j < remaining; j++) {
+                k |= (bytes[i + j] & 0xFFL) << (8 * j);
+            }
+            h ^= k;
+            h *= MURMUR_MULTIPLIER;
+        }
+
+        h ^= h >>> MURMUR_SHIFT;
+        h *= MURMUR_MULTIPLIER;
+        h ^= h >>> MURMUR_SHIFT;
+        return h;
+    }
+
+    private int getBlockStart(final long hash) {
+        // Maps the top 32 bits of the hash onto [0, numBlocks) without a division.
+        return (int) (((hash >>> 32) * numBlocks) >>> 32) * LONGS_PER_BLOCK;
+    }
+
+    private static long mix(final long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -41,6 +41,18 @@ public class BloomFilterUtils {
         return Math.min(size, maximumSize);
     }
 
+    /**
+     * Calculates the number of items that can be added to a Bloom filter of the given size while achieving the desired
+     * false positive rate.
+     *
+     * @param falsePositiveRate
+     * @param bloomFilterSize
+     * @return An integer representing the number of items the bloom filter can hold
+     */
+    public static int calculateBloomFilterCapacity(final double falsePositiveRate, final int bloomFilterSize) {
+        return Math.max(1, (int) (-bloomFilterSize * Math.pow(Math.log(2.0), 2.0) / Math.log(falsePositiveRate)));
+    }
+
     /**
      * Calculates the optimal number of hash functions to use in a {@link org.apache.hadoop.util.bloom.BloomFilter} of the given size, to which the
      * given number of items will be added.
@@ -68,6 +80,21 @@ public class BloomFilterUtils {
         return new BloomFilter(size, numHashes, Hash.MURMUR_HASH);
     }
 
+    /**
+     * Returns a {@link BlockedBloomFilter} of the necessary size to achieve the given false positive rate (subject
+     * to the given maximum size), configured with the optimal number of hash functions.
+     *
+     * @param falsePositiveRate
+     * @param numItemsToBeAdded
+     * @param maximumSize
+     * @return A new BlockedBloomFilter with the desired Settings
+     */
+    public static BlockedBloomFilter getBlockedBloomFilter(final double falsePositiveRate, final int numItemsToBeAdded, final int maximumSize) {
+        final int size = calculateBloomFilterSize(falsePositiveRate, numItemsToBeAdded, maximumSize);
+        final int numHashes = calculateNumHashes(size, numItemsToBeAdded);
+        return new BlockedBloomFilter(size, numHashes);
+    }
+
     /**
      * Returns a {@link org.apache.hadoop.util.bloom.BloomFilter} of the given size.
      *
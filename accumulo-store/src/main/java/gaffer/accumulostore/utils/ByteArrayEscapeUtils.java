@@ -16,8 +16,16 @@
 
 package gaffer.accumulostore.utils;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
 /**
  * Removes the 0 byte from a byte array. Preserves ordering.
+ * <p>
+ * As well as the simple byte array methods, there are methods that escape or unescape a region of an array into a
+ * caller supplied array or {@link ByteBuffer}, so keys can be built without intermediate copies. The
+ * <code>getEscapedLength</code> and <code>getUnEscapedLength</code> methods can be used to size the output first.
  */
 public class ByteArrayEscapeUtils {
 
@@ -29,60 +37,280 @@ public class ByteArrayEscapeUtils {
     /**
      * Escapes the provided string so that it no longer contains the
      * Constants.DELIMITER character.
+     * <p>
+     * If the bytes do not need escaping the provided array is returned, so it should not be modified afterwards.
      *
      * @param bytes the byte array to escape
      * @return the escaped byte array
      */
     public static byte[] escape(final byte[] bytes) {
-        final byte[] temp = new byte[2 * bytes.length];
-        int currentPosition = 0;
-        for (byte b : bytes) {
+        return escape(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Escapes a region of the provided byte array.
+     * <p>
+     * If the region is the whole array and does not need escaping the provided array is returned, so it should not
+     * be modified afterwards.
+     *
+     * @param bytes  the byte array to escape
+     * @param offset the offset of the first byte to escape
+     * @param length the number of bytes to escape
+     * @return the escaped byte array
+     */
+    public static byte[] escape(final byte[] bytes, final int offset, final int length) {
+        final int escapedLength = getEscapedLength(bytes, offset, length);
+        if (escapedLength == length) {
+            if (offset == 0 && length == bytes.length) {
+                return bytes;
+            }
+            return Arrays.copyOfRange(bytes, offset, offset + length);
+        }
+        final byte[] escaped = new byte[escapedLength];
+        escape(bytes, offset, length, escaped, 0);
+        return escaped;
+    }
+
+    /**
+     * Escapes a region of the provided byte array into the destination array. The destination must have at least
+     * <code>getEscapedLength(bytes, offset, length)</code> bytes available after <code>destOffset</code>.
+     *
+     * @param bytes      the byte array to escape
+     * @param offset     the offset of the first byte to escape
+     * @param length     the number of bytes to escape
+     * @param dest       the array to write the escaped bytes to
+     * @param destOffset the offset in the destination array to start writing at
+     * @return the number of bytes written
+     */
+    public static int escape(final byte[] bytes, final int offset, final int length, final byte[] dest, final int destOffset) {
+        int currentPosition = destOffset;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final byte b = bytes[i];
             if (b == ESCAPE_CHAR) {
-                temp[currentPosition++] = ESCAPE_CHAR;
-                temp[currentPosition++] = REPLACEMENT_CHAR;
+                dest[currentPosition++] = ESCAPE_CHAR;
+                dest[currentPosition++] = REPLACEMENT_CHAR;
             } else if (b == DELIMITER) {
-                temp[currentPosition++] = ESCAPE_CHAR;
-                temp[currentPosition++] = ESCAPE_CHAR;
+                dest[currentPosition++] = ESCAPE_CHAR;
+                dest[currentPosition++] = ESCAPE_CHAR;
             } else {
-                temp[currentPosition++] = b;
+                dest[currentPosition++] = b;
             }
         }
-        final byte[] escaped = new byte[currentPosition];
-        System.arraycopy(temp, 0, escaped, 0, currentPosition);
-        return escaped;
+        return currentPosition - destOffset;
+    }
+
+    /**
+     * Escapes a region of the provided byte array into the buffer at its current position, advancing the position
+     * past the escaped bytes.
+     *
+     * @param bytes  the byte array to escape
+     * @param offset the offset of the first byte to escape
+     * @param length the number of bytes to escape
+     * @param dest   the buffer to write the escaped bytes to
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the buffer does not have enough space remaining
+     */
+    public static int escape(final byte[] bytes, final int offset, final int length, final ByteBuffer dest) {
+        if (dest.hasArray()) {
+            final int escapedLength = getEscapedLength(bytes, offset, length);
+            if (escapedLength > dest.remaining()) {
+                throw new BufferOverflowException();
+            }
+            escape(bytes, offset, length, dest.array(), dest.arrayOffset() + dest.position());
+            dest.position(dest.position() + escapedLength);
+            return escapedLength;
+        }
+
+        final int start = dest.position();
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final byte b = bytes[i];
+            if (b == ESCAPE_CHAR) {
+                dest.put(ESCAPE_CHAR).put(REPLACEMENT_CHAR);
+            } else if (b == DELIMITER) {
+                dest.put(ESCAPE_CHAR).put(ESCAPE_CHAR);
+            } else {
+                dest.put(b);
+            }
+        }
+        return dest.position() - start;
+    }
+
+    /**
+     * @param bytes  the byte array to be escaped
+     * @param offset the offset of the first byte to be escaped
+     * @param length the number of bytes to be escaped
+     * @return the length of the region once escaped. This is equal to <code>length</code> if the region does not need
+     * escaping.
+     */
+    public static int getEscapedLength(final byte[] bytes, final int offset, final int length) {
+        int escapedLength = length;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            // The DELIMITER and ESCAPE_CHAR (0 and 1) are the only bytes with no bits set other than the lowest.
+            if ((bytes[i] & 0xFE) == 0) {
+                escapedLength++;
+            }
+        }
+        return escapedLength;
     }
 
     /**
      * Unescapes the provided byte array - this should only be called on
      * byte arrays that have been through the <code>escape</code> method.
+     * <p>
+     * If the bytes do not contain any escaped bytes the provided array is returned, so it should not be modified
+     * afterwards.
      *
      * @param bytes the byte array to unescape
      * @return the unescaped byte array
      */
     public static byte[] unEscape(final byte[] bytes) {
-        final byte[] temp = new byte[bytes.length];
-        int currentPosition = 0;
+        return unEscape(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Unescapes a region of the provided byte array.
+     * <p>
+     * If the region is the whole array and does not contain any escaped bytes the provided array is returned, so it
+     * should not be modified afterwards.
+     *
+     * @param bytes  the byte array to unescape
+     * @param offset the offset of the first byte to unescape
+     * @param length the number of bytes to unescape
+     * @return the unescaped byte array
+     */
+    public static byte[] unEscape(final byte[] bytes, final int offset, final int length) {
+        final int unEscapedLength = getUnEscapedLength(bytes, offset, length);
+        if (unEscapedLength == length) {
+            if (offset == 0 && length == bytes.length) {
+                return bytes;
+            }
+            return Arrays.copyOfRange(bytes, offset, offset + length);
+        }
+        final byte[] unEscaped = new byte[unEscapedLength];
+        unEscape(bytes, offset, length, unEscaped, 0);
+        return unEscaped;
+    }
+
+    /**
+     * Unescapes a region of the provided byte array into the destination array. The destination must have at least
+     * <code>getUnEscapedLength(bytes, offset, length)</code> bytes available after <code>destOffset</code>.
+     *
+     * @param bytes      the byte array to unescape
+     * @param offset     the offset of the first byte to unescape
+     * @param length     the number of bytes to unescape
+     * @param dest       the array to write the unescaped bytes to
+     * @param destOffset the offset in the destination array to start writing at
+     * @return the number of bytes written
+     */
+    public static int unEscape(final byte[] bytes, final int offset, final int length, final byte[] dest, final int destOffset) {
+        int currentPosition = destOffset;
         boolean isEscaped = false;
-        for (byte b : bytes) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final byte b = bytes[i];
             if (isEscaped) {
                 if (b == REPLACEMENT_CHAR) {
-                    temp[currentPosition++] = ESCAPE_CHAR;
+                    dest[currentPosition++] = ESCAPE_CHAR;
                 } else if (b == ESCAPE_CHAR) {
-                    temp[currentPosition++] = DELIMITER;
+                    dest[currentPosition++] = DELIMITER;
                 } else {
-                    temp[currentPosition++] = b;
+                    dest[currentPosition++] = b;
                 }
                 isEscaped = false;
             } else {
                 if (b == ESCAPE_CHAR) {
                     isEscaped = true;
                 } else {
-                    temp[currentPosition++] = b;
+                    dest[currentPosition++] = b;
                 }
             }
         }
-        final byte[] unEscaped = new byte[currentPosition];
-        System.arraycopy(temp, 0, unEscaped, 0, currentPosition);
-        return unEscaped;
+        return currentPosition - destOffset;
+    }
+
+    /**
+     * Unescapes a region of the provided byte array into the buffer at its current position, advancing the position
+     * past the unescaped bytes.
+     *
+     * @param bytes  the byte array to unescape
+     * @param offset the offset of the first byte to unescape
+     * @param length the number of bytes to unescape
+     * @param dest   the buffer to write the unescaped bytes to
+     * @return the number of bytes written
+     * @throws BufferOverflowException if the buffer does not have enough space remaining
+     */
+    public static int unEscape(final byte[] bytes, final int offset, final int length, final ByteBuffer dest) {
+        if (dest.hasArray()) {
+            final int unEscapedLength = getUnEscapedLength(bytes, offset, length);
+            if (unEscapedLength > dest.remaining()) {
+                throw new BufferOverflowException();
+            }
+            unEscape(bytes, offset, length, dest.array(), dest.arrayOffset() + dest.position());
+            dest.position(dest.position() + unEscapedLength);
+            return unEscapedLength;
+        }
+
+        final int start = dest.position();
+        boolean isEscaped = false;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            final byte b = bytes[i];
+            if (isEscaped) {
+                if (b == REPLACEMENT_CHAR) {
+                    dest.put(ESCAPE_CHAR);
+                } else if (b == ESCAPE_CHAR) {
+                    dest.put(DELIMITER);
+                } else {
+                    dest.put(b);
+                }
+                isEscaped = false;
+            } else {
+                if (b == ESCAPE_CHAR) {
+                    isEscaped = true;
+                } else {
+                    dest.put(b);
+                }
+            }
+        }
+        return dest.position() - start;
+    }
+
+    /**
+     * @param bytes  the escaped byte array
+     * @param offset the offset of the first byte to be unescaped
+     * @param length the number of bytes to be unescaped
+     * @return the length of the region once unescaped. This is equal to <code>length</code> if the region does not
+     * contain any escaped bytes.
+     */
+    public static int getUnEscapedLength(final byte[] bytes, final int offset, final int length) {
+        int unEscapedLength = length;
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] == ESCAPE_CHAR) {
+                // The escape character and the following byte unescape to a single byte.
+                unEscapedLength--;
+                i++;
+            }
+        }
+        return unEscapedLength;
+    }
+
+    /**
+     * @param bytes  the byte array to search
+     * @param offset the offset to start searching from
+     * @param length the number of bytes to search
+     * @return the index in the array of the first {@link #DELIMITER} in the region, or -1 if there is no delimiter
+     */
+    public static int indexOfDelimiter(final byte[] bytes, final int offset, final int length) {
+        final int end = offset + length;
+        for (int i = offset; i < end; i++) {
+            if (bytes[i] == DELIMITER) {
+                return i;
+            }
+        }
+        return -1;
     }
-}
\ No newline at end of file
+}
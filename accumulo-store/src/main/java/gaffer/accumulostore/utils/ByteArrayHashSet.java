@@ -0,0 +1,140 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import java.util.Arrays;
+
+/**
+ * An open addressing hash set of byte arrays. Arrays are compared by their contents, and each entry stores the hash of
+ * its array so that probing rarely needs to compare the arrays themselves. Arrays that have been added must not be
+ * modified.
+ */
+public class ByteArrayHashSet {
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private byte[][] values;
+    private long[] hashes;
+    private int mask;
+    private int size;
+
+    public ByteArrayHashSet() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of arrays expected to be added, used to size the set so it does not need to grow
+     */
+    public ByteArrayHashSet(final int expectedSize) {
+        allocate(capacityFor(Math.max(1, expectedSize)));
+    }
+
+    /**
+     * @param bytes the array to add
+     * @return true if the set did not already contain an array with the same contents
+     */
+    public boolean add(final byte[] bytes) {
+        final long hash = BlockedBloomFilter.hash(bytes, 0, bytes.length);
+        int index = (int) hash & mask;
+        while (null != values[index]) {
+            if (hashes[index] == hash && Arrays.equals(values[index], bytes)) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        if (size == values.length - 1) {
+            throw new IllegalStateException("The set has reached its maximum size of " + size);
+        }
+        values[index] = bytes;
+        hashes[index] = hash;
+        size++;
+        if (size > values.length >>> 1 && values.length < MAX_CAPACITY) {
+            resize(values.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(final byte[] bytes) {
+        final long hash = BlockedBloomFilter.hash(bytes, 0, bytes.length);
+        int index = (int) hash & mask;
+        while (null != values[index]) {
+            if (hashes[index] == hash && Arrays.equals(values[index], bytes)) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return 0 == size;
+    }
+
+    /**
+     * Calls the visitor with each array in the set.
+     *
+     * @param visitor the visitor to call
+     */
+    public void forEach(final Visitor visitor) {
+        for (final byte[] value : values) {
+            if (null != value) {
+                visitor.visit(value);
+            }
+        }
+    }
+
+    private void resize(final int capacity) {
+        final byte[][] oldValues = values;
+        final long[] oldHashes = hashes;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (null != oldValues[i]) {
+                int index = (int) oldHashes[i] & mask;
+                while (null != values[index]) {
+                    index = (index + 1) & mask;
+                }
+                values[index] = oldValues[i];
+                hashes[index] = oldHashes[i];
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        values = new byte[capacity][];
+        hashes = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int capacityFor(final int expectedSize) {
+        int capacity = DEFAULT_INITIAL_CAPACITY;
+        while (capacity >>> 1 < expectedSize && capacity < MAX_CAPACITY) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Visits the arrays in a {@link ByteArrayHashSet}.
+     */
+    public interface Visitor {
+        void visit(final byte[] bytes);
+    }
+}
@@ -16,11 +16,11 @@
 
 package gaffer.accumulostore.utils;
 
-import java.io.Closeable;
-
-public interface CloseableIterable<T> extends Iterable<T>, Closeable {
-
-    @Override
-    void close();
-
-}
\ No newline at end of file
+/**
+ * @param <T> the type of items in the iterable.
+ * @deprecated moved to {@link gaffer.data.CloseableIterable}. This interface is kept for one release so existing
+ * implementations still compile and will then be removed.
+ */
+@Deprecated
+public interface CloseableIterable<T> extends gaffer.data.CloseableIterable<T> {
+}
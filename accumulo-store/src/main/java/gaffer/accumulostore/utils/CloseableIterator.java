@@ -16,11 +16,11 @@
 
 package gaffer.accumulostore.utils;
 
-import java.io.Closeable;
-import java.util.Iterator;
-
-public interface CloseableIterator<T> extends Iterator<T>, Closeable {
-
-    @Override
-    void close();
+/**
+ * @param <T> the type of items in the iterator.
+ * @deprecated moved to {@link gaffer.data.CloseableIterator}. This interface is kept for one release so existing
+ * implementations still compile and will then be removed.
+ */
+@Deprecated
+public interface CloseableIterator<T> extends gaffer.data.CloseableIterator<T> {
 }
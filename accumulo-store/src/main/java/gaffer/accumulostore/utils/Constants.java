@@ -23,9 +23,11 @@ public class Constants {
 	//Iterator names
     public static final String AGGREGATOR_ITERATOR_NAME = "Aggregator";
     public static final String BLOOM_FILTER_ITERATOR_NAME = "Bloom_Filter";
+    public static final String BOTH_ENDS_IN_SET_ITERATOR_NAME = "Both_Ends_In_Set";
     public static final String ELEMENT_FILTER_ITERATOR_NAME = "Element_Filter";
     public static final String EDGE_ENTITY_DIRECTED_UNDIRECTED_FILTER_ITERATOR_NAME = "Edge_Entity_Directed_Undirected_Filter";
     public static final String QUERY_TIME_AGGREGATION_ITERATOR_NAME = "Query_Time_Aggregator";
+    public static final String VALUE_STRIPPER_ITERATOR_NAME = "Value_Stripper";
 
     //Converter class to be used in iterators must be on classpath of all iterators
     public static final String ACCUMULO_KEY_CONVERTER = "Converter";
@@ -42,6 +44,7 @@ public class Constants {
     public static final String OUTGOING_EDGE_ONLY = "Outgoing_Edges_Only";
     public static final String BLOOM_FILTER = "Bloom_Filter";
     public static final String BLOOM_FILTER_CHARSET = "ISO-8859-1";
+    public static final String SEED_SET = "Seed_Set";
 
     // Iterator priorities
     public final static int AGE_OFF_ITERATOR_PRIORITY = 10; // Applied during major compactions, minor compactions and scans.
@@ -50,6 +53,7 @@ public class Constants {
     public final static int EDGE_ENTITY_DIRECTED_FILTER_ITERATOR_PRIORITY = 32; // Applied only during scans.
     public final static int ELEMENT_FILTER_ITERATOR_PRIORITY = 33; // Applied only during scans.
     public final static int QUERY_TIME_AGGREGATOR_PRIORITY = 34; // Applied only during scans.
+    public final static int VALUE_STRIPPER_ITERATOR_PRIORITY = 40; // Applied only during scans.
     public final static int TRANSFORM_PRIORITY = 50; // Applied only during scans.
 
     //Operations options
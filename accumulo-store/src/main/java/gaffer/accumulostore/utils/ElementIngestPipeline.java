@@ -0,0 +1,256 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.data.element.Element;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * An <code>ElementIngestPipeline</code> converts {@link Element}s to {@link Mutation}s and adds them to a
+ * {@link BatchWriter}.
+ * <p/>
+ * With a single conversion thread the elements are converted and written on the calling thread. With more threads the
+ * calling thread splits the elements into batches, which are converted on a bounded pool of worker threads while
+ * the batch writer's own threads send the earlier mutations to the tablet servers. At most two batches per worker
+ * are in flight, so the memory used is bounded however many elements there are. If the hand-off is ordered, the
+ * calling thread adds the converted batches to the batch writer in the order of the elements. Otherwise each worker
+ * adds its batch as soon as it has been converted.
+ * <p/>
+ * Elements that cannot be converted are logged and skipped, as are mutations that the batch writer rejects. The
+ * number of each and the throughput of each stage are recorded in the {@link IngestStatistics}.
+ */
+public class ElementIngestPipeline {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementIngestPipeline.class);
+    private static final int BATCHES_IN_FLIGHT_PER_THREAD = 2;
+
+    private final AccumuloElementConverter converter;
+    private final int numThreads;
+    private final int batchSize;
+    private final boolean ordered;
+    private final IngestStatistics statistics = new IngestStatistics();
+    private ExecutorService executor;
+
+    /**
+     * @param converter  the converter used to create the keys and values from the elements
+     * @param numThreads the number of threads used to convert the elements. If this is 1 or less the elements are
+     *                   converted on the calling thread.
+     * @param batchSize  the number of elements converted by a worker at a time
+     * @param ordered    true if the mutations should be added to the batch writer in the order of the elements
+     */
+    public ElementIngestPipeline(final AccumuloElementConverter converter, final int numThreads, final int batchSize,
+                                 final boolean ordered) {
+        this.converter = converter;
+        this.numThreads = numThreads;
+        this.batchSize = Math.max(1, batchSize);
+        this.ordered = ordered;
+    }
+
+    /**
+     * Converts the elements to mutations and adds them to the writer. This returns once all the mutations have been
+     * added to the writer, but it does not flush or close the writer.
+     *
+     * @param elements the elements to add
+     * @param writer   the batch writer to add the mutations to
+     * @throws StoreException if the pipeline is interrupted or a worker fails unexpectedly
+     */
+    public void write(final Iterable<Element> elements, final BatchWriter writer) throws StoreException {
+        if (numThreads <= 1) {
+            final List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    write(convert(batch), writer);
+                    batch.clear();
+                }
+            }
+            write(convert(batch), writer);
+            return;
+        }
+
+        final Deque<Future<List<Mutation>>> inFlight = new ArrayDeque<>();
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    submit(batch, writer, inFlight);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                submit(batch, writer, inFlight);
+            }
+            while (!inFlight.isEmpty()) {
+                complete(inFlight.poll(), writer);
+            }
+        } finally {
+            for (final Future<List<Mutation>> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * @return the cumulative counters for all the elements written by this pipeline
+     */
+    public IngestStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Stops the worker threads. The pipeline cannot be used after it has been closed.
+     */
+    public synchronized void close() {
+        if (null != executor) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void submit(final List<Element> batch, final BatchWriter writer, final Deque<Future<List<Mutation>>> inFlight)
+            throws StoreException {
+        while (inFlight.size() >= numThreads * BATCHES_IN_FLIGHT_PER_THREAD) {
+            complete(inFlight.poll(), writer);
+        }
+        inFlight.add(getExecutor().submit(new Callable<List<Mutation>>() {
+            @Override
+            public List<Mutation> call() {
+                final List<Mutation> mutations = convert(batch);
+                if (!ordered) {
+                    write(mutations, writer);
+                }
+                return mutations;
+            }
+        }));
+    }
+
+    private void complete(final Future<List<Mutation>> future, final BatchWriter writer) throws StoreException {
+        final List<Mutation> mutations;
+        try {
+            mutations = future.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst converting elements to mutations", e);
+        } catch (final ExecutionException e) {
+            throw new StoreException("Failed to convert elements to mutations: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        if (ordered) {
+            write(mutations, writer);
+        }
+    }
+
+    private List<Mutation> convert(final List<Element> batch) {
+        final long startTime = System.nanoTime();
+        final List<Mutation> mutations = new ArrayList<>(batch.size() * 2);
+        long numFailed = 0;
+        for (final Element element : batch) {
+            if (!convert(element, mutations)) {
+                numFailed++;
+            }
+        }
+        statistics.conversionCompleted(batch.size() - numFailed, numFailed, System.nanoTime() - startTime);
+        return mutations;
+    }
+
+    private boolean convert(final Element element, final List<Mutation> mutations) {
+        final Pair<Key> keys;
+        try {
+            keys = converter.getKeysFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to create an accumulo gaffer.accumulostore.key from element of type " + element.getGroup() + " when trying to insert elements");
+            return false;
+        }
+        final Value value;
+        try {
+            value = converter.getValueFromElement(element);
+        } catch (final AccumuloElementConversionException e) {
+            LOGGER.error("Failed to create an accumulo value from element of type " + element.getGroup() + " when trying to insert elements");
+            return false;
+        }
+
+        mutations.add(createMutation(keys.getFirst(), value));
+        // If the GraphElement is a Vertex then there will only be 1 key, and the second will be null.
+        // If the GraphElement is an Edge then there will be 2 keys.
+        if (null != keys.getSecond()) {
+            mutations.add(createMutation(keys.getSecond(), value));
+        }
+        return true;
+    }
+
+    private static Mutation createMutation(final Key key, final Value value) {
+        final Mutation m = new Mutation(key.getRow());
+        m.put(key.getColumnFamily(), key.getColumnQualifier(), new ColumnVisibility(key.getColumnVisibility()),
+                key.getTimestamp(), value);
+        return m;
+    }
+
+    private void write(final List<Mutation> mutations, final BatchWriter writer) {
+        final long startTime = System.nanoTime();
+        long numRejected = 0;
+        for (final Mutation m : mutations) {
+            try {
+                writer.addMutation(m);
+            } catch (final MutationsRejectedException e) {
+                LOGGER.error("Failed to create an accumulo gaffer.accumulostore.key mutation");
+                numRejected++;
+            }
+        }
+        statistics.writeCompleted(mutations.size() - numRejected, numRejected, System.nanoTime() - startTime);
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (null == executor) {
+            executor = Executors.newFixedThreadPool(numThreads, new DaemonThreadFactory());
+        }
+
+        return executor;
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = delegate.newThread(runnable);
+            thread.setName("gaffer-ingest-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
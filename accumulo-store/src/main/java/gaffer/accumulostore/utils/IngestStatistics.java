@@ -0,0 +1,120 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters for the stages of the {@link ElementIngestPipeline} and for the {@link PreAggregatingElementIterable}. The conversion stage converts elements to
+ * {@link org.apache.accumulo.core.data.Mutation}s and the write stage hands the mutations to the
+ * {@link org.apache.accumulo.core.client.BatchWriter}. The times are the total time spent in each stage, summed over
+ * all the threads running it, so the rates are per thread.
+ * <p/>
+ * The counters are cumulative and are safe to update from several threads.
+ */
+public class IngestStatistics {
+    private final AtomicLong elementsConverted = new AtomicLong();
+    private final AtomicLong conversionFailures = new AtomicLong();
+    private final AtomicLong conversionNanos = new AtomicLong();
+    private final AtomicLong mutationsWritten = new AtomicLong();
+    private final AtomicLong mutationsRejected = new AtomicLong();
+    private final AtomicLong writeNanos = new AtomicLong();
+    private final AtomicLong elementsPreAggregated = new AtomicLong();
+
+    public void conversionCompleted(final long numConverted, final long numFailed, final long nanos) {
+        elementsConverted.addAndGet(numConverted);
+        conversionFailures.addAndGet(numFailed);
+        conversionNanos.addAndGet(nanos);
+    }
+
+    public void writeCompleted(final long numWritten, final long numRejected, final long nanos) {
+        mutationsWritten.addAndGet(numWritten);
+        mutationsRejected.addAndGet(numRejected);
+        writeNanos.addAndGet(nanos);
+    }
+
+    public void preAggregationCompleted(final long numMerged) {
+        elementsPreAggregated.addAndGet(numMerged);
+    }
+
+    /**
+     * @return the number of elements that have been converted to mutations
+     */
+    public long getElementsConverted() {
+        return elementsConverted.get();
+    }
+
+    /**
+     * @return the number of elements that could not be converted and were skipped
+     */
+    public long getConversionFailures() {
+        return conversionFailures.get();
+    }
+
+    /**
+     * @return the number of mutations added to the batch writer
+     */
+    public long getMutationsWritten() {
+        return mutationsWritten.get();
+    }
+
+    /**
+     * @return the number of mutations the batch writer rejected
+     */
+    public long getMutationsRejected() {
+        return mutationsRejected.get();
+    }
+
+    /**
+     * @return the number of elements that were merged into another element by pre-aggregation rather than written
+     */
+    public long getElementsPreAggregated() {
+        return elementsPreAggregated.get();
+    }
+
+    /**
+     * @return the elements converted per second of conversion time, or 0 if no elements have been converted
+     */
+    public double getConversionRate() {
+        return getRate(elementsConverted.get() + conversionFailures.get(), conversionNanos.get());
+    }
+
+    /**
+     * @return the mutations added to the batch writer per second of write time, or 0 if no mutations have been written
+     */
+    public double getWriteRate() {
+        return getRate(mutationsWritten.get() + mutationsRejected.get(), writeNanos.get());
+    }
+
+    private static double getRate(final long count, final long nanos) {
+        return nanos > 0 ? count * (double) TimeUnit.SECONDS.toNanos(1) / nanos : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestStatistics{"
+                + "elementsConverted=" + getElementsConverted()
+                + ", conversionFailures=" + getConversionFailures()
+                + ", conversionRate=" + getConversionRate()
+                + ", mutationsWritten=" + getMutationsWritten()
+                + ", mutationsRejected=" + getMutationsRejected()
+                + ", writeRate=" + getWriteRate()
+                + ", elementsPreAggregated=" + getElementsPreAggregated()
+                + '}';
+    }
+}
@@ -77,6 +77,56 @@ public class IteratorSettingBuilder {
     }
 
 
+    /**
+     * Adds the serialised {@link BlockedBloomFilter}.
+     *
+     * @param filter the filter
+     * @return this builder
+     * @throws IteratorSettingException if the filter cannot be serialised
+     */
+    public IteratorSettingBuilder bloomFilter(final BlockedBloomFilter filter) throws IteratorSettingException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            filter.write(new DataOutputStream(baos));
+        } catch (IOException e) {
+            throw new IteratorSettingException("Failed to write bloom filter", e);
+        }
+
+        final byte[] serialisedFilter = baos.toByteArray();
+        try {
+            setting.addOption(Constants.BLOOM_FILTER, new String(serialisedFilter, Constants.BLOOM_FILTER_CHARSET));
+        } catch (UnsupportedEncodingException e) {
+            throw new IteratorSettingException("Failed to encode the bloom filter to a string", e);
+        }
+
+        return this;
+    }
+
+    /**
+     * Adds the serialised {@link SortedByteArraySet} of seeds.
+     *
+     * @param seeds the serialised seeds
+     * @return this builder
+     * @throws IteratorSettingException if the set cannot be serialised
+     */
+    public IteratorSettingBuilder seedSet(final SortedByteArraySet seeds) throws IteratorSettingException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        try {
+            seeds.write(new DataOutputStream(baos));
+        } catch (IOException e) {
+            throw new IteratorSettingException("Failed to write seed set", e);
+        }
+
+        final byte[] serialisedSeeds = baos.toByteArray();
+        try {
+            setting.addOption(Constants.SEED_SET, new String(serialisedSeeds, Constants.BLOOM_FILTER_CHARSET));
+        } catch (UnsupportedEncodingException e) {
+            throw new IteratorSettingException("Failed to encode the seed set to a string", e);
+        }
+
+        return this;
+    }
+
     public IteratorSettingBuilder includeEdges(final GetOperation.IncludeEdgeType includeEdgeType) {
         if (GetOperation.IncludeEdgeType.DIRECTED == includeEdgeType) {
             setting.addOption(Constants.DIRECTED_EDGE_ONLY, "true");
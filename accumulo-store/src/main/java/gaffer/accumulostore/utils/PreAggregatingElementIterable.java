@@ -0,0 +1,298 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.schema.DataElementDefinition;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StoreSchema;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A <code>PreAggregatingElementIterable</code> merges elements that would be written to the same Accumulo key before
+ * they are converted to mutations, so that the tablet servers receive one version of each key rather than one per
+ * occurrence in the input.
+ * <p/>
+ * Elements are grouped by their group, their identifiers and the values of the properties stored in the column
+ * qualifier and the column visibility, which together determine the key apart from its timestamp. The properties of
+ * the elements in a group are combined with the group's {@link ElementAggregator} from the {@link DataSchema}, in
+ * the same way as the {@link gaffer.accumulostore.key.impl.AggregatorIterator} would combine them. As on the tablet
+ * servers, the merged element has the latest of the timestamps.
+ * <p/>
+ * Elements are held in a buffer which is flushed when it contains the maximum number of entries, when the oldest entry
+ * has been held for longer than the maximum age, or when the input is exhausted. The age is only checked as elements
+ * arrive. Elements whose group has no aggregator are passed straight through. The input elements are not modified.
+ */
+public class PreAggregatingElementIterable implements Iterable<Element> {
+    private final Iterable<Element> elements;
+    private final DataSchema dataSchema;
+    private final StoreSchema storeSchema;
+    private final int maxEntries;
+    private final long maxAgeInMillis;
+    private final IngestStatistics statistics;
+
+    /**
+     * @param elements       the elements to aggregate
+     * @param dataSchema     the data schema containing the aggregators for each group
+     * @param storeSchema    the store schema containing the positions of the properties
+     * @param maxEntries     the maximum number of distinct keys held in the buffer
+     * @param maxAgeInMillis the maximum time an element is held in the buffer before it is flushed
+     * @param statistics     the statistics to record the number of elements merged in
+     */
+    public PreAggregatingElementIterable(final Iterable<Element> elements, final DataSchema dataSchema,
+                                         final StoreSchema storeSchema, final int maxEntries,
+                                         final long maxAgeInMillis, final IngestStatistics statistics) {
+        this.elements = elements;
+        this.dataSchema = dataSchema;
+        this.storeSchema = storeSchema;
+        this.maxEntries = Math.max(1, maxEntries);
+        this.maxAgeInMillis = maxAgeInMillis;
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Iterator<Element> iterator() {
+        return new PreAggregatingIterator(elements.iterator());
+    }
+
+    private class PreAggregatingIterator implements Iterator<Element> {
+        private final Iterator<Element> input;
+        private final Map<AggregationKey, Element> buffer = new LinkedHashMap<>();
+        private final Deque<Element> output = new ArrayDeque<>();
+        private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+        private final Map<String, KeyProperties> keyPropertiesByGroup = new HashMap<>();
+        private long bufferStartTime;
+
+        PreAggregatingIterator(final Iterator<Element> input) {
+            this.input = input;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (output.isEmpty()) {
+                if (input.hasNext()) {
+                    add(input.next());
+                    if (buffer.size() >= maxEntries
+                            || (!buffer.isEmpty() && System.currentTimeMillis() - bufferStartTime >= maxAgeInMillis)) {
+                        flush();
+                    }
+                } else if (!buffer.isEmpty()) {
+                    flush();
+                } else {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return output.poll();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Elements cannot be removed");
+        }
+
+        private void add(final Element element) {
+            final ElementAggregator aggregator = getAggregator(element.getGroup());
+            if (null == aggregator) {
+                output.add(element);
+                return;
+            }
+
+            final KeyProperties keyProperties = getKeyProperties(element.getGroup());
+            final AggregationKey key = new AggregationKey(element, keyProperties.getGroupByValues(element));
+            final Element existing = buffer.get(key);
+            if (null == existing) {
+                if (buffer.isEmpty()) {
+                    bufferStartTime = System.currentTimeMillis();
+                }
+                final Element copy = element.emptyClone();
+                copy.copyProperties(element.getProperties());
+                buffer.put(new AggregationKey(copy, key.groupByValues), copy);
+            } else {
+                merge(existing, element, aggregator, keyProperties, key.groupByValues);
+                if (null != statistics) {
+                    statistics.preAggregationCompleted(1);
+                }
+            }
+        }
+
+        /**
+         * Merges the element into the existing element in the same way as the tablet servers would merge them. Only
+         * the properties stored in the value are aggregated. The column qualifier and visibility properties are the
+         * same for both elements and the timestamp property is the later of the two timestamps, as a combined key
+         * takes the timestamp of the most recent key.
+         */
+        private void merge(final Element existing, final Element element, final ElementAggregator aggregator,
+                           final KeyProperties keyProperties, final List<Object> groupByValues) {
+            final Object timestamp = keyProperties.getLatestTimestamp(existing, element);
+
+            // Aggregate functions may set properties that neither element had, e.g. a sum of nulls is 0. These
+            // are removed again after aggregation.
+            final Set<String> propertyNames = new HashSet<>(existing.getProperties().keySet());
+            propertyNames.addAll(element.getProperties().keySet());
+            aggregator.initFunctions();
+            aggregator.aggregate(existing);
+            aggregator.aggregate(element);
+            aggregator.state(existing);
+            existing.getProperties().keySet().retainAll(propertyNames);
+
+            for (int i = 0; i < keyProperties.groupByProperties.size(); i++) {
+                putOrRemove(existing, keyProperties.groupByProperties.get(i), groupByValues.get(i));
+            }
+            if (null != keyProperties.timestampProperty) {
+                putOrRemove(existing, keyProperties.timestampProperty, timestamp);
+            }
+        }
+
+        private void flush() {
+            output.addAll(buffer.values());
+            buffer.clear();
+        }
+
+        private ElementAggregator getAggregator(final String group) {
+            if (!aggregators.containsKey(group)) {
+                final DataElementDefinition elDef = dataSchema.getElement(group);
+                aggregators.put(group, null != elDef ? elDef.getAggregator() : null);
+            }
+
+            return aggregators.get(group);
+        }
+
+        private KeyProperties getKeyProperties(final String group) {
+            KeyProperties keyProperties = keyPropertiesByGroup.get(group);
+            if (null == keyProperties) {
+                keyProperties = new KeyProperties(storeSchema.getElement(group));
+                keyPropertiesByGroup.put(group, keyProperties);
+            }
+
+            return keyProperties;
+        }
+    }
+
+    private static void putOrRemove(final Element element, final String propertyName, final Object value) {
+        if (null != value) {
+            element.putProperty(propertyName, value);
+        } else {
+            element.getProperties().remove(propertyName);
+        }
+    }
+
+    /**
+     * The names of the properties of a group that are stored in the key rather than the value.
+     */
+    private static final class KeyProperties {
+        private final List<String> groupByProperties = new ArrayList<>();
+        private String timestampProperty;
+
+        private KeyProperties(final StoreElementDefinition elDef) {
+            if (null != elDef) {
+                for (final String propertyName : elDef.getProperties()) {
+                    final String position = elDef.getProperty(propertyName).getPosition();
+                    if (StorePositions.COLUMN_QUALIFIER.isEqual(position)
+                            || StorePositions.VISIBILITY.isEqual(position)) {
+                        groupByProperties.add(propertyName);
+                    } else if (StorePositions.TIMESTAMP.isEqual(position)) {
+                        timestampProperty = propertyName;
+                    }
+                }
+            }
+        }
+
+        private List<Object> getGroupByValues(final Element element) {
+            if (groupByProperties.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            final List<Object> values = new ArrayList<>(groupByProperties.size());
+            for (final String propertyName : groupByProperties) {
+                values.add(element.getProperty(propertyName));
+            }
+            return values;
+        }
+
+        private Object getLatestTimestamp(final Element first, final Element second) {
+            if (null == timestampProperty) {
+                return null;
+            }
+
+            final Object firstTimestamp = first.getProperty(timestampProperty);
+            final Object secondTimestamp = second.getProperty(timestampProperty);
+            if (null == firstTimestamp) {
+                return secondTimestamp;
+            }
+            if (null == secondTimestamp) {
+                return firstTimestamp;
+            }
+            return (Long) secondTimestamp > (Long) firstTimestamp ? secondTimestamp : firstTimestamp;
+        }
+    }
+
+    /**
+     * Identifies the Accumulo key, apart from the timestamp, that an element is written to. Element equality only
+     * considers the group and identifiers, so the values of the column qualifier and visibility properties are
+     * compared separately.
+     */
+    private static final class AggregationKey {
+        private final Element element;
+        private final List<Object> groupByValues;
+
+        private AggregationKey(final Element element, final List<Object> groupByValues) {
+            this.element = element;
+            this.groupByValues = groupByValues;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof AggregationKey)) {
+                return false;
+            }
+            final AggregationKey other = (AggregationKey) obj;
+            return element.equals(other.element) && groupByValues.equals(other.groupByValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * element.hashCode() + groupByValues.hashCode();
+        }
+    }
+}
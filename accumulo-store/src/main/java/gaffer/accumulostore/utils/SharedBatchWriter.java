@@ -0,0 +1,354 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.AccumuloStore;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Mutation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A <code>SharedBatchWriter</code> is a long lived {@link BatchWriter} that is shared by all the operations that add
+ * elements to an {@link AccumuloStore}, so that each operation does not have to create a writer and wait for it to be
+ * closed. The underlying writer is created on first use. If it rejects mutations it is closed and a new writer is
+ * created for the next mutation, as a writer cannot be used again once it has failed. Any mutations the failed
+ * writer had not written are lost, so callers that need to know whether their mutations were written should compare
+ * the {@link #getFailedWriterCount()} before adding their mutations with the count after flushing them.
+ * <p/>
+ * How long an operation waits for its mutations is controlled by the {@link Durability}. Independently of that, the
+ * writer is flushed in the background at a fixed interval whenever mutations have been added since the last flush,
+ * and the underlying writer also sends mutations when its buffer fills or its maximum latency is reached.
+ * <p/>
+ * The counters show how much back-pressure the writer is applying: the time spent adding mutations includes the time
+ * spent blocked waiting for space in a full buffer, and the number of unflushed mutations shows how far behind the
+ * writer is.
+ */
+public class SharedBatchWriter implements BatchWriter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedBatchWriter.class);
+
+    /**
+     * How long an operation that adds elements waits for its mutations to be written. With every durability the
+     * operation fails if the writer fails whilst it is adding its mutations. Failures after the operation has
+     * returned are only logged.
+     */
+    public enum Durability {
+        /**
+         * Return as soon as the mutations have been added to the writer's buffer. They are written by the
+         * background flush or when the buffer fills.
+         */
+        FIRE_AND_FORGET,
+
+        /**
+         * Request a flush when the operation returns, but do not wait for it to complete.
+         */
+        FLUSH_ON_RETURN,
+
+        /**
+         * Flush the writer and wait for Accumulo to acknowledge the mutations before the operation returns. The
+         * operation fails if the writer failed at any point before its mutations were acknowledged, including in a
+         * background flush.
+         */
+        WAIT_FOR_FLUSH
+    }
+
+    private final AccumuloStore store;
+    private final long flushIntervalInMillis;
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final AtomicLong mutationsAdded = new AtomicLong();
+    private final AtomicLong mutationsRejected = new AtomicLong();
+    private final AtomicLong unflushedMutations = new AtomicLong();
+    private final AtomicLong addNanos = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong writersCreated = new AtomicLong();
+    private final AtomicLong writersFailed = new AtomicLong();
+    private volatile BatchWriter writer;
+    private ScheduledExecutorService flusher;
+    private boolean backgroundFlushesStarted;
+    private boolean closed;
+
+    /**
+     * @param store                 the store to write to
+     * @param flushIntervalInMillis the interval between background flushes. If this is 0 or less the writer is only
+     *                              flushed when requested or by the underlying writer itself.
+     */
+    public SharedBatchWriter(final AccumuloStore store, final long flushIntervalInMillis) {
+        this.store = store;
+        this.flushIntervalInMillis = flushIntervalInMillis;
+    }
+
+    @Override
+    public void addMutation(final Mutation m) throws MutationsRejectedException {
+        final BatchWriter currentWriter = getWriter();
+        final long startTime = System.nanoTime();
+        try {
+            currentWriter.addMutation(m);
+            mutationsAdded.incrementAndGet();
+            unflushedMutations.incrementAndGet();
+        } catch (final MutationsRejectedException e) {
+            mutationsRejected.incrementAndGet();
+            reset(currentWriter);
+            throw e;
+        } finally {
+            addNanos.addAndGet(System.nanoTime() - startTime);
+        }
+    }
+
+    @Override
+    public void addMutations(final Iterable<Mutation> iterable) throws MutationsRejectedException {
+        for (final Mutation m : iterable) {
+            addMutation(m);
+        }
+    }
+
+    /**
+     * Flushes the writer, blocking until Accumulo has acknowledged all the mutations added so far.
+     *
+     * @throws MutationsRejectedException if any of the mutations were rejected
+     */
+    @Override
+    public void flush() throws MutationsRejectedException {
+        final BatchWriter currentWriter = writer;
+        if (null == currentWriter) {
+            return;
+        }
+
+        final long startTime = System.nanoTime();
+        try {
+            currentWriter.flush();
+            unflushedMutations.set(0);
+            flushes.incrementAndGet();
+        } catch (final MutationsRejectedException e) {
+            failedFlushes.incrementAndGet();
+            reset(currentWriter);
+            throw e;
+        } finally {
+            flushNanos.addAndGet(System.nanoTime() - startTime);
+        }
+    }
+
+    /**
+     * Requests a flush on the background thread and returns without waiting for it. If a requested flush has not
+     * started yet, another is not requested.
+     */
+    public void flushAsync() {
+        if (flushPending.compareAndSet(false, true)) {
+            final ScheduledExecutorService executor = getFlusher();
+            if (null == executor) {
+                flushPending.set(false);
+                return;
+            }
+            try {
+                executor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        flushPending.set(false);
+                        flushQuietly();
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                // The writer has been closed, which flushes it anyway.
+                flushPending.set(false);
+            }
+        }
+    }
+
+    /**
+     * Stops the background flushes, then closes the underlying writer, which flushes any remaining mutations. The
+     * writer cannot be used after it has been closed.
+     *
+     * @throws MutationsRejectedException if any of the remaining mutations were rejected
+     */
+    @Override
+    public void close() throws MutationsRejectedException {
+        final BatchWriter currentWriter;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (null != flusher) {
+                flusher.shutdown();
+                flusher = null;
+            }
+            currentWriter = writer;
+            writer = null;
+        }
+
+        if (null != currentWriter) {
+            currentWriter.close();
+        }
+    }
+
+    public synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * @return the number of mutations added to the writer
+     */
+    public long getMutationsAdded() {
+        return mutationsAdded.get();
+    }
+
+    /**
+     * @return the number of mutations the writer rejected when they were added
+     */
+    public long getMutationsRejected() {
+        return mutationsRejected.get();
+    }
+
+    /**
+     * @return the number of mutations added since the last successful flush
+     */
+    public long getUnflushedMutations() {
+        return unflushedMutations.get();
+    }
+
+    /**
+     * @return the total time spent adding mutations, including time spent blocked waiting for the buffer to drain
+     */
+    public long getAddTimeInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(addNanos.get());
+    }
+
+    /**
+     * @return the number of flushes that completed successfully
+     */
+    public long getFlushCount() {
+        return flushes.get();
+    }
+
+    /**
+     * @return the number of flushes that failed because mutations were rejected
+     */
+    public long getFailedFlushCount() {
+        return failedFlushes.get();
+    }
+
+    /**
+     * @return the total time spent waiting for flushes to complete
+     */
+    public long getFlushTimeInMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(flushNanos.get());
+    }
+
+    /**
+     * @return the number of underlying writers that have been created, which is more than 1 if a writer has failed
+     */
+    public long getWritersCreated() {
+        return writersCreated.get();
+    }
+
+    /**
+     * @return the number of underlying writers that have failed, either when a mutation was added or when they were
+     * flushed. The mutations a failed writer had not written are discarded with it.
+     */
+    public long getFailedWriterCount() {
+        return writersFailed.get();
+    }
+
+    /**
+     * Creates the underlying {@link BatchWriter}. Override this to change how the writer is created.
+     *
+     * @return A new {@link BatchWriter}
+     * @throws TableUtilException if the writer could not be created
+     */
+    protected BatchWriter createBatchWriter() throws TableUtilException {
+        return TableUtils.createBatchWriter(store);
+    }
+
+    private synchronized BatchWriter getWriter() {
+        if (closed) {
+            throw new IllegalStateException("The shared batch writer has been closed");
+        }
+
+        if (null == writer) {
+            try {
+                writer = createBatchWriter();
+            } catch (final TableUtilException e) {
+                throw new IllegalStateException("Failed to create a batch writer", e);
+            }
+            writersCreated.incrementAndGet();
+            startBackgroundFlushes();
+        }
+
+        return writer;
+    }
+
+    private synchronized void reset(final BatchWriter failedWriter) {
+        if (writer != failedWriter) {
+            return;
+        }
+
+        writer = null;
+        writersFailed.incrementAndGet();
+        try {
+            failedWriter.close();
+        } catch (final MutationsRejectedException e) {
+            LOGGER.warn("Failed to close the rejected batch writer", e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (final MutationsRejectedException e) {
+            LOGGER.error("Failed to flush the shared batch writer", e);
+        }
+    }
+
+    private synchronized void startBackgroundFlushes() {
+        if (flushIntervalInMillis > 0 && !backgroundFlushesStarted) {
+            backgroundFlushesStarted = true;
+            getFlusher().scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    if (unflushedMutations.get() > 0) {
+                        flushQuietly();
+                    }
+                }
+            }, flushIntervalInMillis, flushIntervalInMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getFlusher() {
+        if (null == flusher && !closed) {
+            flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable runnable) {
+                    final Thread thread = new Thread(runnable, "gaffer-batch-writer-flush");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+
+        return flusher;
+    }
+}
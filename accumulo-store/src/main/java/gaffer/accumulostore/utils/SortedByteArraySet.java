@@ -0,0 +1,103 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.apache.hadoop.io.Writable;
+import org.apache.hadoop.io.WritableComparator;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * An immutable set of byte arrays held in lexicographic order of their unsigned bytes. Membership of a region of a
+ * byte array is tested in place with a binary search, so it can be used to test parts of Accumulo keys without copying
+ * them. Unlike a Bloom filter it has no false positives, but its serialised form contains every array, so it is only
+ * suitable for small sets.
+ */
+public class SortedByteArraySet implements Writable {
+    private static final Comparator<byte[]> COMPARATOR = new Comparator<byte[]>() {
+        @Override
+        public int compare(final byte[] first, final byte[] second) {
+            return WritableComparator.compareBytes(first, 0, first.length, second, 0, second.length);
+        }
+    };
+
+    private byte[][] values;
+
+    public SortedByteArraySet() {
+        values = new byte[0][];
+    }
+
+    public SortedByteArraySet(final ByteArrayHashSet set) {
+        values = new byte[set.size()][];
+        set.forEach(new ByteArrayHashSet.Visitor() {
+            private int index;
+
+            @Override
+            public void visit(final byte[] bytes) {
+                values[index++] = bytes;
+            }
+        });
+        Arrays.sort(values, COMPARATOR);
+    }
+
+    public boolean contains(final byte[] bytes) {
+        return contains(bytes, 0, bytes.length);
+    }
+
+    public boolean contains(final byte[] bytes, final int offset, final int length) {
+        int low = 0;
+        int high = values.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int comparison = WritableComparator.compareBytes(values[mid], 0, values[mid].length, bytes, offset, length);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public void write(final DataOutput out) throws IOException {
+        out.writeInt(values.length);
+        for (final byte[] value : values) {
+            out.writeInt(value.length);
+            out.write(value);
+        }
+    }
+
+    @Override
+    public void readFields(final DataInput in) throws IOException {
+        values = new byte[in.readInt()][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new byte[in.readInt()];
+            in.readFully(values[i]);
+        }
+    }
+}
@@ -57,6 +57,11 @@ public class TableUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TableUtils.class);
 
+    /**
+     * Shares connectors between calls that are made before a store, and its own connection manager, exists.
+     */
+    private static final AccumuloConnectionManager CONNECTION_MANAGER = new AccumuloConnectionManager();
+
     private TableUtils() {
     }
 
@@ -139,6 +144,53 @@ public class TableUtils {
         }
     }
 
+    /**
+     * Checks that the aggregator iterator attached to an existing table uses the store's element converter.
+     * If the store's converter extends the one on the table it uses the same keys and can read the existing values,
+     * so the aggregator iterator is re-attached with the store's converter. Any other mismatch is rejected as the
+     * table's iterators would not be able to read the values written by this store.
+     *
+     * @param store the store whose table should be checked
+     * @throws StoreException if the table uses an incompatible element converter or could not be checked
+     */
+    public static void ensureAggregatorIteratorMatchesKeyPackage(final AccumuloStore store) throws StoreException {
+        final String tableName = store.getProperties().getTable();
+        final IteratorSetting iteratorSetting;
+        try {
+            final Connector connector = store.getConnection();
+            if (!connector.tableOperations().exists(tableName)) {
+                return;
+            }
+            iteratorSetting = connector.tableOperations().getIteratorSetting(tableName, Constants.AGGREGATOR_ITERATOR_NAME, IteratorScope.scan);
+        } catch (AccumuloSecurityException | AccumuloException | TableNotFoundException e) {
+            throw new StoreException("Failed to read the aggregator iterator of table " + tableName, e);
+        }
+        if (null == iteratorSetting) {
+            return;
+        }
+
+        final String tableConverterName = iteratorSetting.getOptions().get(Constants.ACCUMULO_KEY_CONVERTER);
+        final Class<?> storeConverterClass = store.getKeyPackage().getKeyConverter().getClass();
+        if (storeConverterClass.getName().equals(tableConverterName)) {
+            return;
+        }
+
+        final Class<?> tableConverterClass;
+        try {
+            tableConverterClass = Class.forName(String.valueOf(tableConverterName));
+        } catch (ClassNotFoundException e) {
+            throw new StoreException("Table " + tableName + " uses an unknown element converter: " + tableConverterName, e);
+        }
+        if (!tableConverterClass.isAssignableFrom(storeConverterClass)) {
+            throw new StoreException("Table " + tableName + " was created with element converter " + tableConverterName
+                    + " which is not compatible with the key package's element converter " + storeConverterClass.getName()
+                    + ". Use the key package the table was created with.");
+        }
+
+        LOGGER.info("Re-attaching the aggregator iterator to table {} with element converter {}", tableName, storeConverterClass.getName());
+        AddUpdateTableIterator.updateIterator(store);
+    }
+
     /**
      * Creates a {@link BatchWriter}
      *
@@ -158,7 +210,20 @@ public class TableUtils {
      * @throws TableUtilException
      */
     public static MapWritable getStoreConstructorInfo(final AccumuloProperties properties) throws TableUtilException {
-        Connector connection = getConnector(properties.getInstanceName(), properties.getZookeepers(), properties.getUserName(), properties.getPassword());
+        return getStoreConstructorInfo(properties, CONNECTION_MANAGER);
+    }
+
+    /**
+     * Returns the map containing all the information needed to create a new instance of the accumulo gaffer.accumulostore,
+     * using a {@link Connector} from the provided {@link AccumuloConnectionManager}
+     *
+     * @param properties
+     * @param connectionManager the connection manager to get the {@link Connector} from
+     * @return A MapWritable containing all the required information to construct an accumulo gaffer.accumulostore instance
+     * @throws TableUtilException
+     */
+    public static MapWritable getStoreConstructorInfo(final AccumuloProperties properties, final AccumuloConnectionManager connectionManager) throws TableUtilException {
+        Connector connection = connectionManager.getConnector(properties);
         BatchScanner scanner;
         try {
             scanner = connection.createBatchScanner(Constants.GAFFER_UTILS_TABLE, getCurrentAuthorizations(connection), properties.getThreadsForBatchScanner());
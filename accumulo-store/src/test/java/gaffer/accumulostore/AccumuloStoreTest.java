@@ -16,10 +16,23 @@
 
 package gaffer.accumulostore;
 
+import gaffer.accumulostore.key.core.AbstractCoreKeyPackage;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityCompactValueAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityCompactValueKeyPackage;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import gaffer.accumulostore.utils.AccumuloConnectionManager;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
 import gaffer.accumulostore.utils.Constants;
+import gaffer.accumulostore.utils.SharedBatchWriter;
+import gaffer.accumulostore.utils.TableUtilException;
+import gaffer.accumulostore.utils.TableUtils;
+import gaffer.commonutil.PathUtil;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.schema.DataSchema;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
@@ -28,16 +41,33 @@ import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsSeed;
 import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreException;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.client.mock.MockInstance;
+import org.apache.accumulo.core.client.security.tokens.PasswordToken;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.iterators.IteratorUtil.IteratorScope;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
 
 public class AccumuloStoreTest {
 
@@ -98,4 +128,170 @@ public class AccumuloStoreTest {
         assertFalse(resultsIter.hasNext());
     }
 
+    @Test
+    public void shouldPreAggregateDuplicateElementsWhenEnabled() throws OperationException {
+        // Given
+        final AccumuloStore preAggregatingStore = new MockAccumuloStoreForTest();
+        preAggregatingStore.getProperties().setPreAggregateOnIngest("true");
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY);
+            entity.setVertex("preAggregated");
+            entity.putProperty(AccumuloPropertyNames.COUNT, 1);
+            elements.add(entity);
+        }
+        final AddElements add = new AddElements.Builder()
+                .elements(elements)
+                .option(Constants.OPERATION_AUTHORISATIONS, AUTHS)
+                .build();
+
+        // When
+        preAggregatingStore.execute(new OperationChain<>(add));
+
+        // Then
+        assertEquals(2, preAggregatingStore.getIngestStatistics().getElementsPreAggregated());
+        assertEquals(1, preAggregatingStore.getIngestStatistics().getElementsConverted());
+        final GetElements<EntitySeed, Element> getBySeed = new GetElementsSeed.Builder<EntitySeed, Element>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .addSeed(new EntitySeed("preAggregated"))
+                .option(Constants.OPERATION_AUTHORISATIONS, AUTHS)
+                .build();
+        final Iterator<Element> resultsIter = preAggregatingStore.execute(new OperationChain<>(getBySeed)).iterator();
+        assertTrue(resultsIter.hasNext());
+        assertEquals(3, resultsIter.next().getProperty(AccumuloPropertyNames.COUNT));
+        assertFalse(resultsIter.hasNext());
+    }
+
+    @Test
+    public void shouldFailToAddElementsWhenTheSharedBatchWriterRejectsTheirMutations() throws Exception {
+        // Given - a writer that rejects every mutation, so it is discarded and the flush has nothing to flush
+        final BatchWriter rejectingWriter = mock(BatchWriter.class);
+        willThrow(mock(MutationsRejectedException.class)).given(rejectingWriter).addMutation(any(Mutation.class));
+        final AccumuloStore sharedWriterStore = new MockAccumuloStoreForTest() {
+            @Override
+            protected SharedBatchWriter createSharedBatchWriter() {
+                return new SharedBatchWriter(this, 0) {
+                    @Override
+                    protected BatchWriter createBatchWriter() {
+                        return rejectingWriter;
+                    }
+                };
+            }
+        };
+        sharedWriterStore.getProperties().setSharedBatchWriter("true");
+        sharedWriterStore.getProperties().setSharedBatchWriterDurability("WAIT_FOR_FLUSH");
+        final Entity entity = new Entity(TestGroups.ENTITY);
+        entity.setVertex("rejected");
+        final AddElements add = new AddElements.Builder()
+                .elements(Collections.<Element>singletonList(entity))
+                .option(Constants.OPERATION_AUTHORISATIONS, AUTHS)
+                .build();
+
+        // When / Then
+        try {
+            sharedWriterStore.execute(new OperationChain<>(add));
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals(1, sharedWriterStore.getSharedBatchWriter().getFailedWriterCount());
+        }
+    }
+
+    @Test
+    public void shouldReuseTheSharedBatchWriterAcrossAddElementsOperations() throws OperationException {
+        // Given
+        final AccumuloStore sharedWriterStore = new MockAccumuloStoreForTest();
+        sharedWriterStore.getProperties().setSharedBatchWriter("true");
+        sharedWriterStore.getProperties().setSharedBatchWriterDurability("WAIT_FOR_FLUSH");
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY);
+            entity.setVertex("shared" + i);
+            final AddElements add = new AddElements.Builder()
+                    .elements(Collections.<Element>singletonList(entity))
+                    .option(Constants.OPERATION_AUTHORISATIONS, AUTHS)
+                    .build();
+            sharedWriterStore.execute(new OperationChain<>(add));
+        }
+
+        // Then
+        final SharedBatchWriter writer = sharedWriterStore.getSharedBatchWriter();
+        assertEquals(1, writer.getWritersCreated());
+        assertEquals(2, writer.getMutationsAdded());
+        assertEquals(2, writer.getFlushCount());
+        final GetElements<EntitySeed, Element> getBySeed = new GetElementsSeed.Builder<EntitySeed, Element>()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .addSeed(new EntitySeed("shared0"))
+                .addSeed(new EntitySeed("shared1"))
+                .option(Constants.OPERATION_AUTHORISATIONS, AUTHS)
+                .build();
+        int count = 0;
+        for (final Element ignored : sharedWriterStore.execute(new OperationChain<>(getBySeed))) {
+            count++;
+        }
+        assertEquals(2, count);
+
+        sharedWriterStore.close();
+        assertTrue(writer.isClosed());
+    }
+
+    @Test
+    public void shouldReattachTheAggregatorIteratorWhenAnExistingTableSwitchesToACompactValueKeyPackage() throws Exception {
+        // Given
+        final AccumuloStore originalStore = createStore(ByteEntityKeyPackage.class, "compactValueSwitchTable");
+        TableUtils.ensureTableExists(originalStore);
+
+        // When
+        final AccumuloStore compactStore = createStore(ByteEntityCompactValueKeyPackage.class, "compactValueSwitchTable");
+
+        // Then
+        final IteratorSetting aggregator = compactStore.getConnection().tableOperations()
+                .getIteratorSetting("compactValueSwitchTable", Constants.AGGREGATOR_ITERATOR_NAME, IteratorScope.majc);
+        assertEquals(ByteEntityCompactValueAccumuloElementConverter.class.getName(),
+                aggregator.getOptions().get(Constants.ACCUMULO_KEY_CONVERTER));
+    }
+
+    @Test
+    public void shouldRejectAKeyPackageThatIsIncompatibleWithAnExistingTable() throws Exception {
+        // Given
+        final AccumuloStore originalStore = createStore(ByteEntityKeyPackage.class, "incompatibleKeyPackageTable");
+        TableUtils.ensureTableExists(originalStore);
+
+        // When / Then
+        try {
+            createStore(ClassicKeyPackage.class, "incompatibleKeyPackageTable");
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getMessage().contains(ClassicAccumuloElementConverter.class.getName()));
+        }
+    }
+
+    private AccumuloStore createStore(final Class<? extends AbstractCoreKeyPackage> keyPackageClass, final String table) throws StoreException {
+        final AccumuloProperties properties = new AccumuloProperties(PathUtil.storeProps(getClass()));
+        properties.setKeyPackageClass(keyPackageClass.getName());
+        properties.setTable(table);
+        // Stores created with the same table name share a named mock instance so they see the same table.
+        final AccumuloStore newStore = new MockAccumuloStore() {
+            @Override
+            protected AccumuloConnectionManager createConnectionManager() {
+                return new AccumuloConnectionManager() {
+                    @Override
+                    protected Connector createConnector(final String instanceName, final String zookeepers, final String userName, final String password) throws TableUtilException {
+                        try {
+                            return new MockInstance(table).getConnector("user", new PasswordToken("password"));
+                        } catch (AccumuloException | AccumuloSecurityException e) {
+                            throw new TableUtilException(e.getMessage(), e);
+                        }
+                    }
+                };
+            }
+        };
+        newStore.initialise(DataSchema.fromJson(PathUtil.dataSchema(getClass())),
+                StoreSchema.fromJson(PathUtil.storeSchema(getClass())), properties);
+        return newStore;
+    }
 }
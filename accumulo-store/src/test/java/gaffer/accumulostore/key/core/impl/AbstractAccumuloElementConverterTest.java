@@ -17,6 +17,7 @@ package gaffer.accumulostore.key.core.impl;
 
 
 import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.utils.AccumuloPropertyNames;
 import gaffer.accumulostore.utils.Constants;
@@ -24,10 +25,15 @@ import gaffer.accumulostore.utils.Pair;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.PathUtil;
 import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
+import gaffer.data.element.LazyEdge;
+import gaffer.data.element.LazyEntity;
+import gaffer.data.element.Properties;
 import gaffer.data.elementdefinition.schema.exception.SchemaException;
 import gaffer.store.schema.StoreSchema;
 import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -37,14 +43,18 @@ import java.util.HashMap;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public abstract class AbstractAccumuloElementConverterTest {
 
     private AccumuloElementConverter converter;
+    private StoreSchema storeSchema;
 
     @Before
     public void setUp() throws SchemaException, IOException {
-        StoreSchema storeSchema = StoreSchema.fromJson(PathUtil.storeSchema(getClass()));
+        storeSchema = StoreSchema.fromJson(PathUtil.storeSchema(getClass()));
         converter = createConverter(storeSchema);
     }
 
@@ -169,4 +179,113 @@ public abstract class AbstractAccumuloElementConverterTest {
         assertEquals(true, newEdge.isDirected());
         assertEquals("Test", newEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldGetLazyEdgeWithSameIdentifiersAndPropertiesAsFullEdge() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE);
+        edge.setSource("1");
+        edge.setDestination("2");
+        edge.setDirected(true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, "Test");
+        edge.putProperty(AccumuloPropertyNames.F1, 5);
+        edge.putProperty(AccumuloPropertyNames.COUNT, 3);
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+
+        // When
+        final Element lazyEdge = converter.getLazyElement(keys.getFirst(), value);
+
+        // Then
+        assertTrue(lazyEdge instanceof LazyEdge);
+        assertEquals(TestGroups.EDGE, lazyEdge.getGroup());
+        assertEquals(5, lazyEdge.getProperty(AccumuloPropertyNames.F1));
+        assertEquals("Test", lazyEdge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertNull(lazyEdge.getProperty(AccumuloPropertyNames.F2));
+        assertEquals("1", ((Edge) lazyEdge).getSource());
+        assertEquals("2", ((Edge) lazyEdge).getDestination());
+        assertTrue(((Edge) lazyEdge).isDirected());
+        assertEquals(converter.getFullElement(keys.getFirst(), value), ((LazyEdge) lazyEdge).getElement());
+    }
+
+    @Test
+    public void shouldGetLazyEntityWithSameIdentifiersAndPropertiesAsFullEntity() throws AccumuloElementConversionException {
+        // Given
+        final Entity entity = new Entity(TestGroups.ENTITY);
+        entity.setVertex("3");
+        entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, "Test");
+        entity.putProperty(AccumuloPropertyNames.COUNT, 7);
+        final Key key = converter.getKeyFromEntity(entity);
+        final Value value = converter.getValueFromElement(entity);
+
+        // When
+        final Element lazyEntity = converter.getLazyElement(key, value);
+
+        // Then
+        assertTrue(lazyEntity instanceof LazyEntity);
+        assertEquals(TestGroups.ENTITY, lazyEntity.getGroup());
+        assertEquals(7, lazyEntity.getProperty(AccumuloPropertyNames.COUNT));
+        assertEquals("3", ((Entity) lazyEntity).getVertex());
+        assertEquals("Test", lazyEntity.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+    }
+
+    @Test
+    public void shouldUseGroupAndPropertyNameInstancesFromSchemaWhenDecodingKey() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "1", "2", true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, "Test");
+        final Key key = converter.getKeysFromElement(edge).getFirst();
+
+        // When
+        final Element element = converter.getElementFromKey(key);
+
+        // Then
+        assertSame(getKey(storeSchema.getEdges(), TestGroups.EDGE), element.getGroup());
+        assertSame(getKey(storeSchema.getElement(TestGroups.EDGE).getPropertyMap(), AccumuloPropertyNames.COLUMN_QUALIFIER),
+                getKey(element.getProperties(), AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals("Test", element.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+    }
+
+    @Test
+    public void shouldGetPropertiesFromRegionOfColumnQualifierArray() throws AccumuloElementConversionException {
+        // Given
+        final AbstractCoreKeyAccumuloElementConverter coreConverter = (AbstractCoreKeyAccumuloElementConverter) converter;
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER, "Test");
+        final byte[] columnQualifier = coreConverter.buildColumnQualifier(TestGroups.EDGE, properties);
+        final byte[] array = new byte[columnQualifier.length + 4];
+        System.arraycopy(columnQualifier, 0, array, 2, columnQualifier.length);
+
+        // When
+        final Properties result = coreConverter.getPropertiesFromColumnQualifier(TestGroups.EDGE, array, 2, columnQualifier.length);
+        final Object property = coreConverter.getPropertyFromColumnQualifier(TestGroups.EDGE, array, 2, columnQualifier.length, AccumuloPropertyNames.COLUMN_QUALIFIER);
+
+        // Then
+        assertEquals(properties, result);
+        assertEquals("Test", property);
+    }
+
+    @Test
+    public void shouldDecodeEdgeWithVerticesContainingDelimiters() throws AccumuloElementConversionException {
+        // Given
+        final Edge edge = new Edge(TestGroups.EDGE, "a\u0000\u0001b", "\u0001\u0000", true);
+        final Pair<Key> keys = converter.getKeysFromElement(edge);
+
+        // When
+        final Edge newEdge = (Edge) converter.getElementFromKey(keys.getFirst());
+        final Edge newFlippedEdge = (Edge) converter.getElementFromKey(keys.getSecond());
+
+        // Then
+        assertEquals(edge, newEdge);
+        assertEquals(edge, newFlippedEdge);
+    }
+
+    private static <T> T getKey(final Map<T, ?> map, final T key) {
+        for (final T mapKey : map.keySet()) {
+            if (mapKey.equals(key)) {
+                return mapKey;
+            }
+        }
+        return null;
+    }
+}
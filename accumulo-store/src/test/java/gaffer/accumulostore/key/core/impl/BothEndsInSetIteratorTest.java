@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core.impl;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.AbstractCoreKeyIteratorSettingsFactory;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityBothEndsInSetIterator;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityIteratorSettingsFactory;
+import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.classic.ClassicIteratorSettingsFactory;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
+import gaffer.accumulostore.utils.ByteArrayHashSet;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.accumulostore.utils.SortedByteArraySet;
+import gaffer.commonutil.PathUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Entity;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BothEndsInSetIteratorTest {
+    private final StoreSchema storeSchema = StoreSchema.fromJson(PathUtil.storeSchema(getClass()));
+
+    @Test
+    public void shouldOnlyAcceptEdgesWithDestinationInSeedSetWithByteEntityKeys() throws Exception {
+        shouldOnlyAcceptEdgesWithDestinationInSet(new ByteEntityAccumuloElementConverter(storeSchema),
+                new ByteEntityIteratorSettingsFactory(), true);
+    }
+
+    @Test
+    public void shouldOnlyAcceptEdgesWithDestinationInSeedSetWithClassicKeys() throws Exception {
+        shouldOnlyAcceptEdgesWithDestinationInSet(new ClassicAccumuloElementConverter(storeSchema),
+                new ClassicIteratorSettingsFactory(), true);
+    }
+
+    @Test
+    public void shouldOnlyAcceptEdgesWithDestinationInBloomFilterWithByteEntityKeys() throws Exception {
+        shouldOnlyAcceptEdgesWithDestinationInSet(new ByteEntityAccumuloElementConverter(storeSchema),
+                new ByteEntityIteratorSettingsFactory(), false);
+    }
+
+    @Test
+    public void shouldOnlyAcceptEdgesWithDestinationInBloomFilterWithClassicKeys() throws Exception {
+        shouldOnlyAcceptEdgesWithDestinationInSet(new ClassicAccumuloElementConverter(storeSchema),
+                new ClassicIteratorSettingsFactory(), false);
+    }
+
+    @Test
+    public void shouldKeepSeedSetWhenDeepCopied() throws Exception {
+        // Given
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(storeSchema);
+        final SortedKeyValueIterator<Key, Value> iterator = createIterator(converter, new ByteEntityIteratorSettingsFactory(), true);
+
+        // When
+        final SortedKeyValueIterator<Key, Value> copy = iterator.deepCopy(null);
+        copy.seek(new Range(), Collections.<ByteSequence>emptyList(), false);
+
+        // Then
+        assertEquals(getRows(iterator), getRows(copy));
+    }
+
+    @Test
+    public void shouldNotUseACachedSeedSetForADifferentSeedSetWithTheSameClientSuppliedId() throws Exception {
+        // Given
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(storeSchema);
+        final AbstractCoreKeyIteratorSettingsFactory factory = new ByteEntityIteratorSettingsFactory();
+        final Map<String, String> optionsAB = createSeedSetOptions(converter, factory, "A", "B");
+        final Map<String, String> optionsC = createSeedSetOptions(converter, factory, "C");
+        // Clients used to be able to supply the id the seed set was cached against
+        optionsAB.put("Seed_Set_Id", "sameId");
+        optionsC.put("Seed_Set_Id", "sameId");
+
+        // When
+        final AbstractCoreKeyBothEndsInSetIterator iteratorAB = new ByteEntityBothEndsInSetIterator();
+        iteratorAB.init(new SortedMapIterator(createData(converter)), optionsAB, null);
+        final AbstractCoreKeyBothEndsInSetIterator iteratorC = new ByteEntityBothEndsInSetIterator();
+        iteratorC.init(new SortedMapIterator(createData(converter)), optionsC, null);
+        iteratorC.seek(new Range(), Collections.<ByteSequence>emptyList(), false);
+
+        // Then
+        final Set<Text> rows = getRows(iteratorC);
+        assertTrue(rows.contains(converter.getKeysFromElement(new Edge(TestGroups.EDGE, "A", "C", true)).getFirst().getRow()));
+        assertFalse(rows.contains(converter.getKeysFromElement(new Edge(TestGroups.EDGE, "A", "B", true)).getFirst().getRow()));
+    }
+
+    private Map<String, String> createSeedSetOptions(final AccumuloElementConverter converter,
+                                                     final AbstractCoreKeyIteratorSettingsFactory factory,
+                                                     final String... vertices) throws Exception {
+        final ByteArrayHashSet seeds = new ByteArrayHashSet();
+        for (final String vertex : vertices) {
+            seeds.add(converter.serialiseVertexForBloomKey(vertex));
+        }
+        return new HashMap<>(factory.getBothEndsInSetIteratorSetting(new SortedByteArraySet(seeds)).getOptions());
+    }
+
+    private void shouldOnlyAcceptEdgesWithDestinationInSet(final AccumuloElementConverter converter,
+                                                           final AbstractCoreKeyIteratorSettingsFactory factory,
+                                                           final boolean exact) throws Exception {
+        // Given
+        final SortedKeyValueIterator<Key, Value> iterator = createIterator(converter, factory, exact);
+
+        // When
+        final Set<Text> rows = getRows(iterator);
+
+        // Then - all the entities, and the edge keys whose second vertex is A or B
+        final Set<Text> expectedRows = new HashSet<>();
+        for (final String vertex : new String[]{"A", "B", "C"}) {
+            expectedRows.add(converter.getKeysFromElement(new Entity(TestGroups.ENTITY, vertex)).getFirst().getRow());
+        }
+        final Pair<Key> edgeAB = converter.getKeysFromElement(new Edge(TestGroups.EDGE, "A", "B", true));
+        expectedRows.add(edgeAB.getFirst().getRow());
+        expectedRows.add(edgeAB.getSecond().getRow());
+        expectedRows.add(converter.getKeysFromElement(new Edge(TestGroups.EDGE, "A", "C", true)).getSecond().getRow());
+        expectedRows.add(converter.getKeysFromElement(new Edge(TestGroups.EDGE, "B", "C", false)).getSecond().getRow());
+        assertEquals(expectedRows, rows);
+    }
+
+    private SortedKeyValueIterator<Key, Value> createIterator(final AccumuloElementConverter converter,
+                                                             final AbstractCoreKeyIteratorSettingsFactory factory,
+                                                             final boolean exact) throws Exception {
+        final ByteArrayHashSet seeds = new ByteArrayHashSet();
+        final BlockedBloomFilter filter = new BlockedBloomFilter(1024, 5);
+        for (final String vertex : new String[]{"A", "B"}) {
+            seeds.add(converter.serialiseVertexForBloomKey(vertex));
+            filter.add(converter.serialiseVertexForBloomKey(vertex));
+        }
+        final IteratorSetting setting = exact ? factory.getBothEndsInSetIteratorSetting(new SortedByteArraySet(seeds))
+                : factory.getBothEndsInSetIteratorSetting(filter);
+        assertTrue(setting.getOptions().containsKey(exact ? Constants.SEED_SET : Constants.BLOOM_FILTER));
+
+        final AbstractCoreKeyBothEndsInSetIterator iterator = (AbstractCoreKeyBothEndsInSetIterator) Class.forName(setting.getIteratorClass()).newInstance();
+        iterator.init(new SortedMapIterator(createData(converter)), setting.getOptions(), null);
+        iterator.seek(new Range(), Collections.<ByteSequence>emptyList(), false);
+        return iterator;
+    }
+
+    private TreeMap<Key, Value> createData(final AccumuloElementConverter converter) throws AccumuloElementConversionException {
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (final String vertex : new String[]{"A", "B", "C"}) {
+            data.put(converter.getKeysFromElement(new Entity(TestGroups.ENTITY, vertex)).getFirst(), new Value());
+        }
+        for (final Edge edge : new Edge[]{new Edge(TestGroups.EDGE, "A", "B", true),
+                new Edge(TestGroups.EDGE, "A", "C", true), new Edge(TestGroups.EDGE, "B", "C", false)}) {
+            final Pair<Key> keys = converter.getKeysFromElement(edge);
+            data.put(keys.getFirst(), new Value());
+            data.put(keys.getSecond(), new Value());
+        }
+        return data;
+    }
+
+    private Set<Text> getRows(final SortedKeyValueIterator<Key, Value> iterator) throws IOException {
+        final Set<Text> rows = new HashSet<>();
+        while (iterator.hasTop()) {
+            rows.add(iterator.getTopKey().getRow());
+            iterator.next();
+        }
+        return rows;
+    }
+}
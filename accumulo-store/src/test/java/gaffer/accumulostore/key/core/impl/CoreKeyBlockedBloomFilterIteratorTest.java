@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core.impl;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.AbstractCoreKeyIteratorSettingsFactory;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityIteratorSettingsFactory;
+import gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.commonutil.PathUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Entity;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CoreKeyBlockedBloomFilterIteratorTest {
+    private final StoreSchema storeSchema = StoreSchema.fromJson(PathUtil.storeSchema(getClass()));
+
+    @Test
+    public void shouldOnlyAcceptElementsWithVertexInFilterWithByteEntityKeys() throws Exception {
+        shouldOnlyAcceptElementsWithVertexInFilter(new ByteEntityAccumuloElementConverter(storeSchema));
+    }
+
+    @Test
+    public void shouldOnlyAcceptElementsWithVertexInFilterWithClassicKeys() throws Exception {
+        shouldOnlyAcceptElementsWithVertexInFilter(new ClassicAccumuloElementConverter(storeSchema));
+    }
+
+    @Test
+    public void shouldKeepFilterWhenDeepCopied() throws Exception {
+        // Given
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(storeSchema);
+        final TreeMap<Key, Value> data = createData(converter);
+        final CoreKeyBlockedBloomFilterIterator iterator = createIterator(converter, data, "vertexA");
+
+        // When
+        final SortedKeyValueIterator<Key, Value> copy = iterator.deepCopy(null);
+        copy.seek(new Range(), Collections.<ByteSequence>emptyList(), false);
+
+        // Then
+        assertEquals(getKeys(iterator), getKeys(copy));
+    }
+
+    @Test
+    public void shouldNotUseACachedFilterForADifferentFilterWithTheSameClientSuppliedId() throws Exception {
+        // Given
+        final AccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(storeSchema);
+        final TreeMap<Key, Value> data = createData(converter);
+        final Map<String, String> optionsA = createOptions(converter, "vertexA");
+        final Map<String, String> optionsB = createOptions(converter, "vertexB");
+        // Clients used to be able to supply the id the filter was cached against
+        optionsA.put("Bloom_Filter_Id", "sameId");
+        optionsB.put("Bloom_Filter_Id", "sameId");
+
+        // When
+        final CoreKeyBlockedBloomFilterIterator iteratorA = new CoreKeyBlockedBloomFilterIterator();
+        iteratorA.init(new SortedMapIterator(data), optionsA, null);
+        final CoreKeyBlockedBloomFilterIterator iteratorB = new CoreKeyBlockedBloomFilterIterator();
+        iteratorB.init(new SortedMapIterator(data), optionsB, null);
+        iteratorB.seek(new Range(), Collections.<ByteSequence>emptyList(), false);
+
+        // Then
+        final byte[] vertex = converter.serialiseVertexForBloomKey("vertexB");
+        final List<Key> keys = getKeys(iteratorB);
+        assertEquals(2, keys.size());
+        for (final Key key : keys) {
+            assertTrue(isRowForVertex(key, vertex));
+        }
+    }
+
+    private Map<String, String> createOptions(final AccumuloElementConverter converter, final Object vertex) throws IteratorSettingException, AccumuloElementConversionException {
+        final BlockedBloomFilter filter = new BlockedBloomFilter(1024, 5);
+        filter.add(converter.serialiseVertexForBloomKey(vertex));
+        return new HashMap<>(new ByteEntityIteratorSettingsFactory().getBloomFilterIteratorSetting(filter).getOptions());
+    }
+
+    private void shouldOnlyAcceptElementsWithVertexInFilter(final AccumuloElementConverter converter) throws Exception {
+        // Given
+        final TreeMap<Key, Value> data = createData(converter);
+
+        // When
+        final CoreKeyBlockedBloomFilterIterator iterator = createIterator(converter, data, "vertexA");
+
+        // Then - the entity and the edge key with vertexA at the start of the row
+        final byte[] vertex = converter.serialiseVertexForBloomKey("vertexA");
+        final List<Key> keys = getKeys(iterator);
+        assertEquals(2, keys.size());
+        for (final Key key : keys) {
+            assertTrue(isRowForVertex(key, vertex));
+        }
+    }
+
+    private CoreKeyBlockedBloomFilterIterator createIterator(final AccumuloElementConverter converter,
+                                                             final TreeMap<Key, Value> data,
+                                                             final Object vertex) throws IOException, IteratorSettingException, AccumuloElementConversionException {
+        final BlockedBloomFilter filter = new BlockedBloomFilter(1024, 5);
+        filter.add(converter.serialiseVertexForBloomKey(vertex));
+        final AbstractCoreKeyIteratorSettingsFactory factory = new ByteEntityIteratorSettingsFactory();
+        final IteratorSetting setting = factory.getBloomFilterIteratorSetting(filter);
+        assertTrue(setting.getOptions().containsKey(Constants.BLOOM_FILTER));
+
+        final CoreKeyBlockedBloomFilterIterator iterator = new CoreKeyBlockedBloomFilterIterator();
+        iterator.init(new SortedMapIterator(data), setting.getOptions(), null);
+        iterator.seek(new Range(), Collections.<ByteSequence>emptyList(), false);
+        return iterator;
+    }
+
+    private TreeMap<Key, Value> createData(final AccumuloElementConverter converter) throws AccumuloElementConversionException {
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (final String vertex : new String[]{"vertexA", "vertexB"}) {
+            final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+            data.put(converter.getKeysFromElement(entity).getFirst(), new Value());
+
+            final Edge edge = new Edge(TestGroups.EDGE, vertex, vertex + "Destination", true);
+            final Pair<Key> keys = converter.getKeysFromElement(edge);
+            data.put(keys.getFirst(), new Value());
+            data.put(keys.getSecond(), new Value());
+        }
+        return data;
+    }
+
+    private List<Key> getKeys(final SortedKeyValueIterator<Key, Value> iterator) throws IOException {
+        final List<Key> keys = new ArrayList<>();
+        while (iterator.hasTop()) {
+            keys.add(new Key(iterator.getTopKey()));
+            iterator.next();
+        }
+        return keys;
+    }
+
+    private static boolean isRowForVertex(final Key key, final byte[] vertex) {
+        final byte[] row = key.getRowData().toArray();
+        if (row.length < vertex.length || (row.length > vertex.length && ByteArrayEscapeUtils.DELIMITER != row[vertex.length])) {
+            return false;
+        }
+        return Arrays.equals(vertex, Arrays.copyOf(row, vertex.length));
+    }
+}
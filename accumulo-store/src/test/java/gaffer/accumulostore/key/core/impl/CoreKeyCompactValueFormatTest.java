@@ -0,0 +1,196 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.core.impl;
+
+import com.google.common.collect.Lists;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityCompactValueAccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityCompactValueKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicCompactValueKeyPackage;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.commonutil.PathUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Properties;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.store.StoreException;
+import gaffer.store.schema.StoreSchema;
+import org.apache.accumulo.core.data.Value;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CoreKeyCompactValueFormatTest {
+
+    private CoreKeyCompactValueFormat valueFormat;
+    private StoreSchema storeSchema;
+
+    @Before
+    public void setUp() throws IOException {
+        storeSchema = StoreSchema.fromJson(PathUtil.storeSchema(getClass()));
+        valueFormat = new CoreKeyCompactValueFormat(storeSchema);
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseProperties() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.F1, 1);
+        properties.put(AccumuloPropertyNames.F3, 3);
+        properties.put(AccumuloPropertyNames.COUNT, 10);
+
+        // When
+        final Value value = valueFormat.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // Then
+        assertTrue(CoreKeyCompactValueFormat.isCompactValue(value));
+        assertEquals(properties, valueFormat.getPropertiesFromValue(TestGroups.EDGE, value));
+    }
+
+    @Test
+    public void shouldOnlyStoreValueProperties() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        properties.put(AccumuloPropertyNames.F2, 2);
+
+        // When
+        final Properties result = valueFormat.getPropertiesFromValue(TestGroups.EDGE, valueFormat.getValueFromProperties(TestGroups.EDGE, properties));
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals(2, result.get(AccumuloPropertyNames.F2));
+    }
+
+    @Test
+    public void shouldReturnEmptyValueWhenThereAreNoValueProperties() throws AccumuloElementConversionException {
+        // When
+        final Value value = valueFormat.getValueFromProperties(TestGroups.EDGE, new Properties());
+
+        // Then
+        assertEquals(0, value.getSize());
+        assertFalse(CoreKeyCompactValueFormat.isCompactValue(value));
+        assertTrue(valueFormat.getPropertiesFromValue(TestGroups.EDGE, value).isEmpty());
+    }
+
+    @Test
+    public void shouldGetSinglePropertyWithoutDecodingOthers() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.F2, 2);
+        properties.put(AccumuloPropertyNames.F4, 4);
+        final Value value = valueFormat.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When / Then
+        assertNull(valueFormat.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.F1));
+        assertEquals(2, valueFormat.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.F2));
+        assertNull(valueFormat.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.F3));
+        assertEquals(4, valueFormat.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.F4));
+        assertNull(valueFormat.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COUNT));
+        assertNull(valueFormat.getPropertyFromValue(TestGroups.EDGE, value, AccumuloPropertyNames.COLUMN_QUALIFIER));
+    }
+
+    @Test
+    public void shouldBeSmallerThanMapWritableValue() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.F1, 1);
+        properties.put(AccumuloPropertyNames.F2, 2);
+        properties.put(AccumuloPropertyNames.COUNT, 10);
+
+        // When
+        final Value mapWritableValue = new ByteEntityAccumuloElementConverter(storeSchema).getValueFromProperties(properties, TestGroups.EDGE);
+        final Value compactValue = valueFormat.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // Then
+        assertTrue(compactValue.getSize() < mapWritableValue.getSize());
+    }
+
+    @Test
+    public void shouldReadMapWritableValuesWithCompactValueConverter() throws AccumuloElementConversionException {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.F1, 1);
+        properties.put(AccumuloPropertyNames.COUNT, 10);
+        final Value mapWritableValue = new ByteEntityAccumuloElementConverter(storeSchema).getValueFromProperties(properties, TestGroups.EDGE);
+        final ByteEntityCompactValueAccumuloElementConverter converter = new ByteEntityCompactValueAccumuloElementConverter(storeSchema);
+
+        // When / Then
+        assertFalse(CoreKeyCompactValueFormat.isCompactValue(mapWritableValue));
+        assertEquals(properties, converter.getPropertiesFromValue(TestGroups.EDGE, mapWritableValue));
+        assertEquals(10, converter.getPropertyFromValue(TestGroups.EDGE, mapWritableValue, AccumuloPropertyNames.COUNT));
+        assertTrue(CoreKeyCompactValueFormat.isCompactValue(converter.getValueFromProperties(properties, TestGroups.EDGE)));
+    }
+
+    @Test
+    public void shouldAggregateUsingCompactValueKeyPackages() throws OperationException, StoreException {
+        shouldAggregateUsingCompactValueKeyPackages(new MockAccumuloStoreForTest(ByteEntityCompactValueKeyPackage.class));
+        shouldAggregateUsingCompactValueKeyPackages(new MockAccumuloStoreForTest(ClassicCompactValueKeyPackage.class));
+    }
+
+    private void shouldAggregateUsingCompactValueKeyPackages(final AccumuloStore store) throws OperationException {
+        // Given
+        final Edge edge1 = new Edge(TestGroups.EDGE, 1, 2, true);
+        edge1.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge1.putProperty(AccumuloPropertyNames.COUNT, 1);
+        edge1.putProperty(AccumuloPropertyNames.F3, 1);
+
+        final Edge edge2 = new Edge(TestGroups.EDGE, 1, 2, true);
+        edge2.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+        edge2.putProperty(AccumuloPropertyNames.COUNT, 2);
+        edge2.putProperty(AccumuloPropertyNames.F4, 1);
+
+        final AddElements add = new AddElements(Arrays.asList((Element) edge1, edge2));
+        add.addOption(Constants.OPERATION_AUTHORISATIONS, "public");
+        store.execute(new OperationChain<>(add));
+
+        final View view = new View.Builder().edge(TestGroups.EDGE, new ViewEdgeDefinition()).build();
+        final GetRelatedEdges get = new GetRelatedEdges(view, Collections.singletonList((ElementSeed) new EntitySeed(1)));
+        get.addOption(Constants.OPERATION_AUTHORISATIONS, "public");
+
+        // When
+        final List<Edge> results = Lists.newArrayList(store.execute(new OperationChain<>(get)));
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(3, results.get(0).getProperty(AccumuloPropertyNames.COUNT));
+        assertEquals(1, results.get(0).getProperty(AccumuloPropertyNames.F3));
+        assertEquals(1, results.get(0).getProperty(AccumuloPropertyNames.F4));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.key.impl;
+
+import com.google.common.collect.Lists;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.IdentifierType;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.function.IsA;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.store.StoreException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ElementFilterTest {
+
+    private static final String AUTHS = "public";
+    private AccumuloStore byteEntityStore;
+    private AccumuloStore gaffer1KeyStore;
+
+    @Before
+    public void setup() throws IOException, StoreException {
+        byteEntityStore = new MockAccumuloStoreForTest(ByteEntityKeyPackage.class);
+        gaffer1KeyStore = new MockAccumuloStoreForTest(ClassicKeyPackage.class);
+    }
+
+    @Test
+    public void shouldFilterOnValuePropertyAndSourceWithoutLosingOtherProperties() throws OperationException {
+        shouldFilterOnValuePropertyAndSourceWithoutLosingOtherProperties(byteEntityStore);
+        shouldFilterOnValuePropertyAndSourceWithoutLosingOtherProperties(gaffer1KeyStore);
+    }
+
+    public void shouldFilterOnValuePropertyAndSourceWithoutLosingOtherProperties(final AccumuloStore store) throws OperationException {
+        // Given
+        addEdges(store);
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.F1)
+                                .execute(new IsA(Integer.class))
+                                .select(IdentifierType.SOURCE)
+                                .execute(new IsA(Integer.class))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Edge> results = getEdges(store, view);
+
+        // Then
+        assertEquals(5, results.size());
+        for (final Edge edge : results) {
+            assertEquals(edge.getSource(), edge.getProperty(AccumuloPropertyNames.F1));
+            assertEquals("B", edge.getDestination());
+            assertTrue(edge.isDirected());
+            assertEquals(1, edge.getProperty(AccumuloPropertyNames.COUNT));
+            assertEquals(1, edge.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        }
+    }
+
+    @Test
+    public void shouldFilterOnColumnQualifierPropertyAndIdentifiers() throws OperationException {
+        shouldFilterOnColumnQualifierPropertyAndIdentifiers(byteEntityStore);
+        shouldFilterOnColumnQualifierPropertyAndIdentifiers(gaffer1KeyStore);
+    }
+
+    public void shouldFilterOnColumnQualifierPropertyAndIdentifiers(final AccumuloStore store) throws OperationException {
+        // Given
+        addEdges(store);
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COLUMN_QUALIFIER)
+                                .execute(new IsA(Integer.class))
+                                .select(IdentifierType.DESTINATION)
+                                .execute(new IsA(String.class))
+                                .select(IdentifierType.DIRECTED)
+                                .execute(new IsA(Boolean.class))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Edge> results = getEdges(store, view);
+
+        // Then
+        assertEquals(10, results.size());
+    }
+
+    @Test
+    public void shouldFilterOutElementsWhenIdentifierDoesNotMatch() throws OperationException {
+        shouldFilterOutElementsWhenIdentifierDoesNotMatch(byteEntityStore);
+        shouldFilterOutElementsWhenIdentifierDoesNotMatch(gaffer1KeyStore);
+    }
+
+    public void shouldFilterOutElementsWhenIdentifierDoesNotMatch(final AccumuloStore store) throws OperationException {
+        // Given
+        addEdges(store);
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(IdentifierType.SOURCE)
+                                .execute(new IsA(String.class))
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final List<Edge> results = getEdges(store, view);
+
+        // Then
+        assertEquals(5, results.size());
+        for (final Edge edge : results) {
+            assertTrue(edge.getSource() instanceof String);
+        }
+    }
+
+    private List<Edge> getEdges(final AccumuloStore store, final View view) throws OperationException {
+        final List<ElementSeed> seeds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            seeds.add(new EntitySeed(getSource(i)));
+        }
+        final GetRelatedEdges get = new GetRelatedEdges(view, seeds);
+        get.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+        return Lists.newArrayList(store.execute(new OperationChain<>(get)));
+    }
+
+    private Object getSource(final int i) {
+        // Even sources are integers and odd sources are strings
+        return i % 2 == 0 ? i : "v" + i;
+    }
+
+    private void addEdges(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            final Edge edge = new Edge(TestGroups.EDGE, getSource(i), "B", true);
+            edge.putProperty(AccumuloPropertyNames.F1, i);
+            edge.putProperty(AccumuloPropertyNames.COUNT, 1);
+            edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, 1);
+            elements.add(edge);
+        }
+        final AddElements add = new AddElements(elements);
+        add.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+        store.execute(new OperationChain<>(add));
+    }
+}
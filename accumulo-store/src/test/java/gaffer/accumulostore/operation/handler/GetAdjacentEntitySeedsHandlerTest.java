@@ -19,6 +19,7 @@ package gaffer.accumulostore.operation.handler;
 import gaffer.accumulostore.AccumuloStore;
 import gaffer.accumulostore.MockAccumuloStore;
 import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.retriever.DeduplicatingEntitySeedIterable;
 import gaffer.accumulostore.utils.Constants;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.PathUtil;
@@ -32,14 +33,42 @@ import gaffer.store.Store;
 import gaffer.store.StoreException;
 import gaffer.store.operation.handler.OperationHandler;
 
+import org.junit.Test;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.BDDMockito.given;
 
 public class GetAdjacentEntitySeedsHandlerTest extends AbstractGetAdjacentEntitySeedsHandlerTest {
+    @Test
+    public void shouldGetEachEntitySeedOnceWhenDeduplicating() throws Exception {
+        // Given
+        final Store mockStore = createMockStore();
+        final GetAdjacentEntitySeeds operation = createMockOperation(GetOperation.IncludeIncomingOutgoingType.BOTH);
+        given(operation.isDeduplicate()).willReturn(true);
+        addEdges(getEdges(), mockStore);
+
+        // When
+        final Iterable<EntitySeed> results = createHandler().doOperation(operation, mockStore);
+
+        // Then
+        final List<String> resultSeeds = new ArrayList<>();
+        for (final EntitySeed result : results) {
+            resultSeeds.add((String) result.getVertex());
+        }
+        Collections.sort(resultSeeds);
+        assertEquals(Arrays.asList("1", "adj2", "dest1", "dest3", "destDir1", "destDir3", "dirAdj2",
+                "source2", "source3", "sourceDir2", "sourceDir3"), resultSeeds);
+        assertEquals(2, ((DeduplicatingEntitySeedIterable) results).getNumDuplicatesRemoved());
+    }
+
     @Override
     protected MockAccumuloStore createMockStore() {
         return new MockAccumuloStoreForTest();
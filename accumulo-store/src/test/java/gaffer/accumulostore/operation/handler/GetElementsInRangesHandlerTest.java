@@ -0,0 +1,112 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import gaffer.accumulostore.operation.impl.GetElementsInRanges;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.store.StoreTrait;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GetElementsInRangesHandlerTest {
+    private static final String AUTHS = "Test";
+    private static final int NUM_ENTRIES = 1000;
+
+    @Test
+    public void shouldReturnElementsInRangesWithByteEntityKeyPackage() throws OperationException {
+        shouldReturnElementsInRanges(new MockAccumuloStoreForTest(ByteEntityKeyPackage.class));
+    }
+
+    @Test
+    public void shouldReturnElementsInRangesWithClassicKeyPackage() throws OperationException {
+        shouldReturnElementsInRanges(new MockAccumuloStoreForTest(ClassicKeyPackage.class));
+    }
+
+    @Test
+    public void shouldHaveRangeQueriesTrait() {
+        // Given
+        final AccumuloStore store = new MockAccumuloStoreForTest();
+
+        // When / Then
+        assertTrue(store.hasTrait(StoreTrait.RANGE_QUERIES));
+    }
+
+    private void shouldReturnElementsInRanges(final AccumuloStore store) throws OperationException {
+        // Given
+        addEdges(store);
+        final List<Pair<ElementSeed>> ranges = Arrays.asList(
+                new Pair<ElementSeed>(new EntitySeed("range0100"), new EntitySeed("range0199")),
+                new Pair<ElementSeed>(new EntitySeed("range0500"), new EntitySeed("range0509")));
+        final GetElementsInRanges<ElementSeed, Element> operation = new GetElementsInRanges.Builder<ElementSeed, Element>()
+                .addSeed(ranges.get(0))
+                .addSeed(ranges.get(1))
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .option(Constants.OPERATION_AUTHORISATIONS, AUTHS)
+                .build();
+
+        // When
+        final Set<Object> sources = new HashSet<>();
+        int count = 0;
+        for (final Element element : store.execute(new OperationChain<>(operation))) {
+            sources.add(((Edge) element).getSource());
+            count++;
+        }
+
+        // Then
+        assertEquals(110, count);
+        assertEquals(110, sources.size());
+        assertTrue(sources.contains("range0100"));
+        assertTrue(sources.contains("range0199"));
+        assertTrue(sources.contains("range0509"));
+    }
+
+    private void addEdges(final AccumuloStore store) throws OperationException {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTRIES; i++) {
+            final Edge edge = new Edge(TestGroups.EDGE);
+            edge.setSource(String.format("range%04d", i));
+            edge.setDestination("B");
+            edge.setDirected(true);
+            elements.add(edge);
+        }
+        final AddElements add = new AddElements(elements);
+        add.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+        store.execute(new OperationChain<>(add));
+    }
+}
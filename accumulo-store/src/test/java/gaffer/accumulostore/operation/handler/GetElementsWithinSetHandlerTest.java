@@ -0,0 +1,105 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetElementsWithinSet;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class GetElementsWithinSetHandlerTest {
+    private static final String AUTHS = "Test";
+
+    @Test
+    public void shouldReturnEdgesWithinSetWithByteEntityKeyPackage() throws OperationException {
+        shouldReturnEdgesWithinSet(new MockAccumuloStoreForTest(ByteEntityKeyPackage.class), false);
+    }
+
+    @Test
+    public void shouldReturnEdgesWithinSetWithClassicKeyPackage() throws OperationException {
+        shouldReturnEdgesWithinSet(new MockAccumuloStoreForTest(ClassicKeyPackage.class), false);
+    }
+
+    @Test
+    public void shouldReturnEdgesWithinSetInBatchesWithByteEntityKeyPackage() throws OperationException {
+        shouldReturnEdgesWithinSet(new MockAccumuloStoreForTest(ByteEntityKeyPackage.class), true);
+    }
+
+    @Test
+    public void shouldReturnEdgesWithinSetInBatchesWithClassicKeyPackage() throws OperationException {
+        shouldReturnEdgesWithinSet(new MockAccumuloStoreForTest(ClassicKeyPackage.class), true);
+    }
+
+    private void shouldReturnEdgesWithinSet(final AccumuloStore store, final boolean batches) throws OperationException {
+        // Given
+        if (batches) {
+            store.getProperties().setMaxEntriesForBatchScanner("1");
+        }
+        addEdges(store);
+        final GetElementsWithinSet<Element> operation = new GetElementsWithinSet.Builder<>()
+                .addSeed(new EntitySeed("A"))
+                .addSeed(new EntitySeed("B"))
+                .addSeed(new EntitySeed("C"))
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .option(Constants.OPERATION_AUTHORISATIONS, AUTHS)
+                .build();
+
+        // When
+        final Set<Element> results = new HashSet<>();
+        for (final Element element : store.execute(new OperationChain<>(operation))) {
+            results.add(element);
+        }
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(createEdge("A", "B"), createEdge("C", "A"))), results);
+    }
+
+    private void addEdges(final AccumuloStore store) throws OperationException {
+        final AddElements add = new AddElements(Arrays.<Element>asList(
+                createEdge("A", "B"),
+                createEdge("C", "A"),
+                createEdge("A", "D"),
+                createEdge("D", "E")));
+        add.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+        store.execute(new OperationChain<>(add));
+    }
+
+    private Edge createEdge(final String source, final String destination) {
+        final Edge edge = new Edge(TestGroups.EDGE);
+        edge.setSource(source);
+        edge.setDestination(destination);
+        edge.setDirected(true);
+        return edge;
+    }
+}
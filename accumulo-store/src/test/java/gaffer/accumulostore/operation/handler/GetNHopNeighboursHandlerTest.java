@@ -0,0 +1,94 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.handler;
+
+import com.google.common.collect.Sets;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
+import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetNHopNeighbours;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class GetNHopNeighboursHandlerTest {
+    private static final String AUTHS = "Test";
+
+    @Test
+    public void shouldGetNHopNeighboursWithByteEntityKeyPackage() throws OperationException {
+        shouldGetNHopNeighbours(new MockAccumuloStoreForTest(ByteEntityKeyPackage.class));
+    }
+
+    @Test
+    public void shouldGetNHopNeighboursWithClassicKeyPackage() throws OperationException {
+        shouldGetNHopNeighbours(new MockAccumuloStoreForTest(ClassicKeyPackage.class));
+    }
+
+    private void shouldGetNHopNeighbours(final AccumuloStore store) throws OperationException {
+        // Given
+        addEdges(store);
+        final GetNHopNeighbours operation = new GetNHopNeighbours.Builder()
+                .addSeed(new EntitySeed("A"))
+                .numHops(2)
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .option(Constants.OPERATION_AUTHORISATIONS, AUTHS)
+                .build();
+
+        // When
+        final List<EntitySeed> results = new ArrayList<>();
+        for (final EntitySeed seed : store.execute(new OperationChain<>(operation))) {
+            results.add(seed);
+        }
+
+        // Then
+        assertEquals(Sets.newHashSet(new EntitySeed("B"), new EntitySeed("C"), new EntitySeed("E")), Sets.newHashSet(results));
+        assertEquals(3, results.size());
+    }
+
+    private void addEdges(final AccumuloStore store) throws OperationException {
+        final AddElements add = new AddElements(Arrays.<Element>asList(
+                createEdge("A", "B"),
+                createEdge("B", "C"),
+                createEdge("C", "D"),
+                createEdge("A", "E"),
+                createEdge("E", "B")));
+        add.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+        store.execute(new OperationChain<>(add));
+    }
+
+    private Edge createEdge(final String source, final String destination) {
+        final Edge edge = new Edge(TestGroups.EDGE);
+        edge.setSource(source);
+        edge.setDestination(destination);
+        edge.setDirected(true);
+        return edge;
+    }
+}
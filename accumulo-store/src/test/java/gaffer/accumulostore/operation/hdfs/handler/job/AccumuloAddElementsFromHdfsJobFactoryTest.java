@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.operation.simple.hdfs.AddElementsFromHdfs;
+import gaffer.operation.simple.hdfs.handler.mapper.TextMapperGenerator;
+import org.apache.hadoop.mapred.JobConf;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AccumuloAddElementsFromHdfsJobFactoryTest {
+    private final MockAccumuloStoreForTest store = new MockAccumuloStoreForTest();
+    private final AccumuloAddElementsFromHdfsJobFactory factory = new AccumuloAddElementsFromHdfsJobFactory();
+
+    @Test
+    public void shouldSetInMapperCombiningMaxEntriesFromTheOperationOption() throws Exception {
+        // Given
+        final JobConf jobConf = new JobConf();
+        final AddElementsFromHdfs operation = createOperation("1000");
+
+        // When
+        factory.setupJobConf(jobConf, operation, store);
+
+        // Then
+        assertEquals(1000, jobConf.getInt(AccumuloAddElementsFromHdfsJobFactory.IN_MAPPER_COMBINING_MAX_ENTRIES, 0));
+    }
+
+    @Test
+    public void shouldNotSetInMapperCombiningMaxEntriesWhenTheOptionIsNotSet() throws Exception {
+        // Given
+        final JobConf jobConf = new JobConf();
+        final AddElementsFromHdfs operation = createOperation(null);
+
+        // When
+        factory.setupJobConf(jobConf, operation, store);
+
+        // Then
+        assertNull(jobConf.get(AccumuloAddElementsFromHdfsJobFactory.IN_MAPPER_COMBINING_MAX_ENTRIES));
+    }
+
+    @Test
+    public void shouldThrowAHelpfulExceptionWhenInMapperCombiningMaxEntriesIsNotANumber() throws Exception {
+        // Given
+        final JobConf jobConf = new JobConf();
+        final AddElementsFromHdfs operation = createOperation("lots");
+
+        // When / Then
+        try {
+            factory.setupJobConf(jobConf, operation, store);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloAddElementsFromHdfsJobFactory.IN_MAPPER_COMBINING_MAX_ENTRIES));
+            assertTrue(e.getMessage().contains("lots"));
+        }
+    }
+
+    private AddElementsFromHdfs createOperation(final String inMapperCombiningMaxEntries) {
+        final AddElementsFromHdfs.Builder builder = new AddElementsFromHdfs.Builder()
+                .mapperGenerator(TextMapperGenerator.class);
+        if (null != inMapperCombiningMaxEntries) {
+            builder.option(AccumuloAddElementsFromHdfsJobFactory.IN_MAPPER_COMBINING_MAX_ENTRIES, inMapperCombiningMaxEntries);
+        }
+        return builder.build();
+    }
+}
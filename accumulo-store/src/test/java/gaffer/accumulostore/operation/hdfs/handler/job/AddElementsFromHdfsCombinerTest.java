@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class AddElementsFromHdfsCombinerTest {
+    private AccumuloElementConverter converter;
+    private Reducer.Context context;
+    private Counter counter;
+    private AddElementsFromHdfsCombiner combiner;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        final MockAccumuloStoreForTest store = new MockAccumuloStoreForTest();
+        converter = store.getKeyPackage().getKeyConverter();
+
+        final Configuration conf = new Configuration();
+        conf.set(AccumuloAddElementsFromHdfsJobFactory.DATA_SCHEMA, new String(store.getDataSchema().toJson(false)));
+        conf.set(AccumuloAddElementsFromHdfsJobFactory.STORE_SCHEMA, new String(store.getStoreSchema().toJson(false)));
+        conf.set(AccumuloAddElementsFromHdfsJobFactory.ELEMENT_CONVERTER, converter.getClass().getName());
+
+        context = mock(Reducer.Context.class);
+        counter = mock(Counter.class);
+        given(context.getConfiguration()).willReturn(conf);
+        given(context.getCounter(anyString(), anyString())).willReturn(counter);
+
+        combiner = new AddElementsFromHdfsCombiner();
+        combiner.setup(context);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldAggregateAllValuesForAKeyAndCountTheValuesCombined() throws Exception {
+        // Given
+        final Key key = converter.getKeysFromElement(createEdge(1)).getFirst();
+        final Value value1 = converter.getValueFromElement(createEdge(1));
+        final Value value2 = converter.getValueFromElement(createEdge(2));
+        final Value value3 = converter.getValueFromElement(createEdge(4));
+
+        // When
+        combiner.reduce(key, Arrays.asList(value1, value2, value3), context);
+
+        // Then
+        final ArgumentCaptor<Value> valueCaptor = ArgumentCaptor.forClass(Value.class);
+        verify(context).write(eq(key), valueCaptor.capture());
+        assertEquals(7, converter.getPropertiesFromValue(TestGroups.EDGE, valueCaptor.getValue()).get(AccumuloPropertyNames.COUNT));
+        verify(context).getCounter(AddElementsFromHdfsReducer.BULK_IMPORT_COUNTER_GROUP, AddElementsFromHdfsCombiner.VALUES_COMBINED_COUNTER);
+        verify(counter).increment(2L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWriteASingleValueUnchanged() throws Exception {
+        // Given
+        final Key key = converter.getKeysFromElement(createEdge(1)).getFirst();
+        final Value value = converter.getValueFromElement(createEdge(1));
+
+        // When
+        combiner.reduce(key, Collections.singletonList(value), context);
+
+        // Then
+        final ArgumentCaptor<Value> valueCaptor = ArgumentCaptor.forClass(Value.class);
+        verify(context).write(eq(key), valueCaptor.capture());
+        assertSame(value, valueCaptor.getValue());
+        verify(counter, never()).increment(anyLong());
+    }
+
+    @Test
+    public void shouldProduceTheSameValueAsAggregatingInOneStage() throws Exception {
+        // Given
+        final ElementValueAggregator aggregator = new ElementValueAggregator(
+                DataSchema.fromJson(new MockAccumuloStoreForTest().getDataSchema().toJson(false)), converter);
+        final Key key = converter.getKeysFromElement(createEdge(1)).getFirst();
+        final Value value1 = converter.getValueFromElement(createEdge(1));
+        final Value value2 = converter.getValueFromElement(createEdge(2));
+        final Value value3 = converter.getValueFromElement(createEdge(4));
+
+        // When
+        final Value oneStage = aggregator.aggregate(key, value1, Arrays.asList(value2, value3).iterator());
+        final Value twoStages = aggregator.aggregate(key, aggregator.aggregate(key, value1, value2), value3);
+
+        // Then
+        assertEquals(oneStage, twoStages);
+    }
+
+    private Edge createEdge(final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, "source", "dest", true);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        return edge;
+    }
+}
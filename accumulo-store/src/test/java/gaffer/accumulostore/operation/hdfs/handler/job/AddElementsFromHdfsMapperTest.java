@@ -0,0 +1,159 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.hdfs.handler.job;
+
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.operation.simple.hdfs.handler.mapper.TextMapperGenerator;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class AddElementsFromHdfsMapperTest {
+    // Keys only repeat if their timestamps match, so the edges are given a fixed timestamp
+    private static final long TIMESTAMP = 1000L;
+
+    private AccumuloElementConverter converter;
+    private Configuration conf;
+    private Mapper.Context context;
+    private Counter counter;
+
+    @Before
+    public void setup() {
+        final MockAccumuloStoreForTest store = new MockAccumuloStoreForTest();
+        converter = store.getKeyPackage().getKeyConverter();
+
+        conf = new Configuration();
+        conf.set(AccumuloAddElementsFromHdfsJobFactory.DATA_SCHEMA, new String(store.getDataSchema().toJson(false)));
+        conf.set(AccumuloAddElementsFromHdfsJobFactory.STORE_SCHEMA, new String(store.getStoreSchema().toJson(false)));
+        conf.set(AccumuloAddElementsFromHdfsJobFactory.ELEMENT_CONVERTER, converter.getClass().getName());
+        conf.set(AccumuloAddElementsFromHdfsJobFactory.MAPPER_GENERATOR, TextMapperGenerator.class.getName());
+
+        context = mock(Mapper.Context.class);
+        counter = mock(Counter.class);
+        given(context.getConfiguration()).willReturn(conf);
+        given(context.getCounter(anyString(), anyString())).willReturn(counter);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWriteEachKeyAsItIsMappedWhenInMapperCombiningIsDisabled() throws Exception {
+        // Given
+        final AddElementsFromHdfsMapper<Object, Object> mapper = createMapper(null);
+
+        // When
+        mapper.map(createEdge("source", 1), context);
+        mapper.map(createEdge("source", 2), context);
+
+        // Then
+        verify(context, times(4)).write(any(Key.class), any(Value.class));
+        verify(context, never()).getCounter(AddElementsFromHdfsReducer.BULK_IMPORT_COUNTER_GROUP, AddElementsFromHdfsMapper.VALUES_COMBINED_COUNTER);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldMergeTheValuesOfRepeatedKeysAndCountTheValuesCombined() throws Exception {
+        // Given
+        final AddElementsFromHdfsMapper<Object, Object> mapper = createMapper("10");
+        final Pair<Key> keys = converter.getKeysFromElement(createEdge("source", 1));
+
+        // When
+        mapper.map(createEdge("source", 1), context);
+        mapper.map(createEdge("source", 2), context);
+        mapper.map(createEdge("source", 4), context);
+        mapper.cleanup(context);
+
+        // Then
+        final ArgumentCaptor<Value> valueCaptor = ArgumentCaptor.forClass(Value.class);
+        verify(context).write(eq(keys.getFirst()), valueCaptor.capture());
+        verify(context).write(eq(keys.getSecond()), valueCaptor.capture());
+        for (final Value value : valueCaptor.getAllValues()) {
+            assertEquals(7, converter.getPropertiesFromValue(TestGroups.EDGE, value).get(AccumuloPropertyNames.COUNT));
+        }
+        verify(context, times(4)).getCounter(AddElementsFromHdfsReducer.BULK_IMPORT_COUNTER_GROUP, AddElementsFromHdfsMapper.VALUES_COMBINED_COUNTER);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWriteTheBufferWhenItIsFull() throws Exception {
+        // Given - each edge has two keys
+        final AddElementsFromHdfsMapper<Object, Object> mapper = createMapper("3");
+
+        // When
+        mapper.map(createEdge("source1", 1), context);
+
+        // Then
+        verify(context, never()).write(any(Key.class), any(Value.class));
+
+        // When
+        mapper.map(createEdge("source2", 1), context);
+
+        // Then - the first key of the second edge fills the buffer and the second key starts a new one
+        verify(context, times(3)).write(any(Key.class), any(Value.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldWriteTheBufferOnCleanup() throws Exception {
+        // Given
+        final AddElementsFromHdfsMapper<Object, Object> mapper = createMapper("10");
+        mapper.map(createEdge("source", 1), context);
+        verify(context, never()).write(any(Key.class), any(Value.class));
+
+        // When
+        mapper.cleanup(context);
+
+        // Then
+        verify(context, times(2)).write(any(Key.class), any(Value.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AddElementsFromHdfsMapper<Object, Object> createMapper(final String inMapperCombiningMaxEntries) {
+        if (null != inMapperCombiningMaxEntries) {
+            conf.set(AccumuloAddElementsFromHdfsJobFactory.IN_MAPPER_COMBINING_MAX_ENTRIES, inMapperCombiningMaxEntries);
+        }
+        final AddElementsFromHdfsMapper<Object, Object> mapper = new AddElementsFromHdfsMapper<>();
+        mapper.setup(context);
+        return mapper;
+    }
+
+    private Edge createEdge(final String source, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, "dest", true);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        edge.putProperty(AccumuloPropertyNames.TIMESTAMP, TIMESTAMP);
+        return edge;
+    }
+}
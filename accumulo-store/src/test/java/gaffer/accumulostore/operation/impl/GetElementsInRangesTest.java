@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.operation.impl;
+
+import gaffer.accumulostore.utils.Pair;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class GetElementsInRangesTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final Pair<ElementSeed> range1 = new Pair<ElementSeed>(new EntitySeed("1"), new EntitySeed("100"));
+        final Pair<ElementSeed> range2 = new Pair<ElementSeed>(new EdgeSeed("source1", "destination1", true),
+                new EdgeSeed("source2", "destination2", false));
+        final GetElementsInRanges<ElementSeed, Element> op = new GetElementsInRanges<>(Arrays.asList(range1, range2));
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetElementsInRanges deserialisedOp = serialiser.deserialise(json, GetElementsInRanges.class);
+
+        // Then
+        final Iterator itr = deserialisedOp.getSeeds().iterator();
+        assertEquals(range1, itr.next());
+        assertEquals(range2, itr.next());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldBuildOperation() {
+        // Given
+        final Pair<ElementSeed> range = new Pair<ElementSeed>(new EntitySeed("A"), new EntitySeed("B"));
+
+        // When
+        final GetElementsInRanges<ElementSeed, Element> op = new GetElementsInRanges.Builder<ElementSeed, Element>()
+                .addSeed(range)
+                .includeEdges(GetOperation.IncludeEdgeType.DIRECTED)
+                .includeEntities(false)
+                .summarise(true)
+                .populateProperties(false)
+                .view(new View.Builder().edge(TestGroups.EDGE).build())
+                .option("testOption", "true")
+                .build();
+
+        // Then
+        assertEquals(range, op.getSeeds().iterator().next());
+        assertEquals(GetOperation.IncludeEdgeType.DIRECTED, op.getIncludeEdges());
+        assertFalse(op.isIncludeEntities());
+        assertTrue(op.isSummarise());
+        assertFalse(op.isPopulateProperties());
+        assertNotNull(op.getView().getEdge(TestGroups.EDGE));
+        assertEquals("true", op.getOptions().get("testOption"));
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever;
+
+import gaffer.accumulostore.AccumuloProperties;
+import org.junit.Test;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AdaptiveBatchSizerTest {
+    private static final long FAST_BATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void shouldAlwaysUseMaxEntriesWhenNotAdaptive() {
+        // Given
+        final AccumuloProperties properties = new AccumuloProperties();
+        properties.setProperties(new Properties());
+        properties.setMaxEntriesForBatchScanner("5000");
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(properties);
+
+        // When
+        sizer.batchCompleted(5000, 10000000L, TimeUnit.MINUTES.toNanos(1));
+
+        // Then
+        assertFalse(sizer.isAdaptive());
+        assertEquals(5000, sizer.getBatchSize());
+        assertEquals(1, sizer.getNumBatches());
+    }
+
+    @Test
+    public void shouldStartAtMinEntriesAndGrowWhenBatchesAreSmallAndFast() {
+        // Given
+        final AdaptiveBatchSizer sizer = createSizer(10, 1000, 1000L, 1000L);
+
+        // When
+        final int firstBatchSize = sizer.getBatchSize();
+        sizer.batchCompleted(firstBatchSize, 10L, FAST_BATCH_NANOS);
+
+        // Then
+        assertEquals(10, firstBatchSize);
+        assertEquals(20, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldNotGrowBeyondMaxEntries() {
+        // Given
+        final AdaptiveBatchSizer sizer = createSizer(10, 100, 1000L, 1000L);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            sizer.batchCompleted(sizer.getBatchSize(), 0L, FAST_BATCH_NANOS);
+        }
+
+        // Then
+        assertEquals(100, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkToMeetTargetResults() {
+        // Given
+        final AdaptiveBatchSizer sizer = createSizer(10, 10000, 1000L, 1000L);
+        for (int i = 0; i < 10; i++) {
+            sizer.batchCompleted(sizer.getBatchSize(), 0L, FAST_BATCH_NANOS);
+        }
+
+        // When - 100 results per seed, so 10 seeds should return the 1000 target results
+        for (int i = 0; i < 10; i++) {
+            sizer.batchCompleted(sizer.getBatchSize(), 100L * sizer.getBatchSize(), FAST_BATCH_NANOS);
+        }
+
+        // Then
+        assertEquals(10, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldShrinkToMeetTargetLatency() {
+        // Given
+        final AdaptiveBatchSizer sizer = createSizer(1, 10000, 1000000L, 1000L);
+        sizer.batchCompleted(1, 1L, FAST_BATCH_NANOS);
+        sizer.batchCompleted(2, 2L, 2 * FAST_BATCH_NANOS);
+        sizer.batchCompleted(4, 4L, 4 * FAST_BATCH_NANOS);
+
+        // When - 100ms per seed, so 10 seeds should take the 1000ms target latency
+        for (int i = 0; i < 10; i++) {
+            sizer.batchCompleted(sizer.getBatchSize(), sizer.getBatchSize(),
+                    TimeUnit.MILLISECONDS.toNanos(100) * sizer.getBatchSize());
+        }
+
+        // Then
+        assertEquals(10, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldHalveBatchSizeWhenMemoryIsLow() {
+        // Given
+        final AdaptiveBatchSizer sizer = new AdaptiveBatchSizer(true, 10, 1000, 1000000L, 1000000L) {
+            @Override
+            protected boolean isMemoryLow() {
+                return getNumBatches() > 3;
+            }
+        };
+        for (int i = 0; i < 3; i++) {
+            sizer.batchCompleted(sizer.getBatchSize(), 0L, FAST_BATCH_NANOS);
+        }
+        assertEquals(80, sizer.getBatchSize());
+
+        // When
+        sizer.batchCompleted(sizer.getBatchSize(), 0L, FAST_BATCH_NANOS);
+
+        // Then
+        assertEquals(40, sizer.getBatchSize());
+    }
+
+    @Test
+    public void shouldRecordBatchSizes() {
+        // Given
+        final AdaptiveBatchSizer sizer = createSizer(10, 1000, 1000L, 1000L);
+
+        // When
+        sizer.batchCompleted(10, 0L, FAST_BATCH_NANOS);
+        sizer.batchCompleted(20, 0L, FAST_BATCH_NANOS);
+        sizer.batchCompleted(3, 0L, FAST_BATCH_NANOS);
+        sizer.batchCompleted(0, 0L, FAST_BATCH_NANOS);
+
+        // Then
+        assertTrue(sizer.isAdaptive());
+        assertEquals(3, sizer.getNumBatches());
+        assertEquals(33, sizer.getTotalSeeds());
+        assertEquals(3, sizer.getLastBatchSize());
+        assertEquals(3, sizer.getSmallestBatchSize());
+        assertEquals(20, sizer.getLargestBatchSize());
+        assertEquals(11.0, sizer.getMeanBatchSize(), 0.0);
+    }
+
+    private AdaptiveBatchSizer createSizer(final int min, final int max, final long targetResults, final long targetLatencyMillis) {
+        return new AdaptiveBatchSizer(true, min, max, targetResults, targetLatencyMillis) {
+            @Override
+            protected boolean isMemoryLow() {
+                return false;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ClientSideSeedFilterTest {
+    private static final double FALSE_POSITIVE_RATE = 0.0002;
+    private static final int MAX_BLOOM_FILTER_SIZE = 1 << 20;
+
+    @Test
+    public void shouldUseExactSetWhenSeedsFit() {
+        // Given
+        final ClientSideSeedFilter filter = new ClientSideSeedFilter(10, 100, FALSE_POSITIVE_RATE, MAX_BLOOM_FILTER_SIZE);
+
+        // When
+        addSeeds(filter, 0, 10);
+
+        // Then
+        assertTrue(filter.isExact());
+        assertContainsSeeds(filter, 0, 10);
+        for (int i = 10; i < 100000; i++) {
+            assertFalse(filter.membershipTest(seed(i)));
+        }
+    }
+
+    @Test
+    public void shouldUseBloomFilterWhenExpectedSeedsDoNotFit() {
+        // Given
+        final ClientSideSeedFilter filter = new ClientSideSeedFilter(1000, 100, FALSE_POSITIVE_RATE, MAX_BLOOM_FILTER_SIZE);
+
+        // When
+        addSeeds(filter, 0, 1000);
+
+        // Then
+        assertFalse(filter.isExact());
+        assertContainsSeeds(filter, 0, 1000);
+    }
+
+    @Test
+    public void shouldSwitchToBloomFilterWhenTooManySeedsAreAdded() {
+        // Given
+        final ClientSideSeedFilter filter = new ClientSideSeedFilter(-1, 100, FALSE_POSITIVE_RATE, MAX_BLOOM_FILTER_SIZE);
+
+        // When
+        addSeeds(filter, 0, 100);
+        final boolean exactAfterMaxSeeds = filter.isExact();
+        addSeeds(filter, 100, 1000);
+
+        // Then
+        assertTrue(exactAfterMaxSeeds);
+        assertFalse(filter.isExact());
+        assertContainsSeeds(filter, 0, 1000);
+    }
+
+    private static void addSeeds(final ClientSideSeedFilter filter, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            filter.add(seed(i));
+        }
+    }
+
+    private static void assertContainsSeeds(final ClientSideSeedFilter filter, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            assertTrue(filter.membershipTest(seed(i)));
+        }
+    }
+
+    private static byte[] seed(final int i) {
+        return ("seed" + i).getBytes();
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.retriever;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.operation.data.EntitySeed;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DeduplicatingEntitySeedIterableTest {
+    private AccumuloElementConverter converter;
+    private AccumuloProperties properties;
+
+    @Before
+    public void setup() {
+        converter = new MockAccumuloStoreForTest().getKeyPackage().getKeyConverter();
+        properties = new AccumuloProperties();
+        properties.setProperties(new Properties());
+        properties.setMaxEntriesForClientSideExactSet("100");
+        properties.setClientSideBloomFilterSize("1048576");
+    }
+
+    @Test
+    public void shouldRemoveDuplicateSeedsAndCountThem() {
+        // Given
+        final List<EntitySeed> seeds = Arrays.asList(new EntitySeed("A"), new EntitySeed("B"), new EntitySeed("A"),
+                new EntitySeed("C"), new EntitySeed("B"), new EntitySeed("A"));
+        final DeduplicatingEntitySeedIterable iterable = new DeduplicatingEntitySeedIterable(seeds, converter, properties);
+
+        // When
+        final List<EntitySeed> results = toList(iterable);
+
+        // Then
+        assertEquals(Arrays.asList(new EntitySeed("A"), new EntitySeed("B"), new EntitySeed("C")), results);
+        assertEquals(3, iterable.getNumSeedsReturned());
+        assertEquals(3, iterable.getNumDuplicatesRemoved());
+        assertTrue(iterable.isExact());
+    }
+
+    @Test
+    public void shouldResetCountersWhenIteratedAgain() {
+        // Given
+        final List<EntitySeed> seeds = Arrays.asList(new EntitySeed("A"), new EntitySeed("A"));
+        final DeduplicatingEntitySeedIterable iterable = new DeduplicatingEntitySeedIterable(seeds, converter, properties);
+        toList(iterable);
+
+        // When
+        final List<EntitySeed> results = toList(iterable);
+
+        // Then
+        assertEquals(Arrays.asList(new EntitySeed("A")), results);
+        assertEquals(1, iterable.getNumSeedsReturned());
+        assertEquals(1, iterable.getNumDuplicatesRemoved());
+    }
+
+    @Test
+    public void shouldSwitchToBloomFilterWhenThereAreTooManyDistinctSeeds() {
+        // Given
+        final List<EntitySeed> seeds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            seeds.add(new EntitySeed("vertex" + i));
+            seeds.add(new EntitySeed("vertex" + i));
+        }
+        final DeduplicatingEntitySeedIterable iterable = new DeduplicatingEntitySeedIterable(seeds, converter, properties);
+
+        // When
+        final List<EntitySeed> results = toList(iterable);
+
+        // Then
+        assertFalse(iterable.isExact());
+        assertEquals(results.size(), new HashSet<>(results).size());
+        assertEquals(2000, iterable.getNumSeedsReturned() + iterable.getNumDuplicatesRemoved());
+        assertTrue(iterable.getNumDuplicatesRemoved() >= 1000);
+        assertTrue(results.size() > 990);
+    }
+
+    private static List<EntitySeed> toList(final Iterable<EntitySeed> iterable) {
+        final List<EntitySeed> list = new ArrayList<>();
+        for (final EntitySeed seed : iterable) {
+            list.add(seed);
+        }
+        return list;
+    }
+}
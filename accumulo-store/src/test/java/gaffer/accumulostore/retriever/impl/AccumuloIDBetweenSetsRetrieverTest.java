@@ -55,6 +55,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class AccumuloIDBetweenSetsRetrieverTest {
@@ -409,6 +410,46 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         assertEquals(expectedResults, results);
     }
 
+    @Test
+    public void shouldNotReturnEdgesBetweenSeedsInSetAWhenTheServerSideBloomFilterGivesFalsePositives() throws StoreException {
+        setupGraph(byteEntityStore);
+        setupGraph(gaffer1KeyStore);
+        shouldNotReturnEdgesBetweenSeedsInSetAWhenTheServerSideBloomFilterGivesFalsePositives(byteEntityStore);
+        shouldNotReturnEdgesBetweenSeedsInSetAWhenTheServerSideBloomFilterGivesFalsePositives(gaffer1KeyStore);
+    }
+
+    private void shouldNotReturnEdgesBetweenSeedsInSetAWhenTheServerSideBloomFilterGivesFalsePositives(final AccumuloStore store) throws StoreException {
+        // Given - set B saturates a single block server side Bloom filter, so it lets through almost every vertex,
+        // but the client side check uses an exact set
+        store.getProperties().setMaxEntriesForServerSideExactSet("0");
+        store.getProperties().setMaxBloomFilterToPassToAnIterator("512");
+        store.getProperties().setMaxEntriesForClientSideExactSet("10000");
+        final Set<EntitySeed> seedsA = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            seedsA.add(new EntitySeed("A" + i));
+        }
+        final Set<EntitySeed> seedsB = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            seedsB.add(new EntitySeed("B" + i));
+        }
+        final AccumuloTwoSetSeededOperation<EntitySeed, Element> op = new AccumuloTwoSetSeededOperation<>(seedsA, seedsB, defaultView);
+        op.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+
+        // When
+        final AccumuloIDBetweenSetsRetriever retriever = new AccumuloIDBetweenSetsRetriever(store, op, false);
+        final Set<Element> results = new HashSet<>();
+        for (final Element elm : retriever) {
+            results.add(elm);
+        }
+        retriever.close();
+
+        // Then - only the entities for set A, none of the A0 -> Ai edges
+        assertEquals(100, results.size());
+        for (final Element elm : results) {
+            assertTrue(elm instanceof Entity);
+        }
+    }
+
     /**
      * Tests that standard filtering (e.g. by summary type, or to only receive entities) is still
      * applied.
@@ -22,6 +22,7 @@ import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
 import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
 import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.retriever.AdaptiveBatchSizer;
 import gaffer.accumulostore.utils.AccumuloPropertyNames;
 import gaffer.accumulostore.utils.Constants;
 import gaffer.accumulostore.utils.TableUtils;
@@ -578,6 +579,54 @@ public class AccumuloIDWithinSetRetrieverTest {
         assertEquals(expectedResults, results);
     }
 
+    @Test
+    public void shouldReturnSameResultsAndRecordBatchSizesWithAdaptiveBatching() throws StoreException {
+        shouldReturnSameResultsAndRecordBatchSizesWithAdaptiveBatching(byteEntityStore);
+        shouldReturnSameResultsAndRecordBatchSizesWithAdaptiveBatching(gaffer1KeyStore);
+    }
+
+    public void shouldReturnSameResultsAndRecordBatchSizesWithAdaptiveBatching(final AccumuloStore store) throws StoreException {
+        // Given
+        store.getProperties().setAdaptiveEntriesForBatchScanner("true");
+        store.getProperties().setMinEntriesForBatchScanner("1");
+        store.getProperties().setMaxEntriesForBatchScanner("4");
+        final Set<EntitySeed> seeds = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            seeds.add(new EntitySeed("A" + i));
+        }
+        final GetElements<EntitySeed, ?> op = new GetRelatedElements<>(defaultView, seeds);
+        op.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+        final AccumuloIDWithinSetRetriever retriever = new AccumuloIDWithinSetRetriever(store, op, false);
+
+        // When
+        final Set<Element> results = new HashSet<>();
+        for (final Element elm : retriever) {
+            results.add(elm);
+        }
+        retriever.close();
+
+        // Then
+        final Set<Element> expectedResults = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            final Element entity = new Entity(TestGroups.ENTITY, "A" + i);
+            entity.putProperty(AccumuloPropertyNames.COUNT, 0 == i ? 10000 : i);
+            expectedResults.add(entity);
+            if (i > 0) {
+                final Element edge = new Edge(TestGroups.EDGE, "A0", "A" + i, true);
+                edge.putProperty(AccumuloPropertyNames.COUNT, i);
+                expectedResults.add(edge);
+            }
+        }
+        assertEquals(expectedResults, results);
+
+        final AdaptiveBatchSizer batchSizer = retriever.getBatchSizer();
+        assertTrue(batchSizer.isAdaptive());
+        assertEquals(10, batchSizer.getTotalSeeds());
+        assertEquals(1, batchSizer.getSmallestBatchSize());
+        assertTrue(batchSizer.getLargestBatchSize() <= 4);
+        assertTrue(batchSizer.getNumBatches() > 3);
+    }
+
     private static void setupGraph(final AccumuloStore store) {
         try {
             // Create table
@@ -21,12 +21,15 @@ import gaffer.accumulostore.MockAccumuloStoreForTest;
 import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityKeyPackage;
 import gaffer.accumulostore.key.core.impl.classic.ClassicKeyPackage;
 import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.utils.AccumuloPropertyNames;
 import gaffer.accumulostore.utils.Constants;
 import gaffer.commonutil.TestGroups;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementFilter;
 import gaffer.data.elementdefinition.view.View;
 import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.function.IsA;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
 import gaffer.operation.data.EdgeSeed;
@@ -44,10 +47,14 @@ import org.junit.Test;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class AccumuloSingleIDRetrieverTest {
@@ -96,6 +103,97 @@ public class AccumuloSingleIDRetrieverTest {
         assertEquals(numEntries, count);
     }
 
+    @Test
+    public void testEntitySeedQueriesWithPipelinedBatches() throws AccumuloException, StoreException {
+        testEntitySeedQueriesWithPipelinedBatches(byteEntityStore);
+        testEntitySeedQueriesWithPipelinedBatches(gaffer1KeyStore);
+    }
+
+    public void testEntitySeedQueriesWithPipelinedBatches(final AccumuloStore store) throws AccumuloException, StoreException {
+        // Use small batches, several in-flight scanners and a small result queue so the pipeline is exercised
+        store.getProperties().setPipelineBatchScanners("true");
+        store.getProperties().setMaxEntriesForBatchScanner("7");
+        store.getProperties().setMaxInFlightBatchScanners("3");
+        store.getProperties().setPipelineResultQueueSize("5");
+        int numEntries = 1000;
+        setupGraph(store, numEntries, false);
+        Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed(i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE, new ViewEdgeDefinition()).build();
+
+        GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+        AccumuloSingleIDRetriever retriever = null;
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation);
+        } catch (IteratorSettingException e) {
+            fail("Failed to create retriever: " + e);
+        }
+        Set<Object> sources = new HashSet<>();
+        for (Element element : retriever) {
+            sources.add(((Edge) element).getSource());
+        }
+        assertEquals(numEntries, sources.size());
+
+        // Closing part way through should stop the pipeline without error
+        Iterator<Element> itr = retriever.iterator();
+        assertTrue(itr.hasNext());
+        itr.next();
+        retriever.close();
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testEntitySeedQueriesWithoutPopulatingProperties() throws AccumuloException, StoreException {
+        testEntitySeedQueriesWithoutPopulatingProperties(byteEntityStore);
+        testEntitySeedQueriesWithoutPopulatingProperties(gaffer1KeyStore);
+    }
+
+    public void testEntitySeedQueriesWithoutPopulatingProperties(final AccumuloStore store) throws AccumuloException, StoreException {
+        int numEntries = 10;
+        List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < numEntries; i++) {
+            Edge edge = new Edge(TestGroups.EDGE, i, "B", true);
+            edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, i);
+            edge.putProperty(AccumuloPropertyNames.COUNT, i);
+            elements.add(edge);
+        }
+        addElements(store, elements);
+        Set<ElementSeed> ids = new HashSet<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed(i));
+        }
+
+        // The view filter reads a property from the value so the value must only be removed after filtering
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .filter(new ElementFilter.Builder()
+                                .select(AccumuloPropertyNames.COUNT)
+                                .execute(new IsA(Integer.class))
+                                .build())
+                        .build())
+                .build();
+        GetElements<ElementSeed, ?> operation = new GetRelatedElements<>(view, ids);
+        operation.setPopulateProperties(false);
+        operation.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
+        AccumuloSingleIDRetriever retriever = null;
+        try {
+            retriever = new AccumuloSingleIDRetriever(store, operation);
+        } catch (IteratorSettingException e) {
+            fail("Failed to create retriever: " + e);
+        }
+
+        int count = 0;
+        for (Element element : retriever) {
+            count++;
+            assertEquals(((Edge) element).getSource(), element.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+            assertNull(element.getProperty(AccumuloPropertyNames.COUNT));
+        }
+        assertEquals(numEntries, count);
+    }
+
     @Test
     public void testUndirectedEdgeSeedQueries() throws AccumuloException, StoreException {
         testUndirectedEdgeSeedQueries(byteEntityStore);
@@ -174,6 +272,10 @@ public class AccumuloSingleIDRetrieverTest {
             edge.setDirected(directed);
             elements.add(edge);
         }
+        addElements(store, elements);
+    }
+
+    private void addElements(final AccumuloStore store, final List<Element> elements) {
         AddElements add = new AddElements(elements);
         add.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHS);
         try {
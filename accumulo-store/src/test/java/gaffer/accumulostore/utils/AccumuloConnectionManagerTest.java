@@ -0,0 +1,154 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
+import org.apache.accumulo.core.client.Connector;
+import org.apache.accumulo.core.client.mock.MockInstance;
+import org.apache.accumulo.core.client.security.tokens.PasswordToken;
+import org.apache.hadoop.io.MapWritable;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AccumuloConnectionManagerTest {
+
+    @Test
+    public void shouldReuseConnectorForSameConnectionDetails() throws TableUtilException {
+        final AccumuloConnectionManager manager = new MockConnectionManager();
+
+        final Connector first = manager.getConnector("instance", "zookeepers", "user", "password");
+        final Connector second = manager.getConnector("instance", "zookeepers", "user", "password");
+
+        assertSame(first, second);
+        assertEquals(1, manager.getMissCount());
+        assertEquals(1, manager.getHitCount());
+        assertEquals(1, manager.getConnectorCount());
+    }
+
+    @Test
+    public void shouldCreateSeparateConnectorsForDifferentUsers() throws TableUtilException {
+        final AccumuloConnectionManager manager = new MockConnectionManager();
+
+        final Connector first = manager.getConnector("instance", "zookeepers", "user1", "password");
+        final Connector second = manager.getConnector("instance", "zookeepers", "user2", "password");
+
+        assertNotSame(first, second);
+        assertEquals(2, manager.getMissCount());
+        assertEquals(0, manager.getHitCount());
+    }
+
+    @Test
+    public void shouldOnlyCreateOneConnectorWhenAccessedConcurrently() throws Exception {
+        final AccumuloConnectionManager manager = new MockConnectionManager();
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        final List<Future<Connector>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(executor.submit(new Callable<Connector>() {
+                @Override
+                public Connector call() throws Exception {
+                    return manager.getConnector("instance", "zookeepers", "user", "password");
+                }
+            }));
+        }
+
+        final Connector connector = futures.get(0).get();
+        for (final Future<Connector> future : futures) {
+            assertSame(connector, future.get());
+        }
+        executor.shutdown();
+
+        assertEquals(1, manager.getMissCount());
+        assertEquals(49, manager.getHitCount());
+    }
+
+    @Test
+    public void shouldNotProvideConnectionsOnceClosed() {
+        final AccumuloConnectionManager manager = new MockConnectionManager();
+        manager.close();
+
+        try {
+            manager.getConnector("instance", "zookeepers", "user", "password");
+            fail("Exception expected");
+        } catch (TableUtilException e) {
+            assertTrue(manager.isClosed());
+        }
+    }
+
+    @Test
+    public void shouldShareConnectorAcrossStoreCalls() throws StoreException {
+        final AccumuloStore store = new MockAccumuloStoreForTest();
+
+        final Connector first = store.getConnection();
+        final Connector second = store.getConnection();
+
+        assertSame(first, second);
+        assertEquals(1, store.getConnectionManager().getMissCount());
+
+        store.close();
+        assertTrue(store.getConnectionManager().isClosed());
+    }
+
+    @Test
+    public void shouldReadStoreConstructorInfoUsingTheConnectionManager() throws Exception {
+        // Given
+        final MockAccumuloStoreForTest store = new MockAccumuloStoreForTest();
+        TableUtils.ensureTableExists(store);
+        final AccumuloConnectionManager manager = new AccumuloConnectionManager() {
+            @Override
+            protected Connector createConnector(final String instanceName, final String zookeepers, final String userName, final String password) {
+                return store.getMockConnector();
+            }
+        };
+
+        // When
+        final MapWritable info = TableUtils.getStoreConstructorInfo(store.getProperties(), manager);
+
+        // Then
+        assertNotNull(info.get(Constants.DATA_SCHEMA_KEY));
+        assertEquals(1, manager.getMissCount());
+    }
+
+    private static final class MockConnectionManager extends AccumuloConnectionManager {
+        private final MockInstance instance = new MockInstance();
+
+        @Override
+        protected Connector createConnector(final String instanceName, final String zookeepers, final String userName, final String password) throws TableUtilException {
+            try {
+                return instance.getConnector("user", new PasswordToken("password"));
+            } catch (AccumuloException | AccumuloSecurityException e) {
+                throw new TableUtilException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BlockedBloomFilterTest {
+    private static final int NUM_ITEMS = 10000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    public void shouldContainAllAddedItems() {
+        // Given
+        final BlockedBloomFilter filter = BloomFilterUtils.getBlockedBloomFilter(FALSE_POSITIVE_RATE, NUM_ITEMS, Integer.MAX_VALUE);
+
+        // When
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            filter.add(getBytes("item" + i));
+        }
+
+        // Then
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            assertTrue(filter.membershipTest(getBytes("item" + i)));
+        }
+    }
+
+    @Test
+    public void shouldHaveFalsePositiveRateCloseToRequestedRate() {
+        // Given
+        final BlockedBloomFilter filter = BloomFilterUtils.getBlockedBloomFilter(FALSE_POSITIVE_RATE, NUM_ITEMS, Integer.MAX_VALUE);
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            filter.add(getBytes("item" + i));
+        }
+
+        // When
+        int falsePositives = 0;
+        for (int i = 0; i < NUM_ITEMS; i++) {
+            if (filter.membershipTest(getBytes("other" + i))) {
+                falsePositives++;
+            }
+        }
+
+        // Then - blocking costs a little accuracy so allow up to twice the requested rate
+        assertTrue("False positives: " + falsePositives, falsePositives < 2 * FALSE_POSITIVE_RATE * NUM_ITEMS);
+    }
+
+    @Test
+    public void shouldAddAndTestRegionsOfByteArrays() {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(1024, 5);
+        final byte[] bytes = getBytes("prefixABCsuffix");
+
+        // When
+        filter.add(bytes, 6, 3);
+
+        // Then
+        assertTrue(filter.membershipTest(getBytes("ABC")));
+        assertTrue(filter.membershipTest(getBytes("xxABCxx"), 2, 3));
+        assertFalse(filter.membershipTest(bytes));
+    }
+
+    @Test
+    public void shouldRoundUpToWholeBlocks() {
+        // When
+        final BlockedBloomFilter filter = new BlockedBloomFilter(BlockedBloomFilter.BLOCK_SIZE + 1, 3);
+
+        // Then
+        assertEquals(2 * BlockedBloomFilter.BLOCK_SIZE, filter.getVectorSize());
+        assertEquals(3, filter.getNumHashes());
+    }
+
+    @Test
+    public void shouldWriteAndReadFilterAsString() throws IOException {
+        // Given
+        final BlockedBloomFilter filter = new BlockedBloomFilter(2048, 5);
+        filter.add(getBytes("ABC"));
+        filter.add(getBytes("DEF"));
+
+        // When
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        filter.write(new DataOutputStream(baos));
+        final String serialised = new String(baos.toByteArray(), Constants.BLOOM_FILTER_CHARSET);
+        final BlockedBloomFilter read = new BlockedBloomFilter();
+        read.readFields(new DataInputStream(new ByteArrayInputStream(serialised.getBytes(Constants.BLOOM_FILTER_CHARSET))));
+
+        // Then
+        assertEquals(2 * 4 + 2048 / 8, baos.size());
+        assertEquals(filter.getVectorSize(), read.getVectorSize());
+        assertEquals(filter.getNumHashes(), read.getNumHashes());
+        assertTrue(read.membershipTest(getBytes("ABC")));
+        assertTrue(read.membershipTest(getBytes("DEF")));
+        assertFalse(read.membershipTest(getBytes("lkjhgfdsa")));
+    }
+
+    private static byte[] getBytes(final String value) {
+        try {
+            return value.getBytes(Constants.UTF_8_CHARSET);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -18,15 +18,22 @@ package gaffer.accumulostore.utils;
 
 import org.apache.accumulo.core.data.Key;
 import org.apache.commons.lang.math.RandomUtils;
+import org.apache.hadoop.io.Text;
 import org.junit.Test;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class ByteArrayEscapeUtilsTest {
 
@@ -135,6 +142,109 @@ public class ByteArrayEscapeUtilsTest {
         }
     }
 
+    @Test
+    public void shouldReturnSameArrayWhenNothingToEscapeOrUnEscape() {
+        // Given
+        final byte[] bytes = new byte[]{(byte) 10, (byte) 20, (byte) 30};
+
+        // When
+        final byte[] escaped = ByteArrayEscapeUtils.escape(bytes);
+        final byte[] unescaped = ByteArrayEscapeUtils.unEscape(escaped);
+
+        // Then
+        assertSame(bytes, escaped);
+        assertSame(bytes, unescaped);
+    }
+
+    @Test
+    public void shouldEscapeAndUnEscapeRegionOfArray() {
+        // Given
+        final byte[] bytes = new byte[]{(byte) 10, ESCAPE_CHAR, ByteArrayEscapeUtils.DELIMITER, (byte) 40, (byte) 50};
+
+        // When
+        final byte[] escaped = ByteArrayEscapeUtils.escape(bytes, 1, 3);
+        final byte[] unescaped = ByteArrayEscapeUtils.unEscape(escaped, 0, escaped.length);
+
+        // Then
+        assertArrayEquals(new byte[]{ESCAPE_CHAR, REPLACEMENT_CHAR, ESCAPE_CHAR, ESCAPE_CHAR, (byte) 40}, escaped);
+        assertArrayEquals(Arrays.copyOfRange(bytes, 1, 4), unescaped);
+    }
+
+    @Test
+    public void shouldEscapeAndUnEscapeIntoBuffers() {
+        // Given
+        final byte[] bytes = new byte[]{(byte) 10, ESCAPE_CHAR, ByteArrayEscapeUtils.DELIMITER, (byte) 40};
+        final byte[] expectedEscaped = ByteArrayEscapeUtils.escape(bytes);
+
+        for (final ByteBuffer buffer : Arrays.asList(ByteBuffer.allocate(20), ByteBuffer.allocateDirect(20))) {
+            // When
+            buffer.put((byte) 99);
+            final int escapedLength = ByteArrayEscapeUtils.escape(bytes, 0, bytes.length, buffer);
+
+            // Then
+            assertEquals(expectedEscaped.length, escapedLength);
+            assertEquals(1 + escapedLength, buffer.position());
+            final byte[] escaped = new byte[escapedLength];
+            buffer.flip();
+            buffer.get();
+            buffer.get(escaped);
+            assertArrayEquals(expectedEscaped, escaped);
+
+            // When
+            buffer.clear();
+            final int unEscapedLength = ByteArrayEscapeUtils.unEscape(escaped, 0, escaped.length, buffer);
+
+            // Then
+            assertEquals(bytes.length, unEscapedLength);
+            final byte[] unescaped = new byte[unEscapedLength];
+            buffer.flip();
+            buffer.get(unescaped);
+            assertArrayEquals(bytes, unescaped);
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenBufferTooSmall() {
+        // Given
+        final byte[] bytes = new byte[]{ESCAPE_CHAR, ByteArrayEscapeUtils.DELIMITER};
+
+        // When / Then
+        try {
+            ByteArrayEscapeUtils.escape(bytes, 0, bytes.length, ByteBuffer.allocate(3));
+            fail("Exception expected");
+        } catch (final BufferOverflowException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void shouldFindFirstDelimiterInRegion() {
+        // Given
+        final byte[] bytes = new byte[]{ByteArrayEscapeUtils.DELIMITER, (byte) 10, ByteArrayEscapeUtils.DELIMITER, (byte) 20};
+
+        // When / Then
+        assertEquals(0, ByteArrayEscapeUtils.indexOfDelimiter(bytes, 0, bytes.length));
+        assertEquals(2, ByteArrayEscapeUtils.indexOfDelimiter(bytes, 1, 3));
+        assertEquals(-1, ByteArrayEscapeUtils.indexOfDelimiter(bytes, 3, 1));
+    }
+
+    @Test
+    public void shouldPreserveOrderingOfFixedWidthValuesWhenEscaping() {
+        // Given
+        final byte[][] values = new byte[][]{
+                {0, 0, 0, 0}, {0, 0, 0, 1}, {0, 0, 0, 2}, {0, 0, 1, 0}, {0, 1, 0, 0}, {1, 0, 0, 0},
+                {1, 1, 1, 1}, {1, 2, 0, 0}, {2, 0, 0, 0}, {127, 0, 0, 0}, {(byte) 128, 0, 0, 1}, {(byte) 255, 0, 0, 0}};
+
+        for (int i = 1; i < values.length; i++) {
+            // When
+            final byte[] lower = ByteArrayEscapeUtils.escape(values[i - 1]);
+            final byte[] higher = ByteArrayEscapeUtils.escape(values[i]);
+
+            // Then
+            assertTrue(new Key(new Text(lower)).compareTo(new Key(new Text(higher))) < 0);
+        }
+    }
+
     private static void check(final byte[] bytes) {
         byte[] escaped = ByteArrayEscapeUtils.escape(bytes);
         byte[] unescaped = ByteArrayEscapeUtils.unEscape(escaped);
@@ -142,5 +252,16 @@ public class ByteArrayEscapeUtilsTest {
         for (byte anEscaped : escaped) {
             assertNotEquals(ByteArrayEscapeUtils.DELIMITER, anEscaped);
         }
+
+        assertEquals(escaped.length, ByteArrayEscapeUtils.getEscapedLength(bytes, 0, bytes.length));
+        assertEquals(bytes.length, ByteArrayEscapeUtils.getUnEscapedLength(escaped, 0, escaped.length));
+
+        // Escape and unescape within larger arrays
+        final byte[] escapedWithOffset = new byte[escaped.length + 2];
+        assertEquals(escaped.length, ByteArrayEscapeUtils.escape(bytes, 0, bytes.length, escapedWithOffset, 1));
+        assertArrayEquals(escaped, Arrays.copyOfRange(escapedWithOffset, 1, escaped.length + 1));
+        final byte[] unescapedWithOffset = new byte[bytes.length + 2];
+        assertEquals(bytes.length, ByteArrayEscapeUtils.unEscape(escapedWithOffset, 1, escaped.length, unescapedWithOffset, 1));
+        assertArrayEquals(bytes, Arrays.copyOfRange(unescapedWithOffset, 1, bytes.length + 1));
     }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ByteArrayHashSetTest {
+
+    @Test
+    public void shouldContainArraysWithTheSameContentsAsThoseAdded() {
+        // Given
+        final ByteArrayHashSet set = new ByteArrayHashSet();
+
+        // When
+        final boolean added = set.add(new byte[]{1, 2, 3});
+        final boolean addedAgain = set.add(new byte[]{1, 2, 3});
+
+        // Then
+        assertTrue(added);
+        assertFalse(addedAgain);
+        assertEquals(1, set.size());
+        assertTrue(set.contains(new byte[]{1, 2, 3}));
+        assertFalse(set.contains(new byte[]{1, 2}));
+        assertFalse(set.contains(new byte[]{1, 2, 3, 4}));
+        assertFalse(set.contains(new byte[0]));
+    }
+
+    @Test
+    public void shouldGrowWhenManyArraysAreAdded() {
+        // Given
+        final ByteArrayHashSet set = new ByteArrayHashSet(1);
+
+        // When
+        for (int i = 0; i < 10000; i++) {
+            set.add(Integer.toString(i).getBytes());
+        }
+
+        // Then
+        assertEquals(10000, set.size());
+        for (int i = 0; i < 10000; i++) {
+            assertTrue(set.contains(Integer.toString(i).getBytes()));
+        }
+        for (int i = 10000; i < 20000; i++) {
+            assertFalse(set.contains(Integer.toString(i).getBytes()));
+        }
+    }
+
+    @Test
+    public void shouldVisitEachArray() {
+        // Given
+        final ByteArrayHashSet set = new ByteArrayHashSet();
+        for (int i = 0; i < 100; i++) {
+            set.add(Integer.toString(i).getBytes());
+        }
+
+        // When
+        final Set<String> visited = new HashSet<>();
+        set.forEach(new ByteArrayHashSet.Visitor() {
+            @Override
+            public void visit(final byte[] bytes) {
+                visited.add(new String(bytes));
+            }
+        });
+
+        // Then
+        assertEquals(100, visited.size());
+        assertTrue(visited.contains("0"));
+        assertTrue(visited.contains("99"));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.accumulostore.MockAccumuloStoreForTest;
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.store.StoreException;
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+public class ElementIngestPipelineTest {
+    private static final int NUM_ENTITIES = 250;
+    private static final int NUM_EDGES = 250;
+
+    private AccumuloElementConverter converter;
+    private List<Element> elements;
+
+    @Before
+    public void setup() {
+        converter = new MockAccumuloStoreForTest().getKeyPackage().getKeyConverter();
+        elements = new ArrayList<>();
+        for (int i = 0; i < NUM_ENTITIES; i++) {
+            final Entity entity = new Entity(TestGroups.ENTITY);
+            entity.setVertex("vertex" + i);
+            elements.add(entity);
+        }
+        for (int i = 0; i < NUM_EDGES; i++) {
+            elements.add(new Edge(TestGroups.EDGE, "source" + i, "dest" + i, true));
+        }
+    }
+
+    @Test
+    public void shouldWriteOneMutationPerEntityAndTwoPerEdgeOnTheCallingThread() throws StoreException {
+        // Given
+        final ElementIngestPipeline pipeline = new ElementIngestPipeline(converter, 1, 100, true);
+        final RecordingBatchWriter writer = new RecordingBatchWriter();
+
+        // When
+        pipeline.write(elements, writer);
+
+        // Then
+        assertEquals(NUM_ENTITIES + 2 * NUM_EDGES, writer.rows.size());
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), writer.threadNames);
+        assertEquals(NUM_ENTITIES + NUM_EDGES, pipeline.getStatistics().getElementsConverted());
+        assertEquals(NUM_ENTITIES + 2 * NUM_EDGES, pipeline.getStatistics().getMutationsWritten());
+    }
+
+    @Test
+    public void shouldWriteMutationsInElementOrderWhenOrdered() throws StoreException {
+        // Given
+        final ElementIngestPipeline expectedPipeline = new ElementIngestPipeline(converter, 1, 100, true);
+        final RecordingBatchWriter expectedWriter = new RecordingBatchWriter();
+        expectedPipeline.write(elements, expectedWriter);
+
+        final ElementIngestPipeline pipeline = new ElementIngestPipeline(converter, 4, 10, true);
+        final RecordingBatchWriter writer = new RecordingBatchWriter();
+
+        // When
+        try {
+            pipeline.write(elements, writer);
+        } finally {
+            pipeline.close();
+        }
+
+        // Then
+        assertEquals(expectedWriter.rows, writer.rows);
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), writer.threadNames);
+    }
+
+    @Test
+    public void shouldWriteAllMutationsFromTheWorkersWhenUnordered() throws StoreException {
+        // Given
+        final ElementIngestPipeline expectedPipeline = new ElementIngestPipeline(converter, 1, 100, true);
+        final RecordingBatchWriter expectedWriter = new RecordingBatchWriter();
+        expectedPipeline.write(elements, expectedWriter);
+
+        final ElementIngestPipeline pipeline = new ElementIngestPipeline(converter, 4, 10, false);
+        final RecordingBatchWriter writer = new RecordingBatchWriter();
+
+        // When
+        try {
+            pipeline.write(elements, writer);
+        } finally {
+            pipeline.close();
+        }
+
+        // Then
+        assertEquals(expectedWriter.rows.size(), writer.rows.size());
+        assertEquals(new HashSet<>(expectedWriter.rows), new HashSet<>(writer.rows));
+        assertTrue(!writer.threadNames.contains(Thread.currentThread().getName()));
+        assertEquals(NUM_ENTITIES + 2 * NUM_EDGES, pipeline.getStatistics().getMutationsWritten());
+    }
+
+    @Test
+    public void shouldSkipElementsThatCannotBeConverted() throws StoreException, AccumuloElementConversionException {
+        // Given
+        final Entity badEntity = new Entity(TestGroups.ENTITY);
+        badEntity.setVertex("bad");
+        elements.add(NUM_ENTITIES / 2, badEntity);
+        final AccumuloElementConverter failingConverter = spy(converter);
+        doThrow(new AccumuloElementConversionException("Conversion failed")).when(failingConverter).getKeysFromElement(badEntity);
+
+        final ElementIngestPipeline pipeline = new ElementIngestPipeline(failingConverter, 4, 10, true);
+        final RecordingBatchWriter writer = new RecordingBatchWriter();
+
+        // When
+        try {
+            pipeline.write(elements, writer);
+        } finally {
+            pipeline.close();
+        }
+
+        // Then
+        assertEquals(NUM_ENTITIES + 2 * NUM_EDGES, writer.rows.size());
+        assertEquals(NUM_ENTITIES + NUM_EDGES, pipeline.getStatistics().getElementsConverted());
+        assertEquals(1, pipeline.getStatistics().getConversionFailures());
+        assertEquals(0, pipeline.getStatistics().getMutationsRejected());
+    }
+
+    private static class RecordingBatchWriter implements BatchWriter {
+        private final List<ByteBuffer> rows = Collections.synchronizedList(new ArrayList<ByteBuffer>());
+        private final Set<String> threadNames = Collections.synchronizedSet(new HashSet<String>());
+
+        @Override
+        public void addMutation(final Mutation m) {
+            threadNames.add(Thread.currentThread().getName());
+            rows.add(ByteBuffer.wrap(m.getRow()));
+        }
+
+        @Override
+        public void addMutations(final Iterable<Mutation> iterable) {
+            for (final Mutation m : iterable) {
+                addMutation(m);
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
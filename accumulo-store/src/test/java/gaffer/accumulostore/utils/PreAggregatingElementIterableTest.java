@@ -0,0 +1,189 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import gaffer.commonutil.PathUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.store.schema.StoreSchema;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class PreAggregatingElementIterableTest {
+    private DataSchema dataSchema;
+    private StoreSchema storeSchema;
+    private IngestStatistics statistics;
+
+    @Before
+    public void setup() {
+        dataSchema = DataSchema.fromJson(PathUtil.dataSchema(getClass()));
+        storeSchema = StoreSchema.fromJson(PathUtil.storeSchema(getClass()));
+        statistics = new IngestStatistics();
+    }
+
+    @Test
+    public void shouldMergeElementsWithTheSameKeyUsingTheDataSchemaAggregator() {
+        // Given
+        final List<Element> elements = Arrays.asList(
+                createEdge("A", "B", 1, 1),
+                createEntity("A", 1, 2),
+                createEdge("A", "B", 1, 3),
+                createEdge("A", "B", 2, 4),
+                createEntity("A", 1, 5),
+                createEdge("A", "C", 1, 6));
+        final PreAggregatingElementIterable iterable = new PreAggregatingElementIterable(elements, dataSchema,
+                storeSchema, 100, Long.MAX_VALUE, statistics);
+
+        // When
+        final List<Element> results = toList(iterable);
+
+        // Then
+        assertEquals(4, results.size());
+        assertDeepEquals(createEdge("A", "B", 1, 4), results.get(0));
+        assertDeepEquals(createEntity("A", 1, 7), results.get(1));
+        assertDeepEquals(createEdge("A", "B", 2, 4), results.get(2));
+        assertDeepEquals(createEdge("A", "C", 1, 6), results.get(3));
+        assertEquals(2, statistics.getElementsPreAggregated());
+    }
+
+    @Test
+    public void shouldNotAddPropertiesThatNeitherElementHad() {
+        // Given
+        final List<Element> elements = Arrays.<Element>asList(createEdge("A", "B", 1, 1), createEdge("A", "B", 1, 2));
+        final PreAggregatingElementIterable iterable = new PreAggregatingElementIterable(elements, dataSchema,
+                storeSchema, 100, Long.MAX_VALUE, statistics);
+
+        // When
+        final List<Element> results = toList(iterable);
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(new HashSet<>(Arrays.asList(AccumuloPropertyNames.COLUMN_QUALIFIER, AccumuloPropertyNames.COUNT)),
+                results.get(0).getProperties().keySet());
+    }
+
+    @Test
+    public void shouldKeepTheLatestTimestamp() {
+        // Given
+        final Edge first = createEdge("A", "B", 1, 1);
+        first.putProperty(AccumuloPropertyNames.TIMESTAMP, 200L);
+        final Edge second = createEdge("A", "B", 1, 2);
+        second.putProperty(AccumuloPropertyNames.TIMESTAMP, 100L);
+        final PreAggregatingElementIterable iterable = new PreAggregatingElementIterable(
+                Arrays.<Element>asList(first, second), dataSchema, storeSchema, 100, Long.MAX_VALUE, statistics);
+
+        // When
+        final List<Element> results = toList(iterable);
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(200L, results.get(0).getProperty(AccumuloPropertyNames.TIMESTAMP));
+        assertEquals(3, results.get(0).getProperty(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldNotModifyTheInputElements() {
+        // Given
+        final Edge edge = createEdge("A", "B", 1, 1);
+        final List<Element> elements = Arrays.<Element>asList(edge, createEdge("A", "B", 1, 2));
+        final PreAggregatingElementIterable iterable = new PreAggregatingElementIterable(elements, dataSchema,
+                storeSchema, 100, Long.MAX_VALUE, statistics);
+
+        // When
+        toList(iterable);
+
+        // Then
+        assertEquals(1, edge.getProperty(AccumuloPropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldFlushWhenTheBufferIsFull() {
+        // Given
+        final List<Element> elements = Arrays.<Element>asList(
+                createEdge("A", "B", 1, 1),
+                createEdge("A", "B", 1, 2),
+                createEdge("A", "C", 1, 3),
+                createEdge("A", "B", 1, 4));
+        final PreAggregatingElementIterable iterable = new PreAggregatingElementIterable(elements, dataSchema,
+                storeSchema, 2, Long.MAX_VALUE, statistics);
+
+        // When
+        final List<Element> results = toList(iterable);
+
+        // Then
+        assertEquals(3, results.size());
+        assertDeepEquals(createEdge("A", "B", 1, 3), results.get(0));
+        assertDeepEquals(createEdge("A", "C", 1, 3), results.get(1));
+        assertDeepEquals(createEdge("A", "B", 1, 4), results.get(2));
+    }
+
+    @Test
+    public void shouldFlushWhenTheOldestElementIsTooOld() {
+        // Given
+        final List<Element> elements = Arrays.<Element>asList(
+                createEdge("A", "B", 1, 1),
+                createEdge("A", "B", 1, 2));
+        final PreAggregatingElementIterable iterable = new PreAggregatingElementIterable(elements, dataSchema,
+                storeSchema, 100, 0, statistics);
+
+        // When
+        final List<Element> results = toList(iterable);
+
+        // Then
+        assertEquals(2, results.size());
+        assertEquals(0, statistics.getElementsPreAggregated());
+    }
+
+    private Edge createEdge(final String source, final String destination, final int columnQualifier, final int count) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, true);
+        edge.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier);
+        edge.putProperty(AccumuloPropertyNames.COUNT, count);
+        return edge;
+    }
+
+    private Entity createEntity(final String vertex, final int columnQualifier, final int count) {
+        final Entity entity = new Entity(TestGroups.ENTITY);
+        entity.setVertex(vertex);
+        entity.putProperty(AccumuloPropertyNames.COLUMN_QUALIFIER, columnQualifier);
+        entity.putProperty(AccumuloPropertyNames.COUNT, count);
+        return entity;
+    }
+
+    private static void assertDeepEquals(final Element expected, final Element actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER), actual.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(expected.getProperty(AccumuloPropertyNames.COUNT), actual.getProperty(AccumuloPropertyNames.COUNT));
+    }
+
+    private static List<Element> toList(final Iterable<Element> iterable) {
+        final List<Element> list = new ArrayList<>();
+        for (final Element element : iterable) {
+            list.add(element);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Mutation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+public class SharedBatchWriterTest {
+    private List<BatchWriter> createdWriters;
+
+    @Before
+    public void setup() {
+        createdWriters = new ArrayList<>();
+    }
+
+    @Test
+    public void shouldCreateOneWriterAndReuseItForAllMutations() throws MutationsRejectedException {
+        // Given
+        final SharedBatchWriter writer = createSharedBatchWriter(0);
+        final Mutation m1 = new Mutation("row1");
+        final Mutation m2 = new Mutation("row2");
+
+        // When
+        writer.addMutation(m1);
+        writer.addMutation(m2);
+        writer.flush();
+
+        // Then
+        assertEquals(1, createdWriters.size());
+        verify(createdWriters.get(0)).addMutation(m1);
+        verify(createdWriters.get(0)).addMutation(m2);
+        verify(createdWriters.get(0)).flush();
+        assertEquals(2, writer.getMutationsAdded());
+        assertEquals(0, writer.getUnflushedMutations());
+        assertEquals(1, writer.getFlushCount());
+    }
+
+    @Test
+    public void shouldCreateANewWriterAfterMutationsAreRejected() throws MutationsRejectedException {
+        // Given
+        final SharedBatchWriter writer = createSharedBatchWriter(0);
+        final Mutation rejected = new Mutation("rejected");
+        writer.addMutation(new Mutation("row1"));
+        final BatchWriter firstWriter = createdWriters.get(0);
+        willThrow(mock(MutationsRejectedException.class)).given(firstWriter).addMutation(rejected);
+
+        // When
+        try {
+            writer.addMutation(rejected);
+            fail("Exception expected");
+        } catch (final MutationsRejectedException e) {
+            // Expected
+        }
+        writer.addMutation(new Mutation("row2"));
+
+        // Then
+        verify(firstWriter).close();
+        assertEquals(2, createdWriters.size());
+        assertEquals(2, writer.getWritersCreated());
+        assertEquals(1, writer.getFailedWriterCount());
+        assertEquals(1, writer.getMutationsRejected());
+    }
+
+    @Test
+    public void shouldCountAWriterThatFailsToFlushAndKeepItsMutationsUnflushed() throws MutationsRejectedException {
+        // Given
+        final SharedBatchWriter writer = createSharedBatchWriter(0);
+        writer.addMutation(new Mutation("row1"));
+        final BatchWriter firstWriter = createdWriters.get(0);
+        willThrow(mock(MutationsRejectedException.class)).given(firstWriter).flush();
+
+        // When
+        try {
+            writer.flush();
+            fail("Exception expected");
+        } catch (final MutationsRejectedException e) {
+            // Expected
+        }
+
+        // Then
+        verify(firstWriter).close();
+        assertEquals(1, writer.getFailedWriterCount());
+        assertEquals(1, writer.getUnflushedMutations());
+        assertEquals(0, writer.getFlushCount());
+        assertEquals(1, writer.getFailedFlushCount());
+    }
+
+    @Test
+    public void shouldFlushInTheBackgroundWhenThereAreUnflushedMutations() throws MutationsRejectedException {
+        // Given
+        final SharedBatchWriter writer = createSharedBatchWriter(10);
+
+        // When
+        writer.addMutation(new Mutation("row1"));
+
+        // Then
+        verify(createdWriters.get(0), timeout(5000)).flush();
+        writer.close();
+    }
+
+    @Test
+    public void shouldFlushAsynchronouslyWhenRequested() throws MutationsRejectedException {
+        // Given
+        final SharedBatchWriter writer = createSharedBatchWriter(0);
+        writer.addMutation(new Mutation("row1"));
+
+        // When
+        writer.flushAsync();
+
+        // Then
+        verify(createdWriters.get(0), timeout(5000)).flush();
+        writer.close();
+    }
+
+    @Test
+    public void shouldCloseTheUnderlyingWriterAndRejectFurtherMutations() throws MutationsRejectedException {
+        // Given
+        final SharedBatchWriter writer = createSharedBatchWriter(10);
+        writer.addMutation(new Mutation("row1"));
+
+        // When
+        writer.close();
+
+        // Then
+        verify(createdWriters.get(0)).close();
+        assertTrue(writer.isClosed());
+        try {
+            writer.addMutation(new Mutation("row2"));
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            // Expected
+        }
+    }
+
+    @Test
+    public void shouldNotCreateAWriterToFlushOrClose() throws MutationsRejectedException {
+        // Given
+        final SharedBatchWriter writer = createSharedBatchWriter(10);
+
+        // When
+        writer.flush();
+        writer.close();
+
+        // Then
+        assertEquals(0, createdWriters.size());
+    }
+
+    private SharedBatchWriter createSharedBatchWriter(final long flushIntervalInMillis) {
+        return new SharedBatchWriter(null, flushIntervalInMillis) {
+            @Override
+            protected BatchWriter createBatchWriter() {
+                final BatchWriter batchWriter = mock(BatchWriter.class);
+                createdWriters.add(batchWriter);
+                return batchWriter;
+            }
+        };
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.accumulostore.utils;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SortedByteArraySetTest {
+
+    @Test
+    public void shouldContainRegionsEqualToArraysInSet() {
+        // Given
+        final SortedByteArraySet set = createSet();
+
+        // When / Then
+        assertEquals(101, set.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(set.contains(bytes(i)));
+        }
+        assertFalse(set.contains(bytes(100)));
+        assertFalse(set.contains(new byte[0]));
+        assertTrue(set.contains(new byte[]{0, 0, 0, (byte) 200, 5, 0}, 1, 4));
+        assertFalse(set.contains(new byte[]{0, 0, 0, (byte) 200, 5, 0}, 1, 3));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialise() throws IOException {
+        // Given
+        final SortedByteArraySet set = createSet();
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+        // When
+        set.write(new DataOutputStream(baos));
+        final SortedByteArraySet deserialisedSet = new SortedByteArraySet();
+        deserialisedSet.readFields(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())));
+
+        // Then
+        assertEquals(101, deserialisedSet.size());
+        for (int i = 0; i < 100; i++) {
+            assertTrue(deserialisedSet.contains(bytes(i)));
+        }
+        assertFalse(deserialisedSet.contains(bytes(100)));
+    }
+
+    private static SortedByteArraySet createSet() {
+        final ByteArrayHashSet hashSet = new ByteArrayHashSet();
+        for (int i = 0; i < 100; i++) {
+            hashSet.add(bytes(i));
+        }
+        hashSet.add(new byte[]{0, 0, (byte) 200, 5});
+        hashSet.add(new byte[]{0, 0, (byte) 200, 5});
+        return new SortedByteArraySet(hashSet);
+    }
+
+    private static byte[] bytes(final int i) {
+        return new byte[]{(byte) (i * 7), (byte) i};
+    }
+}
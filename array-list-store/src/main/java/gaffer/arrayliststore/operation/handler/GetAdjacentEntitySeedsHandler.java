@@ -25,7 +25,8 @@ import gaffer.store.Store;
 import gaffer.store.operation.handler.OperationHandler;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 
 import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.INCOMING;
 import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.OUTGOING;
@@ -36,9 +37,10 @@ public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjace
         return doOperation(operation, (ArrayListStore) store);
     }
 
-    private List<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final ArrayListStore store) {
+    private Collection<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final ArrayListStore store) {
         final EntitySeed[] reuseableTuple = new EntitySeed[2];
-        final List<EntitySeed> result = new ArrayList<>();
+        // Deduplicate with an exact set, keeping the order the adjacent seeds are found in
+        final Collection<EntitySeed> result = operation.isDeduplicate() ? new LinkedHashSet<EntitySeed>() : new ArrayList<EntitySeed>();
         for (final Edge edge : store.getEdges()) {
             if (operation.validateFlags(edge)) {
                 extractOtherEndOfSeededEdge(edge, operation, reuseableTuple);
@@ -16,6 +16,7 @@
 
 package gaffer.arrayliststore.operation.handler;
 
+import com.google.common.collect.Lists;
 import gaffer.arrayliststore.ArrayListStore;
 import gaffer.data.element.Edge;
 import gaffer.data.element.Element;
@@ -28,9 +29,12 @@ import gaffer.operation.impl.get.GetElements;
 import gaffer.store.Store;
 import gaffer.store.operation.handler.OperationHandler;
 
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import static gaffer.operation.GetOperation.IncludeEdgeType;
@@ -42,44 +46,44 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
         return doOperation(operation, (ArrayListStore) store);
     }
 
-    private List<Element> doOperation(final GetElements<ElementSeed, Element> operation, final ArrayListStore store) {
-        final ArrayList<Element> result = new ArrayList<>();
-        if (operation.isIncludeEntities()) {
-            for (final Entity entity : store.getEntities()) {
-                if (operation.validateFlags(entity) && operation.validateFilter(entity)) {
-                    if (operation.getSeedMatching() == SeedMatchingType.EQUAL) {
-                        if (isSeedEqual(ElementSeed.createSeed(entity), operation.getSeeds(), operation.getIncludeEdges())) {
-                            result.add(entity);
-                        }
-                    } else {
-                        if (isSeedRelated(ElementSeed.createSeed(entity), operation.getSeeds()).isMatch()) {
-                            result.add(entity);
-                        }
-                    }
-                }
+    private Iterable<Element> doOperation(final GetElements<ElementSeed, Element> operation, final ArrayListStore store) {
+        // The seeds are scanned once for every stored element, so make sure they can be iterated cheaply
+        final Iterable<ElementSeed> seeds = operation.getSeeds();
+        final Collection<ElementSeed> seedCollection = seeds instanceof Collection
+                ? (Collection<ElementSeed>) seeds : Lists.newArrayList(seeds);
+
+        final List<Entity> entities = operation.isIncludeEntities() ? store.getEntities() : Collections.<Entity>emptyList();
+        final List<Edge> edges = !IncludeEdgeType.NONE.equals(operation.getIncludeEdges()) ? store.getEdges() : Collections.<Edge>emptyList();
+        return new Iterable<Element>() {
+            @Override
+            public Iterator<Element> iterator() {
+                return new MatchingElementIterator(operation, seedCollection, entities, edges);
             }
-        }
-        if (!IncludeEdgeType.NONE.equals(operation.getIncludeEdges())) {
-            for (final Edge edge : store.getEdges()) {
-                if (operation.validateFlags(edge) && operation.validateFilter(edge)) {
-                    if (operation.getSeedMatching() == SeedMatchingType.EQUAL) {
-                        if (isSeedEqual(ElementSeed.createSeed(edge), operation.getSeeds(), operation.getIncludeEdges())) {
-                            result.add(edge);
-                        }
-                    } else {
-                        if (isSeedRelated(operation, edge)) {
-                            result.add(edge);
-                        }
-                    }
-                }
+        };
+    }
+
+    private boolean isMatch(final GetElements<ElementSeed, Element> operation, final Collection<ElementSeed> seeds, final Entity entity) {
+        if (operation.validateFlags(entity) && operation.validateFilter(entity)) {
+            if (operation.getSeedMatching() == SeedMatchingType.EQUAL) {
+                return isSeedEqual(ElementSeed.createSeed(entity), seeds, operation.getIncludeEdges());
             }
+            return isSeedRelated(ElementSeed.createSeed(entity), seeds).isMatch();
         }
+        return false;
+    }
 
-        return result;
+    private boolean isMatch(final GetElements<ElementSeed, Element> operation, final Collection<ElementSeed> seeds, final Edge edge) {
+        if (operation.validateFlags(edge) && operation.validateFilter(edge)) {
+            if (operation.getSeedMatching() == SeedMatchingType.EQUAL) {
+                return isSeedEqual(ElementSeed.createSeed(edge), seeds, operation.getIncludeEdges());
+            }
+            return isSeedRelated(operation, seeds, edge);
+        }
+        return false;
     }
 
-    private boolean isSeedRelated(final GetElements<ElementSeed, Element> operation, final Edge edge) {
-        final Matches seedMatches = isSeedRelated(ElementSeed.createSeed(edge), operation.getSeeds());
+    private boolean isSeedRelated(final GetElements<ElementSeed, Element> operation, final Collection<ElementSeed> seeds, final Edge edge) {
+        final Matches seedMatches = isSeedRelated(ElementSeed.createSeed(edge), seeds);
         final IncludeEdgeType includeEdgeType = operation.getIncludeEdges();
         final IncludeIncomingOutgoingType inOutType = operation.getIncludeIncomingOutGoing();
 
@@ -169,5 +173,63 @@ public class GetElementsHandler implements OperationHandler<GetElements<ElementS
         }
         return false;
     }
-}
 
+    /**
+     * Lazily scans the stored entities and then edges for elements matching the operation. The number of entities and
+     * edges is fixed when the iterator is created, so elements added whilst iterating, for example by a later
+     * operation in the same chain, are not returned and do not cause a {@link java.util.ConcurrentModificationException}.
+     */
+    private final class MatchingElementIterator implements Iterator<Element> {
+        private final GetElements<ElementSeed, Element> operation;
+        private final Collection<ElementSeed> seeds;
+        private final List<Entity> entities;
+        private final List<Edge> edges;
+        private final int numEntities;
+        private final int numEdges;
+        private int entityIndex;
+        private int edgeIndex;
+        private Element nextElement;
+
+        private MatchingElementIterator(final GetElements<ElementSeed, Element> operation, final Collection<ElementSeed> seeds,
+                                        final List<Entity> entities, final List<Edge> edges) {
+            this.operation = operation;
+            this.seeds = seeds;
+            this.entities = entities;
+            this.edges = edges;
+            this.numEntities = entities.size();
+            this.numEdges = edges.size();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextElement && entityIndex < numEntities) {
+                final Entity entity = entities.get(entityIndex++);
+                if (isMatch(operation, seeds, entity)) {
+                    nextElement = entity;
+                }
+            }
+            while (null == nextElement && edgeIndex < numEdges) {
+                final Edge edge = edges.get(edgeIndex++);
+                if (isMatch(operation, seeds, edge)) {
+                    nextElement = edge;
+                }
+            }
+            return null != nextElement;
+        }
+
+        @Override
+        public Element next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            final Element element = nextElement;
+            nextElement = null;
+            return element;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("Cannot remove elements from an " + ArrayListStore.class.getSimpleName());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.key.AccumuloKeyPackage;
+import gaffer.accumulostore.utils.Constants;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.store.Store;
+import gaffer.store.StoreException;
+import gaffer.store.StoreProperties;
+import gaffer.store.schema.StoreSchema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the stores, schemas and key packages used by the benchmarks from the resources in the
+ * <code>benchmark</code> directory of the classpath.
+ */
+public final class BenchmarkStores {
+    public static final String ARRAY_LIST_STORE = "ArrayListStore";
+    public static final String MAP_STORE = "MapStore";
+    public static final String MOCK_ACCUMULO_STORE = "MockAccumuloStore";
+
+    public static final String AUTHORISATIONS = "public";
+
+    private static final String KEY_PACKAGE_PREFIX = "gaffer.accumulostore.key.core.impl.";
+    private static final AtomicInteger TABLE_COUNTER = new AtomicInteger();
+
+    private BenchmarkStores() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static DataSchema getDataSchema() {
+        return DataSchema.fromJson(getResource("dataSchema.json"));
+    }
+
+    public static StoreSchema getStoreSchema() {
+        return StoreSchema.fromJson(getResource("storeSchema.json"));
+    }
+
+    /**
+     * @param storeName one of {@link #ARRAY_LIST_STORE}, {@link #MAP_STORE} or {@link #MOCK_ACCUMULO_STORE}
+     * @return the store properties for the store. Each call for the {@link #MOCK_ACCUMULO_STORE} returns
+     * properties for a new table, so stores do not share data.
+     */
+    public static StoreProperties getStoreProperties(final String storeName) {
+        final String propertiesFile;
+        switch (storeName) {
+            case ARRAY_LIST_STORE:
+                propertiesFile = "arraylist.properties";
+                break;
+            case MAP_STORE:
+                propertiesFile = "mapstore.properties";
+                break;
+            case MOCK_ACCUMULO_STORE:
+                propertiesFile = "accumulo.properties";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown store: " + storeName);
+        }
+
+        final Properties props = new Properties();
+        try (final InputStream stream = getResource(propertiesFile)) {
+            props.load(stream);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Failed to load store properties: " + propertiesFile, e);
+        }
+
+        final StoreProperties storeProperties = newInstance(
+                props.getProperty(StoreProperties.STORE_PROPERTIES_CLASS, StoreProperties.class.getName()), StoreProperties.class);
+        storeProperties.setProperties(props);
+        if (storeProperties instanceof AccumuloProperties) {
+            final AccumuloProperties accumuloProperties = (AccumuloProperties) storeProperties;
+            accumuloProperties.setTable(accumuloProperties.getTable() + TABLE_COUNTER.incrementAndGet());
+        }
+        return storeProperties;
+    }
+
+    public static Store createStore(final String storeName) {
+        return createStore(getStoreProperties(storeName));
+    }
+
+    public static Store createStore(final StoreProperties storeProperties) {
+        final Store store = newInstance(storeProperties.getStoreClass(), Store.class);
+        try {
+            store.initialise(getDataSchema(), getStoreSchema(), storeProperties);
+        } catch (StoreException e) {
+            throw new IllegalArgumentException("Failed to initialise store: " + storeProperties.getStoreClass(), e);
+        }
+        return store;
+    }
+
+    public static void addElements(final Store store, final Iterable<Element> elements) throws OperationException {
+        execute(store, new AddElements(elements));
+    }
+
+    /**
+     * Executes the operation after adding the authorisations option required by the Accumulo store. If the
+     * operation does not have a view, a view containing all the groups in the data schema is used.
+     *
+     * @param store     the store to execute the operation on
+     * @param operation the operation to execute
+     * @param <OUTPUT>  the operation output type
+     * @return the operation result
+     * @throws OperationException if the operation fails
+     */
+    public static <OUTPUT> OUTPUT execute(final Store store, final Operation<?, OUTPUT> operation) throws OperationException {
+        operation.addOption(Constants.OPERATION_AUTHORISATIONS, AUTHORISATIONS);
+        if (null == operation.getView()) {
+            operation.setView(new View(store.getDataSchema().getEntityGroups(), store.getDataSchema().getEdgeGroups()));
+        }
+        return store.execute(new OperationChain<>(operation));
+    }
+
+    /**
+     * @param keyPackageName the simple class name of a key package in the core key package implementations, e.g.
+     *                       ByteEntityKeyPackage
+     * @return a new key package using the benchmark store schema
+     */
+    public static AccumuloKeyPackage createKeyPackage(final String keyPackageName) {
+        final String packageName = keyPackageName.startsWith("Classic") ? "classic." : "byteEntity.";
+        final AccumuloKeyPackage keyPackage = newInstance(KEY_PACKAGE_PREFIX + packageName + keyPackageName, AccumuloKeyPackage.class);
+        keyPackage.setStoreSchema(getStoreSchema());
+        return keyPackage;
+    }
+
+    private static InputStream getResource(final String name) {
+        final InputStream stream = BenchmarkStores.class.getResourceAsStream("/benchmark/" + name);
+        if (null == stream) {
+            throw new IllegalArgumentException("Benchmark resource not found: " + name);
+        }
+        return stream;
+    }
+
+    private static <T> T newInstance(final String className, final Class<T> clazz) {
+        try {
+            return Class.forName(className).asSubclass(clazz).newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Failed to create an instance of " + className, e);
+        }
+    }
+}
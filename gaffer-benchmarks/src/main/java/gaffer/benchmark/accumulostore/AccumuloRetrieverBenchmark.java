@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.benchmark.BenchmarkStores;
+import gaffer.benchmark.data.BenchmarkData;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares retrieving the elements related to many seeds from a mock Accumulo store with sequential and pipelined
+ * batch scanners. The seeds are split into several batches so the pipeline has batches to overlap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(3)
+public class AccumuloRetrieverBenchmark {
+    private static final int NUM_VERTICES = 5000;
+    private static final int NUM_EDGES = 20000;
+    private static final int NUM_SEEDS = 1000;
+    private static final String ENTRIES_FOR_BATCH_SCANNER = "100";
+
+    @Param({"false", "true"})
+    public String pipelineBatchScanners;
+
+    private Store store;
+    private List<ElementSeed> seeds;
+
+    @Setup
+    public void setup() throws OperationException {
+        final AccumuloProperties properties = (AccumuloProperties) BenchmarkStores.getStoreProperties(BenchmarkStores.MOCK_ACCUMULO_STORE);
+        properties.setPipelineBatchScanners(pipelineBatchScanners);
+        properties.setMaxEntriesForBatchScanner(ENTRIES_FOR_BATCH_SCANNER);
+        store = BenchmarkStores.createStore(properties);
+
+        final BenchmarkData data = new BenchmarkData(NUM_VERTICES);
+        BenchmarkStores.addElements(store, data.createElements(NUM_EDGES));
+        seeds = data.createEntitySeeds(NUM_SEEDS);
+    }
+
+    @Benchmark
+    public int getRelatedElements() throws OperationException {
+        int count = 0;
+        for (final Element ignored : BenchmarkStores.execute(store, new GetRelatedElements<>(seeds))) {
+            count++;
+        }
+        return count;
+    }
+}
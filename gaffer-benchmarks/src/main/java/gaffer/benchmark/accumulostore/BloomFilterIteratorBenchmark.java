@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.impl.CoreKeyBlockedBloomFilterIterator;
+import gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
+import gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityIteratorSettingsFactory;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.key.exception.IteratorSettingException;
+import gaffer.accumulostore.utils.BlockedBloomFilter;
+import gaffer.accumulostore.utils.BloomFilterUtils;
+import gaffer.benchmark.BenchmarkStores;
+import gaffer.benchmark.data.BenchmarkData;
+import gaffer.data.element.Edge;
+import org.apache.accumulo.core.client.IteratorSetting;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares testing edge keys against the Bloom filter iterator, which copies the vertex out of each row, and the
+ * blocked Bloom filter iterator, which hashes the vertex in place. Half of the vertices are in the filters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class BloomFilterIteratorBenchmark {
+    private static final int NUM_VERTICES = 10000;
+    private static final int NUM_KEYS = 1024;
+    private static final double FALSE_POSITIVE_RATE = 0.0001;
+    private static final int MAX_FILTER_SIZE = 8388608;
+
+    private CoreKeyBloomFilterIterator bloomFilterIterator;
+    private CoreKeyBlockedBloomFilterIterator blockedBloomFilterIterator;
+    private Key[] keys;
+    private int index;
+
+    @Setup
+    public void setup() throws AccumuloElementConversionException, IteratorSettingException, IOException {
+        final AccumuloElementConverter converter = BenchmarkStores.createKeyPackage("ByteEntityKeyPackage").getKeyConverter();
+        final BenchmarkData data = new BenchmarkData(NUM_VERTICES);
+        final BloomFilter bloomFilter = BloomFilterUtils.getBloomFilter(FALSE_POSITIVE_RATE, NUM_VERTICES / 2, MAX_FILTER_SIZE);
+        final BlockedBloomFilter blockedBloomFilter = BloomFilterUtils.getBlockedBloomFilter(FALSE_POSITIVE_RATE, NUM_VERTICES / 2, MAX_FILTER_SIZE);
+        for (int i = 0; i < NUM_VERTICES; i += 2) {
+            final byte[] vertex = converter.serialiseVertexForBloomKey(data.getVertex(i));
+            bloomFilter.add(new org.apache.hadoop.util.bloom.Key(vertex));
+            blockedBloomFilter.add(vertex);
+        }
+
+        final ByteEntityIteratorSettingsFactory factory = new ByteEntityIteratorSettingsFactory();
+        final IteratorSetting bloomFilterSetting = factory.getBloomFilterIteratorSetting(bloomFilter);
+        bloomFilterIterator = new CoreKeyBloomFilterIterator();
+        bloomFilterIterator.validateOptions(bloomFilterSetting.getOptions());
+        final IteratorSetting blockedBloomFilterSetting = factory.getBloomFilterIteratorSetting(blockedBloomFilter);
+        blockedBloomFilterIterator = new CoreKeyBlockedBloomFilterIterator();
+        blockedBloomFilterIterator.validateOptions(blockedBloomFilterSetting.getOptions());
+
+        final List<Edge> edges = data.createEdges(NUM_KEYS);
+        keys = new Key[NUM_KEYS];
+        for (int i = 0; i < NUM_KEYS; i++) {
+            keys[i] = converter.getKeysFromElement(edges.get(i)).getFirst();
+        }
+    }
+
+    @Benchmark
+    public boolean bloomFilterIterator() {
+        return bloomFilterIterator.accept(keys[next()], null);
+    }
+
+    @Benchmark
+    public boolean blockedBloomFilterIterator() {
+        return blockedBloomFilterIterator.accept(keys[next()], null);
+    }
+
+    private int next() {
+        index = (index + 1) % NUM_KEYS;
+        return index;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.utils.ByteArrayEscapeUtils;
+import gaffer.benchmark.data.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures escaping and unescaping byte arrays of different lengths, with and without bytes that need escaping.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class ByteArrayEscapeUtilsBenchmark {
+    private static final int NUM_ARRAYS = 256;
+
+    @Param({"16", "256"})
+    public int length;
+
+    @Param({"0.0", "0.1"})
+    public double delimiterFraction;
+
+    private byte[][] bytes;
+    private byte[][] escapedBytes;
+    private int index;
+
+    @Setup
+    public void setup() {
+        final BenchmarkData data = new BenchmarkData(1);
+        bytes = new byte[NUM_ARRAYS][];
+        escapedBytes = new byte[NUM_ARRAYS][];
+        for (int i = 0; i < NUM_ARRAYS; i++) {
+            bytes[i] = data.createBytes(length, delimiterFraction);
+            escapedBytes[i] = ByteArrayEscapeUtils.escape(bytes[i]);
+        }
+    }
+
+    @Benchmark
+    public byte[] escape() {
+        return ByteArrayEscapeUtils.escape(bytes[next()]);
+    }
+
+    @Benchmark
+    public byte[] unEscape() {
+        return ByteArrayEscapeUtils.unEscape(escapedBytes[next()]);
+    }
+
+    private int next() {
+        index = (index + 1) % NUM_ARRAYS;
+        return index;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.core.AbstractCoreKeyAccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.accumulostore.utils.Pair;
+import gaffer.benchmark.BenchmarkStores;
+import gaffer.benchmark.data.BenchmarkData;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Properties;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting edges to and from Accumulo keys and values with each of the core key packages. The compact
+ * value key packages use the same keys as the other packages, so comparing the value benchmarks across key packages
+ * compares the compact value format with the MapWritable value format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class ElementConverterBenchmark {
+    private static final int NUM_EDGES = 1024;
+
+    @Param({"ByteEntityKeyPackage", "ClassicKeyPackage", "ByteEntityCompactValueKeyPackage", "ClassicCompactValueKeyPackage"})
+    public String keyPackage;
+
+    private AbstractCoreKeyAccumuloElementConverter converter;
+    private Edge[] edges;
+    private Key[] keys;
+    private Value[] values;
+    private int index;
+
+    @Setup
+    public void setup() throws AccumuloElementConversionException {
+        converter = (AbstractCoreKeyAccumuloElementConverter) BenchmarkStores.createKeyPackage(keyPackage).getKeyConverter();
+        final List<Edge> edgeList = new BenchmarkData(NUM_EDGES).createEdges(NUM_EDGES);
+        edges = edgeList.toArray(new Edge[NUM_EDGES]);
+        keys = new Key[NUM_EDGES];
+        values = new Value[NUM_EDGES];
+        for (int i = 0; i < NUM_EDGES; i++) {
+            keys[i] = converter.getKeysFromElement(edges[i]).getFirst();
+            values[i] = converter.getValueFromElement(edges[i]);
+        }
+    }
+
+    @Benchmark
+    public Pair<Key> edgeToKeys() throws AccumuloElementConversionException {
+        return converter.getKeysFromElement(edges[next()]);
+    }
+
+    @Benchmark
+    public Value edgeToValue() throws AccumuloElementConversionException {
+        return converter.getValueFromElement(edges[next()]);
+    }
+
+    @Benchmark
+    public Element keyAndValueToEdge() throws AccumuloElementConversionException {
+        final int i = next();
+        return converter.getFullElement(keys[i], values[i]);
+    }
+
+    @Benchmark
+    public Properties valueToProperties() throws AccumuloElementConversionException {
+        return converter.getPropertiesFromValue(BenchmarkData.EDGE, values[next()]);
+    }
+
+    @Benchmark
+    public Object valueToSingleProperty() throws AccumuloElementConversionException {
+        return converter.getPropertyFromValue(BenchmarkData.EDGE, values[next()], BenchmarkData.LABEL);
+    }
+
+    private int next() {
+        index = (index + 1) % NUM_EDGES;
+        return index;
+    }
+
+    /**
+     * Prints the average size of the benchmark edge values written by the MapWritable and compact value formats.
+     *
+     * @param args not used
+     * @throws AccumuloElementConversionException if an edge could not be converted
+     */
+    public static void main(final String[] args) throws AccumuloElementConversionException {
+        for (final String keyPackage : new String[]{"ByteEntityKeyPackage", "ByteEntityCompactValueKeyPackage"}) {
+            final AccumuloElementConverter converter = BenchmarkStores.createKeyPackage(keyPackage).getKeyConverter();
+            long totalSize = 0;
+            for (final Edge edge : new BenchmarkData(NUM_EDGES).createEdges(NUM_EDGES)) {
+                totalSize += converter.getValueFromElement(edge).getSize();
+            }
+            System.out.println(keyPackage + " average value size: " + ((double) totalSize / NUM_EDGES) + " bytes");
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.key.AccumuloElementConverter;
+import gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import gaffer.benchmark.BenchmarkStores;
+import gaffer.benchmark.data.BenchmarkData;
+import gaffer.data.ElementValidator;
+import gaffer.data.element.Edge;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.function.simple.filter.IsMoreThan;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares filtering a fully deserialised element with filtering a lazy element, as done by the Accumulo
+ * {@link gaffer.accumulostore.key.impl.ElementFilter} iterator. The view filter only reads the count property.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class ElementFilterBenchmark {
+    private static final int NUM_EDGES = 1024;
+
+    @Param({"ByteEntityKeyPackage", "ByteEntityCompactValueKeyPackage"})
+    public String keyPackage;
+
+    private AccumuloElementConverter converter;
+    private ElementValidator validator;
+    private Key[] keys;
+    private Value[] values;
+    private int index;
+
+    @Setup
+    public void setup() throws AccumuloElementConversionException {
+        converter = BenchmarkStores.createKeyPackage(keyPackage).getKeyConverter();
+        validator = new ElementValidator(new View.Builder()
+                .edge(BenchmarkData.EDGE, new ViewEdgeDefinition.Builder()
+                        .property(BenchmarkData.COUNT, Integer.class)
+                        .filter(new ElementFilter.Builder()
+                                .select(BenchmarkData.COUNT)
+                                .execute(new IsMoreThan(50))
+                                .build())
+                        .build())
+                .build());
+
+        final List<Edge> edges = new BenchmarkData(NUM_EDGES).createEdges(NUM_EDGES);
+        keys = new Key[NUM_EDGES];
+        values = new Value[NUM_EDGES];
+        for (int i = 0; i < NUM_EDGES; i++) {
+            keys[i] = converter.getKeysFromElement(edges.get(i)).getFirst();
+            values[i] = converter.getValueFromElement(edges.get(i));
+        }
+    }
+
+    @Benchmark
+    public boolean filterFullElement() throws AccumuloElementConversionException {
+        final int i = next();
+        return validator.validate(converter.getFullElement(keys[i], values[i]));
+    }
+
+    @Benchmark
+    public boolean filterLazyElement() throws AccumuloElementConversionException {
+        final int i = next();
+        return validator.validate(converter.getLazyElement(keys[i], values[i]));
+    }
+
+    private int next() {
+        index = (index + 1) % NUM_EDGES;
+        return index;
+    }
+}
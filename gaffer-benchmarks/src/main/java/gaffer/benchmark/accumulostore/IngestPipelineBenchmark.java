@@ -0,0 +1,114 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.accumulostore;
+
+import gaffer.accumulostore.AccumuloProperties;
+import gaffer.accumulostore.AccumuloStore;
+import gaffer.accumulostore.utils.IngestStatistics;
+import gaffer.benchmark.BenchmarkStores;
+import gaffer.benchmark.data.BenchmarkData;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares adding elements to a mock Accumulo store with the elements converted to mutations on the calling thread
+ * and on a pool of conversion threads, with ordered and unordered hand-off to the batch writer. The rates at which
+ * mutations are written and rejected and elements fail to convert are reported as secondary results, from the
+ * store's ingest statistics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(3)
+public class IngestPipelineBenchmark {
+    private static final int NUM_VERTICES = 5000;
+    private static final int NUM_EDGES = 10000;
+
+    @Param({"1", "4"})
+    public String ingestConversionThreads;
+
+    @Param({"true", "false"})
+    public String ingestOrdered;
+
+    private AccumuloStore store;
+    private List<Element> elements;
+
+    @Setup
+    public void setup() {
+        final AccumuloProperties properties = (AccumuloProperties) BenchmarkStores.getStoreProperties(BenchmarkStores.MOCK_ACCUMULO_STORE);
+        properties.setIngestConversionThreads(ingestConversionThreads);
+        properties.setIngestOrdered(ingestOrdered);
+        store = (AccumuloStore) BenchmarkStores.createStore(properties);
+        elements = new BenchmarkData(NUM_VERTICES).createElements(NUM_EDGES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.close();
+    }
+
+    @Benchmark
+    public void addElements(final IngestCounters counters) throws OperationException {
+        final IngestStatistics statistics = store.getIngestStatistics();
+        final long written = statistics.getMutationsWritten();
+        final long rejected = statistics.getMutationsRejected();
+        final long conversionFailures = statistics.getConversionFailures();
+
+        BenchmarkStores.addElements(store, elements);
+
+        counters.mutationsWritten += statistics.getMutationsWritten() - written;
+        counters.mutationsRejected += statistics.getMutationsRejected() - rejected;
+        counters.conversionFailures += statistics.getConversionFailures() - conversionFailures;
+    }
+
+    /**
+     * The ingest statistics for an iteration, which JMH reports alongside the primary result.
+     */
+    @AuxCounters
+    @State(Scope.Thread)
+    public static class IngestCounters {
+        public long mutationsWritten;
+        public long mutationsRejected;
+        public long conversionFailures;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            mutationsWritten = 0;
+            mutationsRejected = 0;
+            conversionFailures = 0;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.data;
+
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates the elements, seeds and byte arrays used by the benchmarks. All the data is derived from a seeded
+ * {@link java.util.Random}, so a new <code>BenchmarkData</code> created with the same seed and number of vertices
+ * generates exactly the same data and benchmark runs can be compared with each other.
+ * <p/>
+ * The elements match the groups and properties in the benchmark data schema.
+ */
+public class BenchmarkData {
+    public static final long DEFAULT_SEED = 20160101L;
+
+    public static final String ENTITY = "BasicEntity";
+    public static final String EDGE = "BasicEdge";
+
+    public static final String COLUMN_QUALIFIER = "columnQualifier";
+    public static final String COUNT = "count";
+    public static final String WEIGHT = "weight";
+    public static final String LABEL = "label";
+
+    private static final String[] LABELS = {"red", "orange", "yellow", "green", "blue", "indigo", "violet"};
+
+    private final Random random;
+    private final int numVertices;
+
+    public BenchmarkData(final int numVertices) {
+        this(numVertices, DEFAULT_SEED);
+    }
+
+    public BenchmarkData(final int numVertices, final long seed) {
+        this.numVertices = numVertices;
+        this.random = new Random(seed);
+    }
+
+    public int getNumVertices() {
+        return numVertices;
+    }
+
+    /**
+     * @param index the index of the vertex, between 0 and the number of vertices
+     * @return the vertex with the given index
+     */
+    public String getVertex(final int index) {
+        return "vertex" + index;
+    }
+
+    public String getRandomVertex() {
+        return getVertex(random.nextInt(numVertices));
+    }
+
+    public Entity createEntity(final String vertex) {
+        final Entity entity = new Entity(ENTITY, vertex);
+        addProperties(entity);
+        return entity;
+    }
+
+    public Edge createEdge(final String source, final String destination, final boolean directed) {
+        final Edge edge = new Edge(EDGE, source, destination, directed);
+        addProperties(edge);
+        return edge;
+    }
+
+    /**
+     * @param numEdges the number of edges to create
+     * @return an entity for every vertex followed by the given number of edges between random pairs of vertices
+     */
+    public List<Element> createElements(final int numEdges) {
+        final List<Element> elements = new ArrayList<>(numVertices + numEdges);
+        for (int i = 0; i < numVertices; i++) {
+            elements.add(createEntity(getVertex(i)));
+        }
+        elements.addAll(createEdges(numEdges));
+        return elements;
+    }
+
+    /**
+     * @param numEdges the number of edges to create
+     * @return edges between random pairs of different vertices, roughly half of which are directed
+     */
+    public List<Edge> createEdges(final int numEdges) {
+        final List<Edge> edges = new ArrayList<>(numEdges);
+        for (int i = 0; i < numEdges; i++) {
+            final int source = random.nextInt(numVertices);
+            final int destination = (source + 1 + random.nextInt(numVertices - 1)) % numVertices;
+            edges.add(createEdge(getVertex(source), getVertex(destination), random.nextBoolean()));
+        }
+        return edges;
+    }
+
+    /**
+     * @param numSeeds the number of seeds to create, which must not be more than the number of vertices
+     * @return entity seeds for distinct random vertices
+     */
+    public List<ElementSeed> createEntitySeeds(final int numSeeds) {
+        if (numSeeds > numVertices) {
+            throw new IllegalArgumentException("Cannot create " + numSeeds + " distinct seeds from " + numVertices + " vertices");
+        }
+
+        final Set<ElementSeed> seeds = new LinkedHashSet<>(numSeeds);
+        while (seeds.size() < numSeeds) {
+            seeds.add(new EntitySeed(getRandomVertex()));
+        }
+        return new ArrayList<>(seeds);
+    }
+
+    /**
+     * @param length            the length of the byte array
+     * @param delimiterFraction the fraction of bytes that are the escape utils delimiter or escape characters
+     * @return a random byte array
+     */
+    public byte[] createBytes(final int length, final double delimiterFraction) {
+        final byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            if (random.nextDouble() < delimiterFraction) {
+                bytes[i] = (byte) random.nextInt(2);
+            } else {
+                bytes[i] = (byte) (2 + random.nextInt(254));
+            }
+        }
+        return bytes;
+    }
+
+    private void addProperties(final Element element) {
+        element.putProperty(COLUMN_QUALIFIER, random.nextInt(4));
+        element.putProperty(COUNT, 1 + random.nextInt(100));
+        element.putProperty(WEIGHT, (long) random.nextInt(1000000));
+        element.putProperty(LABEL, LABELS[random.nextInt(LABELS.length)]);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.function;
+
+import gaffer.benchmark.data.BenchmarkData;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.element.function.ElementTransformer;
+import gaffer.function.simple.aggregate.Max;
+import gaffer.function.simple.aggregate.Sum;
+import gaffer.function.simple.filter.IsLessThan;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.function.simple.transform.Concat;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures executing an {@link ElementAggregator}, {@link ElementFilter} and {@link ElementTransformer}, each with
+ * several functions, on the benchmark edges.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class ElementFunctionBenchmark {
+    private static final int NUM_EDGES = 1024;
+    private static final int EDGES_PER_AGGREGATION = 8;
+    private static final String TRANSFORMED = "transformed";
+
+    private ElementAggregator aggregator;
+    private ElementFilter filter;
+    private ElementTransformer transformer;
+    private Edge[] edges;
+    private int index;
+
+    @Setup
+    public void setup() {
+        aggregator = new ElementAggregator.Builder()
+                .select(BenchmarkData.COUNT)
+                .execute(new Sum())
+                .select(BenchmarkData.WEIGHT)
+                .execute(new Sum())
+                .select(BenchmarkData.COLUMN_QUALIFIER)
+                .execute(new Max())
+                .build();
+        filter = new ElementFilter.Builder()
+                .select(BenchmarkData.COUNT)
+                .execute(new IsMoreThan(10))
+                .select(BenchmarkData.WEIGHT)
+                .execute(new IsLessThan(900000L))
+                .build();
+        transformer = new ElementTransformer.Builder()
+                .select(BenchmarkData.LABEL, BenchmarkData.COUNT)
+                .execute(new Concat())
+                .project(TRANSFORMED)
+                .build();
+
+        final List<Edge> edgeList = new BenchmarkData(NUM_EDGES).createEdges(NUM_EDGES);
+        edges = edgeList.toArray(new Edge[NUM_EDGES]);
+    }
+
+    @Benchmark
+    public Properties aggregate() {
+        final Properties properties = new Properties();
+        aggregator.initFunctions();
+        for (int i = 0; i < EDGES_PER_AGGREGATION; i++) {
+            aggregator.aggregate(edges[next()]);
+        }
+        aggregator.state(properties);
+        return properties;
+    }
+
+    @Benchmark
+    public boolean filter() {
+        return filter.filter(edges[next()]);
+    }
+
+    @Benchmark
+    public Object transform() {
+        final Edge edge = edges[next()];
+        transformer.transform(edge);
+        return edge.getProperty(TRANSFORMED);
+    }
+
+    private int next() {
+        index = (index + 1) % NUM_EDGES;
+        return index;
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.serialisation;
+
+import gaffer.benchmark.data.BenchmarkData;
+import gaffer.data.element.Edge;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.data.elementdefinition.view.ViewEntityDefinition;
+import gaffer.exception.SerialisationException;
+import gaffer.function.simple.filter.IsMoreThan;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationChain;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.data.generator.EntitySeedExtractor;
+import gaffer.operation.impl.generate.GenerateObjects;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.operation.impl.get.GetEntitiesBySeed;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialising and deserialising a typical operation chain to and from JSON, as done by the REST API for
+ * each request. The chain gets the edges related to a number of seeds, extracts the adjacent vertices and then
+ * gets the entities for those vertices.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class JSONSerialiserBenchmark {
+    @Param({"10", "1000"})
+    public int numSeeds;
+
+    private JSONSerialiser serialiser;
+    private OperationChain<?> operationChain;
+    private byte[] json;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        serialiser = new JSONSerialiser();
+        operationChain = new OperationChain.Builder()
+                .first(new GetRelatedEdges(new View.Builder()
+                        .edge(BenchmarkData.EDGE, new ViewEdgeDefinition.Builder()
+                                .property(BenchmarkData.COUNT, Integer.class)
+                                .filter(new ElementFilter.Builder()
+                                        .select(BenchmarkData.COUNT)
+                                        .execute(new IsMoreThan(50))
+                                        .build())
+                                .build())
+                        .build(), new BenchmarkData(numSeeds).createEntitySeeds(numSeeds)))
+                .then(new GenerateObjects.Builder<Edge, EntitySeed>()
+                        .generator(new EntitySeedExtractor())
+                        .build())
+                .then(new GetEntitiesBySeed.Builder()
+                        .view(new View.Builder()
+                                .entity(BenchmarkData.ENTITY, new ViewEntityDefinition())
+                                .build())
+                        .build())
+                .build();
+        json = serialiser.serialise(operationChain);
+    }
+
+    @Benchmark
+    public byte[] serialise() throws SerialisationException {
+        return serialiser.serialise(operationChain);
+    }
+
+    @Benchmark
+    public OperationChain deserialise() throws SerialisationException {
+        return serialiser.deserialise(json, OperationChain.class);
+    }
+
+    @Benchmark
+    public OperationChain roundTrip() throws SerialisationException {
+        return serialiser.deserialise(serialiser.serialise(operationChain), OperationChain.class);
+    }
+}
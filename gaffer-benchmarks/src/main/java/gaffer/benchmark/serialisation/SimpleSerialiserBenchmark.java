@@ -0,0 +1,152 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.serialisation;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+import gaffer.serialisation.simple.BooleanSerialiser;
+import gaffer.serialisation.simple.DateSerialiser;
+import gaffer.serialisation.simple.DoubleSerialiser;
+import gaffer.serialisation.simple.IntegerSerialiser;
+import gaffer.serialisation.simple.LongSerialiser;
+import gaffer.serialisation.simple.StringSerialiser;
+import gaffer.serialisation.simple.ordered.OrderedDateSerialiser;
+import gaffer.serialisation.simple.ordered.OrderedDoubleSerialiser;
+import gaffer.serialisation.simple.ordered.OrderedIntegerSerialiser;
+import gaffer.serialisation.simple.ordered.OrderedLongSerialiser;
+import gaffer.serialisation.simple.raw.RawDoubleSerialiser;
+import gaffer.serialisation.simple.raw.RawIntegerSerialiser;
+import gaffer.serialisation.simple.raw.RawLongSerialiser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialising and deserialising values with each of the simple serialisers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 2)
+@Fork(3)
+public class SimpleSerialiserBenchmark {
+    private static final int NUM_VALUES = 256;
+    private static final long SEED = 20160101L;
+
+    @Param({"Boolean", "Date", "Double", "Integer", "Long", "String", "RawDouble", "RawInteger", "RawLong",
+            "OrderedDate", "OrderedDouble", "OrderedInteger", "OrderedLong"})
+    public String serialiserType;
+
+    private Serialisation serialiser;
+    private Object[] values;
+    private byte[][] serialisedValues;
+    private int index;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        final Random random = new Random(SEED);
+        values = new Object[NUM_VALUES];
+        serialisedValues = new byte[NUM_VALUES][];
+        for (int i = 0; i < NUM_VALUES; i++) {
+            switch (serialiserType) {
+                case "Boolean":
+                    serialiser = new BooleanSerialiser();
+                    values[i] = random.nextBoolean();
+                    break;
+                case "Date":
+                    serialiser = new DateSerialiser();
+                    values[i] = new Date(random.nextLong());
+                    break;
+                case "Double":
+                    serialiser = new DoubleSerialiser();
+                    values[i] = random.nextDouble();
+                    break;
+                case "Integer":
+                    serialiser = new IntegerSerialiser();
+                    values[i] = random.nextInt();
+                    break;
+                case "Long":
+                    serialiser = new LongSerialiser();
+                    values[i] = random.nextLong();
+                    break;
+                case "String":
+                    serialiser = new StringSerialiser();
+                    values[i] = "value" + random.nextInt();
+                    break;
+                case "RawDouble":
+                    serialiser = new RawDoubleSerialiser();
+                    values[i] = random.nextDouble();
+                    break;
+                case "RawInteger":
+                    serialiser = new RawIntegerSerialiser();
+                    values[i] = random.nextInt();
+                    break;
+                case "RawLong":
+                    serialiser = new RawLongSerialiser();
+                    values[i] = random.nextLong();
+                    break;
+                case "OrderedDate":
+                    serialiser = new OrderedDateSerialiser();
+                    values[i] = new Date(random.nextLong());
+                    break;
+                case "OrderedDouble":
+                    serialiser = new OrderedDoubleSerialiser();
+                    values[i] = random.nextDouble();
+                    break;
+                case "OrderedInteger":
+                    serialiser = new OrderedIntegerSerialiser();
+                    values[i] = random.nextInt();
+                    break;
+                case "OrderedLong":
+                    serialiser = new OrderedLongSerialiser();
+                    values[i] = random.nextLong();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown serialiser type: " + serialiserType);
+            }
+            serialisedValues[i] = serialiser.serialise(values[i]);
+        }
+    }
+
+    @Benchmark
+    public byte[] serialise() throws SerialisationException {
+        return serialiser.serialise(values[next()]);
+    }
+
+    @Benchmark
+    public Object deserialise() throws SerialisationException {
+        return serialiser.deserialise(serialisedValues[next()]);
+    }
+
+    private int next() {
+        index = (index + 1) % NUM_VALUES;
+        return index;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.benchmark.store;
+
+import gaffer.benchmark.BenchmarkStores;
+import gaffer.benchmark.data.BenchmarkData;
+import gaffer.data.element.Element;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.Store;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the same seeded queries end to end against each of the in-memory stores and a mock Accumulo store, all
+ * loaded with the same generated graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 10, time = 5)
+@Fork(3)
+public class StoreQueryBenchmark {
+    private static final int NUM_VERTICES = 1000;
+    private static final int NUM_EDGES = 5000;
+    private static final int NUM_SEEDS = 100;
+
+    @Param({BenchmarkStores.ARRAY_LIST_STORE, BenchmarkStores.MAP_STORE, BenchmarkStores.MOCK_ACCUMULO_STORE})
+    public String storeName;
+
+    private Store store;
+    private List<ElementSeed> seeds;
+    private List<EntitySeed> entitySeeds;
+
+    @Setup
+    public void setup() throws OperationException {
+        store = BenchmarkStores.createStore(storeName);
+
+        final BenchmarkData data = new BenchmarkData(NUM_VERTICES);
+        BenchmarkStores.addElements(store, data.createElements(NUM_EDGES));
+        seeds = data.createEntitySeeds(NUM_SEEDS);
+        entitySeeds = new ArrayList<>(seeds.size());
+        for (final ElementSeed seed : seeds) {
+            entitySeeds.add((EntitySeed) seed);
+        }
+    }
+
+    @Benchmark
+    public int getRelatedElements() throws OperationException {
+        int count = 0;
+        for (final Element ignored : BenchmarkStores.execute(store, new GetRelatedElements<>(seeds))) {
+            count++;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int getAdjacentEntitySeeds() throws OperationException {
+        int count = 0;
+        for (final EntitySeed ignored : BenchmarkStores.execute(store, new GetAdjacentEntitySeeds(entitySeeds))) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.data;
+
+import java.io.Closeable;
+
+/**
+ * A <code>CloseableIterable</code> is an {@link java.lang.Iterable} backed by resources, such as database scanners,
+ * that must be released by calling {@link #close()} once the results are no longer required.
+ *
+ * @param <T> the type of items in the iterable.
+ */
+public interface CloseableIterable<T> extends Iterable<T>, Closeable {
+
+    @Override
+    void close();
+
+}
\ No newline at end of file
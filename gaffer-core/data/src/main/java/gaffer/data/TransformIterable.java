@@ -16,6 +16,11 @@
 
 package gaffer.data;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -26,7 +31,8 @@ import java.util.NoSuchElementException;
  * @param <INPUT>  The input iterable type.
  * @param <OUTPUT> the output iterable type.
  */
-public abstract class TransformIterable<INPUT, OUTPUT> implements Iterable<OUTPUT> {
+public abstract class TransformIterable<INPUT, OUTPUT> implements CloseableIterable<OUTPUT> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransformIterable.class);
     private final Iterable<INPUT> input;
     private final Validator<INPUT> validator;
     private final boolean skipInvalid;
@@ -65,6 +71,21 @@ public abstract class TransformIterable<INPUT, OUTPUT> implements Iterable<OUTPU
         this.skipInvalid = skipInvalid;
     }
 
+    /**
+     * Closes the input {@link java.lang.Iterable} if it is {@link java.io.Closeable}, so resources held by the
+     * input are released when the transformed items are no longer required.
+     */
+    @Override
+    public void close() {
+        if (input instanceof Closeable) {
+            try {
+                ((Closeable) input).close();
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close input iterable", e);
+            }
+        }
+    }
+
     /**
      * @return an {@link java.util.Iterator} that lazy transforms the INPUT items to OUTPUT items
      */
@@ -16,6 +16,11 @@
 
 package gaffer.data;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -28,7 +33,8 @@ import java.util.NoSuchElementException;
  * @param <INPUT>  The input iterable type.
  * @param <OUTPUT> the output iterable type.
  */
-public abstract class TransformOneToManyIterable<INPUT, OUTPUT> implements Iterable<OUTPUT> {
+public abstract class TransformOneToManyIterable<INPUT, OUTPUT> implements CloseableIterable<OUTPUT> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransformOneToManyIterable.class);
     private final Iterable<INPUT> input;
     private final Validator<INPUT> validator;
     private final boolean skipInvalid;
@@ -67,6 +73,21 @@ public abstract class TransformOneToManyIterable<INPUT, OUTPUT> implements Itera
         this.skipInvalid = skipInvalid;
     }
 
+    /**
+     * Closes the input {@link java.lang.Iterable} if it is {@link java.io.Closeable}, so resources held by the
+     * input are released when the transformed items are no longer required.
+     */
+    @Override
+    public void close() {
+        if (input instanceof Closeable) {
+            try {
+                ((Closeable) input).close();
+            } catch (final IOException e) {
+                LOGGER.warn("Unable to close input iterable", e);
+            }
+        }
+    }
+
     /**
      * @return an {@link java.util.Iterator} that lazy transforms the INPUT items to OUTPUT items
      */
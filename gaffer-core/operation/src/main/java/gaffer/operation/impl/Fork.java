@@ -0,0 +1,121 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.AbstractOperation;
+import gaffer.operation.OperationChain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A <code>Fork</code> operation fans its input out to several independent {@link gaffer.operation.OperationChain}
+ * branches. Each branch whose first operation has no input is given the input of the <code>Fork</code>, so a
+ * <code>Fork</code> can follow any operation in a chain. The branches do not depend on each other so a store may
+ * execute them concurrently. The output is a {@link java.util.List} containing the result of each branch, in the
+ * order the branches were added, and is usually passed on to a {@link gaffer.operation.impl.Join} operation.
+ * <p/>
+ * Branches can contain further <code>Fork</code> operations, so any fan-out/fan-in graph of operations can be
+ * expressed within a single {@link gaffer.operation.OperationChain}.
+ *
+ * @param <INPUT> the input type - this is passed to each branch.
+ * @see gaffer.operation.impl.Fork.Builder
+ * @see gaffer.operation.impl.Join
+ */
+public class Fork<INPUT> extends AbstractOperation<INPUT, List<Object>> {
+    private List<OperationChain<?>> branches = new ArrayList<>();
+
+    public Fork() {
+        super();
+    }
+
+    /**
+     * @param branches the independent {@link gaffer.operation.OperationChain}s to execute.
+     */
+    public Fork(final List<OperationChain<?>> branches) {
+        super();
+        setBranches(branches);
+    }
+
+    /**
+     * @return the independent {@link gaffer.operation.OperationChain}s to execute.
+     */
+    public List<OperationChain<?>> getBranches() {
+        return branches;
+    }
+
+    /**
+     * @param branches the independent {@link gaffer.operation.OperationChain}s to execute.
+     */
+    public void setBranches(final List<OperationChain<?>> branches) {
+        this.branches = null != branches ? branches : new ArrayList<OperationChain<?>>();
+    }
+
+    /**
+     * @param branch an {@link gaffer.operation.OperationChain} to execute independently of the other branches.
+     */
+    public void addBranch(final OperationChain<?> branch) {
+        branches.add(branch);
+    }
+
+    /**
+     * The input is provided by the previous operation in the chain, so it is not serialised.
+     *
+     * @return the input for the operation.
+     */
+    @JsonIgnore
+    @Override
+    public INPUT getInput() {
+        return super.getInput();
+    }
+
+    public static class Builder<INPUT> extends AbstractOperation.Builder<Fork<INPUT>, INPUT, List<Object>> {
+        public Builder() {
+            super(new Fork<INPUT>());
+        }
+
+        /**
+         * @param branch an {@link gaffer.operation.OperationChain} to execute independently of the other branches.
+         * @return this Builder
+         * @see gaffer.operation.impl.Fork#addBranch(gaffer.operation.OperationChain)
+         */
+        public Builder<INPUT> branch(final OperationChain<?> branch) {
+            op.addBranch(branch);
+            return this;
+        }
+
+        @Override
+        public Builder<INPUT> input(final INPUT input) {
+            super.input(input);
+            return this;
+        }
+
+        @Override
+        public Builder<INPUT> view(final View view) {
+            super.view(view);
+            return this;
+        }
+
+        @Override
+        public Builder<INPUT> option(final String name, final String value) {
+            super.option(name, value);
+            return this;
+        }
+    }
+}
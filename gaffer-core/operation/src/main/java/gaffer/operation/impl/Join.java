@@ -0,0 +1,93 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.AbstractOperation;
+
+import java.util.List;
+
+/**
+ * A <code>Join</code> operation joins the results of the branches of a {@link gaffer.operation.impl.Fork} back into
+ * a single {@link java.lang.Iterable}. Each {@link java.lang.Iterable} result is concatenated in branch order,
+ * any other non null result is added as a single item and null results, e.g. from an
+ * {@link gaffer.operation.impl.add.AddElements} branch, are skipped.
+ *
+ * @param <OUTPUT> the type of the items in the joined results.
+ * @see gaffer.operation.impl.Join.Builder
+ */
+public class Join<OUTPUT> extends AbstractOperation<List<Object>, Iterable<OUTPUT>> {
+    public Join() {
+        super();
+    }
+
+    /**
+     * @param results the results of each branch of a {@link gaffer.operation.impl.Fork}.
+     */
+    public Join(final List<Object> results) {
+        super(results);
+    }
+
+    /**
+     * @return the results of each branch of a {@link gaffer.operation.impl.Fork}.
+     */
+    @JsonIgnore
+    public List<Object> getResults() {
+        return getInput();
+    }
+
+    /**
+     * The results are provided by the previous {@link gaffer.operation.impl.Fork} in the chain, so they are not
+     * serialised.
+     *
+     * @return the results of each branch of a {@link gaffer.operation.impl.Fork}.
+     */
+    @JsonIgnore
+    @Override
+    public List<Object> getInput() {
+        return super.getInput();
+    }
+
+    public static class Builder<OUTPUT> extends AbstractOperation.Builder<Join<OUTPUT>, List<Object>, Iterable<OUTPUT>> {
+        public Builder() {
+            super(new Join<OUTPUT>());
+        }
+
+        /**
+         * @param results the results of each branch of a {@link gaffer.operation.impl.Fork}.
+         * @return this Builder
+         * @see gaffer.operation.Operation#setInput(Object)
+         */
+        public Builder<OUTPUT> results(final List<Object> results) {
+            op.setInput(results);
+            return this;
+        }
+
+        @Override
+        public Builder<OUTPUT> view(final View view) {
+            super.view(view);
+            return this;
+        }
+
+        @Override
+        public Builder<OUTPUT> option(final String name, final String value) {
+            super.option(name, value);
+            return this;
+        }
+    }
+}
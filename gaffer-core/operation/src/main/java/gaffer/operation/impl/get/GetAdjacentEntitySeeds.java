@@ -26,11 +26,18 @@ import gaffer.operation.GetOperation;
  * {@link gaffer.operation.data.EntitySeed}s at the opposite end of connected edges to a seed
  * {@link gaffer.operation.data.EntitySeed}.
  * Seed matching is always RELATED.
+ * <p/>
+ * By default an adjacent seed is returned for every matching edge, so a vertex connected to a seed by several edges
+ * is returned several times. If deduplicate is set, each adjacent seed is only returned once. The map and array list
+ * stores deduplicate with an exact set. To bound the memory used, the Accumulo store tracks very large results with a
+ * probabilistic filter, in which case a small fraction of the distinct adjacent seeds may also be removed.
  *
  * @see gaffer.operation.impl.get.GetAdjacentEntitySeeds.Builder
  * @see gaffer.operation.GetOperation
  */
 public class GetAdjacentEntitySeeds extends AbstractGetOperation<EntitySeed, EntitySeed> {
+    private boolean deduplicate;
+
     public GetAdjacentEntitySeeds() {
     }
 
@@ -50,6 +57,20 @@ public class GetAdjacentEntitySeeds extends AbstractGetOperation<EntitySeed, Ent
         super(operation);
     }
 
+    /**
+     * @return true if each adjacent seed should only be returned once.
+     */
+    public boolean isDeduplicate() {
+        return deduplicate;
+    }
+
+    /**
+     * @param deduplicate true if each adjacent seed should only be returned once.
+     */
+    public void setDeduplicate(final boolean deduplicate) {
+        this.deduplicate = deduplicate;
+    }
+
     @Override
     public SeedMatchingType getSeedMatching() {
         return SeedMatchingType.RELATED;
@@ -67,6 +88,16 @@ public class GetAdjacentEntitySeeds extends AbstractGetOperation<EntitySeed, Ent
             super(new GetAdjacentEntitySeeds());
         }
 
+        /**
+         * @param deduplicate true if each adjacent seed should only be returned once.
+         * @return this Builder
+         * @see gaffer.operation.impl.get.GetAdjacentEntitySeeds#setDeduplicate(boolean)
+         */
+        public Builder deduplicate(final boolean deduplicate) {
+            op.setDeduplicate(deduplicate);
+            return this;
+        }
+
         @Override
         public Builder seedMatching(final SeedMatchingType seedMatching) {
             super.seedMatching(seedMatching);
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.google.common.collect.Lists;
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.EntitySeed;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Restricts {@link gaffer.operation.impl.get.GetElements} to only return the {@link gaffer.data.element.Entity}s for
+ * the seeds and the {@link gaffer.data.element.Edge}s with one end in the seeds (set A) and the other end in the second
+ * set of seeds (set B). Seed matching is always RELATED.
+ *
+ * @param <ELEMENT_TYPE> the element return type
+ * @see gaffer.operation.impl.get.GetElementsBetweenSets.Builder
+ * @see gaffer.operation.impl.get.GetElements
+ */
+public class GetElementsBetweenSets<ELEMENT_TYPE extends Element> extends GetElements<EntitySeed, ELEMENT_TYPE> {
+    private Iterable<EntitySeed> seedsB;
+
+    public GetElementsBetweenSets() {
+        super();
+    }
+
+    public GetElementsBetweenSets(final Iterable<EntitySeed> seedsA, final Iterable<EntitySeed> seedsB) {
+        super(seedsA);
+        setSeedsB(seedsB);
+    }
+
+    public GetElementsBetweenSets(final View view) {
+        super(view);
+    }
+
+    public GetElementsBetweenSets(final View view, final Iterable<EntitySeed> seedsA, final Iterable<EntitySeed> seedsB) {
+        super(view, seedsA);
+        setSeedsB(seedsB);
+    }
+
+    public GetElementsBetweenSets(final GetOperation<EntitySeed, ?> operation) {
+        super(operation);
+    }
+
+    /**
+     * @return the second set of seeds, set B. The seeds returned by {@link #getSeeds()} are set A.
+     */
+    @JsonIgnore
+    public Iterable<EntitySeed> getSeedsB() {
+        return seedsB;
+    }
+
+    @JsonIgnore
+    public void setSeedsB(final Iterable<EntitySeed> seedsB) {
+        this.seedsB = seedsB;
+    }
+
+    @JsonTypeInfo(use = JsonTypeInfo.Id.CLASS, include = JsonTypeInfo.As.WRAPPER_OBJECT)
+    @JsonGetter(value = "seedsB")
+    List<EntitySeed> getSeedBArray() {
+        return null != seedsB ? Lists.newArrayList(seedsB) : null;
+    }
+
+    @JsonSetter(value = "seedsB")
+    void setSeedBArray(final EntitySeed[] seedsB) {
+        setSeedsB(Arrays.asList(seedsB));
+    }
+
+    @Override
+    public void setSeedMatching(final SeedMatchingType seedMatching) {
+        if (!getSeedMatching().equals(seedMatching)) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " only supports seed matching when set to " + getSeedMatching().name());
+        }
+    }
+
+    @Override
+    public SeedMatchingType getSeedMatching() {
+        return SeedMatchingType.RELATED;
+    }
+
+    public static class Builder<ELEMENT_TYPE extends Element>
+            extends GetElements.Builder<GetElementsBetweenSets<ELEMENT_TYPE>, EntitySeed, ELEMENT_TYPE> {
+        private List<EntitySeed> seedsB;
+
+        public Builder() {
+            super(new GetElementsBetweenSets<ELEMENT_TYPE>());
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> addSeed(final EntitySeed seed) {
+            super.addSeed(seed);
+            return this;
+        }
+
+        /**
+         * Adds a single {@link EntitySeed} to set B.
+         *
+         * @param seed the seed to add to set B
+         * @return this Builder
+         */
+        public Builder<ELEMENT_TYPE> addSeedB(final EntitySeed seed) {
+            if (null == seedsB) {
+                seedsB = new LinkedList<>();
+                op.setSeedsB(seedsB);
+            }
+            seedsB.add(seed);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> summarise(final boolean summarise) {
+            super.summarise(summarise);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> populateProperties(final boolean populateProperties) {
+            super.populateProperties(populateProperties);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> view(final View view) {
+            super.view(view);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> option(final String name, final String value) {
+            super.option(name, value);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> includeEntities(final boolean includeEntities) {
+            super.includeEntities(includeEntities);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> includeEdges(final IncludeEdgeType includeEdgeType) {
+            super.includeEdges(includeEdgeType);
+            return this;
+        }
+    }
+}
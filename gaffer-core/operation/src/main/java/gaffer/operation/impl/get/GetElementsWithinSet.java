@@ -0,0 +1,117 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import gaffer.data.element.Element;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.EntitySeed;
+
+/**
+ * Restricts {@link gaffer.operation.impl.get.GetElements} to only return the {@link gaffer.data.element.Entity}s for
+ * the seeds and the {@link gaffer.data.element.Edge}s with both their source and destination in the set of seeds.
+ * Seed matching is always RELATED.
+ * <p/>
+ * This is more efficient than getting the related edges of the seeds and filtering them, as stores can avoid returning
+ * edges whose other end is not in the set.
+ *
+ * @param <ELEMENT_TYPE> the element return type
+ * @see gaffer.operation.impl.get.GetElementsWithinSet.Builder
+ * @see gaffer.operation.impl.get.GetElements
+ */
+public class GetElementsWithinSet<ELEMENT_TYPE extends Element> extends GetElements<EntitySeed, ELEMENT_TYPE> {
+    public GetElementsWithinSet() {
+        super();
+    }
+
+    public GetElementsWithinSet(final Iterable<EntitySeed> seeds) {
+        super(seeds);
+    }
+
+    public GetElementsWithinSet(final View view) {
+        super(view);
+    }
+
+    public GetElementsWithinSet(final View view, final Iterable<EntitySeed> seeds) {
+        super(view, seeds);
+    }
+
+    public GetElementsWithinSet(final GetOperation<EntitySeed, ?> operation) {
+        super(operation);
+    }
+
+    @Override
+    public void setSeedMatching(final SeedMatchingType seedMatching) {
+        if (!getSeedMatching().equals(seedMatching)) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " only supports seed matching when set to " + getSeedMatching().name());
+        }
+    }
+
+    @Override
+    public SeedMatchingType getSeedMatching() {
+        return SeedMatchingType.RELATED;
+    }
+
+    public static class Builder<ELEMENT_TYPE extends Element>
+            extends GetElements.Builder<GetElementsWithinSet<ELEMENT_TYPE>, EntitySeed, ELEMENT_TYPE> {
+        public Builder() {
+            super(new GetElementsWithinSet<ELEMENT_TYPE>());
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> addSeed(final EntitySeed seed) {
+            super.addSeed(seed);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> summarise(final boolean summarise) {
+            super.summarise(summarise);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> populateProperties(final boolean populateProperties) {
+            super.populateProperties(populateProperties);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> view(final View view) {
+            super.view(view);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> option(final String name, final String value) {
+            super.option(name, value);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> includeEntities(final boolean includeEntities) {
+            super.includeEntities(includeEntities);
+            return this;
+        }
+
+        @Override
+        public Builder<ELEMENT_TYPE> includeEdges(final IncludeEdgeType includeEdgeType) {
+            super.includeEdges(includeEdgeType);
+            return this;
+        }
+    }
+}
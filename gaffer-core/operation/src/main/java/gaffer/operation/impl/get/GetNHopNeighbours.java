@@ -0,0 +1,200 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.AbstractGetOperation;
+import gaffer.operation.GetOperation;
+import gaffer.operation.data.EntitySeed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A <code>GetNHopNeighbours</code> operation will return the {@link gaffer.operation.data.EntitySeed}s that can be
+ * reached from the seeds by following at most a given number of edges. Each vertex is returned once, however many
+ * paths reach it, and the seeds themselves are not returned.
+ * <p/>
+ * Unlike a chain of {@link gaffer.operation.impl.get.GetAdjacentEntitySeeds} operations, a vertex is only expanded
+ * from the first hop it is reached at, so vertices reached by many paths are not looked up again.
+ * <p/>
+ * Each hop can have its own {@link gaffer.data.elementdefinition.view.View} - hop <code>i</code> (starting at 0)
+ * uses the view at index <code>i</code> of the hop views and falls back to the operation's view if there is no
+ * view for that hop. The number of vertices reached at any single hop is capped by the max frontier size, and the
+ * operation fails rather than returning a partial result if it is exceeded.
+ * Seed matching is always RELATED.
+ *
+ * @see gaffer.operation.impl.get.GetNHopNeighbours.Builder
+ * @see gaffer.operation.impl.get.GetAdjacentEntitySeeds
+ */
+public class GetNHopNeighbours extends AbstractGetOperation<EntitySeed, EntitySeed> {
+    public static final int DEFAULT_NUM_HOPS = 2;
+    public static final int DEFAULT_MAX_FRONTIER_SIZE = 1000000;
+
+    private int numHops = DEFAULT_NUM_HOPS;
+    private int maxFrontierSize = DEFAULT_MAX_FRONTIER_SIZE;
+    private List<View> hopViews = new ArrayList<>();
+
+    public GetNHopNeighbours() {
+    }
+
+    public GetNHopNeighbours(final Iterable<EntitySeed> seeds) {
+        super(seeds);
+    }
+
+    public GetNHopNeighbours(final View view) {
+        super(view);
+    }
+
+    public GetNHopNeighbours(final View view, final Iterable<EntitySeed> seeds) {
+        super(view, seeds);
+    }
+
+    public GetNHopNeighbours(final GetOperation<EntitySeed, ?> operation) {
+        super(operation);
+    }
+
+    /**
+     * @return the maximum number of edges to follow from the seeds.
+     */
+    public int getNumHops() {
+        return numHops;
+    }
+
+    /**
+     * @param numHops the maximum number of edges to follow from the seeds, this must be at least 1.
+     */
+    public void setNumHops(final int numHops) {
+        if (numHops < 1) {
+            throw new IllegalArgumentException("The number of hops must be at least 1");
+        }
+        this.numHops = numHops;
+    }
+
+    /**
+     * @return the maximum number of vertices that can be reached at any single hop.
+     */
+    public int getMaxFrontierSize() {
+        return maxFrontierSize;
+    }
+
+    /**
+     * @param maxFrontierSize the maximum number of vertices that can be reached at any single hop.
+     */
+    public void setMaxFrontierSize(final int maxFrontierSize) {
+        this.maxFrontierSize = maxFrontierSize;
+    }
+
+    /**
+     * @return the views for each hop, the view at index <code>i</code> is used for hop <code>i</code>.
+     */
+    public List<View> getHopViews() {
+        return hopViews;
+    }
+
+    /**
+     * @param hopViews the views for each hop, the view at index <code>i</code> is used for hop <code>i</code>.
+     */
+    public void setHopViews(final List<View> hopViews) {
+        this.hopViews = null != hopViews ? hopViews : new ArrayList<View>();
+    }
+
+    /**
+     * @param hop the hop, starting at 0 for the edges of the seeds.
+     * @return the view for the hop, or the operation's view if there is no view for the hop.
+     */
+    public View getHopView(final int hop) {
+        if (hop < hopViews.size() && null != hopViews.get(hop)) {
+            return hopViews.get(hop);
+        }
+
+        return getView();
+    }
+
+    @Override
+    public SeedMatchingType getSeedMatching() {
+        return SeedMatchingType.RELATED;
+    }
+
+    @Override
+    public void setSeedMatching(final SeedMatchingType seedMatching) {
+        if (!getSeedMatching().equals(seedMatching)) {
+            throw new IllegalArgumentException(getClass().getSimpleName() + " only supports seed matching when set to " + getSeedMatching().name());
+        }
+    }
+
+    public static class Builder extends AbstractGetOperation.Builder<GetNHopNeighbours, EntitySeed, EntitySeed> {
+        public Builder() {
+            super(new GetNHopNeighbours());
+        }
+
+        /**
+         * @param numHops the maximum number of edges to follow from the seeds.
+         * @return this Builder
+         * @see gaffer.operation.impl.get.GetNHopNeighbours#setNumHops(int)
+         */
+        public Builder numHops(final int numHops) {
+            op.setNumHops(numHops);
+            return this;
+        }
+
+        /**
+         * @param maxFrontierSize the maximum number of vertices that can be reached at any single hop.
+         * @return this Builder
+         * @see gaffer.operation.impl.get.GetNHopNeighbours#setMaxFrontierSize(int)
+         */
+        public Builder maxFrontierSize(final int maxFrontierSize) {
+            op.setMaxFrontierSize(maxFrontierSize);
+            return this;
+        }
+
+        /**
+         * Adds the view for the next hop. A null view means the operation's view is used for the hop.
+         *
+         * @param view the view for the next hop.
+         * @return this Builder
+         */
+        public Builder hopView(final View view) {
+            op.getHopViews().add(view);
+            return this;
+        }
+
+        @Override
+        public Builder addSeed(final EntitySeed seed) {
+            super.addSeed(seed);
+            return this;
+        }
+
+        @Override
+        public Builder includeEdges(final IncludeEdgeType includeEdgeType) {
+            super.includeEdges(includeEdgeType);
+            return this;
+        }
+
+        @Override
+        public Builder view(final View view) {
+            super.view(view);
+            return this;
+        }
+
+        @Override
+        public Builder option(final String name, final String value) {
+            super.option(name, value);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl;
+
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.operation.impl.get.GetRelatedEntities;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+public class ForkTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final Fork<Iterable<ElementSeed>> op = new Fork.Builder<Iterable<ElementSeed>>()
+                .input(Arrays.asList((ElementSeed) new EntitySeed("vertex 1")))
+                .branch(new OperationChain<>(new GetRelatedEntities()))
+                .branch(new OperationChain<>(new GetRelatedEdges()))
+                .build();
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final Fork deserialisedOp = serialiser.deserialise(json, Fork.class);
+
+        // Then
+        assertNull(deserialisedOp.getInput());
+        assertEquals(2, deserialisedOp.getBranches().size());
+        assertTrue(((OperationChain) deserialisedOp.getBranches().get(0)).getOperations().get(0) instanceof GetRelatedEntities);
+        assertTrue(((OperationChain) deserialisedOp.getBranches().get(1)).getOperations().get(0) instanceof GetRelatedEdges);
+    }
+}
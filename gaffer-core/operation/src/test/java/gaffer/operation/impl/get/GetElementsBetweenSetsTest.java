@@ -0,0 +1,92 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.EntitySeed;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class GetElementsBetweenSetsTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    public void shouldSetSeedMatchingTypeToRelated() {
+        // Given
+        final EntitySeed seedA = new EntitySeed("A");
+        final EntitySeed seedB = new EntitySeed("B");
+
+        // When
+        final GetElementsBetweenSets op = new GetElementsBetweenSets(Collections.singletonList(seedA), Collections.singletonList(seedB));
+
+        // Then
+        assertEquals(GetOperation.SeedMatchingType.RELATED, op.getSeedMatching());
+    }
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final EntitySeed seedA1 = new EntitySeed("A1");
+        final EntitySeed seedA2 = new EntitySeed("A2");
+        final EntitySeed seedB = new EntitySeed("B");
+        final GetElementsBetweenSets op = new GetElementsBetweenSets(Arrays.asList(seedA1, seedA2), Collections.singletonList(seedB));
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetElementsBetweenSets deserialisedOp = serialiser.deserialise(json, GetElementsBetweenSets.class);
+
+        // Then
+        final Iterator itrA = deserialisedOp.getSeeds().iterator();
+        assertEquals(seedA1, itrA.next());
+        assertEquals(seedA2, itrA.next());
+        assertFalse(itrA.hasNext());
+
+        final Iterator itrB = deserialisedOp.getSeedsB().iterator();
+        assertEquals(seedB, itrB.next());
+        assertFalse(itrB.hasNext());
+    }
+
+    @Test
+    public void shouldBuildOperation() {
+        // Given
+        final EntitySeed seedA = new EntitySeed("A");
+        final EntitySeed seedB = new EntitySeed("B");
+
+        // When
+        final GetElementsBetweenSets<?> op = new GetElementsBetweenSets.Builder<>()
+                .addSeed(seedA)
+                .addSeedB(seedB)
+                .summarise(true)
+                .build();
+
+        // Then
+        assertEquals(seedA, op.getSeeds().iterator().next());
+        assertEquals(seedB, op.getSeedsB().iterator().next());
+        assertTrue(op.isSummarise());
+    }
+}
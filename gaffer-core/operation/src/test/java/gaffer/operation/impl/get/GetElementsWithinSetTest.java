@@ -0,0 +1,95 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.GetOperation;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.EntitySeed;
+import java.util.Arrays;
+import java.util.Iterator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class GetElementsWithinSetTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    public void shouldSetSeedMatchingTypeToRelated() {
+        // Given
+        final EntitySeed seed1 = new EntitySeed("A");
+        final EntitySeed seed2 = new EntitySeed("B");
+
+        // When
+        final GetElementsWithinSet op = new GetElementsWithinSet(Arrays.asList(seed1, seed2));
+
+        // Then
+        assertEquals(GetOperation.SeedMatchingType.RELATED, op.getSeedMatching());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowSeedMatchingTypeToBeEqual() {
+        // Given
+        final GetElementsWithinSet op = new GetElementsWithinSet();
+
+        // When
+        op.setSeedMatching(GetOperation.SeedMatchingType.EQUAL);
+    }
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final EntitySeed seed1 = new EntitySeed("A");
+        final EntitySeed seed2 = new EntitySeed("B");
+        final GetElementsWithinSet op = new GetElementsWithinSet(Arrays.asList(seed1, seed2));
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetElementsWithinSet deserialisedOp = serialiser.deserialise(json, GetElementsWithinSet.class);
+
+        // Then
+        final Iterator itr = deserialisedOp.getSeeds().iterator();
+        assertEquals(seed1, itr.next());
+        assertEquals(seed2, itr.next());
+        assertFalse(itr.hasNext());
+        assertEquals(GetOperation.SeedMatchingType.RELATED, deserialisedOp.getSeedMatching());
+    }
+
+    @Test
+    public void shouldBuildOperation() {
+        // Given
+        final EntitySeed seed = new EntitySeed("A");
+
+        // When
+        final GetElementsWithinSet<?> op = new GetElementsWithinSet.Builder<>()
+                .addSeed(seed)
+                .summarise(true)
+                .includeEntities(false)
+                .build();
+
+        // Then
+        assertEquals(seed, op.getSeeds().iterator().next());
+        assertTrue(op.isSummarise());
+        assertFalse(op.isIncludeEntities());
+    }
+}
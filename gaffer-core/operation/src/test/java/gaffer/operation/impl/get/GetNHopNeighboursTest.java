@@ -0,0 +1,84 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.operation.impl.get;
+
+import gaffer.data.elementdefinition.view.View;
+import gaffer.exception.SerialisationException;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationTest;
+import gaffer.operation.data.EntitySeed;
+import java.util.Iterator;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+
+public class GetNHopNeighboursTest implements OperationTest {
+    private static final JSONSerialiser serialiser = new JSONSerialiser();
+
+    @Test
+    @Override
+    public void shouldSerialiseAndDeserialiseOperation() throws SerialisationException {
+        // Given
+        final EntitySeed seed = new EntitySeed("A");
+        final GetNHopNeighbours op = new GetNHopNeighbours.Builder()
+                .addSeed(seed)
+                .numHops(3)
+                .maxFrontierSize(100)
+                .hopView(new View())
+                .build();
+
+        // When
+        byte[] json = serialiser.serialise(op, true);
+        final GetNHopNeighbours deserialisedOp = serialiser.deserialise(json, GetNHopNeighbours.class);
+
+        // Then
+        final Iterator itr = deserialisedOp.getSeeds().iterator();
+        assertEquals(seed, itr.next());
+        assertFalse(itr.hasNext());
+        assertEquals(3, deserialisedOp.getNumHops());
+        assertEquals(100, deserialisedOp.getMaxFrontierSize());
+        assertEquals(1, deserialisedOp.getHopViews().size());
+        assertNotNull(deserialisedOp.getHopView(0));
+    }
+
+    @Test
+    public void shouldUseOperationViewWhenHopHasNoView() {
+        // Given
+        final View view = new View();
+        final View firstHopView = new View();
+        final GetNHopNeighbours op = new GetNHopNeighbours.Builder()
+                .view(view)
+                .hopView(firstHopView)
+                .hopView(null)
+                .build();
+
+        // When / Then
+        assertSame(firstHopView, op.getHopView(0));
+        assertSame(view, op.getHopView(1));
+        assertSame(view, op.getHopView(2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotAllowLessThanOneHop() {
+        // When
+        new GetNHopNeighbours().setNumHops(0);
+    }
+}
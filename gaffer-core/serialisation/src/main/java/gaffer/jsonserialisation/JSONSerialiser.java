@@ -27,7 +27,6 @@ import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import gaffer.exception.SerialisationException;
-import sun.misc.IOUtils;
 
 import java.io.File;
 import java.io.FileWriter;
@@ -157,8 +156,7 @@ public class JSONSerialiser {
      */
     public <T> T deserialise(final InputStream stream, final Class<T> clazz) throws SerialisationException {
         try {
-            final byte[] bytes = IOUtils.readFully(stream, stream.available(), true);
-            return deserialise(bytes, clazz);
+            return mapper.readValue(stream, clazz);
         } catch (IOException e) {
             throw new SerialisationException(e.getMessage(), e);
         } finally {
@@ -169,4 +167,20 @@ public class JSONSerialiser {
             }
         }
     }
+
+    /**
+     * Creates a {@link JSONStreamReader} to deserialise the objects in the stream one at a time, without reading
+     * the whole stream into memory. The stream can either be a JSON array of objects or a sequence of objects
+     * separated by whitespace, such as newline-delimited JSON. The reader must be closed once it is no longer
+     * required, which also closes the stream.
+     *
+     * @param stream the {@link java.io.InputStream} containing the objects to deserialise
+     * @param clazz  the class of the objects to deserialise
+     * @param <T>    the type of the objects
+     * @return a {@link JSONStreamReader} for the objects in the stream
+     * @throws SerialisationException if the stream cannot be read
+     */
+    public <T> JSONStreamReader<T> createStreamReader(final InputStream stream, final Class<T> clazz) throws SerialisationException {
+        return new JSONStreamReader<>(mapper, stream, clazz);
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.jsonserialisation;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gaffer.exception.SerialisationException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A <code>JSONStreamReader</code> deserialises a stream of JSON objects one at a time using the Jackson streaming
+ * API, so the stream never has to be held in memory. The stream can either be a single JSON array of objects or a
+ * sequence of objects separated by whitespace, such as newline-delimited JSON.
+ * <p/>
+ * Create a <code>JSONStreamReader</code> with {@link JSONSerialiser#createStreamReader(InputStream, Class)}.
+ *
+ * @param <T> the type of the objects in the stream
+ */
+public class JSONStreamReader<T> implements Closeable {
+    private final ObjectMapper mapper;
+    private final JsonParser parser;
+    private final Class<T> clazz;
+    private boolean started;
+    private boolean inArray;
+    private boolean finished;
+
+    JSONStreamReader(final ObjectMapper mapper, final InputStream stream, final Class<T> clazz) throws SerialisationException {
+        this.mapper = mapper;
+        this.clazz = clazz;
+        try {
+            this.parser = mapper.getFactory().createParser(stream);
+        } catch (IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the next object from the stream.
+     *
+     * @return the next object, or null if the end of the stream has been reached
+     * @throws SerialisationException if the next object fails to deserialise or the stream is not valid JSON
+     */
+    public T read() throws SerialisationException {
+        if (finished) {
+            return null;
+        }
+
+        try {
+            JsonToken token = parser.nextToken();
+            if (!started) {
+                started = true;
+                if (JsonToken.START_ARRAY == token) {
+                    inArray = true;
+                    token = parser.nextToken();
+                }
+            }
+
+            if (null == token) {
+                finished = true;
+                if (inArray) {
+                    throw new SerialisationException("Unexpected end of stream before the end of the JSON array");
+                }
+                return null;
+            }
+
+            if (inArray && JsonToken.END_ARRAY == token) {
+                finished = true;
+                return null;
+            }
+
+            return mapper.readValue(parser, clazz);
+        } catch (IOException e) {
+            finished = true;
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Closes the parser and the underlying stream.
+     */
+    @Override
+    public void close() {
+        try {
+            parser.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Unable to close stream : " + e.getMessage(), e);
+        }
+    }
+}
@@ -18,12 +18,19 @@ package gaffer.jsonSerialisation;
 
 import gaffer.exception.SerialisationException;
 import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.jsonserialisation.JSONStreamReader;
 import gaffer.serialisation.test.ParameterisedTestObject;
 import gaffer.serialisation.test.SimpleTestObject;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -126,4 +133,78 @@ public class JSONSerialiserTest {
         serialiser.deserialise(b, Integer.class);
     }
 
+    @Test
+    public void shouldDeserialiseFromAStreamThatDoesNotReportItsAvailableBytes() throws SerialisationException {
+        // Given
+        final InputStream stream = new BufferedInputStream(new ByteArrayInputStream("{\"x\":\"Test\"}".getBytes())) {
+            @Override
+            public synchronized int available() {
+                return 0;
+            }
+        };
+
+        // When
+        final SimpleTestObject o = serialiser.deserialise(stream, SimpleTestObject.class);
+
+        // Then
+        assertEquals("Test", o.getX());
+    }
+
+    @Test
+    public void shouldReadEachObjectFromAJsonArrayStream() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream("[{\"x\":\"Test1\"}, {\"x\":\"Test2\"}]".getBytes());
+
+        // When
+        final List<String> results = readAll(serialiser.createStreamReader(stream, SimpleTestObject.class));
+
+        // Then
+        assertEquals(Arrays.asList("Test1", "Test2"), results);
+    }
+
+    @Test
+    public void shouldReadEachObjectFromANewlineDelimitedJsonStream() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream("{\"x\":\"Test1\"}\n{\"x\":\"Test2\"}\n\n{\"x\":\"Test3\"}\n".getBytes());
+
+        // When
+        final List<String> results = readAll(serialiser.createStreamReader(stream, SimpleTestObject.class));
+
+        // Then
+        assertEquals(Arrays.asList("Test1", "Test2", "Test3"), results);
+    }
+
+    @Test
+    public void shouldReadNothingFromAnEmptyStream() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream(new byte[0]);
+
+        // When
+        final List<String> results = readAll(serialiser.createStreamReader(stream, SimpleTestObject.class));
+
+        // Then
+        assertTrue(results.isEmpty());
+    }
+
+    @Test(expected = SerialisationException.class)
+    public void shouldThrowExceptionWhenJsonArrayStreamIsTruncated() throws SerialisationException {
+        // Given
+        final InputStream stream = new ByteArrayInputStream("[{\"x\":\"Test1\"}, {\"x\":".getBytes());
+
+        // When / Then
+        readAll(serialiser.createStreamReader(stream, SimpleTestObject.class));
+    }
+
+    private static List<String> readAll(final JSONStreamReader<SimpleTestObject> reader) throws SerialisationException {
+        final List<String> results = new ArrayList<>();
+        try {
+            SimpleTestObject o;
+            while (null != (o = reader.read())) {
+                results.add(o.getX());
+            }
+        } finally {
+            reader.close();
+        }
+        return results;
+    }
 }
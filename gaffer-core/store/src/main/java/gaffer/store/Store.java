@@ -17,6 +17,7 @@
 package gaffer.store;
 
 import com.google.common.collect.Sets;
+import gaffer.data.CloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.IdentifierType;
 import gaffer.operation.data.EntitySeed;
@@ -28,6 +29,8 @@ import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
 import gaffer.operation.Validatable;
+import gaffer.operation.impl.Fork;
+import gaffer.operation.impl.Join;
 import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.generate.GenerateElements;
@@ -37,12 +40,16 @@ import gaffer.operation.impl.get.GetEdgesBySeed;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsSeed;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
+import gaffer.operation.impl.get.GetNHopNeighbours;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.serialisation.Serialisation;
+import gaffer.store.operation.handler.ForkHandler;
 import gaffer.store.operation.handler.GenerateElementsHandler;
 import gaffer.store.operation.handler.GenerateObjectsHandler;
+import gaffer.store.operation.handler.GetNHopNeighboursHandler;
+import gaffer.store.operation.handler.JoinHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.operation.handler.ValidateHandler;
 import gaffer.store.schema.StoreElementDefinition;
@@ -51,9 +58,12 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -122,6 +132,13 @@ public abstract class Store {
 
     /**
      * Executes a given operation chain and returns the result.
+     * Independent branches of the chain can be expressed with a {@link gaffer.operation.impl.Fork} operation,
+     * these are executed concurrently and can be joined back together using a {@link gaffer.operation.impl.Join}.
+     * <p/>
+     * Results are passed lazily between operations, so an {@link java.lang.Iterable} result is only read as the next
+     * operation consumes it. Any {@link java.io.Closeable} results passed between operations are closed if the chain
+     * fails, once the chain completes if the final result is not an {@link java.lang.Iterable}, or otherwise when the
+     * returned {@link gaffer.data.CloseableIterable} is closed or fully read.
      *
      * @param operationChain the operation chain to execute.
      * @param <OUTPUT>       the output type of the operation.
@@ -140,27 +157,52 @@ public abstract class Store {
             throw new IllegalArgumentException("Operation chain contains no operations");
         }
 
+        // Closeable results that have been passed to the next operation - these are closed when the chain completes
+        final List<Closeable> upstreamResults = new ArrayList<>();
         Object result = null;
         Operation op = opsItr.next();
-        while (null != op) {
-            result = handleOperation(op);
-
-            // Setup next operation seeds
-            if (opsItr.hasNext()) {
-                op = opsItr.next();
-                if (null != result && null == op.getInput()) {
-                    try {
-                        op.setInput(result);
-                    } catch (final ClassCastException e) {
-                        throw new UnsupportedOperationException("Operation chain is not compatible. "
-                                + op.getClass().getName() + " cannot take " + result.getClass().getName() + " as an input");
+        try {
+            while (null != op) {
+                result = handleOperation(op);
+
+                // Setup next operation seeds
+                if (opsItr.hasNext()) {
+                    op = opsItr.next();
+                    if (null != result && null == op.getInput()) {
+                        try {
+                            op.setInput(result);
+                        } catch (final ClassCastException e) {
+                            throw new UnsupportedOperationException("Operation chain is not compatible. "
+                                    + op.getClass().getName() + " cannot take " + result.getClass().getName() + " as an input");
+                        }
+                        if (result instanceof Closeable) {
+                            upstreamResults.add((Closeable) result);
+                        }
+                    } else if (result instanceof Closeable) {
+                        // The result is not used by the next operation
+                        close((Closeable) result);
                     }
+                } else {
+                    op = null;
                 }
-            } else {
-                op = null;
             }
+        } catch (final OperationException | RuntimeException e) {
+            close(upstreamResults);
+            if (result instanceof Closeable && !upstreamResults.contains(result)) {
+                close((Closeable) result);
+            }
+            throw e;
         }
 
+        if (upstreamResults.isEmpty()) {
+            return (OUTPUT) result;
+        }
+
+        if (result instanceof Iterable) {
+            return (OUTPUT) new ChainedResultIterable<>((Iterable<?>) result, upstreamResults);
+        }
+
+        close(upstreamResults);
         return (OUTPUT) result;
     }
 
@@ -292,6 +334,18 @@ public abstract class Store {
      */
     protected abstract OperationHandler<? extends GetAdjacentEntitySeeds, Iterable<EntitySeed>> getAdjacentEntitySeedsHandler();
 
+    /**
+     * Get this Stores implementation of the handler for {@link gaffer.operation.impl.get.GetNHopNeighbours}.
+     * By default the neighbours are found using the store's handler for
+     * {@link gaffer.operation.impl.get.GetAdjacentEntitySeeds}, one batch at a time. Stores can override this to
+     * provide a more efficient implementation.
+     *
+     * @return the implementation of the handler for {@link gaffer.operation.impl.get.GetNHopNeighbours}
+     */
+    protected OperationHandler<? extends GetNHopNeighbours, Iterable<EntitySeed>> getNHopNeighboursHandler() {
+        return new GetNHopNeighboursHandler();
+    }
+
     /**
      * Get this Stores implementation of the handler for {@link gaffer.operation.impl.add.AddElements}. All Stores must implement this.
      *
@@ -333,6 +387,37 @@ public abstract class Store {
         return result;
     }
 
+    /**
+     * Closes the store, releasing the resources held by its operation handlers, such as thread pools. Stores that
+     * hold their own resources should override this and call <code>super.close()</code>.
+     */
+    public void close() {
+        // A handler can be registered for several operations, so only close each one once
+        for (final OperationHandler handler : new HashSet<>(operationHandlers.values())) {
+            if (handler instanceof Closeable) {
+                try {
+                    ((Closeable) handler).close();
+                } catch (final IOException | RuntimeException e) {
+                    LOGGER.warn("Failed to close operation handler: " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+
+    private static void close(final List<Closeable> closeables) {
+        for (final Closeable closeable : closeables) {
+            close(closeable);
+        }
+    }
+
+    private static void close(final Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Failed to close operation result: " + e.getMessage(), e);
+        }
+    }
+
     private void addOpHandlers() {
         addCoreOpHandlers();
         addAdditionalOperationHandlers();
@@ -342,6 +427,8 @@ public abstract class Store {
         addOperationHandler(GenerateElements.class, new GenerateElementsHandler<>());
         addOperationHandler(GenerateObjects.class, new GenerateObjectsHandler<>());
         addOperationHandler(Validate.class, new ValidateHandler());
+        addOperationHandler(Fork.class, (OperationHandler) new ForkHandler(getProperties().getForkThreads()));
+        addOperationHandler(Join.class, (OperationHandler) new JoinHandler());
 
         // Add elements
         addOperationHandler(AddElements.class, getAddElementsHandler());
@@ -356,6 +443,7 @@ public abstract class Store {
         addOperationHandler(GetRelatedEdges.class, (OperationHandler) getGetElementsHandler());
 
         addOperationHandler(GetAdjacentEntitySeeds.class, (OperationHandler) getAdjacentEntitySeedsHandler());
+        addOperationHandler(GetNHopNeighbours.class, (OperationHandler) getNHopNeighboursHandler());
     }
 
     private List<Operation> getValidatedOperations(final OperationChain<?> operationChain) {
@@ -396,4 +484,51 @@ public abstract class Store {
 
         return false;
     }
+
+    /**
+     * Wraps the final result of an operation chain so the results passed between the operations in the chain are
+     * closed when the final result is closed or when it has been read to the end.
+     */
+    private static final class ChainedResultIterable<T> implements CloseableIterable<T> {
+        private final Iterable<T> result;
+        private final List<Closeable> upstreamResults;
+
+        private ChainedResultIterable(final Iterable<T> result, final List<Closeable> upstreamResults) {
+            this.result = result;
+            this.upstreamResults = upstreamResults;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            final Iterator<T> itr = result.iterator();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    final boolean hasNext = itr.hasNext();
+                    if (!hasNext) {
+                        Store.close(upstreamResults);
+                    }
+                    return hasNext;
+                }
+
+                @Override
+                public T next() {
+                    return itr.next();
+                }
+
+                @Override
+                public void remove() {
+                    itr.remove();
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            if (result instanceof Closeable) {
+                Store.close((Closeable) result);
+            }
+            Store.close(upstreamResults);
+        }
+    }
 }
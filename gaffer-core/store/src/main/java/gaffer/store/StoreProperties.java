@@ -33,6 +33,8 @@ public class StoreProperties {
     public static final String STORE_CLASS = "gaffer.store.class";
     public static final String STORE_SCHEMA_CLASS = "gaffer.store.schema.class";
     public static final String STORE_PROPERTIES_CLASS = "gaffer.store.properties.class";
+    public static final String FORK_THREADS = "gaffer.store.fork.threads";
+    public static final String FORK_THREADS_DEFAULT = "10";
 
     private Path propFileLocation;
     private Properties props;
@@ -130,6 +132,18 @@ public class StoreProperties {
         set(STORE_PROPERTIES_CLASS, storePropertiesClass);
     }
 
+    /**
+     * @return the maximum number of threads used to execute the branches of
+     * {@link gaffer.operation.impl.Fork} operations concurrently.
+     */
+    public int getForkThreads() {
+        return Integer.parseInt(get(FORK_THREADS, FORK_THREADS_DEFAULT));
+    }
+
+    public void setForkThreads(final String forkThreads) {
+        set(FORK_THREADS, forkThreads);
+    }
+
     public void setProperties(final Properties properties) {
         this.props = properties;
         propFileLocation = null;
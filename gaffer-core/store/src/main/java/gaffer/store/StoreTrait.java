@@ -33,6 +33,12 @@ public enum StoreTrait {
      */
     FILTERING,
 
+    /**
+     * {@link gaffer.data.element.Element}s can be retrieved for ranges of seeds in a single query, e.g. all the
+     * elements with a vertex between two values, rather than by looking up every seed in the range.
+     */
+    RANGE_QUERIES,
+
     /**
      * {@link gaffer.data.element.Element} {@link gaffer.data.element.Properties} are transformed using
      * {@link gaffer.function.TransformFunction}s defined in a {@link gaffer.data.elementdefinition.view.View}.
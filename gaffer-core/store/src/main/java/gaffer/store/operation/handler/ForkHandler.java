@@ -0,0 +1,235 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler;
+
+import com.google.common.collect.Lists;
+import gaffer.operation.Operation;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.Fork;
+import gaffer.store.Store;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>ForkHandler</code> handles {@link gaffer.operation.impl.Fork} operations. Each branch is executed using
+ * {@link gaffer.store.Store#execute(gaffer.operation.OperationChain)}, so the branches are handled by the same
+ * registered {@link gaffer.store.operation.handler.OperationHandler}s as any other chain.
+ * <p/>
+ * The branches are executed concurrently on a bounded pool of daemon threads that is shared by all forks run on
+ * the store. The last branch is always executed on the calling thread and if all of the pool threads are busy a
+ * branch is also run on the calling thread rather than being queued, so nested forks cannot deadlock waiting for
+ * threads.
+ * <p/>
+ * If more than one branch requires the input and it is not a {@link java.util.Collection} it is copied into a list
+ * first, as iterables returned by stores are not safe to iterate concurrently. If a branch fails, the other branches
+ * are cancelled and any {@link java.io.Closeable} results of completed branches are closed.
+ * <p/>
+ * Stores generally return lazy iterables that only query the store when they are iterated, so an iterable branch
+ * result that is not a {@link java.util.Collection} is copied into a list by the thread that executed the branch.
+ * This means the branch queries really are run concurrently, but the results of every branch are held in memory.
+ */
+public class ForkHandler implements OperationHandler<Fork<Object>, List<Object>>, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ForkHandler.class);
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 60L;
+
+    private final int maxThreads;
+    private ThreadPoolExecutor executor;
+
+    /**
+     * @param maxThreads the maximum number of threads used to execute branches. If this is less than 1 the
+     *                   branches are executed one at a time on the calling thread.
+     */
+    public ForkHandler(final int maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    @Override
+    public List<Object> doOperation(final Fork<Object> fork, final Store store) throws OperationException {
+        final List<OperationChain<?>> branches = fork.getBranches();
+        final Object input = getBranchInput(fork.getInput(), branches);
+
+        final List<FutureTask<Object>> tasks = new ArrayList<>(branches.size());
+        for (final OperationChain<?> branch : branches) {
+            tasks.add(new FutureTask<>(new BranchTask(branch, input, store)));
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            if (maxThreads < 1 || i == tasks.size() - 1) {
+                tasks.get(i).run();
+            } else {
+                getExecutor().execute(tasks.get(i));
+            }
+        }
+
+        final List<Object> results = new ArrayList<>(tasks.size());
+        try {
+            for (final FutureTask<Object> task : tasks) {
+                results.add(task.get());
+            }
+        } catch (final InterruptedException e) {
+            cancel(tasks);
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted whilst waiting for fork branches to complete", e);
+        } catch (final ExecutionException e) {
+            cancel(tasks);
+            if (e.getCause() instanceof OperationException) {
+                throw (OperationException) e.getCause();
+            }
+            throw new OperationException("Failed to execute fork branch: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        return results;
+    }
+
+    private Object getBranchInput(final Object input, final List<OperationChain<?>> branches) {
+        if (null == input || input instanceof Collection || !(input instanceof Iterable)) {
+            return input;
+        }
+
+        int branchesRequiringInput = 0;
+        for (final OperationChain<?> branch : branches) {
+            if (null == getFirstOperation(branch).getInput()) {
+                branchesRequiringInput++;
+            }
+        }
+
+        return branchesRequiringInput > 1 ? Lists.newArrayList((Iterable) input) : input;
+    }
+
+    private static Operation getFirstOperation(final OperationChain<?> branch) {
+        if (null == branch.getOperations() || branch.getOperations().isEmpty()) {
+            throw new IllegalArgumentException("Fork branches must contain at least one operation");
+        }
+
+        return branch.getOperations().get(0);
+    }
+
+    private static void cancel(final List<FutureTask<Object>> tasks) {
+        for (final FutureTask<Object> task : tasks) {
+            // If the task could not be cancelled it has already completed so its result needs closing
+            if (!task.cancel(true)) {
+                close(task);
+            }
+        }
+    }
+
+    private static void close(final FutureTask<Object> task) {
+        try {
+            final Object result = task.get();
+            if (result instanceof Closeable) {
+                ((Closeable) result).close();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException | IOException e) {
+            LOGGER.debug("Fork branch result could not be closed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Shuts down the thread pool used to execute the branches.
+     */
+    @Override
+    public synchronized void close() {
+        if (null != executor) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private synchronized ThreadPoolExecutor getExecutor() {
+        if (null == executor) {
+            executor = new ThreadPoolExecutor(0, maxThreads, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new SynchronousQueue<Runnable>(), new DaemonThreadFactory(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+
+        return executor;
+    }
+
+    private static final class BranchTask implements Callable<Object> {
+        private final OperationChain<?> branch;
+        private final Object input;
+        private final Store store;
+
+        private BranchTask(final OperationChain<?> branch, final Object input, final Store store) {
+            this.branch = branch;
+            this.input = input;
+            this.store = store;
+        }
+
+        @Override
+        public Object call() throws OperationException {
+            final Operation first = getFirstOperation(branch);
+            if (null != input && null == first.getInput()) {
+                try {
+                    first.setInput(input);
+                } catch (final ClassCastException e) {
+                    throw new UnsupportedOperationException("Fork branch is not compatible. "
+                            + first.getClass().getName() + " cannot take " + input.getClass().getName() + " as an input");
+                }
+            }
+
+            return materialise(store.execute(branch));
+        }
+
+        private static Object materialise(final Object result) {
+            if (!(result instanceof Iterable) || result instanceof Collection) {
+                return result;
+            }
+
+            try {
+                return Lists.newArrayList((Iterable<?>) result);
+            } finally {
+                if (result instanceof Closeable) {
+                    try {
+                        ((Closeable) result).close();
+                    } catch (final IOException e) {
+                        LOGGER.debug("Fork branch result could not be closed: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = delegate.newThread(runnable);
+            thread.setName("gaffer-fork-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler;
+
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetNHopNeighbours;
+import gaffer.store.Store;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A <code>GetNHopNeighboursHandler</code> handles {@link gaffer.operation.impl.get.GetNHopNeighbours} operations by
+ * looking up the adjacent vertices of the frontier in batches using
+ * {@link gaffer.operation.impl.get.GetAdjacentEntitySeeds} operations.
+ * <p/>
+ * The handler keeps the lowest hop each vertex has been reached at, so each vertex is only added to the frontier once
+ * per hop and vertices reached by many paths are not looked up again. A batch of the next hop is looked up as soon as
+ * enough new vertices have been found for it, so the hops are pipelined rather than each hop waiting for the
+ * previous one to finish. If a vertex is later reached at a lower hop it is expanded again from that hop, so the
+ * result is the same as a hop by hop traversal. As the vertices of a hop can still move to a lower hop while batches
+ * of lower hops are in flight, the maximum frontier size is only checked for a hop once all the lower hops have been
+ * looked up.
+ * <p/>
+ * The batches are executed on a pool of daemon threads that is shared by all the operations handled by this handler
+ * and shut down when the handler is closed. If the maximum number of threads is less than 1 the batches are executed
+ * one at a time on the calling thread.
+ */
+public class GetNHopNeighboursHandler implements OperationHandler<GetNHopNeighbours, Iterable<EntitySeed>>, Closeable {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final long THREAD_KEEP_ALIVE_SECONDS = 60L;
+
+    private final int batchSize;
+    private final int maxThreads;
+    private ThreadPoolExecutor executor;
+
+    public GetNHopNeighboursHandler() {
+        this(DEFAULT_BATCH_SIZE, 0);
+    }
+
+    /**
+     * @param batchSize  the maximum number of vertices to look up in a single
+     *                   {@link gaffer.operation.impl.get.GetAdjacentEntitySeeds} operation.
+     * @param maxThreads the maximum number of batches to look up concurrently. If this is less than 1 the batches
+     *                   are looked up one at a time on the calling thread.
+     */
+    public GetNHopNeighboursHandler(final int batchSize, final int maxThreads) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+        this.batchSize = batchSize;
+        this.maxThreads = maxThreads;
+    }
+
+    @Override
+    public Iterable<EntitySeed> doOperation(final GetNHopNeighbours operation, final Store store) throws OperationException {
+        return new Traversal(operation, store).run();
+    }
+
+    /**
+     * Looks up the vertices adjacent to a batch of the frontier. Stores can override this to avoid the overhead of
+     * executing an {@link gaffer.operation.OperationChain} for each batch.
+     *
+     * @param operation the operation for the batch, containing the frontier vertices as seeds and the view for the hop.
+     * @param store     the store to look up the vertices in
+     * @return the adjacent vertices
+     * @throws OperationException if the vertices could not be looked up
+     */
+    protected Iterable<EntitySeed> getAdjacentEntitySeeds(final GetAdjacentEntitySeeds operation, final Store store) throws OperationException {
+        return store.execute(new OperationChain<>(operation));
+    }
+
+    /**
+     * Shuts down the thread pool used to look up the batches.
+     */
+    @Override
+    public synchronized void close() {
+        if (null != executor) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private synchronized Executor getExecutor() {
+        if (maxThreads < 1) {
+            return new Executor() {
+                @Override
+                public void execute(final Runnable command) {
+                    command.run();
+                }
+            };
+        }
+
+        if (null == executor) {
+            executor = new ThreadPoolExecutor(maxThreads, maxThreads, THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new DaemonThreadFactory());
+            executor.allowCoreThreadTimeOut(true);
+        }
+
+        return executor;
+    }
+
+    /**
+     * The state of a single traversal. It is only modified by the calling thread - the batch tasks only look up the
+     * adjacent vertices.
+     */
+    private final class Traversal {
+        private final GetNHopNeighbours operation;
+        private final Store store;
+        private final int numHops;
+        private final int maxInFlight;
+        private final CompletionService<BatchResult> completionService;
+
+        private final Map<Object, Integer> hops = new LinkedHashMap<>();
+        private final int[] hopSizes;
+        private final int[] hopBatchesInFlight;
+        private final List<List<EntitySeed>> frontiers;
+        private final List<Future<BatchResult>> inFlight = new ArrayList<>();
+        private int nextHopToCheck;
+
+        private Traversal(final GetNHopNeighbours operation, final Store store) {
+            this.operation = operation;
+            this.store = store;
+            this.numHops = operation.getNumHops();
+            this.maxInFlight = Math.max(1, maxThreads);
+            this.completionService = new ExecutorCompletionService<>(getExecutor());
+
+            hopSizes = new int[numHops + 1];
+            hopBatchesInFlight = new int[numHops];
+            frontiers = new ArrayList<>(numHops);
+            for (int i = 0; i < numHops; i++) {
+                frontiers.add(new ArrayList<EntitySeed>());
+            }
+        }
+
+        private Iterable<EntitySeed> run() throws OperationException {
+            if (null != operation.getSeeds()) {
+                for (final EntitySeed seed : operation.getSeeds()) {
+                    visit(seed.getVertex(), 0);
+                }
+            }
+
+            try {
+                while (true) {
+                    checkCompletedHops();
+                    submitFullBatches();
+                    if (inFlight.isEmpty() && !submitPartialBatch()) {
+                        break;
+                    }
+
+                    final BatchResult result = takeResult();
+                    hopBatchesInFlight[result.hop]--;
+                    for (final EntitySeed adjacent : result.adjacentSeeds) {
+                        visit(adjacent.getVertex(), result.hop + 1);
+                    }
+                }
+                checkCompletedHops();
+            } catch (final OperationException | RuntimeException e) {
+                for (final Future<BatchResult> future : inFlight) {
+                    future.cancel(true);
+                }
+                throw e;
+            }
+
+            final List<EntitySeed> neighbours = new ArrayList<>();
+            for (final Map.Entry<Object, Integer> entry : hops.entrySet()) {
+                if (entry.getValue() > 0) {
+                    neighbours.add(new EntitySeed(entry.getKey()));
+                }
+            }
+
+            return neighbours;
+        }
+
+        private void visit(final Object vertex, final int hop) {
+            final Integer previousHop = hops.get(vertex);
+            if (null != previousHop && previousHop <= hop) {
+                return;
+            }
+
+            hops.put(vertex, hop);
+            if (null != previousHop) {
+                hopSizes[previousHop]--;
+            }
+            hopSizes[hop]++;
+
+            if (hop < numHops) {
+                frontiers.get(hop).add(new EntitySeed(vertex));
+            }
+        }
+
+        /**
+         * Checks the size of each hop that can no longer change. A hop is complete once every lower hop is complete
+         * and has no vertices waiting to be looked up or batches in flight, as only those batches can reach a vertex
+         * at this hop or at a lower one.
+         */
+        private void checkCompletedHops() throws OperationException {
+            while (nextHopToCheck <= numHops) {
+                final int previousHop = nextHopToCheck - 1;
+                if (previousHop >= 0 && (hopBatchesInFlight[previousHop] > 0 || !frontiers.get(previousHop).isEmpty())) {
+                    return;
+                }
+
+                if (hopSizes[nextHopToCheck] > operation.getMaxFrontierSize()) {
+                    throw new OperationException("The number of vertices reached at hop " + nextHopToCheck
+                            + " exceeded the maximum frontier size of " + operation.getMaxFrontierSize());
+                }
+                nextHopToCheck++;
+            }
+        }
+
+        private void submitFullBatches() {
+            for (int hop = 0; hop < numHops && inFlight.size() < maxInFlight; hop++) {
+                final List<EntitySeed> frontier = frontiers.get(hop);
+                while (frontier.size() >= batchSize && inFlight.size() < maxInFlight) {
+                    final List<EntitySeed> batch = new ArrayList<>(frontier.subList(frontier.size() - batchSize, frontier.size()));
+                    frontier.subList(frontier.size() - batchSize, frontier.size()).clear();
+                    submit(hop, batch);
+                }
+            }
+        }
+
+        private boolean submitPartialBatch() {
+            for (int hop = 0; hop < numHops; hop++) {
+                final List<EntitySeed> frontier = frontiers.get(hop);
+                if (!frontier.isEmpty()) {
+                    frontiers.set(hop, new ArrayList<EntitySeed>());
+                    submit(hop, frontier);
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        private void submit(final int hop, final List<EntitySeed> batch) {
+            final GetAdjacentEntitySeeds batchOperation = new GetAdjacentEntitySeeds(operation.getHopView(hop), batch);
+            batchOperation.setOptions(new HashMap<>(operation.getOptions()));
+            batchOperation.setIncludeEdges(operation.getIncludeEdges());
+            batchOperation.setIncludeIncomingOutGoing(operation.getIncludeIncomingOutGoing());
+            hopBatchesInFlight[hop]++;
+            inFlight.add(completionService.submit(new BatchTask(hop, batchOperation, store)));
+        }
+
+        private BatchResult takeResult() throws OperationException {
+            final Future<BatchResult> future;
+            try {
+                future = completionService.take();
+                inFlight.remove(future);
+                return future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationException("Interrupted whilst waiting for adjacent entity seeds", e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof OperationException) {
+                    throw (OperationException) e.getCause();
+                }
+                throw new OperationException("Failed to get adjacent entity seeds: " + e.getCause().getMessage(), e.getCause());
+            }
+        }
+    }
+
+    private final class BatchTask implements Callable<BatchResult> {
+        private final int hop;
+        private final GetAdjacentEntitySeeds operation;
+        private final Store store;
+
+        private BatchTask(final int hop, final GetAdjacentEntitySeeds operation, final Store store) {
+            this.hop = hop;
+            this.operation = operation;
+            this.store = store;
+        }
+
+        @Override
+        public BatchResult call() throws OperationException, IOException {
+            final Iterable<EntitySeed> adjacentSeeds = getAdjacentEntitySeeds(operation, store);
+            final List<EntitySeed> results = new ArrayList<>();
+            try {
+                if (null != adjacentSeeds) {
+                    for (final EntitySeed adjacentSeed : adjacentSeeds) {
+                        results.add(adjacentSeed);
+                    }
+                }
+            } finally {
+                if (adjacentSeeds instanceof Closeable) {
+                    ((Closeable) adjacentSeeds).close();
+                }
+            }
+
+            return new BatchResult(hop, results);
+        }
+    }
+
+    private static final class BatchResult {
+        private final int hop;
+        private final List<EntitySeed> adjacentSeeds;
+
+        private BatchResult(final int hop, final List<EntitySeed> adjacentSeeds) {
+            this.hop = hop;
+            this.adjacentSeeds = adjacentSeeds;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = delegate.newThread(runnable);
+            thread.setName("gaffer-nhop-" + thread.getName());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.store.operation.handler;
+
+import com.google.common.collect.Iterables;
+import gaffer.data.CloseableIterable;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.Join;
+import gaffer.store.Store;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A <code>JoinHandler</code> handles {@link gaffer.operation.impl.Join} operations. The results of each branch are
+ * lazily concatenated so they are not copied into a new collection. Closing the joined
+ * {@link gaffer.data.CloseableIterable} closes any {@link java.io.Closeable} branch results.
+ */
+public class JoinHandler implements OperationHandler<Join<Object>, Iterable<Object>> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JoinHandler.class);
+
+    @Override
+    public Iterable<Object> doOperation(final Join<Object> operation, final Store store) throws OperationException {
+        final List<Object> results = operation.getResults();
+        if (null == results) {
+            return Collections.emptyList();
+        }
+
+        final List<Iterable<?>> iterables = new ArrayList<>(results.size());
+        for (final Object result : results) {
+            if (result instanceof Iterable) {
+                iterables.add((Iterable<?>) result);
+            } else if (null != result) {
+                iterables.add(Collections.singletonList(result));
+            }
+        }
+
+        return new JoinedIterable(iterables);
+    }
+
+    private static final class JoinedIterable implements CloseableIterable<Object> {
+        private final List<Iterable<?>> iterables;
+
+        private JoinedIterable(final List<Iterable<?>> iterables) {
+            this.iterables = iterables;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return Iterables.<Object>concat(iterables).iterator();
+        }
+
+        @Override
+        public void close() {
+            for (final Iterable<?> iterable : iterables) {
+                if (iterable instanceof Closeable) {
+                    try {
+                        ((Closeable) iterable).close();
+                    } catch (final IOException e) {
+                        LOGGER.warn("Failed to close joined result: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+    }
+}
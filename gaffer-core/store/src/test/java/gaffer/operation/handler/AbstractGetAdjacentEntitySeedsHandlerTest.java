@@ -85,6 +85,27 @@ public abstract class AbstractGetAdjacentEntitySeedsHandlerTest {
         shouldGetEntitySeeds(expectedSeeds, GetOperation.IncludeIncomingOutgoingType.INCOMING);
     }
 
+    @Test
+    public void shouldGetEachEntitySeedOnceForBothDirectionsWhenDeduplicating() throws Exception {
+        // Given
+        final Store mockStore = createMockStore();
+        final GetAdjacentEntitySeeds operation = createMockOperation(GetOperation.IncludeIncomingOutgoingType.BOTH);
+        given(operation.isDeduplicate()).willReturn(true);
+        addEdges(getEdges(), mockStore);
+
+        // When
+        final Iterable<EntitySeed> results = createHandler().doOperation(operation, mockStore);
+
+        // Then
+        final List<String> resultSeeds = new ArrayList<>();
+        for (final EntitySeed result : results) {
+            resultSeeds.add((String) result.getVertex());
+        }
+        Collections.sort(resultSeeds);
+        assertArrayEquals(new String[]{"1", "adj2", "dest1", "dest3", "destDir1", "destDir3", "dirAdj2",
+                "source2", "source3", "sourceDir2", "sourceDir3"}, resultSeeds.toArray());
+    }
+
     protected abstract Store createMockStore();
 
     protected abstract String getEdgeGroup();
@@ -16,9 +16,11 @@
 
 package gaffer.store;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import gaffer.commonutil.TestGroups;
 import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.CloseableIterable;
 import gaffer.data.element.Element;
 import gaffer.data.element.IdentifierType;
 import gaffer.data.elementdefinition.schema.DataEdgeDefinition;
@@ -27,9 +29,13 @@ import gaffer.data.elementdefinition.schema.DataSchema;
 import gaffer.data.elementdefinition.schema.exception.SchemaException;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
 import gaffer.operation.Validatable;
 import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
+import gaffer.operation.data.generator.EntitySeedExtractor;
+import gaffer.operation.impl.Fork;
+import gaffer.operation.impl.Join;
 import gaffer.operation.impl.Validate;
 import gaffer.operation.impl.add.AddElements;
 import gaffer.operation.impl.generate.GenerateElements;
@@ -39,11 +45,15 @@ import gaffer.operation.impl.get.GetEdgesBySeed;
 import gaffer.operation.impl.get.GetElements;
 import gaffer.operation.impl.get.GetElementsSeed;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
+import gaffer.operation.impl.get.GetNHopNeighbours;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.serialisation.implementation.JavaSerialiser;
+import gaffer.store.operation.handler.ForkHandler;
 import gaffer.store.operation.handler.GenerateElementsHandler;
 import gaffer.store.operation.handler.GenerateObjectsHandler;
+import gaffer.store.operation.handler.GetNHopNeighboursHandler;
+import gaffer.store.operation.handler.JoinHandler;
 import gaffer.store.operation.handler.OperationHandler;
 import gaffer.store.schema.StoreElementDefinition;
 import gaffer.store.schema.StorePropertyDefinition;
@@ -52,13 +62,20 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static gaffer.store.StoreTrait.AGGREGATION;
 import static gaffer.store.StoreTrait.FILTERING;
@@ -73,6 +90,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.withSettings;
 
 public class StoreTest {
     private OperationHandler<AddElements, Void> addElementsHandler;
@@ -189,6 +207,9 @@ public class StoreTest {
 
         assertTrue(store.getOperationHandlerExposed(GenerateElements.class) instanceof GenerateElementsHandler);
         assertTrue(store.getOperationHandlerExposed(GenerateObjects.class) instanceof GenerateObjectsHandler);
+        assertTrue(store.getOperationHandlerExposed(Fork.class) instanceof ForkHandler);
+        assertTrue(store.getOperationHandlerExposed(Join.class) instanceof JoinHandler);
+        assertTrue(store.getOperationHandlerExposed(GetNHopNeighbours.class) instanceof GetNHopNeighboursHandler);
 
         assertEquals(1, store.getCreateOperationHandlersCallCount());
         assertSame(dataSchema, store.getDataSchema());
@@ -196,6 +217,20 @@ public class StoreTest {
         assertSame(properties, store.getProperties());
     }
 
+    @Test
+    public void shouldCloseCloseableOperationHandlersWhenClosed() throws StoreException, IOException {
+        // Given
+        addElementsHandler = mock(OperationHandler.class, withSettings().extraInterfaces(Closeable.class));
+        final StoreImpl store = new StoreImpl();
+        store.initialise(dataSchema, storeSchema, mock(StoreProperties.class));
+
+        // When
+        store.close();
+
+        // Then
+        verify((Closeable) addElementsHandler).close();
+    }
+
     @Test
     public void shouldThrowAnExceptionWhenValidatingSchemasWhereDataSchemaContainsOneLessEdgeThanStoreSchema() {
         // Given
@@ -430,6 +465,147 @@ public class StoreTest {
     }
 
     @Test
+    public void shouldExecuteForkBranchesConcurrentlyAndJoinResults() throws Exception {
+        // Given
+        final DataSchema dataSchema = mock(DataSchema.class);
+        final StoreSchema storeSchema = mock(StoreSchema.class);
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final List<ElementSeed> seeds = Arrays.asList((ElementSeed) new EntitySeed("vertex"));
+        final Element element1 = mock(Element.class);
+        final Element element2 = mock(Element.class);
+        final CountDownLatch branchesStarted = new CountDownLatch(2);
+
+        final GetElementsSeed<ElementSeed, Element> getElementsSeed = new GetElementsSeed<>();
+        final GetRelatedElements<ElementSeed, Element> getRelatedElements = new GetRelatedElements<>();
+        final OperationChain<Iterable<Element>> opChain = new OperationChain.Builder()
+                .first(new Fork.Builder<Iterable<ElementSeed>>()
+                        .input(seeds)
+                        .branch(new OperationChain<>(getElementsSeed))
+                        .branch(new OperationChain<>(getRelatedElements))
+                        .build())
+                .then(new Join<Element>())
+                .build();
+
+        given(properties.getForkThreads()).willReturn(2);
+        given(getElementsHandler.doOperation(getElementsSeed, store)).willAnswer(awaitBranches(branchesStarted, element1));
+        given(getElementsHandler.doOperation(getRelatedElements, store)).willAnswer(awaitBranches(branchesStarted, element2));
+
+        store.initialise(dataSchema, storeSchema, properties);
+
+        // When
+        final Iterable<Element> result = store.execute(opChain);
+
+        // Then
+        assertEquals(Arrays.asList(element1, element2), Lists.newArrayList(result));
+        assertSame(seeds, getElementsSeed.getSeeds());
+        assertSame(seeds, getRelatedElements.getSeeds());
+    }
+
+    @Test
+    public void shouldReadLazyForkBranchResultsConcurrently() throws Exception {
+        // Given
+        final DataSchema dataSchema = mock(DataSchema.class);
+        final StoreSchema storeSchema = mock(StoreSchema.class);
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final List<ElementSeed> seeds = Arrays.asList((ElementSeed) new EntitySeed("vertex"));
+        final Element element1 = mock(Element.class);
+        final Element element2 = mock(Element.class);
+        final CountDownLatch branchesRead = new CountDownLatch(2);
+
+        final GetElementsSeed<ElementSeed, Element> getElementsSeed = new GetElementsSeed<>();
+        final GetRelatedElements<ElementSeed, Element> getRelatedElements = new GetRelatedElements<>();
+        final OperationChain<Iterable<Element>> opChain = new OperationChain.Builder()
+                .first(new Fork.Builder<Iterable<ElementSeed>>()
+                        .input(seeds)
+                        .branch(new OperationChain<>(getElementsSeed))
+                        .branch(new OperationChain<>(getRelatedElements))
+                        .build())
+                .then(new Join<Element>())
+                .build();
+
+        given(properties.getForkThreads()).willReturn(2);
+        given(getElementsHandler.doOperation(getElementsSeed, store)).willReturn(awaitBranchesWhenRead(branchesRead, element1));
+        given(getElementsHandler.doOperation(getRelatedElements, store)).willReturn(awaitBranchesWhenRead(branchesRead, element2));
+
+        store.initialise(dataSchema, storeSchema, properties);
+
+        // When
+        final Iterable<Element> result = store.execute(opChain);
+
+        // Then
+        assertEquals(Arrays.asList(element1, element2), Lists.newArrayList(result));
+    }
+
+        @Test
+    public void shouldCloseUpstreamResultWhenDownstreamOperationFails() throws Exception {
+        // Given
+        final DataSchema dataSchema = mock(DataSchema.class);
+        final StoreSchema storeSchema = mock(StoreSchema.class);
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final CloseableIterable<Element> getElementsResult = mock(CloseableIterable.class);
+
+        final GetElementsSeed<ElementSeed, Element> getElementsSeed = new GetElementsSeed<>();
+        final AddElements addElements = new AddElements();
+        addElements.setValidate(false);
+        final OperationChain<Void> opChain = new OperationChain.Builder()
+                .first(getElementsSeed)
+                .then(addElements)
+                .build();
+
+        given(getElementsHandler.doOperation(getElementsSeed, store)).willReturn(getElementsResult);
+        given(addElementsHandler.doOperation(addElements, store)).willThrow(new OperationException("add failed"));
+
+        store.initialise(dataSchema, storeSchema, properties);
+
+        // When
+        try {
+            store.execute(opChain);
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("add failed", e.getMessage());
+        }
+
+        // Then
+        verify(getElementsResult).close();
+    }
+
+    @Test
+    public void shouldCloseUpstreamResultWhenChainResultHasBeenRead() throws Exception {
+        // Given
+        final DataSchema dataSchema = mock(DataSchema.class);
+        final StoreSchema storeSchema = mock(StoreSchema.class);
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final CloseableIterable<Element> getElementsResult = mock(CloseableIterable.class);
+        final Element element = mock(Element.class);
+
+        final GetElementsSeed<ElementSeed, Element> getElementsSeed = new GetElementsSeed<>();
+        final GetRelatedElements<EntitySeed, Element> getRelatedElements = new GetRelatedElements<>();
+        final OperationChain<Iterable<Element>> opChain = new OperationChain.Builder()
+                .first(getElementsSeed)
+                .then(new GenerateObjects<>(new EntitySeedExtractor()))
+                .then(getRelatedElements)
+                .build();
+
+        given(getElementsHandler.doOperation(getElementsSeed, store)).willReturn(getElementsResult);
+        given(getElementsHandler.doOperation((GetElements) getRelatedElements, store)).willReturn(Arrays.asList(element));
+
+        store.initialise(dataSchema, storeSchema, properties);
+
+        // When
+        final Iterable<Element> result = store.execute(opChain);
+
+        // Then
+        assertTrue(result instanceof CloseableIterable);
+        verify(getElementsResult, Mockito.never()).close();
+        assertEquals(Arrays.asList(element), Lists.newArrayList(result));
+        verify(getElementsResult, Mockito.atLeastOnce()).close();
+    }
+
+        @Test
     public void shouldAddValidateOperationForValidatableOperation() throws Exception {
         // Given
         final DataSchema dataSchema = mock(DataSchema.class);
@@ -574,6 +750,78 @@ public class StoreTest {
         Assert.assertEquals(expectedResult, result);
     }
 
+    @Test
+    public void shouldGetNHopNeighboursUsingAdjacentEntitySeedsHandler() throws Exception {
+        // Given
+        final StoreProperties properties = mock(StoreProperties.class);
+        final StoreImpl store = new StoreImpl();
+        final Map<Object, List<Object>> graph = new HashMap<>();
+        graph.put("A", Arrays.<Object>asList("B", "C"));
+        graph.put("B", Arrays.<Object>asList("A", "D"));
+        graph.put("C", Arrays.<Object>asList("A", "D"));
+        graph.put("D", Arrays.<Object>asList("B", "C", "E"));
+        graph.put("E", Arrays.<Object>asList("D"));
+        final List<Iterable<EntitySeed>> lookups = new ArrayList<>();
+        given(getAdjacentEntitySeedsHandler.doOperation(Mockito.any(GetAdjacentEntitySeeds.class), Mockito.eq(store)))
+                .willAnswer(new Answer<Iterable<EntitySeed>>() {
+                    @Override
+                    public Iterable<EntitySeed> answer(final InvocationOnMock invocation) throws Throwable {
+                        final GetAdjacentEntitySeeds op = (GetAdjacentEntitySeeds) invocation.getArguments()[0];
+                        lookups.add(op.getSeeds());
+                        final List<EntitySeed> adjacent = new ArrayList<>();
+                        for (final EntitySeed seed : op.getSeeds()) {
+                            for (final Object vertex : graph.get(seed.getVertex())) {
+                                adjacent.add(new EntitySeed(vertex));
+                            }
+                        }
+                        return adjacent;
+                    }
+                });
+        store.initialise(dataSchema, storeSchema, properties);
+
+        final GetNHopNeighbours getNHopNeighbours = new GetNHopNeighbours.Builder()
+                .addSeed(new EntitySeed("A"))
+                .numHops(2)
+                .build();
+
+        // When
+        final Iterable<EntitySeed> result = store.execute(new OperationChain<>(getNHopNeighbours));
+
+        // Then
+        assertEquals(Sets.newHashSet(new EntitySeed("B"), new EntitySeed("C"), new EntitySeed("D")), Sets.newHashSet(result));
+        assertEquals(2, lookups.size());
+        assertEquals(Arrays.asList(new EntitySeed("A")), lookups.get(0));
+        assertEquals(Sets.newHashSet(new EntitySeed("B"), new EntitySeed("C")), Sets.newHashSet(lookups.get(1)));
+    }
+
+    private Answer<Iterable<Element>> awaitBranches(final CountDownLatch branchesStarted, final Element result) {
+        return new Answer<Iterable<Element>>() {
+            @Override
+            public Iterable<Element> answer(final InvocationOnMock invocation) throws Throwable {
+                // Both branches must be running at the same time for the latch to be released
+                branchesStarted.countDown();
+                assertTrue(branchesStarted.await(10, TimeUnit.SECONDS));
+                return Arrays.asList(result);
+            }
+        };
+    }
+
+    private Iterable<Element> awaitBranchesWhenRead(final CountDownLatch branchesRead, final Element result) {
+        return new Iterable<Element>() {
+            @Override
+            public Iterator<Element> iterator() {
+                // Both branch results must be read at the same time for the latch to be released
+                branchesRead.countDown();
+                try {
+                    assertTrue(branchesRead.await(10, TimeUnit.SECONDS));
+                } catch (final InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return Arrays.asList(result).iterator();
+            }
+        };
+    }
+
     private void shouldThrowExceptionWhenValidatingSchemas(final DataSchema dataSchema, final StoreSchema storeSchema) {
         //Given
         final StoreImpl store = new StoreImpl();
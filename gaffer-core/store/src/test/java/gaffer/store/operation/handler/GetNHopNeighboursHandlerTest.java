@@ -0,0 +1,252 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.store.operation.handler;
+
+import com.google.common.collect.Sets;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetNHopNeighbours;
+import gaffer.store.Store;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+
+public class GetNHopNeighboursHandlerTest {
+    @Test
+    public void shouldReturnEachNeighbourWithinNumHopsOnce() throws OperationException {
+        // Given
+        final GraphHandler handler = new GraphHandler(1, 0);
+        final GetNHopNeighbours op = new GetNHopNeighbours.Builder()
+                .addSeed(new EntitySeed(0))
+                .numHops(3)
+                .build();
+
+        // When
+        final List<EntitySeed> result = toList(handler.doOperation(op, mock(Store.class)));
+
+        // Then
+        assertEquals(getSeeds(1, 2, 3, 4, 5, 6), Sets.newHashSet(result));
+        assertEquals(6, result.size());
+    }
+
+    @Test
+    public void shouldOnlyLookUpEachVertexOncePerHop() throws OperationException {
+        // Given
+        final GraphHandler handler = new GraphHandler(100, 0);
+        final GetNHopNeighbours op = new GetNHopNeighbours.Builder()
+                .addSeed(new EntitySeed(0))
+                .numHops(3)
+                .build();
+
+        // When
+        handler.doOperation(op, mock(Store.class));
+
+        // Then
+        assertEquals(3, handler.lookups.size());
+        assertEquals(getSeeds(0), Sets.newHashSet(handler.lookups.get(0)));
+        assertEquals(getSeeds(1, 2), Sets.newHashSet(handler.lookups.get(1)));
+        assertEquals(getSeeds(3, 4), Sets.newHashSet(handler.lookups.get(2)));
+    }
+
+    @Test
+    public void shouldReturnSameNeighboursWhenBatchesArePipelinedOnSeveralThreads() throws OperationException {
+        // Given
+        final GraphHandler handler = new GraphHandler(1, 3);
+        final GetNHopNeighbours op = new GetNHopNeighbours.Builder()
+                .addSeed(new EntitySeed(0))
+                .addSeed(new EntitySeed(5))
+                .numHops(2)
+                .build();
+
+        // When
+        final List<EntitySeed> result = toList(handler.doOperation(op, mock(Store.class)));
+
+        // Then
+        assertEquals(getSeeds(1, 2, 3, 4), Sets.newHashSet(result));
+        assertEquals(4, result.size());
+    }
+
+    @Test
+    public void shouldUseViewForEachHop() throws OperationException {
+        // Given
+        final GraphHandler handler = new GraphHandler(100, 0);
+        final View defaultView = new View();
+        final View firstHopView = new View();
+        final GetNHopNeighbours op = new GetNHopNeighbours.Builder()
+                .addSeed(new EntitySeed(0))
+                .view(defaultView)
+                .hopView(firstHopView)
+                .numHops(2)
+                .build();
+
+        // When
+        handler.doOperation(op, mock(Store.class));
+
+        // Then
+        assertSame(firstHopView, handler.views.get(0));
+        assertSame(defaultView, handler.views.get(1));
+    }
+
+    @Test
+    public void shouldFailWhenFrontierExceedsMaxFrontierSize() {
+        // Given
+        final GraphHandler handler = new GraphHandler(100, 0);
+        final GetNHopNeighbours op = new GetNHopNeighbours.Builder()
+                .addSeed(new EntitySeed(0))
+                .numHops(2)
+                .maxFrontierSize(1)
+                .build();
+
+        // When / Then
+        try {
+            handler.doOperation(op, mock(Store.class));
+            fail("Exception expected");
+        } catch (final OperationException e) {
+            assertEquals("The number of vertices reached at hop 1 exceeded the maximum frontier size of 1", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldOnlyCheckFrontierSizeOnceAHopIsComplete() throws OperationException, InterruptedException {
+        // Given - the lookup of a is held back until y has been looked up, so x1, x2 and x3 are first reached at hop
+        // 2 through y, giving 5 vertices at hop 2 until a's lookup moves them to hop 1
+        final CountDownLatch yLookedUp = new CountDownLatch(1);
+        final GetNHopNeighboursHandler handler = new GetNHopNeighboursHandler(1, 2) {
+            @Override
+            protected Iterable<EntitySeed> getAdjacentEntitySeeds(final GetAdjacentEntitySeeds operation, final Store store) {
+                final Object vertex = operation.getSeeds().iterator().next().getVertex();
+                switch ((String) vertex) {
+                    case "a":
+                        try {
+                            yLookedUp.await();
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return toSeeds("x1", "x2", "x3");
+                    case "c":
+                        return toSeeds("y");
+                    case "y":
+                        yLookedUp.countDown();
+                        return toSeeds("x1", "x2", "x3", "z1", "z2");
+                    default:
+                        return toSeeds();
+                }
+            }
+        };
+        final GetNHopNeighbours op = new GetNHopNeighbours.Builder()
+                .addSeed(new EntitySeed("a"))
+                .addSeed(new EntitySeed("c"))
+                .numHops(2)
+                .maxFrontierSize(4)
+                .build();
+
+        // When
+        final List<EntitySeed> result = toList(handler.doOperation(op, mock(Store.class)));
+        handler.close();
+
+        // Then
+        assertEquals(getSeeds("x1", "x2", "x3", "y", "z1", "z2"), Sets.newHashSet(result));
+    }
+
+    private static Set<EntitySeed> getSeeds(final Object... vertices) {
+        final Set<EntitySeed> seeds = new HashSet<>();
+        for (final Object vertex : vertices) {
+            seeds.add(new EntitySeed(vertex));
+        }
+        return seeds;
+    }
+
+    private static List<EntitySeed> toSeeds(final Object... vertices) {
+        final List<EntitySeed> seeds = new ArrayList<>();
+        for (final Object vertex : vertices) {
+            seeds.add(new EntitySeed(vertex));
+        }
+        return seeds;
+    }
+
+    private static List<EntitySeed> toList(final Iterable<EntitySeed> seeds) {
+        final List<EntitySeed> list = new ArrayList<>();
+        for (final EntitySeed seed : seeds) {
+            list.add(seed);
+        }
+        return list;
+    }
+
+    /**
+     * Looks up adjacent vertices in the undirected graph 0-1, 0-2, 1-3, 2-3, 2-4, 3-5, 4-6.
+     */
+    private static final class GraphHandler extends GetNHopNeighboursHandler {
+        private static final Map<Object, List<Object>> GRAPH = new HashMap<>();
+
+        static {
+            addEdge(0, 1);
+            addEdge(0, 2);
+            addEdge(1, 3);
+            addEdge(2, 3);
+            addEdge(2, 4);
+            addEdge(3, 5);
+            addEdge(4, 6);
+        }
+
+        private final List<List<EntitySeed>> lookups = Collections.synchronizedList(new ArrayList<List<EntitySeed>>());
+        private final List<View> views = Collections.synchronizedList(new ArrayList<View>());
+
+        private GraphHandler(final int batchSize, final int maxThreads) {
+            super(batchSize, maxThreads);
+        }
+
+        @Override
+        protected Iterable<EntitySeed> getAdjacentEntitySeeds(final GetAdjacentEntitySeeds operation, final Store store) {
+            final List<EntitySeed> batch = toList(operation.getSeeds());
+            lookups.add(batch);
+            views.add(operation.getView());
+            final List<EntitySeed> adjacent = new ArrayList<>();
+            for (final EntitySeed seed : batch) {
+                for (final Object vertex : GRAPH.get(seed.getVertex())) {
+                    adjacent.add(new EntitySeed(vertex));
+                }
+            }
+            return adjacent;
+        }
+
+        private static void addEdge(final Object source, final Object destination) {
+            addAdjacent(source, destination);
+            addAdjacent(destination, source);
+        }
+
+        private static void addAdjacent(final Object vertex, final Object adjacent) {
+            if (!GRAPH.containsKey(vertex)) {
+                GRAPH.put(vertex, new ArrayList<>());
+            }
+            GRAPH.get(vertex).add(adjacent);
+        }
+    }
+}
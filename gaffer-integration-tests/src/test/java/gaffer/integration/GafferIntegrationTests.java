@@ -87,7 +87,8 @@ public abstract class GafferIntegrationTests {
         return Arrays.asList(
                 new Object[][]{
                         {"AccumuloStore", PathUtil.path(GafferIntegrationTests.class, "/accumulo.properties")},
-                        {"ArrayListStore", PathUtil.path(GafferIntegrationTests.class, "/arraylist.properties")}
+                        {"ArrayListStore", PathUtil.path(GafferIntegrationTests.class, "/arraylist.properties")},
+                        {"MapStore", PathUtil.path(GafferIntegrationTests.class, "/mapstore.properties")}
                 }
         );
     }
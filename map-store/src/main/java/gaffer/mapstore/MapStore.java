@@ -0,0 +1,146 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore;
+
+import gaffer.data.element.Element;
+import gaffer.data.element.function.ElementAggregator;
+import gaffer.data.elementdefinition.schema.DataElementDefinition;
+import gaffer.mapstore.operation.handler.AddElementsHandler;
+import gaffer.mapstore.operation.handler.GetAdjacentEntitySeedsHandler;
+import gaffer.mapstore.operation.handler.GetElementsHandler;
+import gaffer.operation.Operation;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.store.Store;
+import gaffer.store.StoreTrait;
+import gaffer.store.operation.handler.OperationHandler;
+import gaffer.store.schema.StoreElementDefinition;
+import gaffer.store.schema.StorePropertyDefinition;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import static gaffer.store.StoreTrait.AGGREGATION;
+import static gaffer.store.StoreTrait.FILTERING;
+import static gaffer.store.StoreTrait.TRANSFORMATION;
+import static gaffer.store.StoreTrait.VALIDATION;
+
+/**
+ * An in memory implementation of {@link gaffer.store.Store} that holds its elements in a {@link MapStoreIndex}.
+ * <p/>
+ * Elements are indexed by vertex, source, destination and group, so a look up only touches the elements related
+ * to the seeds rather than scanning every element as the {@link gaffer.store.Store} implementations backed by lists
+ * do. Elements with the same group and identifiers are aggregated on insert using the aggregators defined in the
+ * {@link gaffer.data.elementdefinition.schema.DataSchema}, so this store supports the same traits as the
+ * Accumulo store. As in the Accumulo store, properties with a COLUMN_QUALIFIER or VISIBILITY position in the
+ * {@link gaffer.store.schema.StoreSchema} are part of the key, so elements are only aggregated if these properties
+ * are also equal.
+ */
+public class MapStore extends Store {
+    private static final List<StoreTrait> TRAITS = Arrays.asList(AGGREGATION, FILTERING, TRANSFORMATION, VALIDATION);
+    private static final List<String> GROUP_BY_POSITIONS = Arrays.asList("COLUMN_QUALIFIER", "VISIBILITY");
+    private final MapStoreIndex index = new MapStoreIndex();
+    private final Map<String, ElementAggregator> aggregators = new HashMap<>();
+    private final Map<String, List<String>> groupByProperties = new HashMap<>();
+
+    @Override
+    protected Collection<StoreTrait> getTraits() {
+        return TRAITS;
+    }
+
+    @Override
+    protected boolean isValidationRequired() {
+        return false;
+    }
+
+    @Override
+    protected OperationHandler<GetElements<ElementSeed, Element>, Iterable<Element>> getGetElementsHandler() {
+        return new GetElementsHandler();
+    }
+
+    @Override
+    protected OperationHandler<? extends GetAdjacentEntitySeeds, Iterable<EntitySeed>> getAdjacentEntitySeedsHandler() {
+        return new GetAdjacentEntitySeedsHandler();
+    }
+
+    @Override
+    protected OperationHandler<? extends AddElements, Void> getAddElementsHandler() {
+        return new AddElementsHandler();
+    }
+
+    /**
+     * This store does not support any other optional operations.
+     */
+    @Override
+    protected void addAdditionalOperationHandlers() {
+        // no additional operations supported
+    }
+
+    @Override
+    protected <OUTPUT> OUTPUT doUnhandledOperation(final Operation<?, OUTPUT> operation) {
+        throw new UnsupportedOperationException("I do not know how to handle: " + operation.getClass().getSimpleName());
+    }
+
+    public MapStoreIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Adds the elements to the store, aggregating them with any stored elements that have the same group,
+     * identifiers and group by property values.
+     *
+     * @param elements the elements to add
+     */
+    public synchronized void addElements(final Iterable<Element> elements) {
+        for (final Element element : elements) {
+            index.add(element, getAggregator(element.getGroup()), getGroupByProperties(element.getGroup()));
+        }
+    }
+
+    private ElementAggregator getAggregator(final String group) {
+        if (!aggregators.containsKey(group)) {
+            final DataElementDefinition elementDef = getDataSchema().getElement(group);
+            aggregators.put(group, null != elementDef ? elementDef.getAggregator() : null);
+        }
+        return aggregators.get(group);
+    }
+
+    private List<String> getGroupByProperties(final String group) {
+        List<String> propertyNames = groupByProperties.get(group);
+        if (null == propertyNames) {
+            propertyNames = new ArrayList<>();
+            final StoreElementDefinition elementDef = null != getStoreSchema() ? getStoreSchema().getElement(group) : null;
+            if (null != elementDef) {
+                for (final Entry<String, StorePropertyDefinition> entry : elementDef.getPropertyMap().entrySet()) {
+                    if (GROUP_BY_POSITIONS.contains(entry.getValue().getPosition())) {
+                        propertyNames.add(entry.getKey());
+                    }
+                }
+            }
+            groupByProperties.put(group, propertyNames);
+        }
+        return propertyNames;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore;
+
+import com.google.common.collect.Iterables;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.Properties;
+import gaffer.data.element.function.ElementAggregator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A <code>MapStoreIndex</code> holds the {@link gaffer.data.element.Element}s of a {@link gaffer.mapstore.MapStore}
+ * in hash maps. Each element is stored against a {@link Key} containing its group, its identifiers and the values of
+ * its group by properties, so elements are only aggregated together if all of these are equal. The keys are indexed
+ * by vertex, source and destination and then by group, so a look up only touches the elements for the requested
+ * vertex and groups.
+ * <p/>
+ * Stored elements are never modified - when an element is aggregated a new element replaces the stored element.
+ * Additions are synchronised and all the maps are concurrent, so elements can be read whilst they are being added.
+ */
+public class MapStoreIndex {
+    private final Map<Key, Element> elements = new ConcurrentHashMap<>();
+    private final Map<Object, Map<String, Set<Key>>> entitiesByVertex = new ConcurrentHashMap<>();
+    private final Map<Object, Map<String, Set<Key>>> edgesBySource = new ConcurrentHashMap<>();
+    private final Map<Object, Map<String, Set<Key>>> edgesByDestination = new ConcurrentHashMap<>();
+    private final Map<String, Set<Key>> elementsByGroup = new ConcurrentHashMap<>();
+
+    /**
+     * Adds an element to the index. If an element with the same group, identifiers and group by property values is
+     * already stored, the properties of the two elements are aggregated using the provided
+     * {@link gaffer.data.element.function.ElementAggregator}. Properties that are not aggregated take the value from
+     * the new element.
+     *
+     * @param element           the element to add
+     * @param aggregator        the aggregator for the element's group or null if the group has no aggregator.
+     * @param groupByProperties the names of the properties that must also be equal for elements to be aggregated.
+     */
+    public synchronized void add(final Element element, final ElementAggregator aggregator, final List<String> groupByProperties) {
+        final Key key = new Key(element, groupByProperties);
+        final Element existing = elements.get(key);
+        if (null == existing) {
+            addToIndexes(key);
+            elements.put(key, element);
+            return;
+        }
+
+        final Properties properties = existing.getProperties().clone();
+        properties.putAll(element.getProperties());
+        if (null != aggregator) {
+            aggregator.initFunctions();
+            aggregator.aggregate(existing);
+            aggregator.aggregate(element);
+            aggregator.state(properties);
+        }
+
+        // The group by values are equal, so they must not be changed by the aggregator
+        for (final String propertyName : groupByProperties) {
+            properties.put(propertyName, existing.getProperty(propertyName));
+        }
+
+        // Keep the identifiers of the stored element, undirected edges may have been added the other way round
+        final Element aggregated = existing.emptyClone();
+        aggregated.copyProperties(properties);
+        elements.put(key, aggregated);
+    }
+
+    /**
+     * @param key the key of the stored element
+     * @return the stored element or null if there is no stored element with the key.
+     */
+    public Element get(final Key key) {
+        return elements.get(key);
+    }
+
+    /**
+     * @param vertex the entity vertex
+     * @param groups the entity groups to return
+     * @return the keys of the entities with the given vertex and groups
+     */
+    public Iterable<Key> getEntities(final Object vertex, final Collection<String> groups) {
+        return getKeys(entitiesByVertex, vertex, groups);
+    }
+
+    /**
+     * @param source the edge source
+     * @param groups the edge groups to return
+     * @return the keys of the edges with the given source and groups
+     */
+    public Iterable<Key> getEdgesBySource(final Object source, final Collection<String> groups) {
+        return getKeys(edgesBySource, source, groups);
+    }
+
+    /**
+     * @param destination the edge destination
+     * @param groups      the edge groups to return
+     * @return the keys of the edges with the given destination and groups
+     */
+    public Iterable<Key> getEdgesByDestination(final Object destination, final Collection<String> groups) {
+        return getKeys(edgesByDestination, destination, groups);
+    }
+
+    /**
+     * @param group the element group
+     * @return the keys of all the elements in the group
+     */
+    public Iterable<Key> getElements(final String group) {
+        final Set<Key> keys = elementsByGroup.get(group);
+        return null != keys ? keys : Collections.<Key>emptySet();
+    }
+
+    /**
+     * @return the number of stored elements
+     */
+    public int size() {
+        return elements.size();
+    }
+
+    private void addToIndexes(final Key key) {
+        final Element element = key.getElement();
+        final String group = element.getGroup();
+        if (element instanceof Entity) {
+            final Object vertex = ((Entity) element).getVertex();
+            checkIdentifiers(element, vertex);
+            addToIndex(entitiesByVertex, vertex, group, key);
+        } else {
+            final Edge edge = (Edge) element;
+            checkIdentifiers(element, edge.getSource(), edge.getDestination());
+            addToIndex(edgesBySource, edge.getSource(), group, key);
+            addToIndex(edgesByDestination, edge.getDestination(), group, key);
+        }
+        getOrCreate(elementsByGroup, group).add(key);
+    }
+
+    private static void checkIdentifiers(final Element element, final Object... identifiers) {
+        for (final Object identifier : identifiers) {
+            if (null == identifier) {
+                throw new IllegalArgumentException("Elements with null identifiers cannot be added to the store: " + element);
+            }
+        }
+    }
+
+    private static void addToIndex(final Map<Object, Map<String, Set<Key>>> index, final Object vertex,
+                                   final String group, final Key key) {
+        Map<String, Set<Key>> keysByGroup = index.get(vertex);
+        if (null == keysByGroup) {
+            keysByGroup = new ConcurrentHashMap<>();
+            index.put(vertex, keysByGroup);
+        }
+        getOrCreate(keysByGroup, group).add(key);
+    }
+
+    private static Set<Key> getOrCreate(final Map<String, Set<Key>> keysByGroup, final String group) {
+        Set<Key> keys = keysByGroup.get(group);
+        if (null == keys) {
+            keys = Collections.newSetFromMap(new ConcurrentHashMap<Key, Boolean>());
+            keysByGroup.put(group, keys);
+        }
+        return keys;
+    }
+
+    private static Iterable<Key> getKeys(final Map<Object, Map<String, Set<Key>>> index, final Object vertex,
+                                         final Collection<String> groups) {
+        final Map<String, Set<Key>> keysByGroup = null != vertex ? index.get(vertex) : null;
+        if (null == keysByGroup) {
+            return Collections.emptySet();
+        }
+
+        final List<Set<Key>> keys = new ArrayList<>(groups.size());
+        for (final String group : groups) {
+            final Set<Key> groupKeys = keysByGroup.get(group);
+            if (null != groupKeys) {
+                keys.add(groupKeys);
+            }
+        }
+
+        return keys.size() == 1 ? keys.get(0) : Iterables.concat(keys);
+    }
+
+    /**
+     * The key of a stored element - an element containing just the group and identifiers together with the values of
+     * the group by properties.
+     */
+    public static final class Key {
+        private final Element element;
+        private final List<Object> groupByValues;
+
+        private Key(final Element element, final List<String> groupByProperties) {
+            this.element = element.emptyClone();
+            if (groupByProperties.isEmpty()) {
+                this.groupByValues = Collections.emptyList();
+            } else {
+                final Object[] values = new Object[groupByProperties.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = element.getProperty(groupByProperties.get(i));
+                }
+                this.groupByValues = Arrays.asList(values);
+            }
+        }
+
+        /**
+         * @return an element containing just the group and identifiers of the stored element
+         */
+        public Element getElement() {
+            return element;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return element.equals(other.element) && groupByValues.equals(other.groupByValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * element.hashCode() + groupByValues.hashCode();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore.operation.handler;
+
+import com.google.common.collect.Iterables;
+import gaffer.data.element.Edge;
+import gaffer.mapstore.MapStore;
+import gaffer.mapstore.MapStoreIndex;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.INCOMING;
+import static gaffer.operation.GetOperation.IncludeIncomingOutgoingType.OUTGOING;
+
+public class GetAdjacentEntitySeedsHandler implements OperationHandler<GetAdjacentEntitySeeds, Iterable<EntitySeed>> {
+    @Override
+    public Iterable<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final Store store) throws OperationException {
+        return doOperation(operation, ((MapStore) store).getIndex());
+    }
+
+    private Collection<EntitySeed> doOperation(final GetAdjacentEntitySeeds operation, final MapStoreIndex index) {
+        final Set<EntitySeed> seeds = new LinkedHashSet<>();
+        Iterables.addAll(seeds, operation.getSeeds());
+        final Set<String> edgeGroups = operation.getView().getEdgeGroups();
+
+        final Set<MapStoreIndex.Key> visitedKeys = Collections.newSetFromMap(new IdentityHashMap<MapStoreIndex.Key, Boolean>());
+        final EntitySeed[] reuseableTuple = new EntitySeed[2];
+        // Deduplicate with an exact set, keeping the order the adjacent seeds are found in
+        final Collection<EntitySeed> result = operation.isDeduplicate() ? new LinkedHashSet<EntitySeed>() : new ArrayList<EntitySeed>();
+        for (final EntitySeed seed : seeds) {
+            final Iterable<MapStoreIndex.Key> keys = Iterables.concat(
+                    index.getEdgesBySource(seed.getVertex(), edgeGroups),
+                    index.getEdgesByDestination(seed.getVertex(), edgeGroups));
+            for (final MapStoreIndex.Key key : keys) {
+                if (!visitedKeys.add(key)) {
+                    continue;
+                }
+
+                final Edge edge = (Edge) index.get(key);
+                if (operation.validateFlags(edge)) {
+                    extractOtherEndOfSeededEdge(edge, operation, seeds, reuseableTuple);
+                    if ((null != reuseableTuple[0] || null != reuseableTuple[1]) && operation.validateFilter(edge)) {
+                        if (null != reuseableTuple[0]) {
+                            result.add(reuseableTuple[0]);
+                        }
+                        if (null != reuseableTuple[1]) {
+                            result.add(reuseableTuple[1]);
+                        }
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Extracts the vertex at other end of a seeded edge
+     *
+     * @param edge           the edge to extract the vertex at other end of
+     * @param operation      the operation
+     * @param seeds          the operation seeds
+     * @param reuseableTuple instead of creating an array every time the method is called this array is reused.
+     */
+    private void extractOtherEndOfSeededEdge(final Edge edge,
+                                             final GetAdjacentEntitySeeds operation,
+                                             final Set<EntitySeed> seeds,
+                                             final EntitySeed[] reuseableTuple) {
+        reuseableTuple[0] = null;
+        reuseableTuple[1] = null;
+        final boolean matchSource = !edge.isDirected() || !INCOMING.equals(operation.getIncludeIncomingOutGoing());
+        final boolean matchDestination = !edge.isDirected() || !OUTGOING.equals(operation.getIncludeIncomingOutGoing());
+
+        if (matchSource && seeds.contains(new EntitySeed(edge.getSource()))) {
+            reuseableTuple[1] = new EntitySeed(edge.getDestination());
+        }
+
+        if (matchDestination && seeds.contains(new EntitySeed(edge.getDestination()))) {
+            reuseableTuple[0] = new EntitySeed(edge.getSource());
+        }
+
+        // Don't return duplicate results
+        if (reuseableTuple[0] != null && reuseableTuple[1] != null && reuseableTuple[0].equals(reuseableTuple[1])) {
+            reuseableTuple[1] = null;
+        }
+    }
+}
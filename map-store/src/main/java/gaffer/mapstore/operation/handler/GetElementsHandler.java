@@ -0,0 +1,202 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore.operation.handler;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.Iterables;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.view.ViewElementDefinition;
+import gaffer.mapstore.MapStore;
+import gaffer.mapstore.MapStoreIndex;
+import gaffer.operation.GetOperation.IncludeEdgeType;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.GetOperation.SeedMatchingType;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.ElementSeed;
+import gaffer.operation.data.ElementSeed.Matches;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.get.GetElements;
+import gaffer.store.Store;
+import gaffer.store.operation.handler.OperationHandler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public class GetElementsHandler implements OperationHandler<GetElements<ElementSeed, Element>, Iterable<Element>> {
+    @Override
+    public Iterable<Element> doOperation(final GetElements<ElementSeed, Element> operation, final Store store) {
+        return doOperation(operation, ((MapStore) store).getIndex());
+    }
+
+    private Iterable<Element> doOperation(final GetElements<ElementSeed, Element> operation, final MapStoreIndex index) {
+        // Seeds are looked up for every candidate element, so hold them in a set
+        final Set<ElementSeed> seeds = new LinkedHashSet<>();
+        Iterables.addAll(seeds, operation.getSeeds());
+        return new Iterable<Element>() {
+            @Override
+            public Iterator<Element> iterator() {
+                return new MatchingElementIterator(operation, index, seeds);
+            }
+        };
+    }
+
+    private static Iterable<MapStoreIndex.Key> getCandidates(final GetElements<ElementSeed, Element> operation,
+                                                             final MapStoreIndex index, final ElementSeed seed) {
+        final boolean related = SeedMatchingType.RELATED == operation.getSeedMatching();
+        final boolean includeEntities = operation.isIncludeEntities();
+        final boolean includeEdges = null != operation.getIncludeEdges()
+                && IncludeEdgeType.NONE != operation.getIncludeEdges();
+        final Set<String> entityGroups = operation.getView().getEntityGroups();
+        final Set<String> edgeGroups = operation.getView().getEdgeGroups();
+
+        final List<Iterable<MapStoreIndex.Key>> candidates = new ArrayList<>();
+        if (seed instanceof EntitySeed) {
+            final Object vertex = ((EntitySeed) seed).getVertex();
+            if (includeEntities) {
+                candidates.add(index.getEntities(vertex, entityGroups));
+            }
+            if (includeEdges && related) {
+                candidates.add(index.getEdgesBySource(vertex, edgeGroups));
+                candidates.add(index.getEdgesByDestination(vertex, edgeGroups));
+            }
+        } else {
+            final EdgeSeed edgeSeed = (EdgeSeed) seed;
+            if (includeEntities && related) {
+                candidates.add(index.getEntities(edgeSeed.getSource(), entityGroups));
+                candidates.add(index.getEntities(edgeSeed.getDestination(), entityGroups));
+            }
+            if (includeEdges) {
+                // Undirected edges may be stored the other way round to the seed
+                candidates.add(index.getEdgesBySource(edgeSeed.getSource(), edgeGroups));
+                candidates.add(index.getEdgesByDestination(edgeSeed.getSource(), edgeGroups));
+            }
+        }
+
+        return Iterables.concat(candidates);
+    }
+
+    private static boolean isMatch(final GetElements<ElementSeed, Element> operation, final Entity entity) {
+        // Entities are only candidates if their vertex is a seed or the end of an edge seed, so they always match
+        return operation.validateFlags(entity) && operation.validateFilter(entity);
+    }
+
+    private static boolean isMatch(final GetElements<ElementSeed, Element> operation, final Set<ElementSeed> seeds,
+                                   final Edge edge) {
+        if (!operation.validateFlags(edge)) {
+            return false;
+        }
+
+        final boolean equalsSeed = seeds.contains(ElementSeed.createSeed(edge))
+                || (!edge.isDirected() && seeds.contains(new EdgeSeed(edge.getDestination(), edge.getSource(), false)));
+        final boolean isMatch;
+        if (SeedMatchingType.EQUAL == operation.getSeedMatching()) {
+            isMatch = equalsSeed;
+        } else {
+            final boolean matchesSource = seeds.contains(new EntitySeed(edge.getSource()));
+            final boolean matchesDestination = seeds.contains(new EntitySeed(edge.getDestination()));
+            final Matches matches;
+            if (equalsSeed || (matchesSource && matchesDestination)) {
+                matches = Matches.BOTH;
+            } else if (matchesSource) {
+                matches = Matches.SOURCE;
+            } else if (matchesDestination) {
+                matches = Matches.DESTINATION;
+            } else {
+                matches = Matches.NONE;
+            }
+
+            final IncludeIncomingOutgoingType inOutType = operation.getIncludeIncomingOutGoing();
+            if (edge.isDirected() && IncludeIncomingOutgoingType.INCOMING == inOutType) {
+                isMatch = matches.isDestination();
+            } else if (edge.isDirected() && IncludeIncomingOutgoingType.OUTGOING == inOutType) {
+                isMatch = matches.isSource();
+            } else {
+                isMatch = matches.isMatch();
+            }
+        }
+
+        return isMatch && operation.validateFilter(edge);
+    }
+
+    /**
+     * Copies the stored element so it can be transformed without changing the store, removing its properties if
+     * they have not been requested.
+     */
+    private static Element copy(final GetElements<ElementSeed, Element> operation, final Element element) {
+        final Element copy = element.emptyClone();
+        if (operation.isPopulateProperties()) {
+            copy.copyProperties(element.getProperties());
+            final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
+            if (null != viewDef && null != viewDef.getTransformer()) {
+                viewDef.getTransformer().transform(copy);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Lazily looks up the elements for each seed in turn. An element related to several seeds is only returned once.
+     */
+    private static final class MatchingElementIterator extends AbstractIterator<Element> {
+        private final GetElements<ElementSeed, Element> operation;
+        private final MapStoreIndex index;
+        private final Set<ElementSeed> seeds;
+        private final Iterator<ElementSeed> seedItr;
+        private final Set<MapStoreIndex.Key> visitedKeys = Collections.newSetFromMap(new IdentityHashMap<MapStoreIndex.Key, Boolean>());
+        private Iterator<MapStoreIndex.Key> candidateItr = Collections.emptyIterator();
+
+        private MatchingElementIterator(final GetElements<ElementSeed, Element> operation, final MapStoreIndex index,
+                                        final Set<ElementSeed> seeds) {
+            this.operation = operation;
+            this.index = index;
+            this.seeds = seeds;
+            this.seedItr = seeds.iterator();
+        }
+
+        @Override
+        protected Element computeNext() {
+            while (true) {
+                while (candidateItr.hasNext()) {
+                    final MapStoreIndex.Key key = candidateItr.next();
+                    if (!visitedKeys.add(key)) {
+                        continue;
+                    }
+
+                    final Element element = index.get(key);
+                    final boolean isMatch = element instanceof Entity
+                            ? isMatch(operation, (Entity) element)
+                            : isMatch(operation, seeds, (Edge) element);
+                    if (isMatch) {
+                        return copy(operation, element);
+                    }
+                }
+
+                if (!seedItr.hasNext()) {
+                    return endOfData();
+                }
+                candidateItr = getCandidates(operation, index, seedItr.next()).iterator();
+            }
+        }
+    }
+}
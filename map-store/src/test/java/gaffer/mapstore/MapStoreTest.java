@@ -0,0 +1,277 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.mapstore;
+
+import com.google.common.collect.Lists;
+import gaffer.commonutil.PathUtil;
+import gaffer.commonutil.TestGroups;
+import gaffer.commonutil.TestPropertyNames;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.element.function.ElementFilter;
+import gaffer.data.element.function.ElementTransformer;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.data.elementdefinition.view.View;
+import gaffer.data.elementdefinition.view.ViewEdgeDefinition;
+import gaffer.data.elementdefinition.view.ViewEntityDefinition;
+import gaffer.function.simple.filter.IsLessThan;
+import gaffer.function.simple.transform.Concat;
+import gaffer.graph.Graph;
+import gaffer.operation.GetOperation.IncludeIncomingOutgoingType;
+import gaffer.operation.OperationException;
+import gaffer.operation.data.EdgeSeed;
+import gaffer.operation.data.EntitySeed;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
+import gaffer.operation.impl.get.GetEdgesBySeed;
+import gaffer.operation.impl.get.GetEntitiesBySeed;
+import gaffer.operation.impl.get.GetRelatedEdges;
+import gaffer.operation.impl.get.GetRelatedElements;
+import gaffer.store.StoreProperties;
+import gaffer.store.StoreTrait;
+import gaffer.store.schema.StoreSchema;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class MapStoreTest {
+    private Graph graph;
+
+    @Before
+    public void setUp() throws OperationException {
+        graph = new Graph(PathUtil.dataSchema(getClass()), PathUtil.storeSchema(getClass()), PathUtil.storeProps(getClass()));
+        graph.execute(new AddElements.Builder()
+                .elements(Arrays.asList(
+                        createEntity(1, 1, "Red"),
+                        createEntity(2, 1, "Orange"),
+                        createEntity(3, 2, "Yellow"),
+                        createEdge(1, 2, true, 1, "12"),
+                        createEdge(2, 3, true, 1, "23"),
+                        createEdge(4, 1, true, 3, "41"),
+                        createEdge(3, 1, false, 1, "31")))
+                .build());
+    }
+
+    @Test
+    public void shouldHaveSameTraitsAsAccumuloStoreExceptRangeQueries() {
+        for (final StoreTrait trait : StoreTrait.values()) {
+            assertEquals(StoreTrait.RANGE_QUERIES != trait, graph.hasTrait(trait));
+        }
+    }
+
+    @Test
+    public void shouldAggregateElementsWithSameGroupAndIdentifiersOnInsert() throws OperationException {
+        // Given
+        graph.execute(new AddElements.Builder()
+                .elements(Arrays.asList(
+                        createEntity(1, 5, "Red"),
+                        createEdge(1, 2, true, 2, "12"),
+                        createEdge(1, 3, false, 4, "13")))
+                .build());
+
+        // When
+        final List<Element> results = Lists.newArrayList(graph.execute(new GetRelatedElements.Builder<EntitySeed, Element>()
+                .addSeed(new EntitySeed(1))
+                .view(createView())
+                .build()));
+
+        // Then
+        assertEquals(4, results.size());
+        final Element entity = results.get(results.indexOf(createEntity(1, 6, "Red")));
+        assertEquals(6, entity.getProperty(TestPropertyNames.INT));
+        assertEquals("Red,Red", entity.getProperty(TestPropertyNames.STRING));
+        assertEquals(3, results.get(results.indexOf(createEdge(1, 2, true, 3, "12"))).getProperty(TestPropertyNames.INT));
+        assertEquals(3, results.get(results.indexOf(createEdge(4, 1, true, 3, "41"))).getProperty(TestPropertyNames.INT));
+        // The undirected edge was first added the other way round
+        final Edge undirectedEdge = (Edge) results.get(results.indexOf(createEdge(1, 3, false, 5, "13")));
+        assertEquals(3, undirectedEdge.getSource());
+        assertEquals(5, undirectedEdge.getProperty(TestPropertyNames.INT));
+    }
+
+    @Test
+    public void shouldOnlyAggregateElementsWithTheSameGroupByPropertyValues() throws OperationException {
+        // Given
+        final StoreSchema storeSchema = StoreSchema.fromJson(PathUtil.storeSchema(getClass()));
+        storeSchema.getElement(TestGroups.ENTITY).getProperty(TestPropertyNames.STRING).setPosition("VISIBILITY");
+        final Graph visibilityGraph = new Graph(DataSchema.fromJson(PathUtil.dataSchema(getClass())), storeSchema,
+                new StoreProperties(PathUtil.storeProps(getClass())));
+
+        // When
+        visibilityGraph.execute(new AddElements.Builder()
+                .elements(Arrays.asList(
+                        (Element) createEntity(1, 1, "public"),
+                        createEntity(1, 2, "private"),
+                        createEntity(1, 3, "public")))
+                .build());
+        final List<Entity> results = Lists.newArrayList(visibilityGraph.execute(new GetEntitiesBySeed.Builder()
+                .addSeed(new EntitySeed(1))
+                .view(createView())
+                .build()));
+
+        // Then
+        assertEquals(2, results.size());
+        for (final Entity entity : results) {
+            if ("public".equals(entity.getProperty(TestPropertyNames.STRING))) {
+                assertEquals(4, entity.getProperty(TestPropertyNames.INT));
+            } else {
+                assertEquals("private", entity.getProperty(TestPropertyNames.STRING));
+                assertEquals(2, entity.getProperty(TestPropertyNames.INT));
+            }
+        }
+    }
+
+    @Test
+    public void shouldGetRelatedEdgesUsingFilterAndIncomingOutgoingFlags() throws OperationException {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .property(TestPropertyNames.INT, Integer.class)
+                        .filter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.INT).execute(new IsLessThan(2))
+                                .build())
+                        .build())
+                .build();
+
+        final GetRelatedEdges getIncomingEdges = new GetRelatedEdges.Builder()
+                .addSeed(new EntitySeed(1))
+                .view(view)
+                .build();
+        getIncomingEdges.setIncludeIncomingOutGoing(IncludeIncomingOutgoingType.INCOMING);
+
+        // When
+        final Set<Edge> allEdges = new HashSet<>(Lists.newArrayList(graph.execute(new GetRelatedEdges.Builder()
+                .addSeed(new EntitySeed(1))
+                .view(view)
+                .build())));
+        final Set<Edge> incomingEdges = new HashSet<>(Lists.newArrayList(graph.execute(getIncomingEdges)));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(createEdge(1, 2, true, 1, "12"), createEdge(3, 1, false, 1, "31"))), allEdges);
+        assertEquals(new HashSet<>(Arrays.asList(createEdge(3, 1, false, 1, "31"))), incomingEdges);
+    }
+
+    @Test
+    public void shouldGetElementsBySeed() throws OperationException {
+        // When
+        final List<Entity> entities = Lists.newArrayList(graph.execute(new GetEntitiesBySeed.Builder()
+                .addSeed(new EntitySeed(2))
+                .view(createView())
+                .build()));
+        final List<Edge> edges = Lists.newArrayList(graph.execute(new GetEdgesBySeed.Builder()
+                .addSeed(new EdgeSeed(1, 3, false))
+                .addSeed(new EdgeSeed(2, 1, true))
+                .view(createView())
+                .build()));
+
+        // Then
+        assertEquals(Arrays.asList(createEntity(2, 1, "Orange")), entities);
+        assertEquals(Arrays.asList(createEdge(3, 1, false, 1, "31")), edges);
+    }
+
+    @Test
+    public void shouldTransformResultsWithoutChangingStoredElements() throws OperationException {
+        // Given
+        final View transformView = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewEntityDefinition.Builder()
+                        .property(TestPropertyNames.INT, Integer.class)
+                        .property(TestPropertyNames.STRING, String.class)
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.STRING, TestPropertyNames.INT)
+                                .execute(new Concat())
+                                .project(TestPropertyNames.STRING)
+                                .build())
+                        .build())
+                .build();
+        final GetEntitiesBySeed getEntities = new GetEntitiesBySeed.Builder()
+                .addSeed(new EntitySeed(1))
+                .view(transformView)
+                .build();
+
+        // When
+        final Entity transformed = graph.execute(getEntities).iterator().next();
+        final Entity stored = graph.execute(new GetEntitiesBySeed.Builder()
+                .addSeed(new EntitySeed(1))
+                .view(createView())
+                .build()).iterator().next();
+
+        // Then
+        assertEquals("Red,1", transformed.getProperty(TestPropertyNames.STRING));
+        assertEquals("Red", stored.getProperty(TestPropertyNames.STRING));
+    }
+
+    @Test
+    public void shouldGetAdjacentEntitySeeds() throws OperationException {
+        // When
+        final Set<EntitySeed> results = new HashSet<>(Lists.newArrayList(graph.execute(new GetAdjacentEntitySeeds.Builder()
+                .addSeed(new EntitySeed(1))
+                .view(createView())
+                .build())));
+
+        // Then
+        assertEquals(new HashSet<>(Arrays.asList(new EntitySeed(2), new EntitySeed(3), new EntitySeed(4))), results);
+    }
+
+    @Test
+    public void shouldGetEachAdjacentEntitySeedOnceWhenDeduplicating() throws OperationException {
+        // When
+        final List<EntitySeed> results = Lists.newArrayList(graph.execute(new GetAdjacentEntitySeeds.Builder()
+                .addSeed(new EntitySeed(2))
+                .addSeed(new EntitySeed(3))
+                .view(createView())
+                .deduplicate(true)
+                .build()));
+
+        // Then
+        assertEquals(3, results.size());
+        assertEquals(new HashSet<>(Arrays.asList(new EntitySeed(1), new EntitySeed(2), new EntitySeed(3))), new HashSet<>(results));
+    }
+
+    private View createView() {
+        return new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewEntityDefinition.Builder()
+                        .property(TestPropertyNames.INT, Integer.class)
+                        .property(TestPropertyNames.STRING, String.class)
+                        .build())
+                .edge(TestGroups.EDGE, new ViewEdgeDefinition.Builder()
+                        .property(TestPropertyNames.INT, Integer.class)
+                        .property(TestPropertyNames.STRING, String.class)
+                        .build())
+                .build();
+    }
+
+    private static Entity createEntity(final int vertex, final int intProperty, final String stringProperty) {
+        final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+        entity.putProperty(TestPropertyNames.INT, intProperty);
+        entity.putProperty(TestPropertyNames.STRING, stringProperty);
+        return entity;
+    }
+
+    private static Edge createEdge(final int source, final int destination, final boolean directed,
+                                   final int intProperty, final String stringProperty) {
+        final Edge edge = new Edge(TestGroups.EDGE, source, destination, directed);
+        edge.putProperty(TestPropertyNames.INT, intProperty);
+        edge.putProperty(TestPropertyNames.STRING, stringProperty);
+        return edge;
+    }
+}
@@ -13,6 +13,7 @@ public abstract class SystemProperty {
     public static final String VERSION = "gaffer.rest-api.version";
     public static final String SERVICES_PACKAGE_PREFIX = "gaffer.rest-api.resourcePackage";
     public static final String PACKAGE_PREFIXES = "gaffer.package.prefixes";
+    public static final String MAX_STREAM_BATCH_SIZE = "gaffer.rest-api.maxStreamBatchSize";
 
     // DEFAULTS
     /**
@@ -22,4 +23,8 @@ public abstract class SystemProperty {
     public static final String SERVICES_PACKAGE_PREFIX_DEFAULT = "gaffer.rest";
     public static final String BASE_URL_DEFAULT = "gaffer/rest/v1";
     public static final String CORE_VERSION = "1.0.0";
+    /**
+     * The largest batch size accepted when adding a stream of elements, which bounds the elements held in memory.
+     */
+    public static final String MAX_STREAM_BATCH_SIZE_DEFAULT = "100000";
 }
@@ -24,7 +24,9 @@ import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetEdgesBySeed;
+import gaffer.operation.impl.get.GetElementsBetweenSets;
 import gaffer.operation.impl.get.GetElementsSeed;
+import gaffer.operation.impl.get.GetElementsWithinSet;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
@@ -61,6 +63,14 @@ public interface IExamplesService {
     @Path("/graph/doOperation/get/elements/related")
     GetRelatedElements<ElementSeed, Element> getRelatedElements();
 
+    @GET
+    @Path("/graph/doOperation/get/elements/withinSet")
+    GetElementsWithinSet<Element> getElementsWithinSet();
+
+    @GET
+    @Path("/graph/doOperation/get/elements/betweenSets")
+    GetElementsBetweenSets<Element> getElementsBetweenSets();
+
     @GET
     @Path("/graph/doOperation/get/entities/bySeed")
     GetEntitiesBySeed getEntitiesBySeed();
@@ -29,17 +29,22 @@ import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetEdgesBySeed;
+import gaffer.operation.impl.get.GetElementsBetweenSets;
 import gaffer.operation.impl.get.GetElementsSeed;
+import gaffer.operation.impl.get.GetElementsWithinSet;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 
+import java.io.InputStream;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 
 /**
@@ -51,6 +56,8 @@ import javax.ws.rs.core.MediaType;
 @Consumes(MediaType.APPLICATION_JSON)
 @Produces(MediaType.APPLICATION_JSON)
 public interface IOperationService {
+    String APPLICATION_NDJSON = "application/x-ndjson";
+    String DEFAULT_STREAM_BATCH_SIZE = "10000";
 
     @POST
     @ApiOperation(value = "Performs the given operation chain on the graph", response = Object.class)
@@ -76,6 +83,16 @@ public interface IOperationService {
     @ApiOperation(value = "Gets related elements from the graph", response = Element.class, responseContainer = "List")
     Iterable<Element> getRelatedElements(final GetRelatedElements<ElementSeed, Element> operation);
 
+    @POST
+    @Path("/get/elements/withinSet")
+    @ApiOperation(value = "Gets the elements with both ends in a set of entity seeds", response = Element.class, responseContainer = "List")
+    Iterable<Element> getElementsWithinSet(final GetElementsWithinSet<Element> operation);
+
+    @POST
+    @Path("/get/elements/betweenSets")
+    @ApiOperation(value = "Gets the elements with one end in each of two sets of entity seeds", response = Element.class, responseContainer = "List")
+    Iterable<Element> getElementsBetweenSets(final GetElementsBetweenSets<Element> operation);
+
     @POST
     @Path("/get/entities/bySeed")
     @ApiOperation(value = "Gets entities by seed from the graph", response = Entity.class, responseContainer = "List")
@@ -105,4 +122,16 @@ public interface IOperationService {
     @Path("/add/elements")
     @ApiOperation(value = "Add elements to the graph", response = Boolean.class)
     void addElements(final AddElements operation);
+
+    @PUT
+    @Path("/add/elements/stream")
+    @Consumes({MediaType.APPLICATION_JSON, APPLICATION_NDJSON})
+    @ApiOperation(value = "Add a JSON array or newline-delimited JSON stream of elements to the graph. "
+            + "The elements are read incrementally and added in batches, so batches added before an error are kept. "
+            + "The batch size cannot be more than the server's maximum, 100000 by default.",
+            response = Boolean.class)
+    void addElementsStream(final InputStream elements,
+                           @QueryParam("batchSize") @DefaultValue(DEFAULT_STREAM_BATCH_SIZE) final int batchSize,
+                           @QueryParam("validate") @DefaultValue("true") final boolean validate,
+                           @QueryParam("skipInvalidElements") @DefaultValue("false") final boolean skipInvalidElements);
 }
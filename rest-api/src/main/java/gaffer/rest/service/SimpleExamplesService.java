@@ -38,7 +38,9 @@ import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetEdgesBySeed;
+import gaffer.operation.impl.get.GetElementsBetweenSets;
 import gaffer.operation.impl.get.GetElementsSeed;
+import gaffer.operation.impl.get.GetElementsWithinSet;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
@@ -50,6 +52,7 @@ import gaffer.rest.example.ExampleFilterFunction;
 import gaffer.rest.example.ExampleTransformFunction;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
@@ -115,6 +118,23 @@ public class SimpleExamplesService implements IExamplesService {
         return op;
     }
 
+    @Override
+    public GetElementsWithinSet<Element> getElementsWithinSet() {
+        final GetElementsWithinSet<Element> op = new GetElementsWithinSet<>();
+        op.setSeeds(Arrays.asList(getExampleEntitySeed(1), getExampleEntitySeed(2)));
+        populateOperation(op);
+        return op;
+    }
+
+    @Override
+    public GetElementsBetweenSets<Element> getElementsBetweenSets() {
+        final GetElementsBetweenSets<Element> op = new GetElementsBetweenSets<>();
+        op.setSeeds(Collections.singletonList(getExampleEntitySeed(1)));
+        op.setSeedsB(Collections.singletonList(getExampleEntitySeed(2)));
+        populateOperation(op);
+        return op;
+    }
+
     @Override
     public GetEntitiesBySeed getEntitiesBySeed() {
         final GetEntitiesBySeed op = new GetEntitiesBySeed();
@@ -326,6 +346,14 @@ public class SimpleExamplesService implements IExamplesService {
                 getExampleVertex(getDataSchema().getEntity(getAnEntityGroup()).getIdentifierClass(IdentifierType.VERTEX), uniqueId));
     }
 
+    protected EntitySeed getExampleEntitySeed(final int uniqueId) {
+        if (hasEntities()) {
+            return getEntitySeed(uniqueId);
+        }
+
+        return new EntitySeed(getExampleVertex(getDataSchema().getEdge(getAnEdgeGroup()).getIdentifierClass(IdentifierType.SOURCE), uniqueId));
+    }
+
     protected EdgeSeed getEdgeSeed(final int uniqueId1, final int uniqueId2) {
         return new EdgeSeed(
                 getExampleVertex(getDataSchema().getEdge(getAnEdgeGroup()).getIdentifierClass(IdentifierType.SOURCE), uniqueId1),
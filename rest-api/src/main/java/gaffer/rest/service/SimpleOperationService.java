@@ -21,7 +21,10 @@ import gaffer.data.element.Element;
 import gaffer.data.element.Entity;
 import gaffer.operation.data.ElementSeed;
 import gaffer.operation.data.EntitySeed;
+import gaffer.exception.SerialisationException;
 import gaffer.graph.Graph;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.jsonserialisation.JSONStreamReader;
 import gaffer.operation.Operation;
 import gaffer.operation.OperationChain;
 import gaffer.operation.OperationException;
@@ -30,15 +33,22 @@ import gaffer.operation.impl.generate.GenerateElements;
 import gaffer.operation.impl.generate.GenerateObjects;
 import gaffer.operation.impl.get.GetAdjacentEntitySeeds;
 import gaffer.operation.impl.get.GetEdgesBySeed;
+import gaffer.operation.impl.get.GetElementsBetweenSets;
 import gaffer.operation.impl.get.GetElementsSeed;
+import gaffer.operation.impl.get.GetElementsWithinSet;
 import gaffer.operation.impl.get.GetEntitiesBySeed;
 import gaffer.operation.impl.get.GetRelatedEdges;
 import gaffer.operation.impl.get.GetRelatedElements;
 import gaffer.operation.impl.get.GetRelatedEntities;
 import gaffer.rest.GraphFactory;
+import gaffer.rest.SystemProperty;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * An implementation of {@link gaffer.rest.service.IOperationService}. By default it will use a singleton
  * {@link gaffer.graph.Graph} generated using the {@link gaffer.rest.GraphFactory}.
@@ -48,6 +58,8 @@ import org.slf4j.LoggerFactory;
  */
 public class SimpleOperationService implements IOperationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(SimpleOperationService.class);
+    private static final JSONSerialiser JSON_SERIALISER = new JSONSerialiser();
+    private static final int MAX_INITIAL_BATCH_CAPACITY = 10000;
     private final GraphFactory graphFactory;
 
     public SimpleOperationService() {
@@ -78,6 +90,38 @@ public class SimpleOperationService implements IOperationService {
         execute(operation);
     }
 
+    @Override
+    public void addElementsStream(final InputStream elements, final int batchSize, final boolean validate,
+                                  final boolean skipInvalidElements) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("The batch size must be at least 1");
+        }
+        final int maxBatchSize = Integer.parseInt(System.getProperty(SystemProperty.MAX_STREAM_BATCH_SIZE, SystemProperty.MAX_STREAM_BATCH_SIZE_DEFAULT));
+        if (batchSize > maxBatchSize) {
+            throw new IllegalArgumentException("The batch size must be no more than " + maxBatchSize);
+        }
+
+        long numElements = 0;
+        try (final JSONStreamReader<Element> reader = JSON_SERIALISER.createStreamReader(elements, Element.class)) {
+            List<Element> batch = new ArrayList<>(Math.min(batchSize, MAX_INITIAL_BATCH_CAPACITY));
+            Element element;
+            while (null != (element = reader.read())) {
+                batch.add(element);
+                if (batch.size() >= batchSize) {
+                    addElements(batch, validate, skipInvalidElements);
+                    numElements += batch.size();
+                    batch = new ArrayList<>(Math.min(batchSize, MAX_INITIAL_BATCH_CAPACITY));
+                }
+            }
+            if (!batch.isEmpty()) {
+                addElements(batch, validate, skipInvalidElements);
+                numElements += batch.size();
+            }
+        } catch (SerialisationException e) {
+            throw new RuntimeException("Failed to deserialise elements after adding " + numElements + " elements: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Iterable<Element> getElementsBySeed(final GetElementsSeed<ElementSeed, Element> operation) {
         return execute(operation);
@@ -88,6 +132,16 @@ public class SimpleOperationService implements IOperationService {
         return execute(operation);
     }
 
+    @Override
+    public Iterable<Element> getElementsWithinSet(final GetElementsWithinSet<Element> operation) {
+        return execute(operation);
+    }
+
+    @Override
+    public Iterable<Element> getElementsBetweenSets(final GetElementsBetweenSets<Element> operation) {
+        return execute(operation);
+    }
+
     @Override
     public Iterable<Entity> getEntitiesBySeed(final GetEntitiesBySeed operation) {
         return execute(operation);
@@ -115,6 +169,14 @@ public class SimpleOperationService implements IOperationService {
         return execute(operation);
     }
 
+    private void addElements(final List<Element> elements, final boolean validate, final boolean skipInvalidElements) {
+        execute(new AddElements.Builder()
+                .elements(elements)
+                .validate(validate)
+                .skipInvalidElements(skipInvalidElements)
+                .build());
+    }
+
     protected void preOperationHook(final OperationChain<?> opChain) {
         // no action by default
     }
@@ -78,6 +78,16 @@ public class ExamplesServiceTest {
         shouldSerialiseAndDeserialiseOperation(service.getRelatedElements());
     }
 
+    @Test
+    public void shouldSerialiseAndDeserialiseGetElementsWithinSet() throws IOException {
+        shouldSerialiseAndDeserialiseOperation(service.getElementsWithinSet());
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialiseGetElementsBetweenSets() throws IOException {
+        shouldSerialiseAndDeserialiseOperation(service.getElementsBetweenSets());
+    }
+
     @Test
     public void shouldSerialiseAndDeserialiseGetEntitiesBySeed() throws IOException {
         shouldSerialiseAndDeserialiseOperation(service.getEntitiesBySeed());
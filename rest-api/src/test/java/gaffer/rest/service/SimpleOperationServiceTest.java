@@ -0,0 +1,176 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.rest.service;
+
+import gaffer.commonutil.TestGroups;
+import gaffer.data.element.Edge;
+import gaffer.data.element.Element;
+import gaffer.data.element.Entity;
+import gaffer.data.elementdefinition.schema.DataSchema;
+import gaffer.exception.SerialisationException;
+import gaffer.graph.Graph;
+import gaffer.jsonserialisation.JSONSerialiser;
+import gaffer.operation.OperationChain;
+import gaffer.operation.OperationException;
+import gaffer.operation.impl.add.AddElements;
+import gaffer.rest.GraphFactory;
+import gaffer.rest.SystemProperty;
+import gaffer.store.Store;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class SimpleOperationServiceTest {
+    private static final JSONSerialiser SERIALISER = new JSONSerialiser();
+
+    private Store store;
+    private SimpleOperationService service;
+
+    @Before
+    public void setup() {
+        final GraphFactory graphFactory = mock(GraphFactory.class);
+        store = mock(Store.class);
+        given(store.getDataSchema()).willReturn(mock(DataSchema.class));
+        final Graph graph = new Graph(store);
+        given(graphFactory.getGraph()).willReturn(graph);
+
+        service = new SimpleOperationService(graphFactory);
+    }
+
+    @Test
+    public void shouldAddElementsFromAJsonArrayStreamInBatches() throws Exception {
+        // Given
+        final List<Element> elements = createElements(5);
+        final InputStream stream = new ByteArrayInputStream(SERIALISER.serialise(elements.toArray(new Element[elements.size()])));
+
+        // When
+        service.addElementsStream(stream, 2, true, false);
+
+        // Then
+        final List<AddElements> operations = getAddElementsOperations(3);
+        assertEquals(elements.subList(0, 2), toList(operations.get(0).getElements()));
+        assertEquals(elements.subList(2, 4), toList(operations.get(1).getElements()));
+        assertEquals(elements.subList(4, 5), toList(operations.get(2).getElements()));
+        assertFalse(operations.get(0).isSkipInvalidElements());
+    }
+
+    @Test
+    public void shouldAddElementsFromANewlineDelimitedJsonStream() throws Exception {
+        // Given
+        final List<Element> elements = createElements(3);
+        final StringBuilder ndjson = new StringBuilder();
+        for (final Element element : elements) {
+            ndjson.append(new String(SERIALISER.serialise(element))).append('\n');
+        }
+        final InputStream stream = new ByteArrayInputStream(ndjson.toString().getBytes());
+
+        // When
+        service.addElementsStream(stream, 10, false, true);
+
+        // Then
+        final List<AddElements> operations = getAddElementsOperations(1);
+        assertEquals(elements, toList(operations.get(0).getElements()));
+        assertFalse(operations.get(0).isValidate());
+    }
+
+    @Test
+    public void shouldRejectABatchSizeLargerThanTheServerMaximum() throws Exception {
+        // Given
+        System.setProperty(SystemProperty.MAX_STREAM_BATCH_SIZE, "10");
+        final InputStream stream = new ByteArrayInputStream(SERIALISER.serialise(createElements(1).toArray(new Element[1])));
+
+        // When
+        try {
+            service.addElementsStream(stream, 11, true, false);
+            fail("Exception expected");
+        } catch (final IllegalArgumentException e) {
+            // Then
+            assertEquals("The batch size must be no more than 10", e.getMessage());
+        } finally {
+            System.clearProperty(SystemProperty.MAX_STREAM_BATCH_SIZE);
+        }
+        verify(store, never()).execute(any(OperationChain.class));
+    }
+
+    @Test
+    public void shouldKeepBatchesAddedBeforeInvalidJson() throws Exception {
+        // Given
+        final List<Element> elements = createElements(2);
+        final String ndjson = new String(SERIALISER.serialise(elements.get(0))) + "\n"
+                + new String(SERIALISER.serialise(elements.get(1))) + "\n{\"class\":";
+        final InputStream stream = new ByteArrayInputStream(ndjson.getBytes());
+
+        // When
+        try {
+            service.addElementsStream(stream, 1, true, false);
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            // Then
+            assertEquals(SerialisationException.class, e.getCause().getClass());
+        }
+        final List<AddElements> operations = getAddElementsOperations(2);
+        assertEquals(elements.subList(0, 1), toList(operations.get(0).getElements()));
+        assertEquals(elements.subList(1, 2), toList(operations.get(1).getElements()));
+    }
+
+    private List<AddElements> getAddElementsOperations(final int numOperations) throws OperationException {
+        final ArgumentCaptor<OperationChain> captor = ArgumentCaptor.forClass(OperationChain.class);
+        verify(store, times(numOperations)).execute(captor.capture());
+        final List<AddElements> operations = new ArrayList<>();
+        for (final OperationChain<?> chain : captor.getAllValues()) {
+            operations.add((AddElements) chain.getOperations().get(0));
+        }
+        return operations;
+    }
+
+    private static List<Element> createElements(final int numElements) {
+        final List<Element> elements = new ArrayList<>();
+        for (int i = 0; i < numElements; i++) {
+            if (i % 2 == 0) {
+                final Entity entity = new Entity(TestGroups.ENTITY);
+                entity.setVertex("vertex" + i);
+                elements.add(entity);
+            } else {
+                elements.add(new Edge(TestGroups.EDGE, "source" + i, "dest" + i, true));
+            }
+        }
+        return elements;
+    }
+
+    private static List<Element> toList(final Iterable<Element> elements) {
+        final List<Element> list = new ArrayList<>();
+        for (final Element element : elements) {
+            list.add(element);
+        }
+        return list;
+    }
+}
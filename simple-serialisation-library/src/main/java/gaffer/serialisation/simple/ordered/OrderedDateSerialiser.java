@@ -0,0 +1,45 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+
+import java.util.Date;
+
+/**
+ * OrderedDateSerialiser serialises Dates as the milliseconds since the epoch, using the same fixed width encoding as
+ * {@link OrderedLongSerialiser}, so the serialised bytes sort in date order.
+ */
+public class OrderedDateSerialiser implements Serialisation {
+    private static final long serialVersionUID = 6636121009320739764L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Date.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        return OrderedLongSerialiser.toBytes(((Date) object).getTime());
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return new Date(OrderedLongSerialiser.fromBytes(bytes));
+    }
+}
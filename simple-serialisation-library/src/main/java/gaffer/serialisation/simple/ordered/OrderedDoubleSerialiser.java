@@ -0,0 +1,48 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+
+/**
+ * OrderedDoubleSerialiser serialises Doubles into a fixed width, 8 byte, big-endian byte array whose unsigned
+ * lexicographical ordering is the same as the numerical ordering of the Doubles. The IEEE bits of positive values have
+ * their sign bit flipped and the bits of negative values are all flipped.
+ * Negative zero sorts immediately before positive zero, and NaN is serialised in its canonical form and sorts after
+ * positive infinity, matching {@link Double#compareTo(Double)}.
+ */
+public class OrderedDoubleSerialiser implements Serialisation {
+    private static final long serialVersionUID = -3107286768426662668L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Double.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final long bits = Double.doubleToLongBits((Double) object);
+        return OrderedLongSerialiser.toBytes(bits < 0 ? ~bits ^ Long.MIN_VALUE : bits);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        final long bits = OrderedLongSerialiser.fromBytes(bytes);
+        return Double.longBitsToDouble(bits < 0 ? ~(bits ^ Long.MIN_VALUE) : bits);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+
+/**
+ * OrderedIntegerSerialiser serialises Integers into a fixed width, 4 byte, big-endian byte array with the sign bit
+ * flipped, so the unsigned lexicographical ordering of the serialised bytes is the same as the numerical ordering of
+ * the Integers.
+ */
+public class OrderedIntegerSerialiser implements Serialisation {
+    private static final long serialVersionUID = 2470810515340743717L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Integer.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        final int flipped = (Integer) object ^ Integer.MIN_VALUE;
+        final byte[] out = new byte[4];
+        out[0] = (byte) (flipped >>> 24);
+        out[1] = (byte) (flipped >>> 16);
+        out[2] = (byte) (flipped >>> 8);
+        out[3] = (byte) flipped;
+        return out;
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        if (null == bytes || 4 != bytes.length) {
+            throw new SerialisationException("Expected 4 bytes but got " + (null == bytes ? "null" : bytes.length));
+        }
+
+        return ((bytes[0] & 255) << 24
+                | (bytes[1] & 255) << 16
+                | (bytes[2] & 255) << 8
+                | bytes[3] & 255) ^ Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package gaffer.serialisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.Serialisation;
+
+/**
+ * OrderedLongSerialiser serialises Longs into a fixed width, 8 byte, big-endian byte array with the sign bit flipped.
+ * The unsigned lexicographical ordering of the serialised bytes is the same as the numerical ordering of the Longs,
+ * so it is suitable for use as a vertex serialiser where ranges of vertices need to be contiguous ranges of keys.
+ * The ordering is preserved when the bytes are escaped with the Accumulo store's ByteArrayEscapeUtils.
+ */
+public class OrderedLongSerialiser implements Serialisation {
+    private static final long serialVersionUID = -8948380879926929233L;
+
+    @Override
+    public boolean canHandle(final Class clazz) {
+        return Long.class.equals(clazz);
+    }
+
+    @Override
+    public byte[] serialise(final Object object) throws SerialisationException {
+        return toBytes((Long) object);
+    }
+
+    @Override
+    public Object deserialise(final byte[] bytes) throws SerialisationException {
+        return fromBytes(bytes);
+    }
+
+    static byte[] toBytes(final long value) {
+        final long flipped = value ^ Long.MIN_VALUE;
+        final byte[] out = new byte[8];
+        out[0] = (byte) (flipped >>> 56);
+        out[1] = (byte) (flipped >>> 48);
+        out[2] = (byte) (flipped >>> 40);
+        out[3] = (byte) (flipped >>> 32);
+        out[4] = (byte) (flipped >>> 24);
+        out[5] = (byte) (flipped >>> 16);
+        out[6] = (byte) (flipped >>> 8);
+        out[7] = (byte) flipped;
+        return out;
+    }
+
+    static long fromBytes(final byte[] bytes) throws SerialisationException {
+        if (null == bytes || 8 != bytes.length) {
+            throw new SerialisationException("Expected 8 bytes but got " + (null == bytes ? "null" : bytes.length));
+        }
+
+        return (((long) bytes[0] & 255L) << 56
+                | ((long) bytes[1] & 255L) << 48
+                | ((long) bytes[2] & 255L) << 40
+                | ((long) bytes[3] & 255L) << 32
+                | ((long) bytes[4] & 255L) << 24
+                | ((long) bytes[5] & 255L) << 16
+                | ((long) bytes[6] & 255L) << 8
+                | (long) bytes[7] & 255L) ^ Long.MIN_VALUE;
+    }
+}
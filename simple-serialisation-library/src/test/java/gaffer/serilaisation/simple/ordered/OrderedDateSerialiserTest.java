@@ -0,0 +1,64 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serilaisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.simple.ordered.OrderedDateSerialiser;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderedDateSerialiserTest {
+
+    private static final OrderedDateSerialiser SERIALISER = new OrderedDateSerialiser();
+
+    @Test
+    public void testCanSerialiseASampleRange() throws SerialisationException {
+        for (long i = 1000000L; i < 1001000L; i++) {
+            Date date = new Date(i);
+            byte[] b = SERIALISER.serialise(date);
+            Object o = SERIALISER.deserialise(b);
+            assertEquals(Date.class, o.getClass());
+            assertEquals(date, o);
+        }
+    }
+
+    @Test
+    public void shouldPreserveOrderingOfDatesEitherSideOfTheEpoch() throws SerialisationException {
+        // When
+        final byte[] beforeEpoch = SERIALISER.serialise(new Date(-1L));
+        final byte[] epoch = SERIALISER.serialise(new Date(0L));
+        final byte[] now = SERIALISER.serialise(new Date(1460000000000L));
+
+        // Then
+        assertTrue(OrderedSerialiserTestUtil.compare(beforeEpoch, epoch) < 0);
+        assertTrue(OrderedSerialiserTestUtil.compare(epoch, now) < 0);
+    }
+
+    @Test
+    public void cantSerialiseStringClass() throws SerialisationException {
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+
+    @Test
+    public void canSerialiseDateClass() throws SerialisationException {
+        assertTrue(SERIALISER.canHandle(Date.class));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serilaisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.simple.ordered.OrderedDoubleSerialiser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderedDoubleSerialiserTest {
+
+    private static final OrderedDoubleSerialiser SERIALISER = new OrderedDoubleSerialiser();
+    private static final double[] SORTED_VALUES = {Double.NEGATIVE_INFINITY, -Double.MAX_VALUE, -1000.5, -1.0, -Double.MIN_VALUE,
+            -0.0, 0.0, Double.MIN_VALUE, 1.0, 1000.5, Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NaN};
+
+    @Test
+    public void testCanSerialiseASampleRange() throws SerialisationException {
+        for (int i = -1000; i < 1000; i++) {
+            final double value = i / 8.0;
+            byte[] b = SERIALISER.serialise(value);
+            Object o = SERIALISER.deserialise(b);
+            assertEquals(Double.class, o.getClass());
+            assertEquals(value, o);
+        }
+    }
+
+    @Test
+    public void canSerialiseSpecialValues() throws SerialisationException {
+        for (final double value : SORTED_VALUES) {
+            assertEquals(value, SERIALISER.deserialise(SERIALISER.serialise(value)));
+        }
+    }
+
+    @Test
+    public void shouldPreserveOrderingOfValues() throws SerialisationException {
+        for (int i = 1; i < SORTED_VALUES.length; i++) {
+            // When
+            final byte[] lower = SERIALISER.serialise(SORTED_VALUES[i - 1]);
+            final byte[] higher = SERIALISER.serialise(SORTED_VALUES[i]);
+
+            // Then
+            assertTrue(OrderedSerialiserTestUtil.compare(lower, higher) < 0);
+        }
+    }
+
+    @Test
+    public void cantSerialiseStringClass() throws SerialisationException {
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+
+    @Test
+    public void canSerialiseDoubleClass() throws SerialisationException {
+        assertTrue(SERIALISER.canHandle(Double.class));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serilaisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.simple.ordered.OrderedIntegerSerialiser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class OrderedIntegerSerialiserTest {
+
+    private static final OrderedIntegerSerialiser SERIALISER = new OrderedIntegerSerialiser();
+    private static final int[] SORTED_VALUES = {Integer.MIN_VALUE, -65536, -256, -255, -1, 0, 1, 255, 256, 65536, Integer.MAX_VALUE};
+
+    @Test
+    public void testCanSerialiseASampleRange() throws SerialisationException {
+        for (int i = -1000; i < 1000; i++) {
+            byte[] b = SERIALISER.serialise(i);
+            Object o = SERIALISER.deserialise(b);
+            assertEquals(4, b.length);
+            assertEquals(Integer.class, o.getClass());
+            assertEquals(i, o);
+        }
+    }
+
+    @Test
+    public void canSerialiseIntegerMinAndMaxValues() throws SerialisationException {
+        assertEquals(Integer.MIN_VALUE, SERIALISER.deserialise(SERIALISER.serialise(Integer.MIN_VALUE)));
+        assertEquals(Integer.MAX_VALUE, SERIALISER.deserialise(SERIALISER.serialise(Integer.MAX_VALUE)));
+    }
+
+    @Test
+    public void shouldPreserveOrderingOfValues() throws SerialisationException {
+        for (int i = 1; i < SORTED_VALUES.length; i++) {
+            // When
+            final byte[] lower = SERIALISER.serialise(SORTED_VALUES[i - 1]);
+            final byte[] higher = SERIALISER.serialise(SORTED_VALUES[i]);
+
+            // Then
+            assertTrue(OrderedSerialiserTestUtil.compare(lower, higher) < 0);
+        }
+    }
+
+    @Test
+    public void cantSerialiseStringClass() throws SerialisationException {
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+
+    @Test
+    public void canSerialiseIntegerClass() throws SerialisationException {
+        assertTrue(SERIALISER.canHandle(Integer.class));
+    }
+}
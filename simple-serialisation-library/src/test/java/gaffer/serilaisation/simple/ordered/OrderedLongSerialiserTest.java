@@ -0,0 +1,80 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serilaisation.simple.ordered;
+
+import gaffer.exception.SerialisationException;
+import gaffer.serialisation.simple.ordered.OrderedLongSerialiser;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OrderedLongSerialiserTest {
+
+    private static final OrderedLongSerialiser SERIALISER = new OrderedLongSerialiser();
+    private static final long[] SORTED_VALUES = {Long.MIN_VALUE, -1000000000000L, -256L, -255L, -1L, 0L, 1L, 255L, 256L, 1000000000000L, Long.MAX_VALUE};
+
+    @Test
+    public void testCanSerialiseASampleRange() throws SerialisationException {
+        for (long i = -1000; i < 1000; i++) {
+            byte[] b = SERIALISER.serialise(i);
+            Object o = SERIALISER.deserialise(b);
+            assertEquals(8, b.length);
+            assertEquals(Long.class, o.getClass());
+            assertEquals(i, o);
+        }
+    }
+
+    @Test
+    public void canSerialiseLongMinAndMaxValues() throws SerialisationException {
+        assertEquals(Long.MIN_VALUE, SERIALISER.deserialise(SERIALISER.serialise(Long.MIN_VALUE)));
+        assertEquals(Long.MAX_VALUE, SERIALISER.deserialise(SERIALISER.serialise(Long.MAX_VALUE)));
+    }
+
+    @Test
+    public void shouldPreserveOrderingOfValues() throws SerialisationException {
+        for (int i = 1; i < SORTED_VALUES.length; i++) {
+            // When
+            final byte[] lower = SERIALISER.serialise(SORTED_VALUES[i - 1]);
+            final byte[] higher = SERIALISER.serialise(SORTED_VALUES[i]);
+
+            // Then
+            assertTrue(OrderedSerialiserTestUtil.compare(lower, higher) < 0);
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenDeserialisingWrongNumberOfBytes() {
+        try {
+            SERIALISER.deserialise(new byte[4]);
+            fail("Exception expected");
+        } catch (SerialisationException e) {
+            assertTrue(e.getMessage().contains("8"));
+        }
+    }
+
+    @Test
+    public void cantSerialiseStringClass() throws SerialisationException {
+        assertFalse(SERIALISER.canHandle(String.class));
+    }
+
+    @Test
+    public void canSerialiseLongClass() throws SerialisationException {
+        assertTrue(SERIALISER.canHandle(Long.class));
+    }
+}
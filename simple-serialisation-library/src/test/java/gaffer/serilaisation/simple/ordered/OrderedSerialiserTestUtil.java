@@ -0,0 +1,36 @@
+/*
+ * Copyright 2016 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * 	http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package gaffer.serilaisation.simple.ordered;
+
+final class OrderedSerialiserTestUtil {
+    private OrderedSerialiserTestUtil() {
+        // Private constructor to prevent instantiation.
+    }
+
+    /**
+     * Compares byte arrays in the same way as Accumulo compares row keys, treating each byte as unsigned.
+     */
+    static int compare(final byte[] a, final byte[] b) {
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            final int diff = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (0 != diff) {
+                return diff;
+            }
+        }
+        return a.length - b.length;
+    }
+}